@@ -0,0 +1,124 @@
+package com.freelance.platform.config;
+
+import com.freelance.platform.security.UserPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and everything else to the primary.
+ * Reads stay on the primary while the replica is lagging or unreachable, and for a short window after
+ * the current user's last committed write so they always see their own changes.
+ * <p>
+ * The routing key is taken when the physical connection is fetched, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; by then the transaction's
+ * read-only flag has been published.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final long stickyWindowMs;
+
+    // Last committed write per user on this instance; pruned by the lag monitor
+    private final Map<UUID, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    // Reads stay on the primary until the first lag check has passed
+    private volatile boolean replicaAvailable = false;
+
+    private final Counter replicaReads;
+    private final Counter primaryWrites;
+    private final Counter primaryReadsLagging;
+    private final Counter primaryReadsSticky;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, long stickyWindowMs,
+                                        MeterRegistry meterRegistry) {
+        this.stickyWindowMs = stickyWindowMs;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+
+        this.replicaReads = routingCounter(meterRegistry, "replica", "read-only");
+        this.primaryWrites = routingCounter(meterRegistry, "primary", "read-write");
+        this.primaryReadsLagging = routingCounter(meterRegistry, "primary", "replica-unavailable");
+        this.primaryReadsSticky = routingCounter(meterRegistry, "primary", "recent-write");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Connections outside a transaction (open-in-view lazy loads, native tooling) stay on the primary
+            return Target.PRIMARY;
+        }
+
+        UUID userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryWrites.increment();
+            if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        lastWriteAt.put(userId, System.currentTimeMillis());
+                    }
+                });
+            }
+            return Target.PRIMARY;
+        }
+
+        if (!replicaAvailable) {
+            primaryReadsLagging.increment();
+            return Target.PRIMARY;
+        }
+
+        if (userId != null) {
+            Long writtenAt = lastWriteAt.get(userId);
+            if (writtenAt != null && System.currentTimeMillis() - writtenAt < stickyWindowMs) {
+                primaryReadsSticky.increment();
+                return Target.PRIMARY;
+            }
+        }
+
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    void setReplicaAvailable(boolean replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+    }
+
+    boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    /**
+     * Drop write timestamps that have left the stickiness window
+     */
+    void pruneRecentWrites() {
+        long cutoff = System.currentTimeMillis() - stickyWindowMs;
+        lastWriteAt.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+
+    private UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.routing")
+                .description("Connections handed out by the read/write routing DataSource")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,99 @@
+package com.freelance.platform.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls the replica's replication delay and switches read-only routing back to the primary while the
+ * replica is too far behind, has stopped replicating or cannot be reached.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Seconds_Behind_Master was renamed in MySQL 8.0.22
+    private static final String[] LAG_COLUMNS = {"Seconds_Behind_Source", "Seconds_Behind_Master"};
+
+    private final DataSource replicaDataSource;
+    private final ReadReplicaRoutingDataSource routingDataSource;
+    private final long maxLagSeconds;
+
+    // -1 while the lag is unknown
+    private final AtomicLong lagSeconds = new AtomicLong(-1);
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, ReadReplicaRoutingDataSource routingDataSource,
+                             long maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replicaDataSource = replicaDataSource;
+        this.routingDataSource = routingDataSource;
+        this.maxLagSeconds = maxLagSeconds;
+        Gauge.builder("datasource.replica.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Replication delay of the read replica, -1 when unknown")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        routingDataSource.pruneRecentWrites();
+
+        Long lag;
+        try {
+            lag = readLagSeconds();
+        } catch (SQLException e) {
+            lag = null;
+            if (routingDataSource.isReplicaAvailable()) {
+                logger.warn("Replica lag check failed, routing reads to the primary: {}", e.getMessage());
+            }
+        }
+
+        lagSeconds.set(lag != null ? lag : -1);
+        boolean available = lag != null && lag <= maxLagSeconds;
+        if (available != routingDataSource.isReplicaAvailable()) {
+            if (available) {
+                logger.info("Replica caught up ({}s behind), routing read-only transactions to it", lag);
+            } else if (lag != null) {
+                logger.warn("Replica is {}s behind (limit {}s), routing reads to the primary", lag, maxLagSeconds);
+            }
+            routingDataSource.setReplicaAvailable(available);
+        }
+    }
+
+    /**
+     * Replication delay in seconds, or null when the replica has stopped replicating
+     */
+    private Long readLagSeconds() throws SQLException {
+        try (Connection connection = replicaDataSource.getConnection()) {
+            if (!"MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+                // Stand-in databases (local setups, H2 in tests) have no replication status to read
+                return 0L;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                if (!rs.next()) {
+                    // Not configured as a replica: a plain copy of the primary, nothing to lag behind
+                    return 0L;
+                }
+                ResultSetMetaData metaData = rs.getMetaData();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    for (String column : LAG_COLUMNS) {
+                        if (column.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                            long seconds = rs.getLong(i);
+                            return rs.wasNull() ? null : seconds;
+                        }
+                    }
+                }
+                return null;
+            }
+        }
+    }
+}
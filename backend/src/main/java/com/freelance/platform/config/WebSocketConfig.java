@@ -1,24 +1,38 @@
 package com.freelance.platform.config;
 
+import com.freelance.platform.config.properties.WebSocketTransportProperties;
 import com.freelance.platform.security.JwtAuthenticationFilter;
 import com.freelance.platform.security.JwtTokenProvider;
+import com.freelance.platform.security.UserPrincipal;
+import com.freelance.platform.websocket.CborPayloadEncoder;
+import com.freelance.platform.websocket.NativeTransportHandshakeInterceptor;
+import com.freelance.platform.websocket.OutboundBackpressureInterceptor;
+import com.freelance.platform.websocket.SessionSendTracker;
+import com.freelance.platform.websocket.SessionSendTrackingHandler;
+import com.freelance.platform.websocket.StompUserAuthentication;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -30,10 +44,33 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private WebSocketTransportProperties transportProperties;
+
+    @Autowired
+    private SessionSendTracker sessionSendTracker;
+
+    @Autowired
+    private OutboundBackpressureInterceptor outboundBackpressureInterceptor;
+
+    @Autowired
+    private CborPayloadEncoder cborPayloadEncoder;
+
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    // The broker's own scheduler; lazy because it is created by the configuration this class feeds
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler taskScheduler) {
+        this.messageBrokerTaskScheduler = taskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable a simple message broker for broadcasting messages
-        config.enableSimpleBroker("/topic", "/queue");
+        // Enable a simple message broker for broadcasting messages, with heartbeats to detect dead connections
+        long heartbeat = transportProperties.getHeartbeatIntervalMs();
+        config.enableSimpleBroker("/topic", "/queue")
+                .setHeartbeatValue(new long[] {heartbeat, heartbeat})
+                .setTaskScheduler(messageBrokerTaskScheduler);
         
         // Set the application destination prefix
         config.setApplicationDestinationPrefixes("/app");
@@ -48,6 +85,41 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
+
+        // Plain WebSocket endpoint for native clients: binary (CBOR) frames, and permessage-deflate,
+        // which the servlet container negotiates whenever the client offers it
+        registry.addEndpoint("/ws/native")
+                .setAllowedOriginPatterns("*")
+                .addInterceptors(new NativeTransportHandshakeInterceptor());
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // Inbound SEND frames with content-type:application/cbor; strict so JSON stays the default outbound
+        MappingJackson2MessageConverter cborConverter = new MappingJackson2MessageConverter(CborPayloadEncoder.APPLICATION_CBOR);
+        cborConverter.setObjectMapper(cborPayloadEncoder.getCborMapper());
+        cborConverter.setStrictContentTypeMatch(true);
+        messageConverters.add(cborConverter);
+        return true;
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Slow consumers are closed once a send blocks too long or too much piles up behind it
+        registration.setSendTimeLimit(transportProperties.getSendTimeLimitMs())
+                .setSendBufferSizeLimit(transportProperties.getSendBufferSizeLimitBytes())
+                .setMessageSizeLimit(transportProperties.getMessageSizeLimitBytes())
+                .addDecoratorFactory(handler -> new SessionSendTrackingHandler(handler, sessionSendTracker));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Bounded pool of its own, so fan-out to slow sessions cannot tie up broker threads
+        registration.interceptors(outboundBackpressureInterceptor, cborPayloadEncoder)
+                .taskExecutor()
+                .corePoolSize(transportProperties.getOutboundPoolSize())
+                .maxPoolSize(transportProperties.getOutboundPoolSize())
+                .queueCapacity(transportProperties.getOutboundQueueCapacity());
     }
 
     @Override
@@ -58,6 +130,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
                 
                 if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+                    cborPayloadEncoder.onConnect(accessor);
                     String authToken = accessor.getFirstNativeHeader("Authorization");
                     
                     if (authToken != null && authToken.startsWith("Bearer ")) {
@@ -68,9 +141,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                             String email = jwtTokenProvider.getEmailFromToken(token);
                             UserDetails userDetails = userDetailsService.loadUserByUsername(email);
                                 
-                                Authentication authentication = new UsernamePasswordAuthenticationToken(
-                                    userDetails, null, userDetails.getAuthorities());
-                                accessor.setUser(authentication);
+                                // Named by user id: every user destination is addressed by id, not email
+                                accessor.setUser(new StompUserAuthentication((UserPrincipal) userDetails));
                             }
                         } catch (Exception e) {
                             // Token is invalid, connection will be rejected
@@ -0,0 +1,84 @@
+package com.freelance.platform.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.messaging.archive")
+public class MessageArchiveProperties {
+
+    private boolean enabled = true;
+
+    // Messages older than this move out of the messages table into compressed segments
+    private int minAgeDays = 180;
+
+    // Conversations still receiving messages only archive once this many old messages have built up
+    private int minSegmentMessages = 200;
+
+    private int maxSegmentMessages = 5000;
+
+    // Conversations examined per scan query
+    private int conversationBatchSize = 200;
+
+    // Decompressed segments kept in memory for history reads
+    private long segmentCacheBytes = 32L * 1024 * 1024;
+
+    // Pause between segments to leave room for foreground traffic
+    private long batchPauseMs = 50;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinAgeDays() {
+        return minAgeDays;
+    }
+
+    public void setMinAgeDays(int minAgeDays) {
+        this.minAgeDays = minAgeDays;
+    }
+
+    public int getMinSegmentMessages() {
+        return minSegmentMessages;
+    }
+
+    public void setMinSegmentMessages(int minSegmentMessages) {
+        this.minSegmentMessages = minSegmentMessages;
+    }
+
+    public int getMaxSegmentMessages() {
+        return maxSegmentMessages;
+    }
+
+    public void setMaxSegmentMessages(int maxSegmentMessages) {
+        this.maxSegmentMessages = maxSegmentMessages;
+    }
+
+    public int getConversationBatchSize() {
+        return conversationBatchSize;
+    }
+
+    public void setConversationBatchSize(int conversationBatchSize) {
+        this.conversationBatchSize = conversationBatchSize;
+    }
+
+    public long getSegmentCacheBytes() {
+        return segmentCacheBytes;
+    }
+
+    public void setSegmentCacheBytes(long segmentCacheBytes) {
+        this.segmentCacheBytes = segmentCacheBytes;
+    }
+
+    public long getBatchPauseMs() {
+        return batchPauseMs;
+    }
+
+    public void setBatchPauseMs(long batchPauseMs) {
+        this.batchPauseMs = batchPauseMs;
+    }
+}
@@ -0,0 +1,66 @@
+package com.freelance.platform.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.notifications.retention")
+public class NotificationRetentionProperties {
+
+    private boolean enabled = true;
+
+    // Retention for notification types without an explicit policy
+    private int defaultDays = 90;
+
+    // Per-type retention in days, e.g. NEW_MESSAGE=30
+    private Map<String, Integer> types = new HashMap<>();
+
+    // Rows deleted per transaction; keeps each DELETE short so it never holds long locks
+    private int batchSize = 1000;
+
+    // Pause between chunks to leave room for foreground traffic
+    private long batchPauseMs = 50;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getDefaultDays() {
+        return defaultDays;
+    }
+
+    public void setDefaultDays(int defaultDays) {
+        this.defaultDays = defaultDays;
+    }
+
+    public Map<String, Integer> getTypes() {
+        return types;
+    }
+
+    public void setTypes(Map<String, Integer> types) {
+        this.types = types;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchPauseMs() {
+        return batchPauseMs;
+    }
+
+    public void setBatchPauseMs(long batchPauseMs) {
+        this.batchPauseMs = batchPauseMs;
+    }
+}
@@ -0,0 +1,109 @@
+package com.freelance.platform.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.websocket")
+public class WebSocketTransportProperties {
+
+    // A send to one session may block this long before the session is closed as a slow consumer
+    private int sendTimeLimitMs = 10000;
+
+    // Bytes buffered per session while a send is in progress before the session is closed
+    private int sendBufferSizeLimitBytes = 512 * 1024;
+
+    // Largest inbound STOMP frame accepted
+    private int messageSizeLimitBytes = 64 * 1024;
+
+    // STOMP heartbeats in both directions; also detects half-open mobile connections
+    private long heartbeatIntervalMs = 10000;
+
+    // Dedicated outbound executor so slow sessions cannot starve the broker
+    private int outboundPoolSize = 8;
+
+    private int outboundQueueCapacity = 10000;
+
+    // A session with this many messages waiting, or stuck in one send this long, is backlogged
+    private int backlogMessages = 20;
+
+    private long backlogSendMs = 1000;
+
+    // Low-value destinations dropped for backlogged sessions so chat messages get through first
+    private List<String> droppableDestinations = new ArrayList<>(List.of("/user/queue/presence", "/user/queue/typing"));
+
+    public int getSendTimeLimitMs() {
+        return sendTimeLimitMs;
+    }
+
+    public void setSendTimeLimitMs(int sendTimeLimitMs) {
+        this.sendTimeLimitMs = sendTimeLimitMs;
+    }
+
+    public int getSendBufferSizeLimitBytes() {
+        return sendBufferSizeLimitBytes;
+    }
+
+    public void setSendBufferSizeLimitBytes(int sendBufferSizeLimitBytes) {
+        this.sendBufferSizeLimitBytes = sendBufferSizeLimitBytes;
+    }
+
+    public int getMessageSizeLimitBytes() {
+        return messageSizeLimitBytes;
+    }
+
+    public void setMessageSizeLimitBytes(int messageSizeLimitBytes) {
+        this.messageSizeLimitBytes = messageSizeLimitBytes;
+    }
+
+    public long getHeartbeatIntervalMs() {
+        return heartbeatIntervalMs;
+    }
+
+    public void setHeartbeatIntervalMs(long heartbeatIntervalMs) {
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+    }
+
+    public int getOutboundPoolSize() {
+        return outboundPoolSize;
+    }
+
+    public void setOutboundPoolSize(int outboundPoolSize) {
+        this.outboundPoolSize = outboundPoolSize;
+    }
+
+    public int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+
+    public void setOutboundQueueCapacity(int outboundQueueCapacity) {
+        this.outboundQueueCapacity = outboundQueueCapacity;
+    }
+
+    public int getBacklogMessages() {
+        return backlogMessages;
+    }
+
+    public void setBacklogMessages(int backlogMessages) {
+        this.backlogMessages = backlogMessages;
+    }
+
+    public long getBacklogSendMs() {
+        return backlogSendMs;
+    }
+
+    public void setBacklogSendMs(long backlogSendMs) {
+        this.backlogSendMs = backlogSendMs;
+    }
+
+    public List<String> getDroppableDestinations() {
+        return droppableDestinations;
+    }
+
+    public void setDroppableDestinations(List<String> droppableDestinations) {
+        this.droppableDestinations = droppableDestinations;
+    }
+}
@@ -2,10 +2,12 @@ package com.freelance.platform.controller;
 
 import com.freelance.platform.dto.request.MessageRequest;
 import com.freelance.platform.dto.response.ConversationResponse;
+import com.freelance.platform.dto.response.CursorPageResponse;
 import com.freelance.platform.dto.response.FileUploadResponse;
 import com.freelance.platform.dto.response.MessageResponse;
 import com.freelance.platform.entity.Conversation;
 import com.freelance.platform.entity.User;
+import com.freelance.platform.entity.UserInbox;
 import com.freelance.platform.exception.ResourceNotFoundException;
 import com.freelance.platform.service.ConversationService;
 import com.freelance.platform.service.MessageService;
@@ -85,8 +87,8 @@ public class ConversationController {
             Authentication authentication) {
     UUID userId = extractUserId(authentication);
     Pageable pageable = PageRequest.of(page, size);
-    Page<Conversation> conversations = conversationService.getUserConversations(userId, pageable);
-    return ResponseEntity.ok(conversations.map(conversation -> mapToConversationResponse(conversation, userId)));
+    Page<UserInbox> conversations = conversationService.getUserConversations(userId, pageable);
+    return ResponseEntity.ok(conversations.map(this::mapToConversationResponse));
     }
 
     /**
@@ -118,6 +120,23 @@ public class ConversationController {
         return ResponseEntity.ok(messages);
     }
 
+    /**
+     * Get conversation history, newest page first
+     * GET /api/conversations/{conversationId}/messages/history?before=&size=50
+     * Pass nextCursor back as before to load older messages.
+     */
+    @GetMapping("/{conversationId}/messages/history")
+    public ResponseEntity<CursorPageResponse<MessageResponse>> getConversationHistory(
+            @PathVariable UUID conversationId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication authentication) {
+        UUID userId = extractUserId(authentication);
+        CursorPageResponse<MessageResponse> history = messageService.getConversationHistory(
+                conversationId, userId, before, Math.min(Math.max(size, 1), 100));
+        return ResponseEntity.ok(history);
+    }
+
     /**
      * Send a message in a conversation
      * POST /api/conversations/{conversationId}/messages
@@ -238,8 +257,8 @@ public class ConversationController {
         try {
             com.freelance.platform.entity.ConversationType conversationType = 
                 com.freelance.platform.entity.ConversationType.valueOf(type);
-            Page<Conversation> conversations = conversationService.getConversationsByType(userId, conversationType, pageable);
-            return ResponseEntity.ok(conversations.map(conversation -> mapToConversationResponse(conversation, userId)));
+            Page<UserInbox> conversations = conversationService.getConversationsByType(userId, conversationType, pageable);
+            return ResponseEntity.ok(conversations.map(this::mapToConversationResponse));
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid conversation type");
         }
@@ -300,6 +319,7 @@ public class ConversationController {
         response.setLastMessageAt(conversation.getLastMessageAt());
         response.setLastMessagePreview(conversation.getLastMessagePreview());
         response.setCreatedAt(conversation.getCreatedAt());
+        response.setUnreadCount(conversation.getUnreadCountFor(currentUserId));
 
         // Add project information for PROJECT_CHAT conversations
         if (conversation.getType() == com.freelance.platform.entity.ConversationType.PROJECT_CHAT && conversation.getProject() != null) {
@@ -339,6 +359,10 @@ public class ConversationController {
         return response;
     }
 
+    private ConversationResponse mapToConversationResponse(UserInbox inbox) {
+        return new ConversationResponse(inbox);
+    }
+
     /**
      * DTO for unread message count response
      */
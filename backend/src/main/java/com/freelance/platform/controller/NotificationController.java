@@ -1,6 +1,7 @@
 package com.freelance.platform.controller;
 
 import com.freelance.platform.dto.request.CreateNotificationRequest;
+import com.freelance.platform.dto.response.CursorPageResponse;
 import com.freelance.platform.dto.response.NotificationResponse;
 import com.freelance.platform.entity.User;
 import com.freelance.platform.service.AuthService;
@@ -59,13 +60,15 @@ public class NotificationController {
     
     // Get grouped notifications
     @GetMapping("/grouped")
-    @Operation(summary = "Get grouped notifications", description = "Get grouped notifications for the currently authenticated user")
+    @Operation(summary = "Get grouped notifications", description = "Get grouped notifications for the currently authenticated user. " +
+            "Pass nextCursor back as cursor to load the next page.")
     @PreAuthorize("hasRole('CLIENT') or hasRole('FREELANCER')")
-    public ResponseEntity<List<NotificationResponse>> getGroupedNotifications(
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<CursorPageResponse<NotificationResponse>> getGroupedNotifications(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
         User currentUser = authService.getCurrentUser();
-        List<NotificationResponse> notifications = notificationService.getGroupedNotifications(currentUser.getId(), page, size);
+        CursorPageResponse<NotificationResponse> notifications = notificationService.getGroupedNotifications(
+                currentUser.getId(), cursor, Math.min(Math.max(size, 1), 100));
         return ResponseEntity.ok(notifications);
     }
     
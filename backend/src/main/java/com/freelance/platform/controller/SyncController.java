@@ -0,0 +1,36 @@
+package com.freelance.platform.controller;
+
+import com.freelance.platform.dto.response.SyncResponse;
+import com.freelance.platform.security.UserPrincipal;
+import com.freelance.platform.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@Tag(name = "Sync", description = "Delta sync for reconnecting clients")
+public class SyncController {
+    
+    @Autowired
+    private SyncService syncService;
+    
+    // Get changes since the client's last cursor
+    @GetMapping
+    @Operation(summary = "Get changes since cursor", description = "Get new messages, read-state changes, conversation updates " +
+            "and notifications since the given cursor. Without a cursor, or when resetRequired is returned, reload in full " +
+            "and continue from the returned cursor; repeat while hasMore is true.")
+    @PreAuthorize("hasRole('CLIENT') or hasRole('FREELANCER')")
+    public ResponseEntity<SyncResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        // Principal id only: a reconnect storm should not also reload every user row
+        SyncResponse response = syncService.getChanges(currentUser.getId(), since, Math.min(Math.max(limit, 1), 1000));
+        return ResponseEntity.ok(response);
+    }
+}
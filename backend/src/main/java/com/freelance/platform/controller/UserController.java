@@ -8,9 +8,11 @@ import com.freelance.platform.dto.response.FreelancerCardResponse;
 import com.freelance.platform.dto.response.NotificationSettingsResponse;
 import com.freelance.platform.dto.response.PaymentMethodResponse;
 import com.freelance.platform.dto.response.UserResponse;
+import com.freelance.platform.entity.FreelancerCard;
 import com.freelance.platform.entity.User;
 import com.freelance.platform.service.AuthService;
 import com.freelance.platform.service.BillingSettingsService;
+import com.freelance.platform.service.FreelancerCardService;
 import com.freelance.platform.service.NotificationSettingsService;
 import com.freelance.platform.service.UserService;
 import com.freelance.platform.service.UserService.UserNotFoundException;
@@ -50,6 +52,9 @@ public class UserController {
     @Autowired
     private BillingSettingsService billingSettingsService;
 
+    @Autowired
+    private FreelancerCardService freelancerCardService;
+
     @GetMapping("/profile")
     @Operation(summary = "Get current user profile", description = "Get the profile of the currently authenticated user")
     @PreAuthorize("hasRole('CLIENT') or hasRole('FREELANCER')")
@@ -289,8 +294,8 @@ public class UserController {
     public ResponseEntity<Page<FreelancerCardResponse>> getFreelancerCards(
             @PageableDefault(size = 20) Pageable pageable) {
 
-        Page<User> freelancers = userService.findAllFreelancers(pageable);
-        Page<FreelancerCardResponse> freelancerCards = freelancers.map(this::convertToFreelancerCardResponse);
+        Page<FreelancerCard> cards = freelancerCardService.getCards(pageable);
+        Page<FreelancerCardResponse> freelancerCards = cards.map(this::convertToFreelancerCardResponse);
 
         return ResponseEntity.ok(freelancerCards);
     }
@@ -336,37 +341,26 @@ public class UserController {
         return response;
     }
 
-    private FreelancerCardResponse convertToFreelancerCardResponse(User user) {
+    private FreelancerCardResponse convertToFreelancerCardResponse(FreelancerCard card) {
         FreelancerCardResponse response = new FreelancerCardResponse();
-        response.setId(user.getId());
-        response.setFirstName(user.getFirstName());
-        response.setLastName(user.getLastName());
-        response.setEmail(user.getEmail());
-        response.setAvatarUrl(user.getAvatarUrl());
-        response.setCity(user.getCity());
-        response.setCountry(user.getCountry());
-        response.setIsVerified(user.getIsVerified());
-        response.setIsActive(user.getIsActive());
-
-        // Include freelancer profile data
-        if (user.isFreelancer() && user.getFreelancerProfile() != null) {
-            com.freelance.platform.entity.FreelancerProfile profile = user.getFreelancerProfile();
-            response.setBio(profile.getBio());
-            response.setHourlyRate(profile.getHourlyRate());
-            response.setRating(profile.getRating());
-            response.setTotalReviews(profile.getTotalReviews());
-            response.setTotalProjects(profile.getTotalProjects());
-            response.setAvailability(profile.getAvailability());
-            response.setExperienceLevel(profile.getExperienceLevel());
-
-            // Convert skills
-            if (profile.getSkills() != null && !profile.getSkills().isEmpty()) {
-                response.setSkills(profile.getSkills().stream()
-                        .map(fs -> fs.getSkill() != null ? fs.getSkill().getName() : "")
-                        .toList());
-            }
-        }
-
+        response.setId(card.getUserId());
+        response.setFirstName(card.getFirstName());
+        response.setLastName(card.getLastName());
+        response.setEmail(card.getEmail());
+        response.setAvatarUrl(card.getAvatarUrl());
+        response.setCity(card.getCity());
+        response.setCountry(card.getCountry());
+        response.setIsVerified(card.getIsVerified());
+        response.setIsActive(card.getIsActive());
+        response.setBio(card.getBio());
+        response.setHourlyRate(card.getHourlyRate());
+        response.setRating(card.getRating());
+        response.setTotalReviews(card.getTotalReviews());
+        response.setTotalProjects(card.getTotalProjects());
+        response.setPortfolioCount(card.getPortfolioCount());
+        response.setAvailability(card.getAvailability());
+        response.setExperienceLevel(card.getExperienceLevel());
+        response.setSkills(card.getSkillNames());
         return response;
     }
 }
@@ -2,17 +2,21 @@ package com.freelance.platform.controller.admin;
 
 import com.freelance.platform.dto.response.AnalyticsResponse;
 import com.freelance.platform.security.UserPrincipal;
+import com.freelance.platform.service.StreamTicketService;
 import com.freelance.platform.service.admin.AdminAnalyticsService;
+import com.freelance.platform.service.admin.RealTimeMetricsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -26,6 +30,12 @@ public class AdminAnalyticsController {
     @Autowired
     private AdminAnalyticsService adminAnalyticsService;
 
+    @Autowired
+    private RealTimeMetricsService realTimeMetricsService;
+
+    @Autowired
+    private StreamTicketService streamTicketService;
+
     @GetMapping("/dashboard")
     @Operation(summary = "Get admin dashboard data", description = "Get comprehensive dashboard statistics")
     @ApiResponses(value = {
@@ -100,6 +110,45 @@ public class AdminAnalyticsController {
         return ResponseEntity.ok(analyticsResponse.getData());
     }
 
+    @GetMapping("/geographic/roles")
+    @Operation(summary = "Get users by role", description = "Get user distribution by role, optionally for a single country")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Role breakdown retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> getGeographicRoleBreakdown(
+            @RequestParam(required = false) String country,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        AnalyticsResponse analyticsResponse = adminAnalyticsService.getGeographicRoleBreakdown(country);
+        return ResponseEntity.ok(analyticsResponse.getData());
+    }
+
+    @GetMapping("/geographic/cities")
+    @Operation(summary = "Get users by city", description = "Get user distribution by city and role for a country")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "City breakdown retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> getGeographicCityBreakdown(
+            @RequestParam String country,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        AnalyticsResponse analyticsResponse = adminAnalyticsService.getGeographicCityBreakdown(country);
+        return ResponseEntity.ok(analyticsResponse.getData());
+    }
+
+    @GetMapping("/geographic/signups")
+    @Operation(summary = "Get signups by month", description = "Get monthly signups for a country over the last 12 months")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Signup series retrieved successfully")
+    })
+    public ResponseEntity<AnalyticsResponse> getGeographicSignupsByMonth(
+            @RequestParam String country,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        AnalyticsResponse response = adminAnalyticsService.getGeographicSignupsByMonth(country);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/trends")
     @Operation(summary = "Get trend analytics", description = "Get platform trends and patterns")
     @ApiResponses(value = {
@@ -164,6 +213,28 @@ public class AdminAnalyticsController {
         return ResponseEntity.ok(metrics);
     }
 
+    @PostMapping("/real-time/stream-ticket")
+    @Operation(summary = "Issue a stream ticket", description = "Single-use, short-lived ticket for opening the real-time metrics stream")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream ticket issued")
+    })
+    public ResponseEntity<Map<String, String>> issueStreamTicket(
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        return ResponseEntity.ok(Map.of("ticket", streamTicketService.issue(currentUser.getId())));
+    }
+
+    @GetMapping(value = "/real-time/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream real-time metrics", description = "Server-Sent Events stream of 1m/5m/1h platform activity windows; authenticate with ?ticket= from /real-time/stream-ticket")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Real-time metrics stream opened")
+    })
+    public SseEmitter streamRealTimeMetrics(
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        return realTimeMetricsService.subscribe();
+    }
+
     @GetMapping("/comparison")
     @Operation(summary = "Get comparison analytics", description = "Get period-over-period comparison")
     @ApiResponses(value = {
@@ -0,0 +1,75 @@
+package com.freelance.platform.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+public class MessageAttachmentRequest {
+
+    @NotBlank(message = "Object key is required")
+    @Size(max = 512, message = "Object key must be at most 512 characters")
+    private String objectKey;
+
+    private String downloadUrl;
+
+    @Size(max = 255, message = "File name must be at most 255 characters")
+    private String fileName;
+
+    @Size(max = 255, message = "Content type must be at most 255 characters")
+    private String contentType;
+
+    @PositiveOrZero(message = "File size must not be negative")
+    private Long fileSize;
+
+    // Constructors
+    public MessageAttachmentRequest() {}
+
+    public MessageAttachmentRequest(String objectKey, String downloadUrl, String fileName, String contentType, Long fileSize) {
+        this.objectKey = objectKey;
+        this.downloadUrl = downloadUrl;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.fileSize = fileSize;
+    }
+
+    // Getters and Setters
+    public String getObjectKey() {
+        return objectKey;
+    }
+
+    public void setObjectKey(String objectKey) {
+        this.objectKey = objectKey;
+    }
+
+    public String getDownloadUrl() {
+        return downloadUrl;
+    }
+
+    public void setDownloadUrl(String downloadUrl) {
+        this.downloadUrl = downloadUrl;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+}
@@ -1,6 +1,7 @@
 package com.freelance.platform.dto.request;
 
 import com.freelance.platform.entity.MessageType;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -23,6 +24,10 @@ public class MessageRequest {
 
     private List<String> attachments;
 
+    // Upload metadata as returned by POST /api/conversations/{id}/upload; preferred over bare links
+    @Valid
+    private List<MessageAttachmentRequest> attachmentFiles;
+
     // Constructors
     public MessageRequest() {}
 
@@ -75,4 +80,12 @@ public class MessageRequest {
     public void setAttachments(List<String> attachments) {
         this.attachments = attachments;
     }
+
+    public List<MessageAttachmentRequest> getAttachmentFiles() {
+        return attachmentFiles;
+    }
+
+    public void setAttachmentFiles(List<MessageAttachmentRequest> attachmentFiles) {
+        this.attachmentFiles = attachmentFiles;
+    }
 }
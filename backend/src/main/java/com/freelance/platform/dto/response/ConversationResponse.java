@@ -1,6 +1,7 @@
 package com.freelance.platform.dto.response;
 
 import com.freelance.platform.entity.ConversationType;
+import com.freelance.platform.entity.UserInbox;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -25,6 +26,9 @@ public class ConversationResponse {
     private UUID projectId;
     private String projectTitle;
 
+    // Unread messages for the requesting user
+    private int unreadCount;
+
     // Constructors
     public ConversationResponse() {}
 
@@ -37,6 +41,21 @@ public class ConversationResponse {
         this.createdAt = createdAt;
     }
 
+    public ConversationResponse(UserInbox inbox) {
+        this.id = inbox.getConversationId();
+        this.type = inbox.getType();
+        this.lastMessageAt = inbox.getLastMessageAt();
+        this.lastMessagePreview = inbox.getLastMessagePreview();
+        this.createdAt = inbox.getConversationCreatedAt();
+        this.unreadCount = inbox.getUnreadCount();
+        this.projectId = inbox.getProjectId();
+        this.projectTitle = inbox.getProjectTitle();
+        this.otherParticipantId = inbox.getOtherParticipantId();
+        this.otherParticipantName = inbox.getOtherParticipantName();
+        this.otherParticipantEmail = inbox.getOtherParticipantEmail();
+        this.otherParticipantAvatar = inbox.getOtherParticipantAvatar();
+    }
+
     // Getters and Setters
     public UUID getId() {
         return id;
@@ -125,4 +144,12 @@ public class ConversationResponse {
     public void setProjectTitle(String projectTitle) {
         this.projectTitle = projectTitle;
     }
+
+    public int getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(int unreadCount) {
+        this.unreadCount = unreadCount;
+    }
 }
@@ -18,6 +18,7 @@ public class FreelancerCardResponse {
     private BigDecimal rating;
     private Integer totalReviews;
     private Integer totalProjects;
+    private Integer portfolioCount;
     private List<String> skills;
     private String city;
     private String country;
@@ -165,4 +166,12 @@ public class FreelancerCardResponse {
     public void setIsActive(Boolean isActive) {
         this.isActive = isActive;
     }
+
+    public Integer getPortfolioCount() {
+        return portfolioCount;
+    }
+
+    public void setPortfolioCount(Integer portfolioCount) {
+        this.portfolioCount = portfolioCount;
+    }
 }
@@ -19,6 +19,7 @@ public class MessageResponse {
     private String content;
     private MessageType messageType;
     private List<String> attachments;
+    private List<AttachmentInfo> attachmentFiles;
     private Boolean isRead;
     private LocalDateTime createdAt;
     private LocalDateTime sentAt;
@@ -136,6 +137,14 @@ public class MessageResponse {
         this.attachments = attachments;
     }
 
+    public List<AttachmentInfo> getAttachmentFiles() {
+        return attachmentFiles;
+    }
+
+    public void setAttachmentFiles(List<AttachmentInfo> attachmentFiles) {
+        this.attachmentFiles = attachmentFiles;
+    }
+
     public Boolean getIsRead() {
         return isRead;
     }
@@ -241,4 +250,52 @@ public class MessageResponse {
             this.avatarUrl = avatarUrl;
         }
     }
+
+    public static class AttachmentInfo {
+        private String objectKey;
+        private String fileName;
+        private String mimeType;
+        private Long size;
+
+        public AttachmentInfo() {}
+
+        public AttachmentInfo(String objectKey, String fileName, String mimeType, Long size) {
+            this.objectKey = objectKey;
+            this.fileName = fileName;
+            this.mimeType = mimeType;
+            this.size = size;
+        }
+
+        public String getObjectKey() {
+            return objectKey;
+        }
+
+        public void setObjectKey(String objectKey) {
+            this.objectKey = objectKey;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public void setFileName(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public void setMimeType(String mimeType) {
+            this.mimeType = mimeType;
+        }
+
+        public Long getSize() {
+            return size;
+        }
+
+        public void setSize(Long size) {
+            this.size = size;
+        }
+    }
 }
@@ -30,6 +30,7 @@ public class ProjectResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<AttachmentInfo> attachments;
+    private Integer attachmentCount;
 
     // Inner class for attachment information
     public static class AttachmentInfo {
@@ -285,4 +286,12 @@ public class ProjectResponse {
     public void setAttachments(List<AttachmentInfo> attachments) {
         this.attachments = attachments;
     }
+
+    public Integer getAttachmentCount() {
+        return attachmentCount;
+    }
+
+    public void setAttachmentCount(Integer attachmentCount) {
+        this.attachmentCount = attachmentCount;
+    }
 }
@@ -0,0 +1,47 @@
+package com.freelance.platform.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Everything sent to readerId in conversationId up to readAt has been read.
+ */
+public class ReadReceiptResponse {
+    private UUID conversationId;
+    private UUID readerId;
+    private LocalDateTime readAt;
+    
+    // Constructors
+    public ReadReceiptResponse() {}
+    
+    public ReadReceiptResponse(UUID conversationId, UUID readerId, LocalDateTime readAt) {
+        this.conversationId = conversationId;
+        this.readerId = readerId;
+        this.readAt = readAt;
+    }
+    
+    // Getters and Setters
+    public UUID getConversationId() {
+        return conversationId;
+    }
+    
+    public void setConversationId(UUID conversationId) {
+        this.conversationId = conversationId;
+    }
+    
+    public UUID getReaderId() {
+        return readerId;
+    }
+    
+    public void setReaderId(UUID readerId) {
+        this.readerId = readerId;
+    }
+    
+    public LocalDateTime getReadAt() {
+        return readAt;
+    }
+    
+    public void setReadAt(LocalDateTime readAt) {
+        this.readAt = readAt;
+    }
+}
@@ -0,0 +1,161 @@
+package com.freelance.platform.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Changes for one user since a sync cursor, collapsed to the current state of each touched entity.
+ * When resetRequired is set the client's cursor is too old (or missing) and it must reload in full,
+ * then continue from the returned cursor.
+ */
+public class SyncResponse {
+    private String cursor;
+    private boolean hasMore;
+    private boolean resetRequired;
+    private List<MessageResponse> messages = new ArrayList<>();
+    private List<UUID> deletedMessageIds = new ArrayList<>();
+    private List<UUID> readMessageIds = new ArrayList<>();
+    private List<ConversationRead> readConversations = new ArrayList<>();
+    private List<ConversationResponse> conversations = new ArrayList<>();
+    private List<UUID> hiddenConversationIds = new ArrayList<>();
+    private List<NotificationResponse> notifications = new ArrayList<>();
+    private List<UUID> deletedNotificationIds = new ArrayList<>();
+    private boolean allNotificationsRead;
+    
+    // Constructors
+    public SyncResponse() {}
+    
+    public SyncResponse(String cursor, boolean resetRequired) {
+        this.cursor = cursor;
+        this.resetRequired = resetRequired;
+    }
+    
+    // Getters and Setters
+    public String getCursor() {
+        return cursor;
+    }
+    
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    public boolean isResetRequired() {
+        return resetRequired;
+    }
+    
+    public void setResetRequired(boolean resetRequired) {
+        this.resetRequired = resetRequired;
+    }
+    
+    public List<MessageResponse> getMessages() {
+        return messages;
+    }
+    
+    public void setMessages(List<MessageResponse> messages) {
+        this.messages = messages;
+    }
+    
+    public List<UUID> getDeletedMessageIds() {
+        return deletedMessageIds;
+    }
+    
+    public void setDeletedMessageIds(List<UUID> deletedMessageIds) {
+        this.deletedMessageIds = deletedMessageIds;
+    }
+    
+    public List<UUID> getReadMessageIds() {
+        return readMessageIds;
+    }
+    
+    public void setReadMessageIds(List<UUID> readMessageIds) {
+        this.readMessageIds = readMessageIds;
+    }
+    
+    public List<ConversationRead> getReadConversations() {
+        return readConversations;
+    }
+    
+    public void setReadConversations(List<ConversationRead> readConversations) {
+        this.readConversations = readConversations;
+    }
+    
+    public List<ConversationResponse> getConversations() {
+        return conversations;
+    }
+    
+    public void setConversations(List<ConversationResponse> conversations) {
+        this.conversations = conversations;
+    }
+    
+    public List<UUID> getHiddenConversationIds() {
+        return hiddenConversationIds;
+    }
+    
+    public void setHiddenConversationIds(List<UUID> hiddenConversationIds) {
+        this.hiddenConversationIds = hiddenConversationIds;
+    }
+    
+    public List<NotificationResponse> getNotifications() {
+        return notifications;
+    }
+    
+    public void setNotifications(List<NotificationResponse> notifications) {
+        this.notifications = notifications;
+    }
+    
+    public List<UUID> getDeletedNotificationIds() {
+        return deletedNotificationIds;
+    }
+    
+    public void setDeletedNotificationIds(List<UUID> deletedNotificationIds) {
+        this.deletedNotificationIds = deletedNotificationIds;
+    }
+    
+    public boolean isAllNotificationsRead() {
+        return allNotificationsRead;
+    }
+    
+    public void setAllNotificationsRead(boolean allNotificationsRead) {
+        this.allNotificationsRead = allNotificationsRead;
+    }
+    
+    /**
+     * All messages to readerId in conversationId were marked read.
+     */
+    public static class ConversationRead {
+        private UUID conversationId;
+        private UUID readerId;
+        
+        public ConversationRead() {}
+        
+        public ConversationRead(UUID conversationId, UUID readerId) {
+            this.conversationId = conversationId;
+            this.readerId = readerId;
+        }
+        
+        public UUID getConversationId() {
+            return conversationId;
+        }
+        
+        public void setConversationId(UUID conversationId) {
+            this.conversationId = conversationId;
+        }
+        
+        public UUID getReaderId() {
+            return readerId;
+        }
+        
+        public void setReaderId(UUID readerId) {
+            this.readerId = readerId;
+        }
+    }
+}
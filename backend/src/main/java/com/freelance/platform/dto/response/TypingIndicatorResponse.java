@@ -0,0 +1,46 @@
+package com.freelance.platform.dto.response;
+
+import java.util.UUID;
+
+/**
+ * Ephemeral typing state of one participant; never stored.
+ */
+public class TypingIndicatorResponse {
+    private UUID conversationId;
+    private UUID userId;
+    private boolean typing;
+    
+    // Constructors
+    public TypingIndicatorResponse() {}
+    
+    public TypingIndicatorResponse(UUID conversationId, UUID userId, boolean typing) {
+        this.conversationId = conversationId;
+        this.userId = userId;
+        this.typing = typing;
+    }
+    
+    // Getters and Setters
+    public UUID getConversationId() {
+        return conversationId;
+    }
+    
+    public void setConversationId(UUID conversationId) {
+        this.conversationId = conversationId;
+    }
+    
+    public UUID getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+    
+    public boolean isTyping() {
+        return typing;
+    }
+    
+    public void setTyping(boolean typing) {
+        this.typing = typing;
+    }
+}
@@ -1,5 +1,6 @@
 package com.freelance.platform.entity;
 
+import com.freelance.platform.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 
@@ -10,7 +11,7 @@ import java.util.UUID;
 @Table(name = "announcements")
 public class Announcement {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @Column(nullable = false)
@@ -1,5 +1,6 @@
 package com.freelance.platform.entity;
 
+import com.freelance.platform.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -11,7 +12,7 @@ import java.util.UUID;
 @Table(name = "billing_settings")
 public class BillingSettings {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @OneToOne(fetch = FetchType.LAZY)
@@ -1,5 +1,6 @@
 package com.freelance.platform.entity;
 
+import com.freelance.platform.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -12,7 +13,7 @@ import java.util.UUID;
 public class ContactForm {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @Column(nullable = false)
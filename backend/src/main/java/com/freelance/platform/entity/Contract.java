@@ -1,5 +1,6 @@
 package com.freelance.platform.entity;
 
+import com.freelance.platform.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -12,12 +13,21 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "contracts")
+@Table(name = "contracts", indexes = {
+    @Index(name = "idx_contracts_created_month", columnList = "created_month"),
+    @Index(name = "idx_contracts_client_month", columnList = "client_id, created_month"),
+    @Index(name = "idx_contracts_freelancer_month", columnList = "freelancer_id, created_month")
+})
 public class Contract {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
+    // Optimistic lock; milestone transitions touch the contract so completion checks on one contract serialize
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
@@ -57,6 +67,11 @@ public class Contract {
     @CreationTimestamp
     private LocalDateTime createdAt;
     
+    // UTC month bucket for the monthly series queries (V6); computed by the database, never written here
+    @Column(name = "created_month", length = 7, insertable = false, updatable = false,
+            columnDefinition = "char(7) generated always as (concat(year(created_at), '-', lpad(month(created_at), 2, '0')))")
+    private String createdMonth;
+    
     @UpdateTimestamp
     private LocalDateTime updatedAt;
     
@@ -96,6 +111,14 @@ public class Contract {
         this.id = id;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public Project getProject() {
         return project;
     }
@@ -192,6 +215,10 @@ public class Contract {
         this.createdAt = createdAt;
     }
     
+    public String getCreatedMonth() {
+        return createdMonth;
+    }
+    
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
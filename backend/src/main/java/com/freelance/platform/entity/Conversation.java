@@ -1,6 +1,8 @@
 package com.freelance.platform.entity;
 
+import com.freelance.platform.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -11,7 +13,9 @@ import java.util.UUID;
  * Represents a conversation between users (direct messaging or project-based)
  */
 @Entity
-@Table(name = "conversations", indexes = {
+@Table(name = "conversations",
+       uniqueConstraints = @UniqueConstraint(name = "uk_conversations_pair_key", columnNames = "pair_key"),
+       indexes = {
     @Index(name = "idx_participant1", columnList = "participant1_id"),
     @Index(name = "idx_participant2", columnList = "participant2_id"),
     @Index(name = "idx_type", columnList = "type"),
@@ -20,7 +24,7 @@ import java.util.UUID;
 public class Conversation {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,6 +43,10 @@ public class Conversation {
     @Column(nullable = false)
     private ConversationType type;
     
+    // Canonical participants + type (+ project) key; the unique index makes concurrent creation race-free
+    @Column(name = "pair_key", length = 160, updatable = false)
+    private String pairKey;
+    
     @Column(nullable = false)
     private LocalDateTime lastMessageAt;
     
@@ -53,6 +61,17 @@ public class Conversation {
     private Boolean participant1Blocked = false;
     private Boolean participant2Blocked = false;
     
+    // Unread messages per participant; maintained only by set-based UPDATEs in ConversationRepository.
+    // The default stays out of columnDefinition: Hibernate copies that text into the casts of parameters
+    // compared with the column, which neither MySQL nor H2 can parse
+    @Column(name = "participant1_unread_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int participant1UnreadCount;
+    
+    @Column(name = "participant2_unread_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int participant2UnreadCount;
+    
     // Constructors
     public Conversation() {}
     
@@ -61,6 +80,7 @@ public class Conversation {
         this.participant2 = participant2;
         this.type = type;
         this.lastMessageAt = LocalDateTime.now();
+        this.pairKey = pairKey(participant1.getId(), participant2.getId(), type, null);
     }
     
     public Conversation(User participant1, User participant2, Project project, ConversationType type) {
@@ -69,6 +89,20 @@ public class Conversation {
         this.project = project;
         this.type = type;
         this.lastMessageAt = LocalDateTime.now();
+        this.pairKey = pairKey(participant1.getId(), participant2.getId(), type, project != null ? project.getId() : null);
+    }
+    
+    /**
+     * Canonical key for a conversation: type, both participant ids in string order, and the project id
+     * for project chats. Matches the SQL backfill in V11 (BIN_TO_UUID ordering with LEAST/GREATEST).
+     */
+    public static String pairKey(UUID userA, UUID userB, ConversationType type, UUID projectId) {
+        String a = userA.toString();
+        String b = userB.toString();
+        String first = a.compareTo(b) <= 0 ? a : b;
+        String second = a.compareTo(b) <= 0 ? b : a;
+        String project = type == ConversationType.PROJECT_CHAT && projectId != null ? projectId.toString() : "-";
+        return type.name() + ":" + first + ":" + second + ":" + project;
     }
     
     // Getters and Setters
@@ -112,6 +146,14 @@ public class Conversation {
         this.type = type;
     }
     
+    public String getPairKey() {
+        return pairKey;
+    }
+    
+    public void setPairKey(String pairKey) {
+        this.pairKey = pairKey;
+    }
+    
     public LocalDateTime getLastMessageAt() {
         return lastMessageAt;
     }
@@ -160,6 +202,27 @@ public class Conversation {
         this.participant2Blocked = participant2Blocked;
     }
     
+    public int getParticipant1UnreadCount() {
+        return participant1UnreadCount;
+    }
+    
+    public int getParticipant2UnreadCount() {
+        return participant2UnreadCount;
+    }
+    
+    /**
+     * Get the unread message count for the given participant
+     */
+    public int getUnreadCountFor(UUID userId) {
+        if (participant1 != null && participant1.getId().equals(userId)) {
+            return participant1UnreadCount;
+        }
+        if (participant2 != null && participant2.getId().equals(userId)) {
+            return participant2UnreadCount;
+        }
+        return 0;
+    }
+    
     /**
      * Check if a user is a participant in this conversation
      */
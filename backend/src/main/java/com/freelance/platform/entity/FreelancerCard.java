@@ -0,0 +1,322 @@
+package com.freelance.platform.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One row per freelancer with everything the freelancer directory card shows: user display data,
+ * profile fields, review aggregates, portfolio count and skill names, copied in at write time.
+ * The card list is served from here with a single index range scan on (created_at, user_id).
+ */
+@Entity
+@Table(name = "freelancer_card",
+       indexes = @Index(name = "idx_freelancer_card_recent", columnList = "created_at DESC, user_id DESC"))
+public class FreelancerCard implements Persistable<UUID> {
+
+    // Skill names are stored newline-separated; names never contain line breaks
+    private static final String SKILL_SEPARATOR = "\n";
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private String avatarUrl;
+
+    @Column(columnDefinition = "TEXT")
+    private String bio;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal hourlyRate;
+
+    @Column(precision = 3, scale = 2)
+    private BigDecimal rating;
+
+    @Column(nullable = false)
+    private int totalReviews;
+
+    @Column(nullable = false)
+    private int totalProjects;
+
+    @Column(nullable = false)
+    private int portfolioCount;
+
+    @Column(columnDefinition = "TEXT")
+    private String skills;
+
+    private String city;
+
+    private String country;
+
+    @Enumerated(EnumType.STRING)
+    private AvailabilityStatus availability;
+
+    @Enumerated(EnumType.STRING)
+    private ExperienceLevel experienceLevel;
+
+    private Boolean isVerified;
+
+    private Boolean isActive;
+
+    // The user's signup time; the directory lists newest freelancers first
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    private LocalDateTime rebuiltAt;
+
+    // The key is the user id, assigned rather than generated; without this flag save() would merge,
+    // selecting each new card before inserting it and defeating JDBC batching
+    @Transient
+    private boolean isNew = true;
+
+    // Constructors
+    public FreelancerCard() {}
+
+    public FreelancerCard(UUID userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * True when every card field except the rebuild timestamp matches the other card
+     */
+    public boolean sameContent(FreelancerCard other) {
+        return Objects.equals(firstName, other.firstName)
+                && Objects.equals(lastName, other.lastName)
+                && Objects.equals(email, other.email)
+                && Objects.equals(avatarUrl, other.avatarUrl)
+                && Objects.equals(bio, other.bio)
+                && compare(hourlyRate, other.hourlyRate)
+                && compare(rating, other.rating)
+                && totalReviews == other.totalReviews
+                && totalProjects == other.totalProjects
+                && portfolioCount == other.portfolioCount
+                && Objects.equals(skills, other.skills)
+                && Objects.equals(city, other.city)
+                && Objects.equals(country, other.country)
+                && availability == other.availability
+                && experienceLevel == other.experienceLevel
+                && Objects.equals(isVerified, other.isVerified)
+                && Objects.equals(isActive, other.isActive)
+                && Objects.equals(createdAt, other.createdAt);
+    }
+
+    /**
+     * Copy every card field except the key and rebuild timestamp from the other card
+     */
+    public void copyContent(FreelancerCard other) {
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.avatarUrl = other.avatarUrl;
+        this.bio = other.bio;
+        this.hourlyRate = other.hourlyRate;
+        this.rating = other.rating;
+        this.totalReviews = other.totalReviews;
+        this.totalProjects = other.totalProjects;
+        this.portfolioCount = other.portfolioCount;
+        this.skills = other.skills;
+        this.city = other.city;
+        this.country = other.country;
+        this.availability = other.availability;
+        this.experienceLevel = other.experienceLevel;
+        this.isVerified = other.isVerified;
+        this.isActive = other.isActive;
+        this.createdAt = other.createdAt;
+    }
+
+    private static boolean compare(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public UUID getId() {
+        return userId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    // Getters and Setters
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getAvatarUrl() {
+        return avatarUrl;
+    }
+
+    public void setAvatarUrl(String avatarUrl) {
+        this.avatarUrl = avatarUrl;
+    }
+
+    public String getBio() {
+        return bio;
+    }
+
+    public void setBio(String bio) {
+        this.bio = bio;
+    }
+
+    public BigDecimal getHourlyRate() {
+        return hourlyRate;
+    }
+
+    public void setHourlyRate(BigDecimal hourlyRate) {
+        this.hourlyRate = hourlyRate;
+    }
+
+    public BigDecimal getRating() {
+        return rating;
+    }
+
+    public void setRating(BigDecimal rating) {
+        this.rating = rating;
+    }
+
+    public int getTotalReviews() {
+        return totalReviews;
+    }
+
+    public void setTotalReviews(int totalReviews) {
+        this.totalReviews = totalReviews;
+    }
+
+    public int getTotalProjects() {
+        return totalProjects;
+    }
+
+    public void setTotalProjects(int totalProjects) {
+        this.totalProjects = totalProjects;
+    }
+
+    public int getPortfolioCount() {
+        return portfolioCount;
+    }
+
+    public void setPortfolioCount(int portfolioCount) {
+        this.portfolioCount = portfolioCount;
+    }
+
+    public List<String> getSkillNames() {
+        if (skills == null || skills.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(skills.split(SKILL_SEPARATOR));
+    }
+
+    public void setSkillNames(List<String> skillNames) {
+        this.skills = skillNames == null || skillNames.isEmpty() ? null : String.join(SKILL_SEPARATOR, skillNames);
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public AvailabilityStatus getAvailability() {
+        return availability;
+    }
+
+    public void setAvailability(AvailabilityStatus availability) {
+        this.availability = availability;
+    }
+
+    public ExperienceLevel getExperienceLevel() {
+        return experienceLevel;
+    }
+
+    public void setExperienceLevel(ExperienceLevel experienceLevel) {
+        this.experienceLevel = experienceLevel;
+    }
+
+    public Boolean getIsVerified() {
+        return isVerified;
+    }
+
+    public void setIsVerified(Boolean isVerified) {
+        this.isVerified = isVerified;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getRebuiltAt() {
+        return rebuiltAt;
+    }
+
+    public void setRebuiltAt(LocalDateTime rebuiltAt) {
+        this.rebuiltAt = rebuiltAt;
+    }
+}
@@ -1,5 +1,7 @@
 package com.freelance.platform.entity;
 
+import com.freelance.platform.entity.id.TimeOrderedUuid;
+import com.freelance.platform.service.FreelancerCardListener;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -12,9 +14,10 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "freelancer_profiles")
+@EntityListeners(FreelancerCardListener.class)
 public class FreelancerProfile {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @OneToOne(fetch = FetchType.LAZY)
@@ -1,5 +1,7 @@
 package com.freelance.platform.entity;
 
+import com.freelance.platform.entity.id.TimeOrderedUuid;
+import com.freelance.platform.service.FreelancerCardListener;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 
@@ -9,9 +11,10 @@ import java.util.UUID;
 @Entity
 @Table(name = "freelancer_skills", 
        uniqueConstraints = @UniqueConstraint(columnNames = {"freelancer_profile_id", "skill_id"}))
+@EntityListeners(FreelancerCardListener.class)
 public class FreelancerSkill {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @ManyToOne(fetch = FetchType.LAZY)
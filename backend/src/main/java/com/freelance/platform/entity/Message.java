@@ -1,6 +1,8 @@
 package com.freelance.platform.entity;
 
+import com.freelance.platform.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,7 +14,7 @@ import java.util.UUID;
 @Table(name = "messages")
 public class Message {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -37,10 +39,11 @@ public class Message {
     @Enumerated(EnumType.STRING)
     private MessageType messageType = MessageType.TEXT;
     
-     @ElementCollection
-     @CollectionTable(name = "message_attachments")
-     @Column(columnDefinition = "LONGTEXT")
-     private List<String> attachments = new ArrayList<>();
+    // Batch-initialized: a history page (up to 100 + look-ahead) loads all of its attachments with one IN query
+    @OneToMany(mappedBy = "message", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("position ASC")
+    @BatchSize(size = 128)
+    private List<MessageAttachment> attachments = new ArrayList<>();
     
     private Boolean isRead = false;
     
@@ -123,14 +126,20 @@ public class Message {
         this.messageType = messageType;
     }
     
-    public List<String> getAttachments() {
+    public List<MessageAttachment> getAttachments() {
         return attachments;
     }
     
-    public void setAttachments(List<String> attachments) {
+    public void setAttachments(List<MessageAttachment> attachments) {
         this.attachments = attachments;
     }
     
+    public void addAttachment(MessageAttachment attachment) {
+        attachment.setMessage(this);
+        attachment.setPosition(attachments.size());
+        attachments.add(attachment);
+    }
+    
     public Boolean getIsRead() {
         return isRead;
     }
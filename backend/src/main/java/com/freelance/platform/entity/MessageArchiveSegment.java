@@ -0,0 +1,146 @@
+package com.freelance.platform.entity;
+
+import com.freelance.platform.entity.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Index row for one immutable, gzip-compressed segment of archived messages.
+ * A conversation's segments cover disjoint, ascending (createdAt, id) ranges that all precede
+ * its live messages, so history reads continue from the messages table into the segments.
+ */
+@Entity
+@Table(name = "message_archive_segments", indexes = {
+    @Index(name = "idx_archive_segments_conversation", columnList = "conversation_id, last_created_at")
+})
+public class MessageArchiveSegment {
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+    
+    @Column(name = "conversation_id", nullable = false)
+    private UUID conversationId;
+    
+    @Column(nullable = false, length = 512)
+    private String objectKey;
+    
+    @Column(nullable = false)
+    private Integer messageCount;
+    
+    @Column(nullable = false)
+    private LocalDateTime firstCreatedAt;
+    
+    @Column(nullable = false)
+    private UUID firstMessageId;
+    
+    @Column(name = "last_created_at", nullable = false)
+    private LocalDateTime lastCreatedAt;
+    
+    @Column(nullable = false)
+    private UUID lastMessageId;
+    
+    // Uncompressed JSON size and stored size, for the storage report
+    @Column(nullable = false)
+    private Long rawBytes;
+    
+    @Column(nullable = false)
+    private Long compressedBytes;
+    
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public MessageArchiveSegment() {}
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public UUID getConversationId() {
+        return conversationId;
+    }
+    
+    public void setConversationId(UUID conversationId) {
+        this.conversationId = conversationId;
+    }
+    
+    public String getObjectKey() {
+        return objectKey;
+    }
+    
+    public void setObjectKey(String objectKey) {
+        this.objectKey = objectKey;
+    }
+    
+    public Integer getMessageCount() {
+        return messageCount;
+    }
+    
+    public void setMessageCount(Integer messageCount) {
+        this.messageCount = messageCount;
+    }
+    
+    public LocalDateTime getFirstCreatedAt() {
+        return firstCreatedAt;
+    }
+    
+    public void setFirstCreatedAt(LocalDateTime firstCreatedAt) {
+        this.firstCreatedAt = firstCreatedAt;
+    }
+    
+    public UUID getFirstMessageId() {
+        return firstMessageId;
+    }
+    
+    public void setFirstMessageId(UUID firstMessageId) {
+        this.firstMessageId = firstMessageId;
+    }
+    
+    public LocalDateTime getLastCreatedAt() {
+        return lastCreatedAt;
+    }
+    
+    public void setLastCreatedAt(LocalDateTime lastCreatedAt) {
+        this.lastCreatedAt = lastCreatedAt;
+    }
+    
+    public UUID getLastMessageId() {
+        return lastMessageId;
+    }
+    
+    public void setLastMessageId(UUID lastMessageId) {
+        this.lastMessageId = lastMessageId;
+    }
+    
+    public Long getRawBytes() {
+        return rawBytes;
+    }
+    
+    public void setRawBytes(Long rawBytes) {
+        this.rawBytes = rawBytes;
+    }
+    
+    public Long getCompressedBytes() {
+        return compressedBytes;
+    }
+    
+    public void setCompressedBytes(Long compressedBytes) {
+        this.compressedBytes = compressedBytes;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,133 @@
+package com.freelance.platform.entity;
+
+import com.freelance.platform.entity.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "message_attachment", indexes = {
+    @Index(name = "idx_message_attachment_message", columnList = "message_id, position")
+})
+public class MessageAttachment {
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "message_id", nullable = false)
+    private Message message;
+    
+    @Column(nullable = false)
+    private Integer position = 0;
+    
+    // Storage object key when the file lives in our bucket
+    @Column(length = 512)
+    private String objectKey;
+    
+    // Link as sent by the client, kept so existing clients render exactly what they sent
+    @Column(columnDefinition = "TEXT")
+    private String url;
+    
+    @Column(length = 255)
+    private String fileName;
+    
+    @Column(length = 255)
+    private String mimeType;
+    
+    private Long sizeBytes;
+    
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public MessageAttachment() {}
+    
+    public MessageAttachment(String objectKey, String url, String fileName, String mimeType, Long sizeBytes) {
+        this.objectKey = objectKey;
+        this.url = url;
+        this.fileName = fileName;
+        this.mimeType = mimeType;
+        this.sizeBytes = sizeBytes;
+    }
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public Message getMessage() {
+        return message;
+    }
+    
+    public void setMessage(Message message) {
+        this.message = message;
+    }
+    
+    public Integer getPosition() {
+        return position;
+    }
+    
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+    
+    public String getObjectKey() {
+        return objectKey;
+    }
+    
+    public void setObjectKey(String objectKey) {
+        this.objectKey = objectKey;
+    }
+    
+    public String getUrl() {
+        return url;
+    }
+    
+    public void setUrl(String url) {
+        this.url = url;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+    
+    public String getMimeType() {
+        return mimeType;
+    }
+    
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+    
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+    
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    // Helper methods
+    public String getLink() {
+        return url != null ? url : objectKey;
+    }
+}
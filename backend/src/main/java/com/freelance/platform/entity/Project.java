@@ -1,5 +1,6 @@
 package com.freelance.platform.entity;
 
+import com.freelance.platform.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -12,12 +13,22 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+    @Index(name = "idx_projects_created_month", columnList = "created_month, status"),
+    @Index(name = "idx_projects_client_month", columnList = "client_id, created_month")
+})
 public class Project {
+    public static final int SNIPPET_LENGTH = 280;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
+    // Optimistic lock; also bumped when one of the project's contracts completes
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private User client;
@@ -28,6 +39,10 @@ public class Project {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String description;
     
+    // Leading part of the description for list cards, kept in step by setDescription
+    @Column(length = SNIPPET_LENGTH + 3)
+    private String descriptionSnippet;
+    
     private String category;
     
     @ElementCollection
@@ -57,6 +72,11 @@ public class Project {
     @CreationTimestamp
     private LocalDateTime createdAt;
     
+    // UTC month bucket for the monthly series queries (V6); computed by the database, never written here
+    @Column(name = "created_month", length = 7, insertable = false, updatable = false,
+            columnDefinition = "char(7) generated always as (concat(year(created_at), '-', lpad(month(created_at), 2, '0')))")
+    private String createdMonth;
+    
     @UpdateTimestamp
     private LocalDateTime updatedAt;
     
@@ -78,7 +98,7 @@ public class Project {
     public Project(User client, String title, String description, ProjectType projectType) {
         this.client = client;
         this.title = title;
-        this.description = description;
+        setDescription(description);
         this.projectType = projectType;
     }
     
@@ -91,6 +111,14 @@ public class Project {
         this.id = id;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public User getClient() {
         return client;
     }
@@ -113,6 +141,11 @@ public class Project {
     
     public void setDescription(String description) {
         this.description = description;
+        this.descriptionSnippet = snippet(description);
+    }
+    
+    public String getDescriptionSnippet() {
+        return descriptionSnippet;
     }
     
     public String getCategory() {
@@ -203,6 +236,10 @@ public class Project {
         this.createdAt = createdAt;
     }
     
+    public String getCreatedMonth() {
+        return createdMonth;
+    }
+    
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
@@ -263,4 +300,13 @@ public class Project {
     public boolean isHourly() {
         return projectType == ProjectType.HOURLY;
     }
+    
+    // Same rule as migration V16: first SNIPPET_LENGTH characters plus an ellipsis. Counted in code points like
+    // MySQL's CHAR_LENGTH/LEFT, so an emoji or other supplementary character is never split in half
+    private static String snippet(String description) {
+        if (description == null || description.codePointCount(0, description.length()) <= SNIPPET_LENGTH) {
+            return description;
+        }
+        return description.substring(0, description.offsetByCodePoints(0, SNIPPET_LENGTH)) + "...";
+    }
 }
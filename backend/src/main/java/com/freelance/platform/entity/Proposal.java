@@ -1,5 +1,6 @@
 package com.freelance.platform.entity;
 
+import com.freelance.platform.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 
@@ -10,12 +11,19 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "proposals")
+@Table(name = "proposals", indexes = {
+    @Index(name = "idx_proposals_project_status", columnList = "project_id, status, responded_at")
+})
 public class Proposal {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
+    // Optimistic lock; the bulk rejection on acceptance increments it too
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
@@ -76,6 +84,14 @@ public class Proposal {
         this.id = id;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public Project getProject() {
         return project;
     }
@@ -1,5 +1,7 @@
 package com.freelance.platform.entity;
 
+import com.freelance.platform.entity.id.TimeOrderedUuid;
+import com.freelance.platform.service.FreelancerCardListener;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 
@@ -10,9 +12,10 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "reviews")
+@EntityListeners(FreelancerCardListener.class)
 public class Review {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,110 @@
+package com.freelance.platform.entity;
+
+import com.freelance.platform.entity.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry of a user's change log. seq is allocated per user from {@link SyncSequence}
+ * with no gaps, so a reconnecting client can ask for everything after the last seq it saw.
+ */
+@Entity
+@Table(name = "sync_changes",
+       uniqueConstraints = @UniqueConstraint(name = "uk_sync_changes_user_seq", columnNames = {"user_id", "seq"}),
+       indexes = @Index(name = "idx_sync_changes_created_at", columnList = "created_at"))
+public class SyncChange {
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Column(nullable = false)
+    private long seq;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private SyncChangeType type;
+    
+    @Column(name = "entity_id")
+    private UUID entityId;
+    
+    @Column(name = "related_id")
+    private UUID relatedId;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public SyncChange() {}
+    
+    public SyncChange(UUID userId, long seq, SyncChangeType type, UUID entityId, UUID relatedId) {
+        this.userId = userId;
+        this.seq = seq;
+        this.type = type;
+        this.entityId = entityId;
+        this.relatedId = relatedId;
+    }
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public UUID getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+    
+    public long getSeq() {
+        return seq;
+    }
+    
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+    
+    public SyncChangeType getType() {
+        return type;
+    }
+    
+    public void setType(SyncChangeType type) {
+        this.type = type;
+    }
+    
+    public UUID getEntityId() {
+        return entityId;
+    }
+    
+    public void setEntityId(UUID entityId) {
+        this.entityId = entityId;
+    }
+    
+    public UUID getRelatedId() {
+        return relatedId;
+    }
+    
+    public void setRelatedId(UUID relatedId) {
+        this.relatedId = relatedId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
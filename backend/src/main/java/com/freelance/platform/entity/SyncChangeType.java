@@ -0,0 +1,16 @@
+package com.freelance.platform.entity;
+
+/**
+ * Kind of change recorded in a user's sync log.
+ * entityId / relatedId carry the ids noted next to each value.
+ */
+public enum SyncChangeType {
+    MESSAGE_CREATED,         // message id / conversation id
+    MESSAGE_READ,            // message id / conversation id
+    MESSAGE_DELETED,         // message id / conversation id
+    CONVERSATION_READ,       // conversation id / reader id
+    CONVERSATION_UPDATED,    // conversation id
+    NOTIFICATION_UPSERTED,   // notification id
+    NOTIFICATION_DELETED,    // notification id
+    NOTIFICATIONS_ALL_READ   // -
+}
@@ -0,0 +1,40 @@
+package com.freelance.platform.entity;
+
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+/**
+ * Last change sequence number handed out for a user. The row is bumped with an upsert just before
+ * commit, so its lock also orders the commits of concurrent writers for the same user.
+ */
+@Entity
+@Table(name = "sync_sequences")
+public class SyncSequence {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+    
+    @Column(nullable = false)
+    private long seq;
+    
+    // Constructors
+    public SyncSequence() {}
+    
+    // Getters and Setters
+    public UUID getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+    
+    public long getSeq() {
+        return seq;
+    }
+    
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+}
@@ -1,5 +1,6 @@
 package com.freelance.platform.entity;
 
+import com.freelance.platform.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 
@@ -8,10 +9,13 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_month_status", columnList = "created_month, status, amount"),
+    @Index(name = "idx_transactions_contract_month", columnList = "contract_id, status, created_month")
+})
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -40,6 +44,11 @@ public class Transaction {
     @CreationTimestamp
     private LocalDateTime createdAt;
     
+    // UTC month bucket for the monthly series queries (V6); computed by the database, never written here
+    @Column(name = "created_month", length = 7, insertable = false, updatable = false,
+            columnDefinition = "char(7) generated always as (concat(year(created_at), '-', lpad(month(created_at), 2, '0')))")
+    private String createdMonth;
+    
     private LocalDateTime completedAt;
     
     // Constructors
@@ -141,6 +150,10 @@ public class Transaction {
         this.createdAt = createdAt;
     }
     
+    public String getCreatedMonth() {
+        return createdMonth;
+    }
+    
     public LocalDateTime getCompletedAt() {
         return completedAt;
     }
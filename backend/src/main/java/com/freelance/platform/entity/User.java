@@ -1,7 +1,12 @@
 package com.freelance.platform.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.freelance.platform.entity.id.TimeOrderedUuid;
+import com.freelance.platform.service.FreelancerCardListener;
+import com.freelance.platform.service.UserInboxListener;
+import com.freelance.platform.service.admin.UserGeoRollupListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,10 +18,13 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_created_month", columnList = "created_month, deleted_at")
+})
+@EntityListeners({UserGeoRollupListener.class, UserInboxListener.class, FreelancerCardListener.class})
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
     
     @Column(unique = true, nullable = false)
@@ -32,7 +40,9 @@ public class User {
     @Column(nullable = false)
     private String lastName;
     
+    // Batch-initialized: users loaded by one query (e.g. both parties of a contract page) get their roles in one IN query
     @ElementCollection(fetch = FetchType.EAGER)
+    @BatchSize(size = 128)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "role")
@@ -60,15 +70,39 @@ public class User {
     @CreationTimestamp
     private LocalDateTime createdAt;
     
+    // UTC month bucket for the monthly series queries (V6); computed by the database, never written here
+    @Column(name = "created_month", length = 7, insertable = false, updatable = false,
+            columnDefinition = "char(7) generated always as (concat(year(created_at), '-', lpad(month(created_at), 2, '0')))")
+    private String createdMonth;
+    
     @UpdateTimestamp
     private LocalDateTime updatedAt;
     
     private LocalDateTime deletedAt;
     
+    // Location state as last read from or written to the database, used to refresh the geo rollup
+    @JsonIgnore
+    @Transient
+    private String loadedCountry;
+    
+    @JsonIgnore
+    @Transient
+    private String loadedGeoKey;
+    
+    @JsonIgnore
+    @Transient
+    private String loadedDisplayKey;
+    
+    @JsonIgnore
+    @Transient
+    private String loadedCardKey;
+    
     // Relationships
+    // At most one profile (the owning @OneToOne keeps user_id unique). Mapped as a collection because an inverse
+    // one-to-one cannot be lazy: every user loaded would query for its profile, once per row of a listing
     @JsonIgnore
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private FreelancerProfile freelancerProfile;
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<FreelancerProfile> freelancerProfiles = new ArrayList<>();
     
     @JsonIgnore
     @OneToMany(mappedBy = "client", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -283,6 +317,10 @@ public class User {
         this.createdAt = createdAt;
     }
     
+    public String getCreatedMonth() {
+        return createdMonth;
+    }
+    
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
@@ -300,11 +338,14 @@ public class User {
     }
     
     public FreelancerProfile getFreelancerProfile() {
-        return freelancerProfile;
+        return freelancerProfiles.isEmpty() ? null : freelancerProfiles.get(0);
     }
     
     public void setFreelancerProfile(FreelancerProfile freelancerProfile) {
-        this.freelancerProfile = freelancerProfile;
+        freelancerProfiles.clear();
+        if (freelancerProfile != null) {
+            freelancerProfiles.add(freelancerProfile);
+        }
     }
     
     public List<Project> getClientProjects() {
@@ -348,6 +389,38 @@ public class User {
     }
 
     // Helper methods
+    public String getLoadedCountry() {
+        return loadedCountry;
+    }
+    
+    public void setLoadedCountry(String loadedCountry) {
+        this.loadedCountry = loadedCountry;
+    }
+    
+    public String getLoadedGeoKey() {
+        return loadedGeoKey;
+    }
+    
+    public void setLoadedGeoKey(String loadedGeoKey) {
+        this.loadedGeoKey = loadedGeoKey;
+    }
+    
+    public String getLoadedDisplayKey() {
+        return loadedDisplayKey;
+    }
+    
+    public void setLoadedDisplayKey(String loadedDisplayKey) {
+        this.loadedDisplayKey = loadedDisplayKey;
+    }
+    
+    public String getLoadedCardKey() {
+        return loadedCardKey;
+    }
+    
+    public void setLoadedCardKey(String loadedCardKey) {
+        this.loadedCardKey = loadedCardKey;
+    }
+    
     public String getFullName() {
         return firstName + " " + lastName;
     }
@@ -0,0 +1,99 @@
+package com.freelance.platform.entity;
+
+import com.freelance.platform.entity.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pre-aggregated user counts per country, city and role.
+ * Rows for a country are recomputed whenever a user in that country is created or updated,
+ * so geographic drill-downs never have to scan the users table.
+ */
+@Entity
+@Table(name = "user_geo_rollup",
+       uniqueConstraints = @UniqueConstraint(name = "uk_user_geo_rollup", columnNames = {"country", "city", "role"}),
+       indexes = @Index(name = "idx_user_geo_rollup_role", columnList = "role, country"))
+public class UserGeoRollup {
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+    
+    @Column(nullable = false)
+    private String country;
+    
+    // Empty string when the users have no city set, so the unique key stays usable
+    @Column(nullable = false)
+    private String city;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Role role;
+    
+    @Column(name = "user_count", nullable = false)
+    private Long userCount = 0L;
+    
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public UserGeoRollup() {}
+    
+    public UserGeoRollup(String country, String city, Role role, Long userCount) {
+        this.country = country;
+        this.city = city != null ? city : "";
+        this.role = role;
+        this.userCount = userCount;
+    }
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public String getCountry() {
+        return country;
+    }
+    
+    public void setCountry(String country) {
+        this.country = country;
+    }
+    
+    public String getCity() {
+        return city;
+    }
+    
+    public void setCity(String city) {
+        this.city = city;
+    }
+    
+    public Role getRole() {
+        return role;
+    }
+    
+    public void setRole(Role role) {
+        this.role = role;
+    }
+    
+    public Long getUserCount() {
+        return userCount;
+    }
+    
+    public void setUserCount(Long userCount) {
+        this.userCount = userCount;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,190 @@
+package com.freelance.platform.entity;
+
+import com.freelance.platform.entity.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row per (user, conversation): the user's view of a conversation with the other participant's
+ * display data, the project title and the last-message preview copied in at write time.
+ * The conversation list is served from here with a single index range scan on
+ * (user_id, blocked, last_message_at DESC, conversation_id DESC), which is exactly its sort order.
+ */
+@Entity
+@Table(name = "user_inbox",
+       uniqueConstraints = @UniqueConstraint(name = "uk_user_inbox_user_conversation", columnNames = {"user_id", "conversation_id"}),
+       indexes = {
+           @Index(name = "idx_user_inbox_recent", columnList = "user_id, blocked, last_message_at DESC, conversation_id DESC"),
+           @Index(name = "idx_user_inbox_type_recent", columnList = "user_id, type, last_message_at DESC, conversation_id DESC"),
+           @Index(name = "idx_user_inbox_conversation", columnList = "conversation_id"),
+           @Index(name = "idx_user_inbox_other_participant", columnList = "other_participant_id"),
+           @Index(name = "idx_user_inbox_project", columnList = "project_id")
+       })
+public class UserInbox {
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Column(name = "conversation_id", nullable = false)
+    private UUID conversationId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ConversationType type;
+    
+    @Column(name = "other_participant_id", nullable = false)
+    private UUID otherParticipantId;
+    
+    private String otherParticipantName;
+    
+    private String otherParticipantEmail;
+    
+    private String otherParticipantAvatar;
+    
+    @Column(name = "project_id")
+    private UUID projectId;
+    
+    private String projectTitle;
+    
+    @Column(name = "last_message_at", nullable = false)
+    private LocalDateTime lastMessageAt;
+    
+    private String lastMessagePreview;
+    
+    @Column(name = "unread_count", nullable = false)
+    private int unreadCount;
+    
+    @Column(nullable = false)
+    private Boolean blocked = false;
+    
+    private LocalDateTime conversationCreatedAt;
+    
+    // Constructors
+    public UserInbox() {}
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public UUID getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+    
+    public UUID getConversationId() {
+        return conversationId;
+    }
+    
+    public void setConversationId(UUID conversationId) {
+        this.conversationId = conversationId;
+    }
+    
+    public ConversationType getType() {
+        return type;
+    }
+    
+    public void setType(ConversationType type) {
+        this.type = type;
+    }
+    
+    public UUID getOtherParticipantId() {
+        return otherParticipantId;
+    }
+    
+    public void setOtherParticipantId(UUID otherParticipantId) {
+        this.otherParticipantId = otherParticipantId;
+    }
+    
+    public String getOtherParticipantName() {
+        return otherParticipantName;
+    }
+    
+    public void setOtherParticipantName(String otherParticipantName) {
+        this.otherParticipantName = otherParticipantName;
+    }
+    
+    public String getOtherParticipantEmail() {
+        return otherParticipantEmail;
+    }
+    
+    public void setOtherParticipantEmail(String otherParticipantEmail) {
+        this.otherParticipantEmail = otherParticipantEmail;
+    }
+    
+    public String getOtherParticipantAvatar() {
+        return otherParticipantAvatar;
+    }
+    
+    public void setOtherParticipantAvatar(String otherParticipantAvatar) {
+        this.otherParticipantAvatar = otherParticipantAvatar;
+    }
+    
+    public UUID getProjectId() {
+        return projectId;
+    }
+    
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+    
+    public String getProjectTitle() {
+        return projectTitle;
+    }
+    
+    public void setProjectTitle(String projectTitle) {
+        this.projectTitle = projectTitle;
+    }
+    
+    public LocalDateTime getLastMessageAt() {
+        return lastMessageAt;
+    }
+    
+    public void setLastMessageAt(LocalDateTime lastMessageAt) {
+        this.lastMessageAt = lastMessageAt;
+    }
+    
+    public String getLastMessagePreview() {
+        return lastMessagePreview;
+    }
+    
+    public void setLastMessagePreview(String lastMessagePreview) {
+        this.lastMessagePreview = lastMessagePreview;
+    }
+    
+    public int getUnreadCount() {
+        return unreadCount;
+    }
+    
+    public void setUnreadCount(int unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+    
+    public Boolean getBlocked() {
+        return blocked;
+    }
+    
+    public void setBlocked(Boolean blocked) {
+        this.blocked = blocked;
+    }
+    
+    public LocalDateTime getConversationCreatedAt() {
+        return conversationCreatedAt;
+    }
+    
+    public void setConversationCreatedAt(LocalDateTime conversationCreatedAt) {
+        this.conversationCreatedAt = conversationCreatedAt;
+    }
+}
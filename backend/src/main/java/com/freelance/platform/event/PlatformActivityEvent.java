@@ -0,0 +1,30 @@
+package com.freelance.platform.event;
+
+import java.time.Instant;
+
+/**
+ * Domain event published by the services when a tracked platform activity happens.
+ * Listeners receive it after the surrounding transaction commits.
+ */
+public class PlatformActivityEvent {
+
+    private final PlatformActivityType type;
+    private final Instant occurredAt;
+
+    public PlatformActivityEvent(PlatformActivityType type) {
+        this(type, Instant.now());
+    }
+
+    public PlatformActivityEvent(PlatformActivityType type, Instant occurredAt) {
+        this.type = type;
+        this.occurredAt = occurredAt;
+    }
+
+    public PlatformActivityType getType() {
+        return type;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
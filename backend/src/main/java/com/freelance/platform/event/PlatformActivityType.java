@@ -0,0 +1,22 @@
+package com.freelance.platform.event;
+
+/**
+ * Platform activities tracked by the real-time admin metrics.
+ */
+public enum PlatformActivityType {
+    SIGNUP("signups"),
+    PROJECT_POSTED("projectsPosted"),
+    PROPOSAL_SUBMITTED("proposals"),
+    MESSAGE_SENT("messages"),
+    PAYMENT_PROCESSED("payments");
+
+    private final String metricName;
+
+    PlatformActivityType(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
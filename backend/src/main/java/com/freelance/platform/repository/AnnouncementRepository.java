@@ -5,6 +5,7 @@ import com.freelance.platform.entity.TargetAudience;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -25,4 +26,9 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, UUID
     
     @Query("SELECT COUNT(a) FROM Announcement a WHERE a.sentAt IS NOT NULL")
     long countSentAnnouncements();
+    
+    // Sending - claim an unsent announcement; 0 when it is missing or another request already sent it
+    @Modifying
+    @Query("UPDATE Announcement a SET a.sentAt = :sentAt WHERE a.id = :id AND a.sentAt IS NULL")
+    int markSent(@Param("id") UUID id, @Param("sentAt") LocalDateTime sentAt);
 }
@@ -6,13 +6,13 @@ import com.freelance.platform.entity.Project;
 import com.freelance.platform.entity.ContractStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -51,6 +51,17 @@ public interface ContractRepository extends JpaRepository<Contract, UUID> {
     @Query("SELECT c FROM Contract c WHERE c.freelancer.id = :freelancerId ORDER BY c.createdAt DESC")
     Page<Contract> findByFreelancerIdOrderByCreatedAtDesc(@Param("freelancerId") UUID freelancerId, Pageable pageable);
     
+    // Contract listings - project and both parties fetched with the page; their roles follow in one batch (User.roles)
+    @EntityGraph(attributePaths = {"project", "client", "freelancer"})
+    @Query(value = "SELECT c FROM Contract c WHERE c.client.id = :clientId ORDER BY c.createdAt DESC, c.id DESC",
+           countQuery = "SELECT COUNT(c) FROM Contract c WHERE c.client.id = :clientId")
+    Page<Contract> findListingByClientId(@Param("clientId") UUID clientId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"project", "client", "freelancer"})
+    @Query(value = "SELECT c FROM Contract c WHERE c.freelancer.id = :freelancerId ORDER BY c.createdAt DESC, c.id DESC",
+           countQuery = "SELECT COUNT(c) FROM Contract c WHERE c.freelancer.id = :freelancerId")
+    Page<Contract> findListingByFreelancerId(@Param("freelancerId") UUID freelancerId, Pageable pageable);
+    
     @Query("SELECT c FROM Contract c WHERE c.status = :status ORDER BY c.createdAt DESC")
     Page<Contract> findByStatusOrderByCreatedAtDesc(@Param("status") ContractStatus status, Pageable pageable);
     
@@ -140,31 +151,29 @@ public interface ContractRepository extends JpaRepository<Contract, UUID> {
     
     @Query("SELECT AVG(c.totalAmount) FROM Contract c WHERE c.client.id = :clientId")
     Double getAverageContractValueByClientId(@Param("clientId") UUID clientId);
-    // Analytics - monthly contract counts (UTC)
-    @Query(value = "SELECT DATE_FORMAT(CONVERT_TZ(c.created_at, @@session.time_zone, '+00:00'), '%Y-%m') AS ym, " +
-                   "COUNT(*) AS c " +
+    // Analytics - monthly contract counts (UTC months from fromMonth, "yyyy-MM")
+    // created_month is a generated column (V6, mapped read-only on the entity), so this is a range scan on idx_contracts_created_month
+    @Query(value = "SELECT c.created_month AS ym, COUNT(*) AS c " +
                    "FROM contracts c " +
-                   "WHERE c.created_at >= (UTC_TIMESTAMP() - INTERVAL 12 MONTH) " +
-                   "GROUP BY ym " +
-                   "ORDER BY ym", nativeQuery = true)
-    List<Object[]> findMonthlyContractCountsLast12MonthsUtc();
+                   "WHERE c.created_month >= :fromMonth " +
+                   "GROUP BY c.created_month " +
+                   "ORDER BY c.created_month", nativeQuery = true)
+    List<Object[]> findMonthlyContractCountsSince(@Param("fromMonth") String fromMonth);
 
     // Analytics trend methods
-    @Query(value = "SELECT DATE_FORMAT(CONVERT_TZ(c.created_at, @@session.time_zone, '+00:00'), '%Y-%m') AS ym, " +
-                   "COUNT(*) AS c " +
+    @Query(value = "SELECT c.created_month AS ym, COUNT(*) AS c " +
                    "FROM contracts c " +
-                   "WHERE c.freelancer.id = :freelancerId " +
-                   "AND c.created_at >= :startDate " +
-                   "GROUP BY ym " +
-                   "ORDER BY ym", nativeQuery = true)
-    List<Object[]> getProjectTrendByFreelancerId(@Param("freelancerId") UUID freelancerId, @Param("startDate") LocalDateTime startDate);
+                   "WHERE c.freelancer_id = :freelancerId " +
+                   "AND c.created_month >= :startMonth " +
+                   "GROUP BY c.created_month " +
+                   "ORDER BY c.created_month", nativeQuery = true)
+    List<Object[]> getProjectTrendByFreelancerId(@Param("freelancerId") UUID freelancerId, @Param("startMonth") String startMonth);
 
-    @Query(value = "SELECT DATE_FORMAT(CONVERT_TZ(c.created_at, @@session.time_zone, '+00:00'), '%Y-%m') AS ym, " +
-                   "COUNT(*) AS c " +
+    @Query(value = "SELECT c.created_month AS ym, COUNT(*) AS c " +
                    "FROM contracts c " +
-                   "WHERE c.client.id = :clientId " +
-                   "AND c.created_at >= :startDate " +
-                   "GROUP BY ym " +
-                   "ORDER BY ym", nativeQuery = true)
-    List<Object[]> getFreelancerTrendByClientId(@Param("clientId") UUID clientId, @Param("startDate") LocalDateTime startDate);
+                   "WHERE c.client_id = :clientId " +
+                   "AND c.created_month >= :startMonth " +
+                   "GROUP BY c.created_month " +
+                   "ORDER BY c.created_month", nativeQuery = true)
+    List<Object[]> getFreelancerTrendByClientId(@Param("clientId") UUID clientId, @Param("startMonth") String startMonth);
 }
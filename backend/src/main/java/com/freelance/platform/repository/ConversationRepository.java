@@ -4,19 +4,53 @@ import com.freelance.platform.entity.Conversation;
 import com.freelance.platform.entity.ConversationType;
 import com.freelance.platform.entity.Project;
 import com.freelance.platform.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ConversationRepository extends JpaRepository<Conversation, UUID> {
     
+    /**
+     * Find a conversation by its canonical pair key (single unique-index lookup)
+     */
+    Optional<Conversation> findByPairKey(String pairKey);
+    
+    /**
+     * Insert-or-skip on the pair_key unique index, in the caller's transaction. A duplicate key turns into a no-op
+     * update, so any other error (a missing participant, a bad column) still surfaces; if the existing row's creator
+     * has not committed yet, InnoDB makes this statement wait for that transaction. The affected row count does not
+     * tell an insert from a duplicate under the driver's found-rows default, so callers compare the id they passed
+     * with the row they read back. Unread counters take their column defaults.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO conversations (id, participant1_id, participant2_id, project_id, type, pair_key, " +
+                   "last_message_at, participant1blocked, participant2blocked, created_at, updated_at) " +
+                   "VALUES (:id, :participant1Id, :participant2Id, :projectId, :type, :pairKey, :now, false, false, :now, :now) " +
+                   "ON DUPLICATE KEY UPDATE id = id",
+           nativeQuery = true)
+    void insertIfAbsent(@Param("id") UUID id, @Param("participant1Id") UUID participant1Id,
+                        @Param("participant2Id") UUID participant2Id, @Param("projectId") UUID projectId,
+                        @Param("type") String type, @Param("pairKey") String pairKey, @Param("now") LocalDateTime now);
+    
+    /**
+     * Locking read by pair key: sees rows committed by concurrent transactions after our snapshot was taken
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT c FROM Conversation c WHERE c.pairKey = :pairKey")
+    Optional<Conversation> findByPairKeyForShare(@Param("pairKey") String pairKey);
+    
     /**
      * Find a direct message conversation between two users
      * Returns conversation regardless of participant order
@@ -72,4 +106,47 @@ public interface ConversationRepository extends JpaRepository<Conversation, UUID
      Optional<Conversation> findProjectConversation(@Param("project") Project project, 
                                                      @Param("user1") User user1, 
                                                      @Param("user2") User user2);
+     
+     /**
+      * Add delta to the participant's unread counter (never below zero).
+      * Runs as a single row update, so concurrent sends and reads serialize on the conversation row.
+      */
+     @Modifying
+     @Query("UPDATE Conversation c SET " +
+            "c.participant1UnreadCount = CASE WHEN c.participant1.id = :userId THEN " +
+            "(CASE WHEN c.participant1UnreadCount + :delta < 0 THEN 0 ELSE c.participant1UnreadCount + :delta END) " +
+            "ELSE c.participant1UnreadCount END, " +
+            "c.participant2UnreadCount = CASE WHEN c.participant2.id = :userId THEN " +
+            "(CASE WHEN c.participant2UnreadCount + :delta < 0 THEN 0 ELSE c.participant2UnreadCount + :delta END) " +
+            "ELSE c.participant2UnreadCount END " +
+            "WHERE c.id = :conversationId")
+     int adjustUnreadCount(@Param("conversationId") UUID conversationId, @Param("userId") UUID userId, @Param("delta") int delta);
+     
+     /**
+      * Total unread messages for a user, summed from the per-conversation counters
+      */
+     @Query("SELECT COALESCE(SUM(c.participant1UnreadCount), 0) FROM Conversation c WHERE c.participant1.id = :userId")
+     long sumParticipant1UnreadCount(@Param("userId") UUID userId);
+     
+     @Query("SELECT COALESCE(SUM(c.participant2UnreadCount), 0) FROM Conversation c WHERE c.participant2.id = :userId")
+     long sumParticipant2UnreadCount(@Param("userId") UUID userId);
+     
+     /**
+      * Conversations without inbox rows, in id order, for the inbox backfill
+      */
+     @Query("SELECT c FROM Conversation c JOIN FETCH c.participant1 JOIN FETCH c.participant2 LEFT JOIN FETCH c.project " +
+            "WHERE c.id > :afterId AND NOT EXISTS (SELECT 1 FROM UserInbox i WHERE i.conversationId = c.id) ORDER BY c.id")
+     List<Conversation> findWithoutInboxRows(@Param("afterId") UUID afterId, Pageable pageable);
+     
+     /**
+      * Participant ids only, for routing ephemeral typing and read-receipt events without loading users
+      */
+     @Query("SELECT c.participant1.id, c.participant2.id FROM Conversation c WHERE c.id = :conversationId")
+     List<Object[]> findParticipantIds(@Param("conversationId") UUID conversationId);
+
+    // Message archival - conversations holding messages older than the cutoff, walked by primary key
+    @Query("SELECT c.id FROM Conversation c WHERE c.id > :afterId AND EXISTS " +
+           "(SELECT 1 FROM Message m WHERE m.conversation = c AND m.createdAt < :cutoff) ORDER BY c.id")
+    List<UUID> findIdsWithMessagesBefore(@Param("afterId") UUID afterId, @Param("cutoff") LocalDateTime cutoff,
+                                         Pageable pageable);
 }
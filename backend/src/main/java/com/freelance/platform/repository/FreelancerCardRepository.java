@@ -0,0 +1,33 @@
+package com.freelance.platform.repository;
+
+import com.freelance.platform.entity.FreelancerCard;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface FreelancerCardRepository extends JpaRepository<FreelancerCard, UUID> {
+    
+    // Freelancer directory - one range scan on idx_freelancer_card_recent
+    @Query(value = "SELECT c FROM FreelancerCard c ORDER BY c.createdAt DESC, c.userId DESC",
+           countQuery = "SELECT COUNT(c) FROM FreelancerCard c")
+    Page<FreelancerCard> findCards(Pageable pageable);
+    
+    // Rebuild sweep - cards whose user is gone, deleted or no longer a freelancer, walked by primary key
+    @Query("SELECT c.userId FROM FreelancerCard c WHERE c.userId > :afterId AND NOT EXISTS (" +
+           "SELECT 1 FROM User u JOIN u.roles r WHERE u.id = c.userId " +
+           "AND r = com.freelance.platform.entity.Role.FREELANCER AND u.deletedAt IS NULL) ORDER BY c.userId")
+    List<UUID> findOrphanedUserIds(@Param("afterId") UUID afterId, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM FreelancerCard c WHERE c.userId IN :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+}
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -77,4 +78,12 @@ public interface FreelancerProfileRepository extends JpaRepository<FreelancerPro
     
     @Query("SELECT SUM(fp.totalEarnings) FROM FreelancerProfile fp WHERE fp.user.isActive = true AND fp.user.isVerified = true")
     BigDecimal getTotalEarnings();
+    
+    // Freelancer cards - profiles for a batch of users
+    @Query("SELECT fp FROM FreelancerProfile fp WHERE fp.user.id IN :userIds")
+    List<FreelancerProfile> findByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+    
+    // Freelancer cards - owning user ids for skill and portfolio changes recorded by profile id
+    @Query("SELECT fp.user.id FROM FreelancerProfile fp WHERE fp.id IN :profileIds")
+    List<UUID> findUserIdsByIdIn(@Param("profileIds") Collection<UUID> profileIds);
 }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,4 +35,9 @@ public interface FreelancerSkillRepository extends JpaRepository<FreelancerSkill
     long countByFreelancerId(UUID freelancerId);
     
     void deleteByFreelancerId(UUID freelancerId);
-}
\ No newline at end of file
+    
+    // Freelancer cards - (userId, skill name) pairs for a batch of users
+    @Query("SELECT fp.user.id, s.name FROM FreelancerSkill fs JOIN fs.freelancer fp JOIN fs.skill s " +
+           "WHERE fp.user.id IN :userIds ORDER BY s.name")
+    List<Object[]> findSkillNamesByUserIds(@Param("userIds") Collection<UUID> userIds);
+}
@@ -0,0 +1,28 @@
+package com.freelance.platform.repository;
+
+import com.freelance.platform.entity.MessageArchiveSegment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MessageArchiveSegmentRepository extends JpaRepository<MessageArchiveSegment, UUID> {
+    
+    // Segments starting before the (createdAt, id) cursor, newest first; segment ranges never overlap
+    @Query("SELECT s FROM MessageArchiveSegment s WHERE s.conversationId = :conversationId " +
+           "AND (:beforeAt IS NULL OR s.firstCreatedAt < :beforeAt OR (s.firstCreatedAt = :beforeAt AND s.firstMessageId < :beforeId)) " +
+           "ORDER BY s.lastCreatedAt DESC, s.lastMessageId DESC")
+    List<MessageArchiveSegment> findBefore(@Param("conversationId") UUID conversationId, @Param("beforeAt") LocalDateTime beforeAt,
+                                           @Param("beforeId") UUID beforeId, Pageable pageable);
+    
+    // Storage report - segments, messages, raw and compressed bytes across the whole archive
+    @Query("SELECT COUNT(s), COALESCE(SUM(s.messageCount), 0), COALESCE(SUM(s.rawBytes), 0), COALESCE(SUM(s.compressedBytes), 0) " +
+           "FROM MessageArchiveSegment s")
+    List<Object[]> summarize();
+}
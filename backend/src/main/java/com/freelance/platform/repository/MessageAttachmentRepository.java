@@ -0,0 +1,19 @@
+package com.freelance.platform.repository;
+
+import com.freelance.platform.entity.MessageAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface MessageAttachmentRepository extends JpaRepository<MessageAttachment, UUID> {
+    
+    @Modifying
+    @Query("DELETE FROM MessageAttachment a WHERE a.message.id IN :messageIds")
+    int deleteByMessageIdIn(@Param("messageIds") Collection<UUID> messageIds);
+}
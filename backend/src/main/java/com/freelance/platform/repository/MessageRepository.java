@@ -5,15 +5,21 @@ import com.freelance.platform.entity.User;
 import com.freelance.platform.entity.Project;
 import com.freelance.platform.entity.MessageType;
 import com.freelance.platform.entity.Conversation;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -146,6 +152,46 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
     @Query("SELECT m FROM Message m WHERE m.conversation = :conversation ORDER BY m.createdAt ASC")
     Page<Message> findByConversationOrderByCreatedAtAsc(@Param("conversation") Conversation conversation, Pageable pageable);
     
+    // Conversation history - newest first behind a (createdAt, id) keyset cursor, participants fetched in the same query
+    @EntityGraph(attributePaths = {"sender", "recipient"})
+    @Query("SELECT m FROM Message m WHERE m.conversation.id = :conversationId " +
+           "AND (:beforeAt IS NULL OR m.createdAt < :beforeAt OR (m.createdAt = :beforeAt AND m.id < :beforeId)) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findHistoryBefore(@Param("conversationId") UUID conversationId, @Param("beforeAt") LocalDateTime beforeAt,
+                                    @Param("beforeId") UUID beforeId, Pageable pageable);
+    
+    // Delta sync - current state of the messages named in a user's change log
+    @EntityGraph(attributePaths = {"sender", "recipient"})
+    @Query("SELECT m FROM Message m WHERE m.id IN :ids ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findWithParticipantsByIdIn(@Param("ids") Collection<UUID> ids);
+    
     @Query("SELECT m FROM Message m WHERE m.conversation = :conversation AND m.recipient.id = :userId AND m.isRead = false")
     List<Message> findUnreadMessagesByConversationAndRecipient(@Param("conversation") Conversation conversation, @Param("userId") UUID userId);
+    
+    // Set-based read receipts - the returned row count is what the unread counter is decremented by.
+    // Bounded by the receipt time, so messages that arrive after the reader looked stay unread
+    @Modifying
+    @Query("UPDATE Message m SET m.isRead = true WHERE m.conversation.id = :conversationId AND m.recipient.id = :recipientId " +
+           "AND m.isRead = false AND m.createdAt <= :readAt")
+    int markConversationAsReadForRecipient(@Param("conversationId") UUID conversationId, @Param("recipientId") UUID recipientId,
+                                           @Param("readAt") LocalDateTime readAt);
+    
+    @Modifying
+    @Query("UPDATE Message m SET m.isRead = true WHERE m.id = :messageId AND m.isRead = false")
+    int markAsReadIfUnread(@Param("messageId") UUID messageId);
+    
+    // Locking read for deletion: waits for a concurrent read receipt on the row and sees its committed isRead
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Message m WHERE m.id = :messageId")
+    Optional<Message> findByIdForUpdate(@Param("messageId") UUID messageId);
+
+    // Message archival - oldest messages of a conversation first, in the history keyset order
+    @Query("SELECT m FROM Message m WHERE m.conversation.id = :conversationId AND m.createdAt < :cutoff " +
+           "ORDER BY m.createdAt ASC, m.id ASC")
+    List<Message> findOldestBefore(@Param("conversationId") UUID conversationId, @Param("cutoff") LocalDateTime cutoff,
+                                   Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM Message m WHERE m.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
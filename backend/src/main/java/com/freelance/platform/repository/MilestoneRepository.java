@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -51,4 +52,8 @@ public interface MilestoneRepository extends JpaRepository<Milestone, UUID> {
     
     // Additional method needed by ContractService
     List<Milestone> findByContractIdOrderByOrderIndexAsc(UUID contractId);
+    
+    // Contract listings - milestones of a whole page of contracts in one query, grouped by the caller
+    @Query("SELECT m FROM Milestone m WHERE m.contract.id IN :contractIds ORDER BY m.orderIndex ASC")
+    List<Milestone> findByContractIdInOrderByOrderIndexAsc(@Param("contractIds") Collection<UUID> contractIds);
 }
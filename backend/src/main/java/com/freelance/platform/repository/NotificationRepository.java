@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -58,6 +59,34 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
            "ORDER BY n.createdAt DESC")
     Page<Notification> findByUserIdAndSearchTerm(@Param("userId") UUID userId, @Param("searchTerm") String searchTerm, Pageable pageable);
     
+    // Combined filters - every optional filter is applied in SQL before paging
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+           "AND (:type IS NULL OR n.type = :type) " +
+           "AND (:priority IS NULL OR n.priority = :priority) " +
+           "AND (:isRead IS NULL OR n.isRead = :isRead) " +
+           "AND (:searchTerm IS NULL OR LOWER(n.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(n.message) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    Page<Notification> findByUserIdWithFilters(@Param("userId") UUID userId, @Param("type") String type,
+                                               @Param("priority") String priority, @Param("isRead") Boolean isRead,
+                                               @Param("searchTerm") String searchTerm, Pageable pageable);
+    
+    // Grouped feed - the newest notification of each conversation group plus every ungrouped notification,
+    // read with a (createdAt, id) keyset cursor so groups never split across pages
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+           "AND (:cursorAt IS NULL OR n.createdAt < :cursorAt OR (n.createdAt = :cursorAt AND n.id < :cursorId)) " +
+           "AND (n.groupType IS NULL OR n.groupType <> 'CONVERSATION' OR n.groupKey IS NULL OR n.groupKey = '' " +
+           "OR NOT EXISTS (SELECT 1 FROM Notification m WHERE m.user.id = :userId AND m.groupType = 'CONVERSATION' " +
+           "AND m.groupKey = n.groupKey AND (m.createdAt > n.createdAt OR (m.createdAt = n.createdAt AND m.id > n.id)))) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findGroupHeadsByUserId(@Param("userId") UUID userId, @Param("cursorAt") LocalDateTime cursorAt,
+                                              @Param("cursorId") UUID cursorId, Pageable pageable);
+    
+    // Grouped feed - size of each conversation group on the current page (groupKey -> count)
+    @Query("SELECT n.groupKey, COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.groupType = 'CONVERSATION' " +
+           "AND n.groupKey IN :groupKeys GROUP BY n.groupKey")
+    List<Object[]> countByUserIdAndConversationGroupKeys(@Param("userId") UUID userId, @Param("groupKeys") Collection<String> groupKeys);
+    
     // Mark notifications as read
     @Modifying
     @Query("UPDATE Notification n SET n.isRead = true WHERE n.user = :user")
@@ -75,6 +104,11 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.user.id = :userId")
     void markAsReadByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
     
+    // Conditional read flip - only the request that changes the row gets 1, so the badge is decremented once
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.user.id = :userId AND n.isRead = false")
+    int markAsReadIfUnread(@Param("id") UUID id, @Param("userId") UUID userId);
+    
     // Delete old notifications
     @Modifying
     @Query("DELETE FROM Notification n WHERE n.user = :user AND n.createdAt < :cutoffDate")
@@ -84,13 +118,43 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     @Query("DELETE FROM Notification n WHERE n.user.id = :userId AND n.createdAt < :cutoffDate")
     void deleteOldNotificationsByUserId(@Param("userId") UUID userId, @Param("cutoffDate") LocalDateTime cutoffDate);
     
+    // Retention purge - rows are (id, createdAt) so the caller can resume after the last one.
+    // A typed policy walks (created_at, id), the order of idx_notifications_type_created_at (InnoDB appends
+    // the primary key), so each chunk is a range seek that starts where the previous one stopped
+    @Query("SELECT n.id, n.createdAt FROM Notification n WHERE n.type = :type AND n.createdAt < :cutoffDate " +
+           "AND (n.createdAt > :afterCreatedAt OR (n.createdAt = :afterCreatedAt AND n.id > :afterId)) " +
+           "ORDER BY n.createdAt, n.id")
+    List<Object[]> findExpiredIdsByType(@Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") UUID afterId,
+                                        @Param("type") String type, @Param("cutoffDate") LocalDateTime cutoffDate,
+                                        Pageable pageable);
+    
+    // The default policy has no type to seek on; ids are time-ordered, so the primary key walk meets expired rows first
+    @Query("SELECT n.id, n.createdAt FROM Notification n WHERE n.id > :afterId AND n.type NOT IN :types AND n.createdAt < :cutoffDate ORDER BY n.id")
+    List<Object[]> findExpiredIdsExcludingTypes(@Param("afterId") UUID afterId, @Param("types") Collection<String> types,
+                                                @Param("cutoffDate") LocalDateTime cutoffDate, Pageable pageable);
+    
+    @Query("SELECT n.id, n.createdAt FROM Notification n WHERE n.id > :afterId AND n.createdAt < :cutoffDate ORDER BY n.id")
+    List<Object[]> findExpiredIds(@Param("afterId") UUID afterId, @Param("cutoffDate") LocalDateTime cutoffDate, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+    
     // Find notifications created today
-    @Query("SELECT n FROM Notification n WHERE n.user = :user AND DATE(n.createdAt) = CURRENT_DATE ORDER BY n.createdAt DESC")
+    @Query("SELECT n FROM Notification n WHERE n.user = :user AND CAST(n.createdAt AS date) = CURRENT_DATE ORDER BY n.createdAt DESC")
     List<Notification> findTodayNotificationsByUser(@Param("user") User user);
     
-    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND DATE(n.createdAt) = CURRENT_DATE ORDER BY n.createdAt DESC")
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND CAST(n.createdAt AS date) = CURRENT_DATE ORDER BY n.createdAt DESC")
     List<Notification> findTodayNotificationsByUserId(@Param("userId") UUID userId);
     
+    // Badge counters - total, unread, high priority and today per user in one grouped pass
+    @Query("SELECT n.user.id, COUNT(n), " +
+           "SUM(CASE WHEN n.isRead = false THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN n.priority = 'high' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN n.createdAt >= :startOfDay THEN 1 ELSE 0 END) " +
+           "FROM Notification n WHERE n.user.id IN :userIds GROUP BY n.user.id")
+    List<Object[]> aggregateCountersByUserIds(@Param("userIds") Collection<UUID> userIds, @Param("startOfDay") LocalDateTime startOfDay);
+    
     // Count notifications by priority
     long countByUserAndPriority(User user, String priority);
     
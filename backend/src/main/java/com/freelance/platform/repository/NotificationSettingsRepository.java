@@ -3,8 +3,12 @@ package com.freelance.platform.repository;
 import com.freelance.platform.entity.NotificationSettings;
 import com.freelance.platform.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,4 +22,8 @@ public interface NotificationSettingsRepository extends JpaRepository<Notificati
     boolean existsByUser(User user);
     
     boolean existsByUserId(UUID userId);
+    
+    // Batched email delivery - settings for many users keyed by user id
+    @Query("SELECT s.user.id, s FROM NotificationSettings s WHERE s.user.id IN :userIds")
+    List<Object[]> findByUserIdIn(@Param("userIds") Collection<UUID> userIds);
 }
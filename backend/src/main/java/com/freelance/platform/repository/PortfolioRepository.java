@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,4 +28,8 @@ public interface PortfolioRepository extends JpaRepository<Portfolio, UUID> {
     
     @Query("SELECT p FROM Portfolio p WHERE LOWER(p.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(p.technologies) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Portfolio> searchPortfolios(@Param("searchTerm") String searchTerm);
-}
\ No newline at end of file
+    
+    // Freelancer cards - portfolio item count per user for a batch of users
+    @Query("SELECT fp.user.id, COUNT(p) FROM Portfolio p JOIN p.freelancer fp WHERE fp.user.id IN :userIds GROUP BY fp.user.id")
+    List<Object[]> countByUserIds(@Param("userIds") Collection<UUID> userIds);
+}
@@ -4,6 +4,7 @@ import com.freelance.platform.entity.Project;
 import com.freelance.platform.entity.User;
 import com.freelance.platform.entity.ProjectStatus;
 import com.freelance.platform.entity.ProjectType;
+import com.freelance.platform.repository.projection.ProjectCardView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -13,7 +14,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -122,6 +123,50 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
             @Param("projectType") ProjectType projectType,
             Pageable pageable);
     
+    // Project list cards - one row per project with the client joined and attachments counted, no TEXT columns
+    String CARD_SELECT = "SELECT p.id AS id, c.id AS clientId, c.firstName AS clientFirstName, c.lastName AS clientLastName, " +
+           "c.avatarUrl AS clientAvatarUrl, p.title AS title, p.descriptionSnippet AS descriptionSnippet, p.category AS category, " +
+           "p.budgetMin AS budgetMin, p.budgetMax AS budgetMax, p.currency AS currency, p.projectType AS projectType, " +
+           "p.duration AS duration, p.status AS status, p.isFeatured AS isFeatured, p.deadline AS deadline, " +
+           "p.createdAt AS createdAt, p.updatedAt AS updatedAt, " +
+           "(SELECT COUNT(a) FROM ProjectAttachment a WHERE a.project = p) AS attachmentCount " +
+           "FROM Project p JOIN p.client c ";
+    
+    @Query(value = CARD_SELECT + "WHERE p.status = :status ORDER BY p.createdAt DESC, p.id DESC",
+           countQuery = "SELECT COUNT(p) FROM Project p WHERE p.status = :status")
+    Page<ProjectCardView> findCardsByStatus(@Param("status") ProjectStatus status, Pageable pageable);
+    
+    @Query(value = CARD_SELECT + "WHERE p.isFeatured = true AND p.status = :status ORDER BY p.createdAt DESC, p.id DESC",
+           countQuery = "SELECT COUNT(p) FROM Project p WHERE p.isFeatured = true AND p.status = :status")
+    Page<ProjectCardView> findFeaturedCardsByStatus(@Param("status") ProjectStatus status, Pageable pageable);
+    
+    String CARD_FILTERS = "WHERE p.status = 'PUBLISHED' AND " +
+           "(:query IS NULL OR " +
+           "LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(p.category) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
+           "(:category IS NULL OR LOWER(p.category) = LOWER(:category)) AND " +
+           "(:skills IS NULL OR EXISTS (SELECT 1 FROM p.skillsRequired s WHERE s IN :skills)) AND " +
+           "(:minBudget IS NULL OR p.budgetMax >= :minBudget) AND " +
+           "(:maxBudget IS NULL OR p.budgetMin <= :maxBudget) AND " +
+           "(:projectType IS NULL OR p.projectType = :projectType)";
+    
+    // Same filters as findPublishedProjectsWithFilters; ordering comes from the Pageable's sort
+    @Query(value = CARD_SELECT + CARD_FILTERS,
+           countQuery = "SELECT COUNT(p) FROM Project p " + CARD_FILTERS)
+    Page<ProjectCardView> findPublishedCardsWithFilters(
+            @Param("query") String query,
+            @Param("category") String category,
+            @Param("skills") List<String> skills,
+            @Param("minBudget") BigDecimal minBudget,
+            @Param("maxBudget") BigDecimal maxBudget,
+            @Param("projectType") ProjectType projectType,
+            Pageable pageable);
+    
+    // Project list cards - required skills for a whole page of projects as (projectId, skill) pairs
+    @Query("SELECT p.id, s FROM Project p JOIN p.skillsRequired s WHERE p.id IN :projectIds")
+    List<Object[]> findSkillsByProjectIds(@Param("projectIds") Collection<UUID> projectIds);
+    
     // Additional methods for analytics
     @Query("SELECT p FROM Project p ORDER BY p.createdAt DESC")
     List<Project> findTop10ByOrderByCreatedAtDesc();
@@ -139,34 +184,32 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
     @Query("SELECT AVG(p.budgetMax) FROM Project p WHERE p.client.id = :clientId")
     Double getAverageProjectValueByClientId(@Param("clientId") UUID clientId);
 
-    // Analytics - monthly project counts (UTC)
-    @Query(value = "SELECT DATE_FORMAT(CONVERT_TZ(p.created_at, @@session.time_zone, '+00:00'), '%Y-%m') AS ym, " +
-                   "COUNT(*) AS c " +
+    // Analytics - monthly project counts (UTC months from fromMonth, "yyyy-MM")
+    // created_month is a generated column (V6, mapped read-only on the entity), so this is a range scan on idx_projects_created_month
+    @Query(value = "SELECT p.created_month AS ym, COUNT(*) AS c " +
                    "FROM projects p " +
-                   "WHERE p.created_at >= (UTC_TIMESTAMP() - INTERVAL 12 MONTH) " +
-                   "GROUP BY ym " +
-                   "ORDER BY ym", nativeQuery = true)
-    List<Object[]> findMonthlyProjectCountsLast12MonthsUtc();
+                   "WHERE p.created_month >= :fromMonth " +
+                   "GROUP BY p.created_month " +
+                   "ORDER BY p.created_month", nativeQuery = true)
+    List<Object[]> findMonthlyProjectCountsSince(@Param("fromMonth") String fromMonth);
     
     // Analytics - projects by status excluding draft
-    @Query(value = "SELECT DATE_FORMAT(CONVERT_TZ(p.created_at, @@session.time_zone, '+00:00'), '%Y-%m') AS ym, " +
-                   "COUNT(*) AS c " +
+    @Query(value = "SELECT p.created_month AS ym, COUNT(*) AS c " +
                    "FROM projects p " +
-                   "WHERE p.status != 'DRAFT' " +
-                   "AND p.created_at >= (UTC_TIMESTAMP() - INTERVAL 12 MONTH) " +
-                   "GROUP BY ym " +
-                   "ORDER BY ym", nativeQuery = true)
-    List<Object[]> findMonthlyPublishedProjectCountsLast12MonthsUtc();
+                   "WHERE p.created_month >= :fromMonth " +
+                   "AND p.status != 'DRAFT' " +
+                   "GROUP BY p.created_month " +
+                   "ORDER BY p.created_month", nativeQuery = true)
+    List<Object[]> findMonthlyPublishedProjectCountsSince(@Param("fromMonth") String fromMonth);
 
     // Analytics trend method
-    @Query(value = "SELECT DATE_FORMAT(CONVERT_TZ(p.created_at, @@session.time_zone, '+00:00'), '%Y-%m') AS ym, " +
-                   "COUNT(*) AS c " +
+    @Query(value = "SELECT p.created_month AS ym, COUNT(*) AS c " +
                    "FROM projects p " +
-                   "WHERE p.client.id = :clientId " +
-                   "AND p.created_at >= :startDate " +
-                   "GROUP BY ym " +
-                   "ORDER BY ym", nativeQuery = true)
-    List<Object[]> getProjectTrendByClientId(@Param("clientId") UUID clientId, @Param("startDate") LocalDateTime startDate);
+                   "WHERE p.client_id = :clientId " +
+                   "AND p.created_month >= :startMonth " +
+                   "GROUP BY p.created_month " +
+                   "ORDER BY p.created_month", nativeQuery = true)
+    List<Object[]> getProjectTrendByClientId(@Param("clientId") UUID clientId, @Param("startMonth") String startMonth);
 
     @Query("SELECT p FROM Project p WHERE " +
            "(LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
@@ -7,11 +7,13 @@ import com.freelance.platform.entity.ProposalStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -125,4 +127,19 @@ public interface ProposalRepository extends JpaRepository<Proposal, UUID> {
                    "GROUP BY ym " +
                    "ORDER BY ym", nativeQuery = true)
     List<Object[]> findMonthlyProposalCountsLast12MonthsUtc();
+    
+    // Acceptance - reject every other pending proposal on the project in one statement, bumping their versions
+    // so a concurrent withdraw or reject of one of them fails its version check
+    @Modifying
+    @Query("UPDATE Proposal p SET p.status = com.freelance.platform.entity.ProposalStatus.REJECTED, p.respondedAt = :respondedAt, " +
+           "p.version = p.version + 1 " +
+           "WHERE p.project.id = :projectId AND p.status = com.freelance.platform.entity.ProposalStatus.PENDING AND p.id <> :acceptedId")
+    int rejectOtherPending(@Param("projectId") UUID projectId, @Param("acceptedId") UUID acceptedId,
+                           @Param("respondedAt") LocalDateTime respondedAt);
+    
+    // Acceptance - (proposalId, freelancerId) of the proposals rejected by rejectOtherPending, matched on its timestamp
+    @Query("SELECT p.id, p.freelancer.id FROM Proposal p WHERE p.project.id = :projectId " +
+           "AND p.status = com.freelance.platform.entity.ProposalStatus.REJECTED AND p.respondedAt = :respondedAt AND p.id <> :acceptedId")
+    List<Object[]> findRejectedAt(@Param("projectId") UUID projectId, @Param("acceptedId") UUID acceptedId,
+                                  @Param("respondedAt") LocalDateTime respondedAt);
 }
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -150,4 +151,8 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
 
      @Query("SELECT COUNT(r) > 0 FROM Review r WHERE r.contract.project.id = :projectId AND r.reviewer.id = :reviewerId")
      boolean existsByProjectIdAndReviewerId(@Param("projectId") UUID projectId, @Param("reviewerId") UUID reviewerId);
- }
+    
+    // Freelancer cards - rating average and review count per reviewee for a batch of users
+    @Query("SELECT r.reviewee.id, AVG(r.rating), COUNT(r) FROM Review r WHERE r.reviewee.id IN :userIds GROUP BY r.reviewee.id")
+    List<Object[]> aggregateRatingsByRevieweeIds(@Param("userIds") Collection<UUID> userIds);
+}
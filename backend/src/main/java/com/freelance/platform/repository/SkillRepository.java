@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,6 +16,8 @@ public interface SkillRepository extends JpaRepository<Skill, UUID> {
     
     Optional<Skill> findByName(String name);
     
+    List<Skill> findByNameIn(Collection<String> names);
+    
     List<Skill> findByCategory(String category);
     
     @Query("SELECT s FROM Skill s WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
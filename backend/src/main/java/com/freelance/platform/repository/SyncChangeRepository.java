@@ -0,0 +1,26 @@
+package com.freelance.platform.repository;
+
+import com.freelance.platform.entity.SyncChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SyncChangeRepository extends JpaRepository<SyncChange, UUID> {
+    
+    // Delta read - one range scan on uk_sync_changes_user_seq
+    @Query("SELECT c FROM SyncChange c WHERE c.userId = :userId AND c.seq > :since ORDER BY c.seq ASC")
+    List<SyncChange> findChangesSince(@Param("userId") UUID userId, @Param("since") long since, Pageable pageable);
+    
+    // Retention purge - bounded chunks on idx_sync_changes_created_at
+    @Modifying
+    @Query(value = "DELETE FROM sync_changes WHERE created_at < :cutoffDate LIMIT :limit", nativeQuery = true)
+    int deleteOlderThan(@Param("cutoffDate") LocalDateTime cutoffDate, @Param("limit") int limit);
+}
@@ -0,0 +1,27 @@
+package com.freelance.platform.repository;
+
+import com.freelance.platform.entity.SyncSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface SyncSequenceRepository extends JpaRepository<SyncSequence, UUID> {
+    
+    // Reserve count sequence numbers; the new high-water mark is read back with lastReservedSeq()
+    // on the same connection, so no second (snapshot) read of the row is needed
+    @Modifying
+    @Query(value = "INSERT INTO sync_sequences (user_id, seq) VALUES (:userId, LAST_INSERT_ID(:count)) " +
+                   "ON DUPLICATE KEY UPDATE seq = LAST_INSERT_ID(seq + :count)", nativeQuery = true)
+    void reserve(@Param("userId") UUID userId, @Param("count") long count);
+    
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    Number lastReservedSeq();
+    
+    @Query("SELECT s.seq FROM SyncSequence s WHERE s.userId = :userId")
+    Long findCurrentSeq(@Param("userId") UUID userId);
+}
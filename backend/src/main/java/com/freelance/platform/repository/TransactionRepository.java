@@ -126,52 +126,51 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
     @Query("SELECT AVG(t.amount) FROM Transaction t WHERE t.contract.client.id = :clientId AND t.status = 'COMPLETED'")
     Double getAverageSpendingPerProjectByClientId(@Param("clientId") UUID clientId);
 
-    // Analytics - monthly transaction counts and revenue (UTC)
-    @Query(value = "SELECT DATE_FORMAT(CONVERT_TZ(t.created_at, @@session.time_zone, '+00:00'), '%Y-%m') AS ym, " +
-                   "COUNT(*) AS c " +
+    // Analytics - monthly transaction counts and revenue (UTC months from fromMonth, "yyyy-MM")
+    // created_month is a generated column (V6, mapped read-only on the entity), so these are range scans on idx_transactions_month_status
+    @Query(value = "SELECT t.created_month AS ym, COUNT(*) AS c " +
                    "FROM transactions t " +
-                   "WHERE t.created_at >= (UTC_TIMESTAMP() - INTERVAL 12 MONTH) " +
-                   "GROUP BY ym " +
-                   "ORDER BY ym", nativeQuery = true)
-    List<Object[]> findMonthlyTransactionCountsLast12MonthsUtc();
+                   "WHERE t.created_month >= :fromMonth " +
+                   "GROUP BY t.created_month " +
+                   "ORDER BY t.created_month", nativeQuery = true)
+    List<Object[]> findMonthlyTransactionCountsSince(@Param("fromMonth") String fromMonth);
     
-    @Query(value = "SELECT DATE_FORMAT(CONVERT_TZ(t.created_at, @@session.time_zone, '+00:00'), '%Y-%m') AS ym, " +
-                   "SUM(t.amount) AS total " +
+    @Query(value = "SELECT t.created_month AS ym, SUM(t.amount) AS total " +
                    "FROM transactions t " +
-                   "WHERE t.status = 'COMPLETED' " +
-                   "AND t.created_at >= (UTC_TIMESTAMP() - INTERVAL 12 MONTH) " +
-                   "GROUP BY ym " +
-                   "ORDER BY ym", nativeQuery = true)
-    List<Object[]> findMonthlyRevenueLast12MonthsUtc();
+                   "WHERE t.created_month >= :fromMonth " +
+                   "AND t.status = 'COMPLETED' " +
+                   "GROUP BY t.created_month " +
+                   "ORDER BY t.created_month", nativeQuery = true)
+    List<Object[]> findMonthlyRevenueSince(@Param("fromMonth") String fromMonth);
 
     // Analytics trend methods
-    @Query(value = "SELECT DATE_FORMAT(CONVERT_TZ(t.created_at, @@session.time_zone, '+00:00'), '%Y-%m') AS ym, " +
-                   "SUM(t.amount) AS total " +
+    @Query(value = "SELECT t.created_month AS ym, SUM(t.amount) AS total " +
                    "FROM transactions t " +
-                   "WHERE t.status = 'COMPLETED' " +
-                   "AND t.contract.freelancer.id = :freelancerId " +
-                   "AND t.created_at >= :startDate " +
-                   "GROUP BY ym " +
-                   "ORDER BY ym", nativeQuery = true)
-    List<Object[]> getEarningsTrendByFreelancerId(@Param("freelancerId") UUID freelancerId, @Param("startDate") LocalDateTime startDate);
+                   "JOIN contracts c ON c.id = t.contract_id " +
+                   "WHERE c.freelancer_id = :freelancerId " +
+                   "AND t.status = 'COMPLETED' " +
+                   "AND t.created_month >= :startMonth " +
+                   "GROUP BY t.created_month " +
+                   "ORDER BY t.created_month", nativeQuery = true)
+    List<Object[]> getEarningsTrendByFreelancerId(@Param("freelancerId") UUID freelancerId, @Param("startMonth") String startMonth);
 
-    @Query(value = "SELECT DATE_FORMAT(CONVERT_TZ(t.created_at, @@session.time_zone, '+00:00'), '%Y-%m') AS ym, " +
-                   "SUM(t.amount) AS total " +
+    @Query(value = "SELECT t.created_month AS ym, SUM(t.amount) AS total " +
                    "FROM transactions t " +
-                   "WHERE t.status = 'COMPLETED' " +
-                   "AND t.contract.client.id = :clientId " +
-                   "AND t.created_at >= :startDate " +
-                   "GROUP BY ym " +
-                   "ORDER BY ym", nativeQuery = true)
-    List<Object[]> getSpendingTrendByClientId(@Param("clientId") UUID clientId, @Param("startDate") LocalDateTime startDate);
+                   "JOIN contracts c ON c.id = t.contract_id " +
+                   "WHERE c.client_id = :clientId " +
+                   "AND t.status = 'COMPLETED' " +
+                   "AND t.created_month >= :startMonth " +
+                   "GROUP BY t.created_month " +
+                   "ORDER BY t.created_month", nativeQuery = true)
+    List<Object[]> getSpendingTrendByClientId(@Param("clientId") UUID clientId, @Param("startMonth") String startMonth);
 
-    @Query(value = "SELECT DATE_FORMAT(CONVERT_TZ(t.created_at, @@session.time_zone, '+00:00'), '%Y-%m') AS ym, " +
-                   "SUM(t.amount) AS total " +
+    @Query(value = "SELECT t.created_month AS ym, SUM(t.amount) AS total " +
                    "FROM transactions t " +
-                   "WHERE t.status = 'COMPLETED' " +
-                   "AND t.contract.freelancer.id = :freelancerId " +
-                   "GROUP BY ym " +
-                   "ORDER BY ym DESC " +
+                   "JOIN contracts c ON c.id = t.contract_id " +
+                   "WHERE c.freelancer_id = :freelancerId " +
+                   "AND t.status = 'COMPLETED' " +
+                   "GROUP BY t.created_month " +
+                   "ORDER BY t.created_month DESC " +
                    "LIMIT :limit", nativeQuery = true)
     List<Object[]> getTopEarningMonthsByFreelancerId(@Param("freelancerId") UUID freelancerId, @Param("limit") int limit);
 }
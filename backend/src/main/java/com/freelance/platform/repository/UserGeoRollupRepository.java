@@ -0,0 +1,33 @@
+package com.freelance.platform.repository;
+
+import com.freelance.platform.entity.UserGeoRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserGeoRollupRepository extends JpaRepository<UserGeoRollup, UUID> {
+    
+    @Modifying
+    @Query("DELETE FROM UserGeoRollup g WHERE g.country = :country")
+    void deleteByCountry(@Param("country") String country);
+    
+    @Modifying
+    @Query("DELETE FROM UserGeoRollup g")
+    void deleteAllRows();
+    
+    // Role breakdown across all countries (role -> users)
+    @Query("SELECT g.role, SUM(g.userCount) FROM UserGeoRollup g GROUP BY g.role ORDER BY g.role")
+    List<Object[]> sumByRole();
+    
+    // Role breakdown for one country (role -> users)
+    @Query("SELECT g.role, SUM(g.userCount) FROM UserGeoRollup g WHERE g.country = :country GROUP BY g.role ORDER BY g.role")
+    List<Object[]> sumByRoleForCountry(@Param("country") String country);
+    
+    List<UserGeoRollup> findByCountryOrderByCityAscRoleAsc(String country);
+}
@@ -0,0 +1,70 @@
+package com.freelance.platform.repository;
+
+import com.freelance.platform.entity.ConversationType;
+import com.freelance.platform.entity.UserInbox;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserInboxRepository extends JpaRepository<UserInbox, UUID> {
+    
+    // Conversation list - one range scan on idx_user_inbox_recent
+    @Query("SELECT i FROM UserInbox i WHERE i.userId = :userId AND i.blocked = false " +
+           "ORDER BY i.lastMessageAt DESC, i.conversationId DESC")
+    Page<UserInbox> findInbox(@Param("userId") UUID userId, Pageable pageable);
+    
+    // Filtered by type - same order, read from idx_user_inbox_type_recent
+    @Query("SELECT i FROM UserInbox i WHERE i.userId = :userId AND i.type = :type " +
+           "ORDER BY i.lastMessageAt DESC, i.conversationId DESC")
+    Page<UserInbox> findInboxByType(@Param("userId") UUID userId, @Param("type") ConversationType type, Pageable pageable);
+    
+    boolean existsByConversationId(UUID conversationId);
+    
+    List<UserInbox> findByUserIdAndConversationIdIn(UUID userId, Collection<UUID> conversationIds);
+    
+    // Presence fan-out - (watcher, subject) pairs for users whose presence changed, via idx_user_inbox_other_participant
+    @Query("SELECT DISTINCT i.userId, i.otherParticipantId FROM UserInbox i " +
+           "WHERE i.otherParticipantId IN :userIds AND i.blocked = false")
+    List<Object[]> findWatchersByOtherParticipantIds(@Param("userIds") Collection<UUID> userIds);
+    
+    // Presence snapshot - (subscriber, contact) pairs for newly connected users
+    @Query("SELECT DISTINCT i.userId, i.otherParticipantId FROM UserInbox i " +
+           "WHERE i.userId IN :userIds AND i.blocked = false")
+    List<Object[]> findContactsByUserIds(@Param("userIds") Collection<UUID> userIds);
+    
+    // Fan-out on write - each conversation change touches its two inbox rows
+    @Modifying
+    @Query("UPDATE UserInbox i SET i.lastMessageAt = :lastMessageAt, i.lastMessagePreview = :preview " +
+           "WHERE i.conversationId = :conversationId")
+    int updateLastMessage(@Param("conversationId") UUID conversationId, @Param("lastMessageAt") LocalDateTime lastMessageAt,
+                          @Param("preview") String preview);
+    
+    @Modifying
+    @Query("UPDATE UserInbox i SET i.unreadCount = CASE WHEN i.unreadCount + :delta < 0 THEN 0 ELSE i.unreadCount + :delta END " +
+           "WHERE i.conversationId = :conversationId AND i.userId = :userId")
+    int adjustUnreadCount(@Param("conversationId") UUID conversationId, @Param("userId") UUID userId, @Param("delta") int delta);
+    
+    @Modifying
+    @Query("UPDATE UserInbox i SET i.blocked = :blocked WHERE i.conversationId = :conversationId AND i.userId = :userId")
+    int updateBlocked(@Param("conversationId") UUID conversationId, @Param("userId") UUID userId, @Param("blocked") Boolean blocked);
+    
+    @Modifying
+    @Query("UPDATE UserInbox i SET i.otherParticipantName = :name, i.otherParticipantEmail = :email, " +
+           "i.otherParticipantAvatar = :avatar WHERE i.otherParticipantId = :participantId")
+    int updateParticipantDisplay(@Param("participantId") UUID participantId, @Param("name") String name,
+                                 @Param("email") String email, @Param("avatar") String avatar);
+    
+    @Modifying
+    @Query("UPDATE UserInbox i SET i.projectTitle = :title WHERE i.projectId = :projectId")
+    int updateProjectTitle(@Param("projectId") UUID projectId, @Param("title") String title);
+}
@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -68,20 +69,38 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query("SELECT COUNT(u) FROM User u WHERE u.country = :country AND u.deletedAt IS NULL")
     long countByCountry(@Param("country") String country);
     
+    // Geographic analytics - one grouped query for every country (country -> users)
+    @Query("SELECT u.country, COUNT(u) FROM User u WHERE u.country IS NOT NULL AND u.deletedAt IS NULL GROUP BY u.country ORDER BY u.country")
+    List<Object[]> countUsersGroupedByCountry();
+    
+    // Geographic rollup source rows for one country (city, role, users)
+    @Query("SELECT u.city, r, COUNT(u) FROM User u JOIN u.roles r WHERE u.country = :country AND u.deletedAt IS NULL GROUP BY u.city, r")
+    List<Object[]> countByCityAndRoleForCountry(@Param("country") String country);
+    
+    // Geographic drill-down - monthly signups for one country (UTC months from fromMonth, "yyyy-MM")
+    @Query(value = "SELECT u.created_month AS ym, COUNT(*) AS c " +
+                   "FROM users u " +
+                   "WHERE u.country = :country " +
+                   "AND u.created_month >= :fromMonth " +
+                   "AND u.deleted_at IS NULL " +
+                   "GROUP BY u.created_month " +
+                   "ORDER BY u.created_month", nativeQuery = true)
+    List<Object[]> findMonthlySignupCountsByCountrySince(@Param("country") String country, @Param("fromMonth") String fromMonth);
+    
     // Additional methods needed by services
     long countByIsActiveTrue();
     
     long countByIsVerifiedTrue();
     
-    // Analytics - monthly user counts (UTC, soft-delete excluded)
-    @Query(value = "SELECT DATE_FORMAT(CONVERT_TZ(u.created_at, @@session.time_zone, '+00:00'), '%Y-%m') AS ym, " +
-                   "COUNT(*) AS c " +
+    // Analytics - monthly user counts (UTC months from fromMonth, "yyyy-MM"; soft-delete excluded)
+    // created_month is a generated column (V6, mapped read-only on the entity), so this is a range scan on idx_users_created_month
+    @Query(value = "SELECT u.created_month AS ym, COUNT(*) AS c " +
                    "FROM users u " +
-                   "WHERE u.deleted_at IS NULL " +
-                   "AND u.created_at >= (UTC_TIMESTAMP() - INTERVAL 12 MONTH) " +
-                   "GROUP BY ym " +
-                   "ORDER BY ym", nativeQuery = true)
-    List<Object[]> findMonthlyUserCountsLast12MonthsUtc();
+                   "WHERE u.created_month >= :fromMonth " +
+                   "AND u.deleted_at IS NULL " +
+                   "GROUP BY u.created_month " +
+                   "ORDER BY u.created_month", nativeQuery = true)
+    List<Object[]> findMonthlyUserCountsSince(@Param("fromMonth") String fromMonth);
     
     @Query(value = "SELECT COUNT(*) FROM users u WHERE u.deleted_at IS NULL", nativeQuery = true)
     long countActiveUsersExcludingSoftDeleted();
@@ -121,6 +140,16 @@ public interface UserRepository extends JpaRepository<User, UUID> {
               @Query("SELECT u FROM User u JOIN u.roles r WHERE r = com.freelance.platform.entity.Role.FREELANCER AND u.deletedAt IS NULL ORDER BY u.createdAt DESC")
               Page<User> findAllFreelancers(Pageable pageable);
     
+    // Freelancer cards - the given users that are live freelancers
+    @Query("SELECT u FROM User u JOIN u.roles r WHERE r = com.freelance.platform.entity.Role.FREELANCER " +
+           "AND u.deletedAt IS NULL AND u.id IN :ids")
+    List<User> findFreelancersByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    // Freelancer cards - live freelancer ids walked by primary key for the full rebuild
+    @Query("SELECT u.id FROM User u JOIN u.roles r WHERE r = com.freelance.platform.entity.Role.FREELANCER " +
+           "AND u.deletedAt IS NULL AND u.id > :afterId ORDER BY u.id")
+    List<UUID> findFreelancerIdsAfter(@Param("afterId") UUID afterId, Pageable pageable);
+    
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r = :role AND u.deletedAt IS NULL ORDER BY u.createdAt DESC")
     List<User> findByRoleOrderByCreatedAtDesc(@Param("role") Role role);
     
@@ -0,0 +1,55 @@
+package com.freelance.platform.repository.projection;
+
+import com.freelance.platform.entity.ProjectStatus;
+import com.freelance.platform.entity.ProjectType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Columns a project list card needs: client name and avatar joined in, the stored description
+ * snippet instead of the full TEXT, and the attachment count instead of the attachments.
+ * Skills are an element collection and are loaded for the whole page separately.
+ */
+public interface ProjectCardView {
+
+    UUID getId();
+
+    UUID getClientId();
+
+    String getClientFirstName();
+
+    String getClientLastName();
+
+    String getClientAvatarUrl();
+
+    String getTitle();
+
+    String getDescriptionSnippet();
+
+    String getCategory();
+
+    BigDecimal getBudgetMin();
+
+    BigDecimal getBudgetMax();
+
+    String getCurrency();
+
+    ProjectType getProjectType();
+
+    String getDuration();
+
+    ProjectStatus getStatus();
+
+    Boolean getIsFeatured();
+
+    LocalDate getDeadline();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getAttachmentCount();
+}
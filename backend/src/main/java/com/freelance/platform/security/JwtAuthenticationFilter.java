@@ -1,5 +1,6 @@
 package com.freelance.platform.security;
 
+import com.freelance.platform.service.StreamTicketService;
 import com.freelance.platform.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,19 +26,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     
+    // Browsers cannot set headers on an EventSource, so SSE streams carry a single-use ticket instead of the JWT
+    private static final String SSE_TICKET_PARAMETER = "ticket";
+    
     @Autowired
     private JwtTokenProvider tokenProvider;
     
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private StreamTicketService streamTicketService;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
-            String jwt = getJwtFromRequest(request);
+            UUID ticketUserId = getTicketUserFromRequest(request);
+            String jwt = ticketUserId == null ? getJwtFromRequest(request) : null;
             logger.debug("JWT token extracted: {}", jwt != null ? "present" : "null");
             
-            if (StringUtils.hasText(jwt)) {
+            if (ticketUserId != null) {
+                authenticate(request, ticketUserId);
+            } else if (StringUtils.hasText(jwt)) {
                 logger.debug("JWT token found, validating...");
                 boolean isValid = tokenProvider.validateToken(jwt);
                 logger.debug("JWT token validation result: {}", isValid);
@@ -45,19 +56,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     UUID userId = tokenProvider.getUserIdFromToken(jwt);
                     logger.debug("User ID from token: {}", userId);
                     
-                    UserDetails userDetails = userService.loadUserById(userId);
-                    logger.debug("User details loaded: {}", userDetails != null ? "success" : "failed");
-                    
-                    if (userDetails != null) {
-                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        logger.debug("Authentication set in security context for user: {}", userDetails.getUsername());
-                        logger.debug("User authorities: {}", userDetails.getAuthorities());
-                        logger.debug("User is enabled: {}", userDetails.isEnabled());
-                    }
+                    authenticate(request, userId);
                 } else {
                     logger.warn("JWT token validation failed");
                 }
@@ -71,6 +70,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    private void authenticate(HttpServletRequest request, UUID userId) {
+        UserDetails userDetails = userService.loadUserById(userId);
+        logger.debug("User details loaded: {}", userDetails != null ? "success" : "failed");
+        
+        if (userDetails != null) {
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            logger.debug("Authentication set in security context for user: {}", userDetails.getUsername());
+            logger.debug("User authorities: {}", userDetails.getAuthorities());
+            logger.debug("User is enabled: {}", userDetails.isEnabled());
+        }
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -78,4 +93,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
+    
+    // Only an event-stream GET may authenticate with a ticket, and redeeming it spends it
+    private UUID getTicketUserFromRequest(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || !isEventStreamRequest(request)) {
+            return null;
+        }
+        String ticket = request.getParameter(SSE_TICKET_PARAMETER);
+        if (!StringUtils.hasText(ticket)) {
+            return null;
+        }
+        UUID userId = streamTicketService.redeem(ticket).orElse(null);
+        if (userId == null) {
+            logger.warn("Stream ticket rejected: unknown, expired or already used");
+        }
+        return userId;
+    }
+    
+    private boolean isEventStreamRequest(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
 }
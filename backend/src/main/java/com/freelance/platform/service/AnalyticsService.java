@@ -11,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -43,6 +44,7 @@ public class AnalyticsService {
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Transactional(readOnly = true)
     public AnalyticsResponse getUserDashboardAnalytics(UUID userId) {
         AnalyticsResponse response = new AnalyticsResponse();
         
@@ -69,6 +71,7 @@ public class AnalyticsService {
         return response;
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getProjectStats(UUID userId) {
         Map<String, Object> stats = new HashMap<>();
         
@@ -92,6 +95,7 @@ public class AnalyticsService {
         return stats;
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getFreelancerStats(UUID userId) {
         Map<String, Object> stats = new HashMap<>();
         
@@ -109,6 +113,7 @@ public class AnalyticsService {
         return stats;
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getEarningsAnalytics(UUID userId) {
         Map<String, Object> analytics = new HashMap<>();
         
@@ -132,6 +137,7 @@ public class AnalyticsService {
         return analytics;
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getPerformanceAnalytics(UUID userId) {
         Map<String, Object> analytics = new HashMap<>();
         
@@ -154,6 +160,7 @@ public class AnalyticsService {
         return analytics;
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getTrendAnalytics(UUID userId) {
         Map<String, Object> trends = new HashMap<>();
         
@@ -163,20 +170,22 @@ public class AnalyticsService {
         }
         
         LocalDateTime sixMonthsAgo = LocalDateTime.now().minusMonths(6);
+        String sixMonthsAgoMonth = YearMonth.from(sixMonthsAgo).toString();
         
         if (user.isFreelancer()) {
-            trends.put("earningsTrend", transactionRepository.getEarningsTrendByFreelancerId(userId, sixMonthsAgo));
-            trends.put("projectTrend", contractRepository.getProjectTrendByFreelancerId(userId, sixMonthsAgo));
+            trends.put("earningsTrend", transactionRepository.getEarningsTrendByFreelancerId(userId, sixMonthsAgoMonth));
+            trends.put("projectTrend", contractRepository.getProjectTrendByFreelancerId(userId, sixMonthsAgoMonth));
             trends.put("ratingTrend", reviewRepository.getRatingTrendByRevieweeId(userId, sixMonthsAgo));
         } else if (user.isClient()) {
-            trends.put("spendingTrend", transactionRepository.getSpendingTrendByClientId(userId, sixMonthsAgo));
-            trends.put("projectTrend", projectRepository.getProjectTrendByClientId(userId, sixMonthsAgo));
-            trends.put("freelancerTrend", contractRepository.getFreelancerTrendByClientId(userId, sixMonthsAgo));
+            trends.put("spendingTrend", transactionRepository.getSpendingTrendByClientId(userId, sixMonthsAgoMonth));
+            trends.put("projectTrend", projectRepository.getProjectTrendByClientId(userId, sixMonthsAgoMonth));
+            trends.put("freelancerTrend", contractRepository.getFreelancerTrendByClientId(userId, sixMonthsAgoMonth));
         }
         
         return trends;
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getRevenueAnalytics(UUID userId) {
         Map<String, Object> analytics = new HashMap<>();
         
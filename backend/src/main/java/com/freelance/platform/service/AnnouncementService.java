@@ -4,11 +4,16 @@ import com.freelance.platform.entity.*;
 import com.freelance.platform.repository.AnnouncementRepository;
 import com.freelance.platform.repository.UserRepository;
 import com.freelance.platform.service.admin.AdminActionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -20,6 +25,10 @@ import java.util.UUID;
 @Transactional
 public class AnnouncementService {
     
+    private static final Logger logger = LoggerFactory.getLogger(AnnouncementService.class);
+    
+    private static final int NOTIFICATION_CHUNK_SIZE = 500;
+    
     @Autowired
     private AnnouncementRepository announcementRepository;
     
@@ -35,6 +44,12 @@ public class AnnouncementService {
     @Autowired
     private AdminActionService adminActionService;
     
+    private final TransactionTemplate transactionTemplate;
+    
+    public AnnouncementService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
     public Announcement createAnnouncement(String title, String message, AnnouncementPriority priority, 
                                           Boolean sendEmail, TargetAudience targetAudience, User createdBy) {
         Announcement announcement = new Announcement(title, message, priority, sendEmail, targetAudience, createdBy);
@@ -51,29 +66,41 @@ public class AnnouncementService {
         return saved;
     }
     
+    /**
+     * Claim the announcement, then write its notifications one committed chunk at a time: a large audience
+     * never holds one long transaction, and a failed chunk does not undo the chunks already delivered.
+     * The recipient count records the notifications actually written.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Announcement sendAnnouncement(UUID announcementId, User admin) {
-        Announcement announcement = announcementRepository.findById(announcementId)
-            .orElseThrow(() -> new RuntimeException("Announcement not found"));
-        
-        if (announcement.getSentAt() != null) {
-            throw new RuntimeException("Announcement has already been sent");
-        }
-        
-        List<User> recipients = getRecipientsByAudience(announcement.getTargetAudience());
+        Announcement announcement = transactionTemplate.execute(status -> claim(announcementId));
+        List<User> recipients = transactionTemplate.execute(status -> getRecipientsByAudience(announcement.getTargetAudience()));
         
         String priorityLevel = mapPriorityToNotification(announcement.getPriority());
         
-        for (User recipient : recipients) {
-            notificationService.createNotificationForUser(
-                recipient.getId(),
-                "ANNOUNCEMENT",
-                announcement.getTitle(),
-                announcement.getMessage(),
-                priorityLevel,
-                null
-            );
-            
-            if (announcement.getSendEmail() && recipient.getEmail() != null) {
+        // Each chunk is a few JDBC batches rather than a round trip per user
+        int delivered = 0;
+        for (int from = 0; from < recipients.size(); from += NOTIFICATION_CHUNK_SIZE) {
+            List<User> chunk = recipients.subList(from, Math.min(from + NOTIFICATION_CHUNK_SIZE, recipients.size()));
+            try {
+                Integer created = transactionTemplate.execute(status -> notificationService.createNotificationsForUsers(
+                    chunk,
+                    "ANNOUNCEMENT",
+                    announcement.getTitle(),
+                    announcement.getMessage(),
+                    priorityLevel
+                ));
+                delivered += created != null ? created : 0;
+            } catch (RuntimeException e) {
+                logger.warn("Announcement {}: notifications for {} recipients failed", announcementId, chunk.size(), e);
+            }
+        }
+        
+        if (Boolean.TRUE.equals(announcement.getSendEmail())) {
+            for (User recipient : recipients) {
+                if (recipient.getEmail() == null) {
+                    continue;
+                }
                 try {
                     sendAnnouncementEmail(recipient, announcement);
                 } catch (Exception e) {
@@ -82,19 +109,34 @@ public class AnnouncementService {
             }
         }
         
-        announcement.setSentAt(LocalDateTime.now());
-        announcement.setRecipientCount(recipients.size());
-        Announcement updated = announcementRepository.save(announcement);
-        
-        adminActionService.logAction(
-            admin.getId(),
-            "SEND_ANNOUNCEMENT",
-            "Announcement",
-            announcementId.toString(),
-            "Sent announcement to " + recipients.size() + " users"
-        );
-        
-        return updated;
+        int recipientCount = delivered;
+        return transactionTemplate.execute(status -> {
+            Announcement sent = announcementRepository.findById(announcementId)
+                .orElseThrow(() -> new RuntimeException("Announcement not found"));
+            sent.setRecipientCount(recipientCount);
+            Announcement updated = announcementRepository.save(sent);
+            
+            adminActionService.logAction(
+                admin.getId(),
+                "SEND_ANNOUNCEMENT",
+                "Announcement",
+                announcementId.toString(),
+                "Sent announcement to " + recipientCount + " of " + recipients.size() + " users"
+            );
+            
+            return updated;
+        });
+    }
+    
+    // Marks the announcement sent before any notification is written, so two concurrent sends cannot both deliver
+    private Announcement claim(UUID announcementId) {
+        if (announcementRepository.markSent(announcementId, LocalDateTime.now()) == 0) {
+            announcementRepository.findById(announcementId)
+                .orElseThrow(() -> new RuntimeException("Announcement not found"));
+            throw new RuntimeException("Announcement has already been sent");
+        }
+        return announcementRepository.findById(announcementId)
+            .orElseThrow(() -> new RuntimeException("Announcement not found"));
     }
     
     private List<User> getRecipientsByAudience(TargetAudience targetAudience) {
@@ -135,15 +177,18 @@ public class AnnouncementService {
         emailService.sendTemplateEmail(recipient.getEmail(), "ANNOUNCEMENT", variables);
     }
     
+    @Transactional(readOnly = true)
     public Page<Announcement> getAllAnnouncements(Pageable pageable) {
         return announcementRepository.findAllByOrderByCreatedAtDesc(pageable);
     }
     
+    @Transactional(readOnly = true)
     public Announcement getAnnouncementById(UUID id) {
         return announcementRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Announcement not found"));
     }
     
+    @Transactional(readOnly = true)
     public List<Announcement> getRecentAnnouncements(int days) {
         LocalDateTime startDate = LocalDateTime.now().minusDays(days);
         return announcementRepository.findRecentAnnouncements(startDate);
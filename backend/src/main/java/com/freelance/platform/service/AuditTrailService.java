@@ -63,39 +63,48 @@ public class AuditTrailService {
         return auditTrailRepository.save(auditTrail);
     }
 
+    @Transactional(readOnly = true)
     public Page<AuditTrail> getAllAuditTrails(Pageable pageable) {
         return auditTrailRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
     public AuditTrail getAuditTrailById(UUID id) {
         return auditTrailRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Audit trail not found"));
     }
 
+    @Transactional(readOnly = true)
     public List<AuditTrail> getAuditTrailsByUser(String userId) {
         return auditTrailRepository.findByUserId(userId);
     }
 
+    @Transactional(readOnly = true)
     public List<AuditTrail> getAuditTrailsByAction(String action) {
         return auditTrailRepository.findByAction(action);
     }
 
+    @Transactional(readOnly = true)
     public List<AuditTrail> getAuditTrailsByEntityType(String entityType) {
         return auditTrailRepository.findByEntityType(entityType);
     }
 
+    @Transactional(readOnly = true)
     public List<AuditTrail> getAuditTrailsByEntityId(String entityId) {
         return auditTrailRepository.findByEntityId(entityId);
     }
 
+    @Transactional(readOnly = true)
     public List<AuditTrail> getAuditTrailsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return auditTrailRepository.findByCreatedAtBetween(startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
     public List<AuditTrail> getAuditTrailsByIpAddress(String ipAddress) {
         return auditTrailRepository.findByIpAddress(ipAddress);
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getAuditTrailStatistics() {
         Map<String, Object> statistics = Map.of(
             "totalAuditTrails", auditTrailRepository.count(),
@@ -107,6 +116,7 @@ public class AuditTrailService {
         return statistics;
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getAuditTrailAnalytics() {
         Map<String, Object> analytics = Map.of(
             "mostActiveUsers", getMostActiveUsers(),
@@ -7,11 +7,14 @@ import com.freelance.platform.dto.response.GoogleAuthResponse;
 import com.freelance.platform.dto.response.GoogleUserProfile;
 import com.freelance.platform.entity.Role;
 import com.freelance.platform.entity.User;
+import com.freelance.platform.event.PlatformActivityEvent;
+import com.freelance.platform.event.PlatformActivityType;
 import com.freelance.platform.security.JwtTokenProvider;
 import com.freelance.platform.security.UserPrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -51,6 +54,9 @@ public class AuthService {
     @Autowired
     private GoogleOAuthService googleOAuthService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public JwtTokenProvider getTokenProvider() {
         return tokenProvider;
     }
@@ -103,6 +109,9 @@ public class AuthService {
         user.setIsActive(true);
         user.setLastLoginAt(LocalDateTime.now());
         userService.save(user);
+        if (existingUser.isEmpty()) {
+            eventPublisher.publishEvent(new PlatformActivityEvent(PlatformActivityType.SIGNUP));
+        }
 
         if (user.getActiveRole() == null) {
             return buildRoleSelectionResponse(user, isNewGoogleUser);
@@ -229,6 +238,7 @@ public class AuthService {
         user.setIsVerified(false);
         
         User savedUser = userService.save(user);
+        eventPublisher.publishEvent(new PlatformActivityEvent(PlatformActivityType.SIGNUP));
         logger.info("✅ User created with activeRole={}, roles={CLIENT, FREELANCER}, isVerified={}, email: {}", savedUser.getActiveRole(), savedUser.getIsVerified(), savedUser.getEmail());
         
         // Send OTP for email verification (tokens will be issued only after successful verification)
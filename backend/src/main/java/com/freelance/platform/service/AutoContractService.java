@@ -2,7 +2,6 @@ package com.freelance.platform.service;
 
 import com.freelance.platform.entity.*;
 import com.freelance.platform.repository.ContractRepository;
-import com.freelance.platform.repository.ConversationRepository;
 import com.freelance.platform.repository.MilestoneRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -11,6 +10,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -24,7 +25,7 @@ public class AutoContractService {
     private MilestoneRepository milestoneRepository;
 
     @Autowired
-    private ConversationRepository conversationRepository;
+    private ConversationService conversationService;
 
     @Autowired
     private NotificationService notificationService;
@@ -146,6 +147,8 @@ public class AutoContractService {
         long totalDays = ChronoUnit.DAYS.between(contract.getStartDate(), contract.getEndDate());
         long daysPerMilestone = totalDays / numMilestones;
 
+        // One saveAll so the inserts go out as a single JDBC batch
+        List<Milestone> milestones = new ArrayList<>(numMilestones);
         for (int i = 0; i < numMilestones; i++) {
             Milestone milestone = new Milestone();
             milestone.setContract(contract);
@@ -163,8 +166,9 @@ public class AutoContractService {
             milestone.setOrderIndex(i + 1);
             milestone.setCreatedAt(LocalDateTime.now());
 
-            milestoneRepository.save(milestone);
+            milestones.add(milestone);
         }
+        milestoneRepository.saveAll(milestones);
     }
 
     private LocalDate calculateEndDate(LocalDate startDate, String estimatedDuration) {
@@ -213,16 +217,7 @@ public class AutoContractService {
     }
 
     private void createProjectConversation(Contract contract) {
-        Conversation conversation = conversationRepository
-                .findProjectConversation(contract.getProject(), contract.getClient(), contract.getFreelancer())
-                .orElseGet(() -> {
-                    Conversation newConversation = new Conversation(
-                            contract.getClient(),
-                            contract.getFreelancer(),
-                            contract.getProject(),
-                            ConversationType.PROJECT_CHAT
-                    );
-                    return conversationRepository.save(newConversation);
-                });
+        conversationService.getOrCreateConversation(
+                contract.getClient(), contract.getFreelancer(), contract.getProject(), ConversationType.PROJECT_CHAT);
     }
 }
@@ -81,6 +81,7 @@ public class BillingSettingsService {
     }
     
     // Payment Method Methods
+    @Transactional(readOnly = true)
     public List<PaymentMethodResponse> getPaymentMethods(UUID userId) {
         User user = userService.findById(userId);
         List<PaymentMethod> paymentMethods = paymentMethodRepository.findByUserAndIsActiveTrueOrderByIsDefaultDescCreatedAtAsc(user);
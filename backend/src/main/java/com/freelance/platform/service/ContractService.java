@@ -18,10 +18,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -56,6 +58,9 @@ public class ContractService {
     @Autowired
     private EmailNotificationService emailNotificationService;
 
+    @Autowired
+    private OptimisticRetryService optimisticRetryService;
+
     public ContractResponse createContract(CreateContractRequest request, UUID clientId) {
         User client = userRepository.findById(clientId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -120,7 +125,13 @@ public class ContractService {
          return mapToContractResponse(savedContract);
     }
 
+    // Runs in its own transaction, retried when a concurrent change wins the version check
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ContractResponse acceptContract(UUID contractId, UUID freelancerId) {
+        return optimisticRetryService.execute("acceptContract", () -> doAcceptContract(contractId, freelancerId));
+    }
+
+    private ContractResponse doAcceptContract(UUID contractId, UUID freelancerId) {
          Contract contract = contractRepository.findById(contractId)
                  .orElseThrow(() -> new ResourceNotFoundException("Contract not found"));
 
@@ -135,20 +146,20 @@ public class ContractService {
          contract.setStatus(ContractStatus.ACTIVE);
          contract.setUpdatedAt(LocalDateTime.now());
 
-         Contract acceptedContract = contractRepository.save(contract);
+         Contract acceptedContract = contractRepository.saveAndFlush(contract);
 
          // Set all milestones to PENDING status when contract is approved
          List<Milestone> milestones = milestoneRepository.findByContractIdOrderByOrderIndexAsc(contractId);
          for (Milestone milestone : milestones) {
              milestone.setStatus(MilestoneStatus.PENDING);
-             milestoneRepository.save(milestone);
          }
+         milestoneRepository.saveAll(milestones);
 
          Project project = contract.getProject();
          if (project.getStatus() == ProjectStatus.PUBLISHED) {
              project.setStatus(ProjectStatus.IN_PROGRESS);
              project.setUpdatedAt(LocalDateTime.now());
-             projectRepository.save(project);
+             projectRepository.saveAndFlush(project);
 
              notificationService.createNotificationForUser(
                      contract.getClient().getId(),
@@ -179,7 +190,12 @@ public class ContractService {
          return mapToContractResponse(acceptedContract);
      }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ContractResponse rejectContract(UUID contractId, UUID freelancerId) {
+        return optimisticRetryService.execute("rejectContract", () -> doRejectContract(contractId, freelancerId));
+    }
+
+    private ContractResponse doRejectContract(UUID contractId, UUID freelancerId) {
          Contract contract = contractRepository.findById(contractId)
                  .orElseThrow(() -> new ResourceNotFoundException("Contract not found"));
 
@@ -194,7 +210,7 @@ public class ContractService {
          contract.setStatus(ContractStatus.CANCELLED);
          contract.setUpdatedAt(LocalDateTime.now());
 
-         Contract rejectedContract = contractRepository.save(contract);
+         Contract rejectedContract = contractRepository.saveAndFlush(contract);
 
          notificationService.createNotificationForUser(
                  contract.getClient().getId(),
@@ -215,7 +231,12 @@ public class ContractService {
          return mapToContractResponse(rejectedContract);
      }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ContractResponse completeContract(UUID contractId, UUID clientId) {
+        return optimisticRetryService.execute("completeContract", () -> doCompleteContract(contractId, clientId));
+    }
+
+    private ContractResponse doCompleteContract(UUID contractId, UUID clientId) {
         Contract contract = contractRepository.findById(contractId)
                 .orElseThrow(() -> new ResourceNotFoundException("Contract not found"));
 
@@ -229,8 +250,10 @@ public class ContractService {
 
         contract.setStatus(ContractStatus.COMPLETED);
         contract.setUpdatedAt(LocalDateTime.now());
+        // Contracts of one project completing at once conflict on the project version
+        contract.getProject().setUpdatedAt(LocalDateTime.now());
 
-        Contract completedContract = contractRepository.save(contract);
+        Contract completedContract = contractRepository.saveAndFlush(contract);
 
         reviewService.createReviewOpportunities(contract);
 
@@ -354,7 +377,13 @@ public class ContractService {
         return mapToMilestoneResponse(updatedMilestone);
      }
 
-      public MilestoneResponse updateMilestoneStatus(UUID contractId, UUID milestoneId, MilestoneStatus newStatus, UUID userId) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public MilestoneResponse updateMilestoneStatus(UUID contractId, UUID milestoneId, MilestoneStatus newStatus, UUID userId) {
+        return optimisticRetryService.execute("updateMilestoneStatus",
+                () -> doUpdateMilestoneStatus(contractId, milestoneId, newStatus, userId));
+    }
+
+      private MilestoneResponse doUpdateMilestoneStatus(UUID contractId, UUID milestoneId, MilestoneStatus newStatus, UUID userId) {
              Contract contract = contractRepository.findById(contractId)
                      .orElseThrow(() -> new ResourceNotFoundException("Contract not found"));
 
@@ -385,7 +414,11 @@ public class ContractService {
                  milestone.setPaidDate(LocalDateTime.now());
              }
 
-             Milestone updatedMilestone = milestoneRepository.save(milestone);
+             // Touching the contract bumps its version, so two milestones of one contract changing at once
+             // conflict and the completion checks below always see the other milestone's new status.
+             // Flushed here so a lost race is retried before any notification goes out.
+             contract.setUpdatedAt(LocalDateTime.now());
+             Milestone updatedMilestone = milestoneRepository.saveAndFlush(milestone);
 
              String notificationTitle = getStatusChangeNotificationTitle(newStatus);
              String notificationMessage = String.format("Milestone '%s' status has been updated to %s", 
@@ -452,7 +485,9 @@ public class ContractService {
            if (allCompleted && contract.getStatus() == ContractStatus.ACTIVE) {
                contract.setStatus(ContractStatus.COMPLETED);
                contract.setUpdatedAt(LocalDateTime.now());
-               contractRepository.save(contract);
+               // Contracts of one project completing at once conflict on the project version
+               contract.getProject().setUpdatedAt(LocalDateTime.now());
+               contractRepository.saveAndFlush(contract);
 
                notificationService.createNotificationForUser(
                        contract.getClient().getId(),
@@ -540,7 +575,9 @@ public class ContractService {
                   if (contract.getStatus() != ContractStatus.COMPLETED) {
                       contract.setStatus(ContractStatus.COMPLETED);
                       contract.setUpdatedAt(LocalDateTime.now());
-                      contractRepository.save(contract);
+                      // Contracts of one project completing at once conflict on the project version
+                      contract.getProject().setUpdatedAt(LocalDateTime.now());
+                      contractRepository.saveAndFlush(contract);
 
                       notificationService.createNotificationForUser(
                               contract.getClient().getId(),
@@ -619,6 +656,7 @@ public class ContractService {
               }
           }
 
+    @Transactional(readOnly = true)
     public ContractResponse getContractById(UUID contractId) {
         Contract contract = contractRepository.findById(contractId)
                 .orElseThrow(() -> new ResourceNotFoundException("Contract not found"));
@@ -628,6 +666,7 @@ public class ContractService {
         return mapToContractResponse(contract);
     }
 
+    @Transactional(readOnly = true)
     public ContractResponse getContractByProposal(UUID proposalId, UUID userId) {
         Contract contract = contractRepository.findByProposalId(proposalId);
         if (contract == null) {
@@ -645,6 +684,7 @@ public class ContractService {
         return mapToContractResponse(contract);
     }
 
+    @Transactional(readOnly = true)
     public Page<ContractResponse> getMyContracts(UUID userId, Pageable pageable) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -658,26 +698,33 @@ public class ContractService {
         return response;
     }
 
+    @Transactional(readOnly = true)
     public Page<ContractResponse> getContractsByClient(UUID clientId, Pageable pageable) {
-        Page<Contract> contracts = contractRepository.findByClientIdOrderByCreatedAtDesc(clientId, pageable);
-        return contracts.map(contract -> {
-            // Load milestones for each contract
-            List<Milestone> milestones = milestoneRepository.findByContractIdOrderByOrderIndexAsc(contract.getId());
-            contract.setMilestones(milestones);
-            return mapToContractResponse(contract);
-        });
+        return mapContractPage(contractRepository.findListingByClientId(clientId, pageable));
     }
 
+    @Transactional(readOnly = true)
     public Page<ContractResponse> getContractsByFreelancer(UUID freelancerId, Pageable pageable) {
-        Page<Contract> contracts = contractRepository.findByFreelancerIdOrderByCreatedAtDesc(freelancerId, pageable);
-        return contracts.map(contract -> {
-            // Load milestones for each contract
-            List<Milestone> milestones = milestoneRepository.findByContractIdOrderByOrderIndexAsc(contract.getId());
-            contract.setMilestones(milestones);
-            return mapToContractResponse(contract);
-        });
+        return mapContractPage(contractRepository.findListingByFreelancerId(freelancerId, pageable));
     }
 
+    /**
+     * Map a page of contracts with one milestone query for the whole page: count, page, the parties' roles
+     * and milestones are the only statements, however many contracts the page holds.
+     */
+    private Page<ContractResponse> mapContractPage(Page<Contract> contracts) {
+        if (contracts.isEmpty()) {
+            return contracts.map(contract -> mapToContractResponse(contract, List.of()));
+        }
+        List<UUID> contractIds = contracts.getContent().stream().map(Contract::getId).collect(Collectors.toList());
+        Map<UUID, List<Milestone>> milestonesByContract = milestoneRepository.findByContractIdInOrderByOrderIndexAsc(contractIds)
+                .stream()
+                .collect(Collectors.groupingBy(milestone -> milestone.getContract().getId()));
+        return contracts.map(contract -> mapToContractResponse(contract,
+                milestonesByContract.getOrDefault(contract.getId(), List.of())));
+    }
+
+    @Transactional(readOnly = true)
     public List<MilestoneResponse> getContractMilestones(UUID contractId) {
         List<Milestone> milestones = milestoneRepository.findByContractIdOrderByOrderIndexAsc(contractId);
         return milestones.stream()
@@ -686,6 +733,10 @@ public class ContractService {
     }
 
     private ContractResponse mapToContractResponse(Contract contract) {
+        return mapToContractResponse(contract, contract.getMilestones());
+    }
+
+    private ContractResponse mapToContractResponse(Contract contract, List<Milestone> milestones) {
         ContractResponse response = new ContractResponse();
         response.setId(contract.getId());
         response.setProjectId(contract.getProject().getId());
@@ -706,7 +757,7 @@ public class ContractService {
         response.setUpdatedAt(contract.getUpdatedAt());
         
         // Map milestones
-        List<MilestoneResponse> milestoneResponses = contract.getMilestones().stream()
+        List<MilestoneResponse> milestoneResponses = milestones.stream()
                 .map(this::mapToMilestoneResponse)
                 .collect(Collectors.toList());
         response.setMilestones(milestoneResponses);
@@ -2,7 +2,10 @@ package com.freelance.platform.service;
 
 import com.freelance.platform.entity.Conversation;
 import com.freelance.platform.entity.ConversationType;
+import com.freelance.platform.entity.SyncChangeType;
 import com.freelance.platform.entity.User;
+import com.freelance.platform.entity.UserInbox;
+import com.freelance.platform.entity.id.TimeOrderedUuidGenerator;
 import com.freelance.platform.exception.ResourceNotFoundException;
 import com.freelance.platform.exception.UnauthorizedException;
 import com.freelance.platform.repository.ConversationRepository;
@@ -14,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -25,11 +29,50 @@ public class ConversationService {
     private final ConversationRepository conversationRepository;
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
+    private final UserInboxService userInboxService;
+    private final SyncChangeService syncChangeService;
     
-    public ConversationService(ConversationRepository conversationRepository, UserRepository userRepository, ProjectRepository projectRepository) {
+    public ConversationService(ConversationRepository conversationRepository, UserRepository userRepository,
+                               ProjectRepository projectRepository, UserInboxService userInboxService,
+                               SyncChangeService syncChangeService) {
         this.conversationRepository = conversationRepository;
         this.userRepository = userRepository;
         this.projectRepository = projectRepository;
+        this.userInboxService = userInboxService;
+        this.syncChangeService = syncChangeService;
+    }
+    
+    /**
+     * Get or create the conversation for two users (and a project, for project chats) with insert-or-select semantics.
+     * The insert runs in the caller's transaction as an INSERT ... ON DUPLICATE KEY UPDATE on the pair_key unique index:
+     * a duplicate is a no-op rather than an error, and while a concurrent creator is still uncommitted it waits for that
+     * transaction instead. Either way the locking read that follows sees the winner's row, and no second connection or
+     * transaction is needed. This call created the conversation only if that row carries the id it generated.
+     * @return The conversation (existing or newly created)
+     */
+    @Transactional
+    public Conversation getOrCreateConversation(User participant1, User participant2,
+                                                com.freelance.platform.entity.Project project, ConversationType type) {
+        UUID projectId = project != null ? project.getId() : null;
+        String pairKey = Conversation.pairKey(participant1.getId(), participant2.getId(), type, projectId);
+        
+        Optional<Conversation> existing = conversationRepository.findByPairKey(pairKey);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        
+        UUID id = TimeOrderedUuidGenerator.next();
+        conversationRepository.insertIfAbsent(id, participant1.getId(), participant2.getId(), projectId, type.name(),
+                pairKey, LocalDateTime.now());
+        
+        Conversation conversation = conversationRepository.findByPairKeyForShare(pairKey)
+            .orElseThrow(() -> new IllegalStateException("Conversation could not be created"));
+        if (conversation.getId().equals(id)) {
+            userInboxService.addConversation(conversation);
+            syncChangeService.record(participant1.getId(), SyncChangeType.CONVERSATION_UPDATED, conversation.getId());
+            syncChangeService.record(participant2.getId(), SyncChangeType.CONVERSATION_UPDATED, conversation.getId());
+        }
+        return conversation;
     }
     
     /**
@@ -50,12 +93,7 @@ public class ConversationService {
             throw new UnauthorizedException("Cannot create conversation with yourself");
         }
         
-        return conversationRepository
-            .findDirectMessageConversation(currentUser, otherUser)
-            .orElseGet(() -> {
-                Conversation newConversation = new Conversation(currentUser, otherUser, ConversationType.DIRECT_MESSAGE);
-                return conversationRepository.save(newConversation);
-            });
+        return getOrCreateConversation(currentUser, otherUser, null, ConversationType.DIRECT_MESSAGE);
     }
     
     /**
@@ -76,26 +114,18 @@ public class ConversationService {
             throw new UnauthorizedException("Cannot create conversation with yourself");
         }
         
-        return conversationRepository
-            .findDirectMessageConversation(currentUser, otherUser)
-            .orElseGet(() -> {
-                Conversation newConversation = new Conversation(currentUser, otherUser, ConversationType.DIRECT_MESSAGE);
-                return conversationRepository.save(newConversation);
-            });
+        return getOrCreateConversation(currentUser, otherUser, null, ConversationType.DIRECT_MESSAGE);
     }
     
     /**
      * Get all conversations for a user
      * @param userId The user ID
      * @param pageable Pagination info
-     * @return Page of conversations sorted by most recent
+     * @return Page of inbox rows sorted by most recent
      */
     @Transactional(readOnly = true)
-    public Page<Conversation> getUserConversations(UUID userId, Pageable pageable) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
-        return conversationRepository.findUserConversations(user, pageable);
+    public Page<UserInbox> getUserConversations(UUID userId, Pageable pageable) {
+        return userInboxService.getInbox(userId, pageable);
     }
     
     /**
@@ -164,6 +194,7 @@ public class ConversationService {
         conversation.setLastMessageAt(LocalDateTime.now());
         conversation.setLastMessagePreview(messagePreview);
         conversationRepository.save(conversation);
+        userInboxService.updateLastMessage(conversationId, conversation.getLastMessageAt(), messagePreview);
     }
     
     /**
@@ -185,6 +216,8 @@ public class ConversationService {
         }
         
         conversationRepository.save(conversation);
+        userInboxService.updateBlocked(conversationId, userId, true);
+        syncChangeService.record(userId, SyncChangeType.CONVERSATION_UPDATED, conversationId);
     }
     
     /**
@@ -206,6 +239,8 @@ public class ConversationService {
         }
         
         conversationRepository.save(conversation);
+        userInboxService.updateBlocked(conversationId, userId, false);
+        syncChangeService.record(userId, SyncChangeType.CONVERSATION_UPDATED, conversationId);
     }
 
     /**
@@ -213,14 +248,11 @@ public class ConversationService {
      * @param userId The user ID
      * @param type The conversation type (DIRECT_MESSAGE or PROJECT_CHAT)
      * @param pageable Pagination info
-     * @return Page of conversations of the specified type
+     * @return Page of inbox rows of the specified type
      */
     @Transactional(readOnly = true)
-    public Page<Conversation> getConversationsByType(UUID userId, ConversationType type, Pageable pageable) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
-        return conversationRepository.findByTypeAndParticipant(type, user, pageable);
+    public Page<UserInbox> getConversationsByType(UUID userId, ConversationType type, Pageable pageable) {
+        return userInboxService.getInboxByType(userId, type, pageable);
     }
 
     /**
@@ -245,16 +277,6 @@ public class ConversationService {
         }
         
         // Find existing conversation for this project
-        return conversationRepository.findProjectConversation(project, project.getClient(), currentUser)
-            .orElseGet(() -> {
-                Conversation newConversation = new Conversation(
-                    project.getClient(),
-                    currentUser,
-                    project,
-                    ConversationType.PROJECT_CHAT
-                );
-                newConversation.setLastMessageAt(LocalDateTime.now());
-                return conversationRepository.save(newConversation);
-            });
+        return getOrCreateConversation(project.getClient(), currentUser, project, ConversationType.PROJECT_CHAT);
     }
 }
@@ -0,0 +1,64 @@
+package com.freelance.platform.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Redis-backed lease lock used to make scheduled jobs run on a single node.
+ * The lease expires on its own, so a node that dies mid-run never blocks the job for longer than the TTL.
+ */
+@Service
+public class DistributedLockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistributedLockService.class);
+
+    private static final String KEY_PREFIX = "lock:";
+
+    // Delete the key only if this node still owns the lease
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * Run the task if the named lease can be acquired; returns false when another node holds it.
+     */
+    public boolean runExclusively(String lockName, Duration leaseTime, Runnable task) {
+        String token = UUID.randomUUID().toString();
+        String key = KEY_PREFIX + lockName;
+
+        Boolean acquired;
+        try {
+            acquired = stringRedisTemplate.opsForValue().setIfAbsent(key, token, leaseTime);
+        } catch (DataAccessException e) {
+            logger.warn("Could not acquire lock {}: {}", lockName, e.getMessage());
+            return false;
+        }
+        if (!Boolean.TRUE.equals(acquired)) {
+            logger.debug("Lock {} is held by another node, skipping", lockName);
+            return false;
+        }
+
+        try {
+            task.run();
+            return true;
+        } finally {
+            try {
+                stringRedisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(key), token);
+            } catch (DataAccessException e) {
+                logger.warn("Could not release lock {}, it will expire after {}: {}", lockName, leaseTime, e.getMessage());
+            }
+        }
+    }
+}
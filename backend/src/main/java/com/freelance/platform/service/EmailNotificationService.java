@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -56,6 +57,32 @@ public class EmailNotificationService {
         }
     }
 
+    /**
+     * Proposal rejected emails for many freelancers, with their notification settings read in one query
+     */
+    public void sendProposalRejectedEmails(Collection<User> freelancers, String projectTitle) {
+        Map<UUID, NotificationSettings> settingsByUser = new HashMap<>();
+        for (Object[] row : notificationSettingsRepository.findByUserIdIn(
+                freelancers.stream().map(User::getId).toList())) {
+            settingsByUser.put((UUID) row[0], (NotificationSettings) row[1]);
+        }
+
+        for (User freelancer : freelancers) {
+            NotificationSettings settings = settingsByUser.get(freelancer.getId());
+            if (settings != null && !isEnabled(settings, "emailNewProposals")) {
+                continue;
+            }
+            try {
+                Map<String, Object> variables = new HashMap<>();
+                variables.put("firstName", freelancer.getFirstName());
+                variables.put("projectTitle", projectTitle);
+                emailService.sendTemplateEmail(freelancer.getEmail(), "PROPOSAL_REJECTED", variables);
+            } catch (Exception e) {
+                System.err.println("Failed to send proposal rejected email to " + freelancer.getEmail() + ": " + e.getMessage());
+            }
+        }
+    }
+
     public void sendNewMessageEmail(User recipient, String senderName, String senderFirstName, String senderLastName, String projectTitle) {
         if (shouldSendEmail(recipient.getId(), "emailNewMessages")) {
             try {
@@ -178,48 +205,50 @@ public class EmailNotificationService {
 
     private boolean shouldSendEmail(UUID userId, String settingKey) {
         try {
-            Optional<NotificationSettings> settings = notificationSettingsRepository.findById(userId);
+            Optional<NotificationSettings> settings = notificationSettingsRepository.findByUserId(userId);
             
             if (settings.isEmpty()) {
                 return true;
             }
 
-            NotificationSettings notificationSettings = settings.get();
-            
-            switch (settingKey) {
-                case "emailNewProposals":
-                    return notificationSettings.getEmailNewProposals() != null && 
-                           notificationSettings.getEmailNewProposals() &&
-                           isFrequencyAllowed(notificationSettings.getEmailFrequency());
-                case "emailNewMessages":
-                    return notificationSettings.getEmailNewMessages() != null && 
-                           notificationSettings.getEmailNewMessages() &&
-                           isFrequencyAllowed(notificationSettings.getEmailFrequency());
-                case "emailPayments":
-                    return notificationSettings.getEmailPayments() != null && 
-                           notificationSettings.getEmailPayments() &&
-                           isFrequencyAllowed(notificationSettings.getEmailFrequency());
-                case "emailNewReviews":
-                    return notificationSettings.getEmailNewReviews() != null && 
-                           notificationSettings.getEmailNewReviews() &&
-                           isFrequencyAllowed(notificationSettings.getEmailFrequency());
-                case "emailSystemNotifications":
-                    return notificationSettings.getEmailSystemNotifications() != null && 
-                           notificationSettings.getEmailSystemNotifications() &&
-                           isFrequencyAllowed(notificationSettings.getEmailFrequency());
-                case "emailMarketingEmails":
-                    return notificationSettings.getEmailMarketingEmails() != null && 
-                           notificationSettings.getEmailMarketingEmails() &&
-                           isFrequencyAllowed(notificationSettings.getEmailFrequency());
-                default:
-                    return false;
-            }
+            return isEnabled(settings.get(), settingKey);
         } catch (Exception e) {
             System.err.println("Error checking notification settings for user " + userId + ": " + e.getMessage());
             return false;
         }
     }
 
+    private boolean isEnabled(NotificationSettings notificationSettings, String settingKey) {
+        switch (settingKey) {
+            case "emailNewProposals":
+                return notificationSettings.getEmailNewProposals() != null && 
+                       notificationSettings.getEmailNewProposals() &&
+                       isFrequencyAllowed(notificationSettings.getEmailFrequency());
+            case "emailNewMessages":
+                return notificationSettings.getEmailNewMessages() != null && 
+                       notificationSettings.getEmailNewMessages() &&
+                       isFrequencyAllowed(notificationSettings.getEmailFrequency());
+            case "emailPayments":
+                return notificationSettings.getEmailPayments() != null && 
+                       notificationSettings.getEmailPayments() &&
+                       isFrequencyAllowed(notificationSettings.getEmailFrequency());
+            case "emailNewReviews":
+                return notificationSettings.getEmailNewReviews() != null && 
+                       notificationSettings.getEmailNewReviews() &&
+                       isFrequencyAllowed(notificationSettings.getEmailFrequency());
+            case "emailSystemNotifications":
+                return notificationSettings.getEmailSystemNotifications() != null && 
+                       notificationSettings.getEmailSystemNotifications() &&
+                       isFrequencyAllowed(notificationSettings.getEmailFrequency());
+            case "emailMarketingEmails":
+                return notificationSettings.getEmailMarketingEmails() != null && 
+                       notificationSettings.getEmailMarketingEmails() &&
+                       isFrequencyAllowed(notificationSettings.getEmailFrequency());
+            default:
+                return false;
+        }
+    }
+
     private boolean isFrequencyAllowed(NotificationSettings.EmailFrequency frequency) {
         if (frequency == null) {
             return true;
@@ -65,12 +65,14 @@ public class FAQService {
         faqRepository.delete(faq);
     }
 
+    @Transactional(readOnly = true)
     public FAQResponse getFAQById(UUID id) {
         FAQ faq = faqRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("FAQ not found with ID: " + id));
         return FAQResponse.fromEntity(faq);
     }
 
+    @Transactional(readOnly = true)
     public List<FAQResponse> getAllFAQs() {
         List<FAQ> faqs = faqRepository.findByIsActiveTrueOrderByDisplayOrderAsc();
         return faqs.stream()
@@ -78,6 +80,7 @@ public class FAQService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<FAQResponse> getFAQsByCategory(FAQCategory category) {
         List<FAQ> faqs = faqRepository.findByCategoryAndIsActiveTrueOrderByDisplayOrderAsc(category);
         return faqs.stream()
@@ -85,25 +88,30 @@ public class FAQService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Page<FAQResponse> searchFAQs(String searchTerm, Pageable pageable) {
         Page<FAQ> faqs = faqRepository.searchFAQs(searchTerm, pageable);
         return faqs.map(FAQResponse::fromEntity);
     }
 
+    @Transactional(readOnly = true)
     public Page<FAQResponse> getAllFAQsPaginated(Pageable pageable) {
         Page<FAQ> faqs = faqRepository.findByIsActiveTrueOrderByDisplayOrderAsc(pageable);
         return faqs.map(FAQResponse::fromEntity);
     }
 
+    @Transactional(readOnly = true)
     public Page<FAQResponse> getFAQsByCategoryPaginated(FAQCategory category, Pageable pageable) {
         Page<FAQ> faqs = faqRepository.findByCategoryAndIsActiveTrueOrderByDisplayOrderAsc(category, pageable);
         return faqs.map(FAQResponse::fromEntity);
     }
 
+    @Transactional(readOnly = true)
     public List<FAQCategory> getAllCategories() {
         return List.of(FAQCategory.values());
     }
 
+    @Transactional(readOnly = true)
     public long getFAQCountByCategory(FAQCategory category) {
         return faqRepository.countByCategoryAndIsActiveTrue(category);
     }
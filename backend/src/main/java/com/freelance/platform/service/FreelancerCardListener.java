@@ -0,0 +1,140 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.entity.FreelancerProfile;
+import com.freelance.platform.entity.FreelancerSkill;
+import com.freelance.platform.entity.Portfolio;
+import com.freelance.platform.entity.Review;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.User;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * JPA listener on {@link User}, {@link FreelancerProfile}, {@link FreelancerSkill}, {@link Portfolio} and
+ * {@link Review} that collects the freelancers whose card data changed in a transaction and rebuilds their
+ * freelancer_card rows once after commit.
+ */
+@Component
+public class FreelancerCardListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(FreelancerCardListener.class);
+
+    // Resolved lazily: the listener is instantiated while the EntityManagerFactory is still being built
+    private final ObjectProvider<FreelancerCardService> freelancerCardService;
+
+    public FreelancerCardListener(ObjectProvider<FreelancerCardService> freelancerCardService) {
+        this.freelancerCardService = freelancerCardService;
+    }
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (entity instanceof User user) {
+            user.setLoadedCardKey(cardKey(user));
+        }
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof User user) {
+            // Logins and settings changes update users constantly; only card fields matter here
+            String cardKey = cardKey(user);
+            if (Objects.equals(user.getLoadedCardKey(), cardKey)) {
+                return;
+            }
+            user.setLoadedCardKey(cardKey);
+            schedule(user.getId(), null);
+        } else if (entity instanceof FreelancerProfile profile) {
+            schedule(profile.getUser() != null ? profile.getUser().getId() : null, null);
+        } else if (entity instanceof FreelancerSkill skill) {
+            // Only the profile id is on the row; owners are resolved after commit without touching the proxy
+            schedule(null, skill.getFreelancerId());
+        } else if (entity instanceof Portfolio portfolio) {
+            schedule(null, portfolio.getFreelancerId());
+        } else if (entity instanceof Review review) {
+            schedule(review.getReviewee() != null ? review.getReviewee().getId() : null, null);
+        }
+    }
+
+    private void schedule(UUID userId, UUID profileId) {
+        if (userId == null && profileId == null) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Pending pending = new Pending();
+            pending.add(userId, profileId);
+            refresh(pending);
+            return;
+        }
+
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Pending bound = new Pending();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(FreelancerCardListener.this);
+                }
+            });
+            pending = bound;
+        }
+        pending.add(userId, profileId);
+    }
+
+    private String cardKey(User user) {
+        TreeSet<Role> roles = user.getRoles() != null ? new TreeSet<>(user.getRoles()) : new TreeSet<>();
+        return user.getFirstName() + "|" + user.getLastName() + "|" + user.getEmail() + "|" + user.getAvatarUrl()
+                + "|" + user.getCity() + "|" + user.getCountry() + "|" + user.getIsVerified() + "|" + user.getIsActive()
+                + "|" + roles + "|" + (user.getDeletedAt() != null);
+    }
+
+    private void refresh(Pending pending) {
+        FreelancerCardService service = freelancerCardService.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        try {
+            service.rebuildForChanges(pending.userIds, pending.profileIds);
+        } catch (DataAccessException e) {
+            // The nightly rebuild repairs any card left stale here
+            logger.warn("Failed to rebuild freelancer cards for users {}: {}", pending.userIds, e.getMessage());
+        }
+    }
+
+    private static final class Pending {
+        private final Set<UUID> userIds = new LinkedHashSet<>();
+        private final Set<UUID> profileIds = new LinkedHashSet<>();
+
+        void add(UUID userId, UUID profileId) {
+            if (userId != null) {
+                userIds.add(userId);
+            }
+            if (profileId != null) {
+                profileIds.add(profileId);
+            }
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.entity.FreelancerCard;
+import com.freelance.platform.entity.FreelancerProfile;
+import com.freelance.platform.entity.User;
+import com.freelance.platform.repository.FreelancerCardRepository;
+import com.freelance.platform.repository.FreelancerProfileRepository;
+import com.freelance.platform.repository.FreelancerSkillRepository;
+import com.freelance.platform.repository.PortfolioRepository;
+import com.freelance.platform.repository.ReviewRepository;
+import com.freelance.platform.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the freelancer_card read model: one row per live freelancer, rebuilt from the user, profile,
+ * skills, portfolio and reviews whenever one of them changes, so the freelancer directory needs no joins.
+ */
+@Service
+public class FreelancerCardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FreelancerCardService.class);
+
+    private static final String LOCK_NAME = "freelancer-card-rebuild";
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    @Autowired
+    private FreelancerCardRepository freelancerCardRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FreelancerProfileRepository freelancerProfileRepository;
+
+    @Autowired
+    private FreelancerSkillRepository freelancerSkillRepository;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private DistributedLockService distributedLockService;
+
+    @Value("${app.freelancer-cards.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${app.freelancer-cards.rebuild-enabled:true}")
+    private boolean rebuildEnabled;
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong lastDrift;
+
+    // Card writes run after the triggering transaction has committed, so always in a fresh one
+    private final TransactionTemplate transactionTemplate;
+
+    public FreelancerCardService(MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.meterRegistry = meterRegistry;
+        this.lastDrift = meterRegistry.gauge("freelancer.cards.drift", new AtomicLong());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Newest freelancers first; the order is fixed by the card index, so any requested sort is dropped
+     */
+    @Transactional(readOnly = true)
+    public Page<FreelancerCard> getCards(Pageable pageable) {
+        return freelancerCardRepository.findCards(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    /**
+     * Rebuild the cards of users whose data changed. Skill and portfolio changes are recorded by
+     * profile id and resolved to their owners here.
+     */
+    public void rebuildForChanges(Collection<UUID> userIds, Collection<UUID> profileIds) {
+        Set<UUID> affected = new LinkedHashSet<>(userIds);
+        if (!profileIds.isEmpty()) {
+            List<UUID> owners = transactionTemplate.execute(status -> freelancerProfileRepository.findUserIdsByIdIn(profileIds));
+            if (owners != null) {
+                affected.addAll(owners);
+            }
+        }
+        rebuild(affected);
+    }
+
+    /**
+     * Recompute the cards of the given users: create, update or remove each so it matches the source rows
+     */
+    public RebuildResult rebuild(Collection<UUID> userIds) {
+        RebuildResult total = new RebuildResult();
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + REBUILD_BATCH_SIZE, ids.size()));
+            RebuildResult result = transactionTemplate.execute(status -> rebuildChunk(chunk));
+            if (result != null) {
+                total.add(result);
+            }
+        }
+        record(total);
+        return total;
+    }
+
+    /**
+     * Nightly consistency pass: rebuild every card and report how many had drifted from the source rows.
+     * The listeners keep cards current, so a non-zero drift points at a write path that bypasses them.
+     */
+    @Scheduled(cron = "${app.freelancer-cards.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAllNightly() {
+        if (!rebuildEnabled) {
+            return;
+        }
+        distributedLockService.runExclusively(LOCK_NAME, Duration.ofHours(1), this::rebuildAll);
+    }
+
+    /**
+     * Build cards for freelancers that predate the table when it is still empty
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup || freelancerCardRepository.count() > 0) {
+            return;
+        }
+        distributedLockService.runExclusively(LOCK_NAME, Duration.ofHours(1), this::rebuildAll);
+    }
+
+    public RebuildResult rebuildAll() {
+        RebuildResult total = new RebuildResult();
+
+        UUID afterId = MIN_UUID;
+        while (true) {
+            List<UUID> batch = userRepository.findFreelancerIdsAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            total.add(rebuild(batch));
+            afterId = batch.get(batch.size() - 1);
+            if (batch.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+        }
+
+        // Orphans are removed as they are rebuilt, so the cursor only moves forward past what remains
+        afterId = MIN_UUID;
+        while (true) {
+            List<UUID> batch = freelancerCardRepository.findOrphanedUserIds(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            total.add(rebuild(batch));
+            afterId = batch.get(batch.size() - 1);
+            if (batch.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+        }
+
+        lastDrift.set(total.getDrifted());
+        logger.info("Freelancer card rebuild: {} created, {} updated, {} unchanged, {} removed",
+                total.getCreated(), total.getUpdated(), total.getUnchanged(), total.getRemoved());
+        if (total.getDrifted() > 0) {
+            logger.warn("Freelancer card rebuild corrected {} cards that had drifted from their source rows", total.getDrifted());
+        }
+        return total;
+    }
+
+    private RebuildResult rebuildChunk(Collection<UUID> userIds) {
+        RebuildResult result = new RebuildResult();
+
+        Map<UUID, User> users = userRepository.findFreelancersByIdIn(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity(), (a, b) -> a));
+        Map<UUID, FreelancerCard> existing = freelancerCardRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(FreelancerCard::getUserId, Function.identity()));
+
+        Map<UUID, FreelancerProfile> profiles = new HashMap<>();
+        Map<UUID, List<String>> skills = new HashMap<>();
+        Map<UUID, Integer> portfolioCounts = new HashMap<>();
+        Map<UUID, Object[]> ratings = new HashMap<>();
+        if (!users.isEmpty()) {
+            Set<UUID> ids = users.keySet();
+            for (FreelancerProfile profile : freelancerProfileRepository.findByUserIdIn(ids)) {
+                profiles.put(profile.getUser().getId(), profile);
+            }
+            for (Object[] row : freelancerSkillRepository.findSkillNamesByUserIds(ids)) {
+                skills.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+            for (Object[] row : portfolioRepository.countByUserIds(ids)) {
+                portfolioCounts.put((UUID) row[0], ((Number) row[1]).intValue());
+            }
+            for (Object[] row : reviewRepository.aggregateRatingsByRevieweeIds(ids)) {
+                ratings.put((UUID) row[0], row);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<FreelancerCard> toSave = new ArrayList<>();
+        List<UUID> toRemove = new ArrayList<>();
+        for (UUID userId : userIds) {
+            User user = users.get(userId);
+            FreelancerCard current = existing.get(userId);
+            if (user == null) {
+                if (current != null) {
+                    toRemove.add(userId);
+                    result.removed++;
+                }
+                continue;
+            }
+
+            FreelancerCard card = buildCard(user, profiles.get(userId), skills.get(userId),
+                    portfolioCounts.getOrDefault(userId, 0), ratings.get(userId));
+            if (current == null) {
+                card.setRebuiltAt(now);
+                toSave.add(card);
+                result.created++;
+            } else if (current.sameContent(card)) {
+                result.unchanged++;
+            } else {
+                current.copyContent(card);
+                current.setRebuiltAt(now);
+                toSave.add(current);
+                result.updated++;
+            }
+        }
+
+        if (!toRemove.isEmpty()) {
+            freelancerCardRepository.deleteByUserIdIn(toRemove);
+        }
+        freelancerCardRepository.saveAll(toSave);
+        return result;
+    }
+
+    private FreelancerCard buildCard(User user, FreelancerProfile profile, List<String> skillNames,
+                                     int portfolioCount, Object[] rating) {
+        FreelancerCard card = new FreelancerCard(user.getId());
+        card.setFirstName(user.getFirstName());
+        card.setLastName(user.getLastName());
+        card.setEmail(user.getEmail());
+        card.setAvatarUrl(user.getAvatarUrl());
+        card.setCity(user.getCity());
+        card.setCountry(user.getCountry());
+        card.setIsVerified(user.getIsVerified());
+        card.setIsActive(user.getIsActive());
+        card.setCreatedAt(user.getCreatedAt());
+
+        if (profile != null) {
+            card.setBio(profile.getBio());
+            card.setHourlyRate(profile.getHourlyRate());
+            card.setTotalProjects(profile.getTotalProjects() != null ? profile.getTotalProjects() : 0);
+            card.setAvailability(profile.getAvailability());
+            card.setExperienceLevel(profile.getExperienceLevel());
+        }
+        card.setSkillNames(skillNames);
+        card.setPortfolioCount(portfolioCount);
+
+        // Ratings come from the reviews themselves; the profile's rating columns are not maintained
+        if (rating != null && rating[1] != null) {
+            card.setRating(BigDecimal.valueOf(((Number) rating[1]).doubleValue()).setScale(2, RoundingMode.HALF_UP));
+            card.setTotalReviews(((Number) rating[2]).intValue());
+        } else {
+            card.setRating(BigDecimal.ZERO.setScale(2));
+            card.setTotalReviews(0);
+        }
+        return card;
+    }
+
+    private void record(RebuildResult result) {
+        meterRegistry.counter("freelancer.cards.rebuilt", "outcome", "created").increment(result.getCreated());
+        meterRegistry.counter("freelancer.cards.rebuilt", "outcome", "updated").increment(result.getUpdated());
+        meterRegistry.counter("freelancer.cards.rebuilt", "outcome", "removed").increment(result.getRemoved());
+    }
+
+    /**
+     * Outcome counts of a rebuild. In the nightly pass every written card is drift.
+     */
+    public static class RebuildResult {
+        private long created;
+        private long updated;
+        private long unchanged;
+        private long removed;
+
+        void add(RebuildResult other) {
+            created += other.created;
+            updated += other.updated;
+            unchanged += other.unchanged;
+            removed += other.removed;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        public long getUpdated() {
+            return updated;
+        }
+
+        public long getUnchanged() {
+            return unchanged;
+        }
+
+        public long getRemoved() {
+            return removed;
+        }
+
+        public long getDrifted() {
+            return created + updated + removed;
+        }
+    }
+}
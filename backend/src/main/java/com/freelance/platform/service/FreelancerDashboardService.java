@@ -43,6 +43,7 @@ public class FreelancerDashboardService {
     @Autowired
     private UserRepository userRepository;
 
+    @Transactional(readOnly = true)
     public FreelancerDashboardResponse getFreelancerDashboard(UUID freelancerId) {
         User freelancer = userRepository.findById(freelancerId)
                 .orElseThrow(() -> new RuntimeException("Freelancer not found"));
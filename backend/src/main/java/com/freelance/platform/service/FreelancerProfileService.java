@@ -16,7 +16,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -146,31 +150,51 @@ public class FreelancerProfileService {
 
         // Update skills if provided
         if (request.getSkills() != null && !request.getSkills().isEmpty()) {
-            // Remove existing skills
+            // Remove existing skills; flushed so the deletes reach the database before the
+            // re-inserted rows hit the (profile, skill) unique key
             freelancerSkillRepository.deleteByFreelancer(profile);
+            freelancerSkillRepository.flush();
             
-            // Add new skills
+            // Add new skills - one lookup query and one batch of inserts
+            Map<String, Skill> skills = findOrCreateSkills(request.getSkills());
+            Map<Skill, FreelancerSkill> freelancerSkills = new LinkedHashMap<>();
             for (String skillName : request.getSkills()) {
-                Skill skill = skillRepository.findByName(skillName)
-                        .orElseGet(() -> {
-                            Skill newSkill = new Skill();
-                            newSkill.setName(skillName);
-                            return skillRepository.save(newSkill);
-                        });
-
-                FreelancerSkill freelancerSkill = new FreelancerSkill(
-                        profile, 
-                        skill, 
-                        3 // Default proficiency level (Intermediate)
-                    );
-                freelancerSkillRepository.save(freelancerSkill);
+                Skill skill = skills.get(skillName);
+                if (!freelancerSkills.containsKey(skill)) {
+                    freelancerSkills.put(skill, new FreelancerSkill(
+                            profile, 
+                            skill, 
+                            3 // Default proficiency level (Intermediate)
+                        ));
+                }
             }
+            freelancerSkillRepository.saveAll(freelancerSkills.values());
         }
 
         profile = freelancerProfileRepository.save(profile);
         return mapToResponse(profile);
     }
 
+    // Look up all requested skills in one query and create the missing ones in one batch.
+    // Keyed case-insensitively to match the column collation, as findByName did.
+    private Map<String, Skill> findOrCreateSkills(Collection<String> names) {
+        Map<String, Skill> skills = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Skill skill : skillRepository.findByNameIn(names)) {
+            skills.put(skill.getName(), skill);
+        }
+        List<Skill> created = new ArrayList<>();
+        for (String name : names) {
+            if (!skills.containsKey(name)) {
+                Skill skill = new Skill();
+                skill.setName(name);
+                skills.put(name, skill);
+                created.add(skill);
+            }
+        }
+        skillRepository.saveAll(created);
+        return skills;
+    }
+
     private FreelancerProfileResponse mapToResponse(FreelancerProfile profile) {
         System.out.println("=== MAPPING PROFILE TO RESPONSE ===");
         
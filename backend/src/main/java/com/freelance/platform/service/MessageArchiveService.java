@@ -0,0 +1,499 @@
+package com.freelance.platform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.freelance.platform.config.properties.MessageArchiveProperties;
+import com.freelance.platform.entity.Conversation;
+import com.freelance.platform.entity.Message;
+import com.freelance.platform.entity.MessageArchiveSegment;
+import com.freelance.platform.entity.MessageAttachment;
+import com.freelance.platform.entity.MessageType;
+import com.freelance.platform.repository.ConversationRepository;
+import com.freelance.platform.repository.MessageArchiveSegmentRepository;
+import com.freelance.platform.repository.MessageAttachmentRepository;
+import com.freelance.platform.repository.MessageRepository;
+import com.freelance.platform.util.KeysetCursor;
+import com.freelance.platform.util.WeightedLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves old messages out of the messages table into per-conversation archive segments.
+ * A segment is an immutable gzip-compressed JSON Lines object in MinIO plus one index row; new
+ * segments only ever follow the existing ones. Only a read prefix of each conversation is archived,
+ * so archived messages always precede the live ones and unread counters never refer to archived rows.
+ * History reads continue from the live table into the segments through {@link #readBefore}.
+ */
+@Service
+public class MessageArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageArchiveService.class);
+
+    private static final String LOCK_NAME = "message-archive";
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+    private static final String SEGMENT_PREFIX = "archive/messages/";
+    private static final String SEGMENT_CONTENT_TYPE = "application/x-ndjson+gzip";
+    private static final int SEGMENT_READ_BATCH = 4;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageAttachmentRepository messageAttachmentRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private MessageArchiveSegmentRepository segmentRepository;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Autowired
+    private MessageTailCache messageTailCache;
+
+    @Autowired
+    private DistributedLockService distributedLockService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final MessageArchiveProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final WeightedLruCache<String, List<ArchivedMessage>> segmentCache;
+    private final Counter segmentReads;
+
+    public MessageArchiveService(MessageArchiveProperties properties, MeterRegistry meterRegistry,
+                                 PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.segmentCache = new WeightedLruCache<>(properties.getSegmentCacheBytes(), MessageArchiveService::weigh);
+        this.segmentReads = meterRegistry.counter("messages.archive.segment.reads");
+    }
+
+    @Scheduled(cron = "${app.messaging.archive.cron:0 0 4 * * *}")
+    public void archiveOldMessages() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        distributedLockService.runExclusively(LOCK_NAME, Duration.ofHours(3), this::archiveAll);
+    }
+
+    /**
+     * Archive every eligible conversation once and log the storage report; returns the number of archived messages.
+     */
+    public long archiveAll() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(properties.getMinAgeDays());
+        UUID afterId = MIN_UUID;
+        long messages = 0L;
+        long rawBytes = 0L;
+        long compressedBytes = 0L;
+
+        while (true) {
+            List<UUID> conversationIds = conversationRepository.findIdsWithMessagesBefore(
+                    afterId, cutoff, PageRequest.of(0, properties.getConversationBatchSize()));
+            for (UUID conversationId : conversationIds) {
+                MessageArchiveSegment segment;
+                do {
+                    try {
+                        segment = transactionTemplate.execute(status -> archiveSegment(conversationId, cutoff));
+                    } catch (RuntimeException e) {
+                        logger.warn("Archiving conversation {} failed", conversationId, e);
+                        segment = null;
+                    }
+                    if (segment != null) {
+                        messages += segment.getMessageCount();
+                        rawBytes += segment.getRawBytes();
+                        compressedBytes += segment.getCompressedBytes();
+                        pause();
+                    }
+                } while (segment != null && segment.getMessageCount() >= properties.getMaxSegmentMessages());
+            }
+            if (conversationIds.size() < properties.getConversationBatchSize()) {
+                break;
+            }
+            afterId = conversationIds.get(conversationIds.size() - 1);
+        }
+
+        sample.stop(meterRegistry.timer("messages.archive.duration"));
+        logger.info("Message archival moved {} messages: {} bytes raw, {} bytes compressed", messages, rawBytes, compressedBytes);
+        logStorageReport();
+        return messages;
+    }
+
+    /**
+     * Write the next segment of a conversation and delete its rows; null when nothing is ready to archive.
+     */
+    private MessageArchiveSegment archiveSegment(UUID conversationId, LocalDateTime cutoff) {
+        Conversation conversation = conversationRepository.findById(conversationId).orElse(null);
+        if (conversation == null) {
+            return null;
+        }
+        List<Message> candidates = messageRepository.findOldestBefore(
+                conversationId, cutoff, PageRequest.of(0, properties.getMaxSegmentMessages()));
+
+        // Stop at the first unread message: unread counters and mark-as-read only work on live rows
+        List<Message> prefix = new ArrayList<>(candidates.size());
+        for (Message message : candidates) {
+            if (!Boolean.TRUE.equals(message.getIsRead())) {
+                break;
+            }
+            prefix.add(message);
+        }
+        boolean idle = conversation.getLastMessageAt() == null || conversation.getLastMessageAt().isBefore(cutoff);
+        if (prefix.isEmpty() || (prefix.size() < properties.getMinSegmentMessages() && !idle)) {
+            return null;
+        }
+
+        byte[] raw = encode(prefix);
+        byte[] compressed = gzip(raw);
+        Message first = prefix.get(0);
+        Message last = prefix.get(prefix.size() - 1);
+        String objectKey = SEGMENT_PREFIX + conversationId + "/" + first.getCreatedAt().toLocalDate() + "-" + UUID.randomUUID() + ".jsonl.gz";
+        // Upload first: a failed commit leaves an unreferenced object, never an index row without data
+        storageService.putObject(objectKey, compressed, SEGMENT_CONTENT_TYPE);
+
+        MessageArchiveSegment segment = new MessageArchiveSegment();
+        segment.setConversationId(conversationId);
+        segment.setObjectKey(objectKey);
+        segment.setMessageCount(prefix.size());
+        segment.setFirstCreatedAt(first.getCreatedAt());
+        segment.setFirstMessageId(first.getId());
+        segment.setLastCreatedAt(last.getCreatedAt());
+        segment.setLastMessageId(last.getId());
+        segment.setRawBytes((long) raw.length);
+        segment.setCompressedBytes((long) compressed.length);
+        segmentRepository.save(segment);
+
+        List<UUID> ids = prefix.stream().map(Message::getId).toList();
+        messageAttachmentRepository.deleteByMessageIdIn(ids);
+        messageRepository.deleteByIdIn(ids);
+        messageTailCache.invalidate(conversationId);
+
+        meterRegistry.counter("messages.archive.messages").increment(prefix.size());
+        meterRegistry.counter("messages.archive.bytes", "kind", "raw").increment(raw.length);
+        meterRegistry.counter("messages.archive.bytes", "kind", "compressed").increment(compressed.length);
+        return segment;
+    }
+
+    /**
+     * Archived messages of a conversation strictly older than the cursor, newest first (null cursor = newest archived).
+     */
+    public List<ArchivedMessage> readBefore(UUID conversationId, KeysetCursor cursor, int limit) {
+        List<ArchivedMessage> result = new ArrayList<>(limit);
+        LocalDateTime beforeAt = cursor != null ? cursor.getCreatedAt() : null;
+        UUID beforeId = cursor != null ? cursor.getId() : null;
+
+        while (result.size() < limit) {
+            List<MessageArchiveSegment> segments = segmentRepository.findBefore(
+                    conversationId, beforeAt, beforeId, PageRequest.of(0, SEGMENT_READ_BATCH));
+            for (MessageArchiveSegment segment : segments) {
+                List<ArchivedMessage> messages = loadSegment(segment);
+                for (int i = messages.size() - 1; i >= 0 && result.size() < limit; i--) {
+                    ArchivedMessage message = messages.get(i);
+                    if (beforeAt == null || isOlder(message, beforeAt, beforeId)) {
+                        result.add(message);
+                    }
+                }
+                if (result.size() >= limit) {
+                    return result;
+                }
+                beforeAt = segment.getFirstCreatedAt();
+                beforeId = segment.getFirstMessageId();
+            }
+            if (segments.size() < SEGMENT_READ_BATCH) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private List<ArchivedMessage> loadSegment(MessageArchiveSegment segment) {
+        List<ArchivedMessage> messages = segmentCache.get(segment.getObjectKey());
+        if (messages == null) {
+            segmentReads.increment();
+            messages = Collections.unmodifiableList(decode(gunzip(storageService.getObject(segment.getObjectKey()))));
+            segmentCache.put(segment.getObjectKey(), messages);
+        }
+        return messages;
+    }
+
+    private void logStorageReport() {
+        List<Object[]> rows = segmentRepository.summarize();
+        if (rows.isEmpty()) {
+            return;
+        }
+        Object[] row = rows.get(0);
+        long raw = ((Number) row[2]).longValue();
+        long compressed = ((Number) row[3]).longValue();
+        logger.info("Message archive holds {} segments / {} messages: {} bytes raw, {} bytes stored ({}% saved)",
+                row[0], row[1], raw, compressed, raw > 0 ? Math.round(100.0 * (raw - compressed) / raw) : 0);
+    }
+
+    private byte[] encode(List<Message> messages) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (Message message : messages) {
+                out.write(objectMapper.writeValueAsBytes(ArchivedMessage.from(message)));
+                out.write('\n');
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<ArchivedMessage> decode(byte[] raw) {
+        List<ArchivedMessage> messages = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(raw), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    messages.add(objectMapper.readValue(line, ArchivedMessage.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return messages;
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] compressed) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Same (createdAt, id) order as the SQL keyset: BINARY(16) ids compare like their hex strings
+    private static boolean isOlder(ArchivedMessage message, LocalDateTime beforeAt, UUID beforeId) {
+        int byTime = message.getCreatedAt().compareTo(beforeAt);
+        return byTime < 0 || (byTime == 0 && message.getId().toString().compareTo(beforeId.toString()) < 0);
+    }
+
+    private static long weigh(List<ArchivedMessage> messages) {
+        long weight = 128;
+        for (ArchivedMessage message : messages) {
+            weight += 256 + (message.getContent() != null ? message.getContent().length() * 2L : 0L);
+            if (message.getAttachments() != null) {
+                weight += 256L * message.getAttachments().size();
+            }
+        }
+        return weight;
+    }
+
+    private void pause() {
+        if (properties.getBatchPauseMs() <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(properties.getBatchPauseMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One line of a segment file. Participants are stored by id and resolved on read, so renamed users show their current names.
+     */
+    public static class ArchivedMessage {
+        private UUID id;
+        private UUID senderId;
+        private UUID recipientId;
+        private UUID projectId;
+        private String content;
+        private MessageType messageType;
+        private Boolean isRead;
+        private LocalDateTime createdAt;
+        private List<ArchivedAttachment> attachments;
+
+        public ArchivedMessage() {}
+
+        static ArchivedMessage from(Message message) {
+            ArchivedMessage archived = new ArchivedMessage();
+            archived.id = message.getId();
+            archived.senderId = message.getSender().getId();
+            archived.recipientId = message.getRecipient().getId();
+            archived.projectId = message.getProject() != null ? message.getProject().getId() : null;
+            archived.content = message.getContent();
+            archived.messageType = message.getMessageType();
+            archived.isRead = message.getIsRead();
+            archived.createdAt = message.getCreatedAt();
+            archived.attachments = new ArrayList<>(message.getAttachments().size());
+            for (MessageAttachment attachment : message.getAttachments()) {
+                archived.attachments.add(new ArchivedAttachment(attachment.getObjectKey(), attachment.getUrl(),
+                        attachment.getFileName(), attachment.getMimeType(), attachment.getSizeBytes()));
+            }
+            return archived;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public void setId(UUID id) {
+            this.id = id;
+        }
+
+        public UUID getSenderId() {
+            return senderId;
+        }
+
+        public void setSenderId(UUID senderId) {
+            this.senderId = senderId;
+        }
+
+        public UUID getRecipientId() {
+            return recipientId;
+        }
+
+        public void setRecipientId(UUID recipientId) {
+            this.recipientId = recipientId;
+        }
+
+        public UUID getProjectId() {
+            return projectId;
+        }
+
+        public void setProjectId(UUID projectId) {
+            this.projectId = projectId;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public void setContent(String content) {
+            this.content = content;
+        }
+
+        public MessageType getMessageType() {
+            return messageType;
+        }
+
+        public void setMessageType(MessageType messageType) {
+            this.messageType = messageType;
+        }
+
+        public Boolean getIsRead() {
+            return isRead;
+        }
+
+        public void setIsRead(Boolean isRead) {
+            this.isRead = isRead;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        public List<ArchivedAttachment> getAttachments() {
+            return attachments;
+        }
+
+        public void setAttachments(List<ArchivedAttachment> attachments) {
+            this.attachments = attachments;
+        }
+    }
+
+    public static class ArchivedAttachment {
+        private String objectKey;
+        private String url;
+        private String fileName;
+        private String mimeType;
+        private Long sizeBytes;
+
+        public ArchivedAttachment() {}
+
+        public ArchivedAttachment(String objectKey, String url, String fileName, String mimeType, Long sizeBytes) {
+            this.objectKey = objectKey;
+            this.url = url;
+            this.fileName = fileName;
+            this.mimeType = mimeType;
+            this.sizeBytes = sizeBytes;
+        }
+
+        public String getObjectKey() {
+            return objectKey;
+        }
+
+        public void setObjectKey(String objectKey) {
+            this.objectKey = objectKey;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public void setFileName(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public void setMimeType(String mimeType) {
+            this.mimeType = mimeType;
+        }
+
+        public Long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        public void setSizeBytes(Long sizeBytes) {
+            this.sizeBytes = sizeBytes;
+        }
+    }
+}
@@ -1,23 +1,42 @@
 package com.freelance.platform.service;
 
+import com.freelance.platform.dto.request.MessageAttachmentRequest;
 import com.freelance.platform.dto.request.MessageRequest;
+import com.freelance.platform.dto.response.CursorPageResponse;
 import com.freelance.platform.dto.response.MessageResponse;
+import com.freelance.platform.dto.response.ReadReceiptResponse;
 import com.freelance.platform.entity.Conversation;
 import com.freelance.platform.entity.Message;
+import com.freelance.platform.entity.MessageAttachment;
+import com.freelance.platform.entity.SyncChangeType;
 import com.freelance.platform.entity.User;
+import com.freelance.platform.event.PlatformActivityEvent;
+import com.freelance.platform.event.PlatformActivityType;
 import com.freelance.platform.exception.ResourceNotFoundException;
 import com.freelance.platform.exception.UnauthorizedException;
 import com.freelance.platform.repository.ConversationRepository;
 import com.freelance.platform.repository.MessageRepository;
 import com.freelance.platform.repository.UserRepository;
+import com.freelance.platform.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.net.URLConnection;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -41,6 +60,18 @@ public class MessageService {
     @Autowired
     private ConversationService conversationService;
 
+    @Autowired
+    private UserInboxService userInboxService;
+
+    @Autowired
+    private MessageTailCache messageTailCache;
+
+    @Autowired
+    private SyncChangeService syncChangeService;
+
+    @Autowired
+    private MessageArchiveService messageArchiveService;
+
     @Autowired
     private NotificationService notificationService;
 
@@ -50,6 +81,9 @@ public class MessageService {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Send a message in a conversation
      * @param conversationId The ID of the conversation
@@ -77,11 +111,14 @@ public class MessageService {
         // Create and save the message
         Message message = new Message(conversation, sender, request.getContent(),
                 request.getMessageType() != null ? request.getMessageType() : com.freelance.platform.entity.MessageType.TEXT);
-        message.setAttachments(request.getAttachments());
+        attachFiles(message, conversationId, request);
         message.setIsRead(false);
         message.setCreatedAt(LocalDateTime.now());
 
         Message savedMessage = messageRepository.save(message);
+        adjustUnreadCount(conversationId, savedMessage.getRecipient().getId(), 1);
+        recordForParticipants(savedMessage, SyncChangeType.MESSAGE_CREATED);
+        eventPublisher.publishEvent(new PlatformActivityEvent(PlatformActivityType.MESSAGE_SENT));
 
         // Update conversation's last message timestamp
         String preview = request.getContent().length() > 100 ?
@@ -90,6 +127,7 @@ public class MessageService {
 
         // Send real-time message via WebSocket
         MessageResponse messageResponse = mapToMessageResponse(savedMessage);
+        messageTailCache.append(messageResponse);
         User recipient = conversation.getOtherParticipant(sender);
     String destination = "/queue/messages";
     messagingTemplate.convertAndSendToUser(recipient.getId().toString(), destination, messageResponse);
@@ -145,6 +183,7 @@ public class MessageService {
     /**
      * Get a message by ID (with authorization check)
      */
+    @Transactional(readOnly = true)
     public MessageResponse getMessageById(UUID messageId, UUID userId) {
         Message message = messageRepository.findById(messageId)
                 .orElseThrow(() -> new ResourceNotFoundException("Message not found"));
@@ -160,6 +199,7 @@ public class MessageService {
     /**
      * Get all messages in a conversation (paginated)
      */
+    @Transactional(readOnly = true)
     public Page<MessageResponse> getConversationMessages(UUID conversationId, UUID userId, Pageable pageable) {
         Conversation conversation = conversationRepository.findById(conversationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Conversation not found"));
@@ -173,6 +213,82 @@ public class MessageService {
         return messages.map(this::mapToMessageResponse);
     }
 
+    /**
+     * Get conversation history newest page first, paged backwards with a keyset cursor.
+     * Items come back in ascending order; nextCursor points past the oldest item returned.
+     * The newest messages of active conversations are served from the in-memory tail.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<MessageResponse> getConversationHistory(UUID conversationId, UUID userId, String before, int size) {
+        // Stamp before the first read so a message committed after our snapshot blocks installing a stale tail
+        long stamp = messageTailCache.beginLoad(conversationId);
+        KeysetCursor cursor = KeysetCursor.decode(before);
+
+        Conversation conversation = conversationRepository.findById(conversationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Conversation not found"));
+        if (!conversation.getParticipant1().getId().equals(userId) && !conversation.getParticipant2().getId().equals(userId)) {
+            throw new UnauthorizedException("You are not a participant in this conversation");
+        }
+
+        // One extra row tells whether an older page exists
+        List<MessageResponse> newestFirst = messageTailCache.before(conversationId, cursor, size + 1);
+        if (newestFirst == null) {
+            if (cursor == null && !messageTailCache.isLoaded(conversationId)) {
+                int loadSize = Math.max(size + 1, messageTailCache.getTailSize());
+                newestFirst = loadHistory(conversationId, null, loadSize);
+                messageTailCache.install(conversationId, stamp,
+                        newestFirst.subList(0, Math.min(newestFirst.size(), messageTailCache.getTailSize())));
+                newestFirst = newestFirst.subList(0, Math.min(newestFirst.size(), size + 1));
+            } else {
+                newestFirst = loadHistory(conversationId, cursor, size + 1);
+            }
+        }
+
+        // Past the oldest live message, history continues in the archive segments
+        if (newestFirst.size() <= size) {
+            MessageResponse oldest = newestFirst.isEmpty() ? null : newestFirst.get(newestFirst.size() - 1);
+            List<MessageArchiveService.ArchivedMessage> archived = messageArchiveService.readBefore(conversationId,
+                    oldest != null ? new KeysetCursor(oldest.getCreatedAt(), oldest.getId()) : cursor,
+                    size + 1 - newestFirst.size());
+            if (!archived.isEmpty()) {
+                newestFirst = new ArrayList<>(newestFirst);
+                for (MessageArchiveService.ArchivedMessage message : archived) {
+                    newestFirst.add(mapArchivedToMessageResponse(message, conversation));
+                }
+            }
+        }
+
+        boolean hasMore = newestFirst.size() > size;
+        List<MessageResponse> items = new ArrayList<>(newestFirst.subList(0, Math.min(newestFirst.size(), size)));
+        String nextCursor = null;
+        if (hasMore) {
+            MessageResponse oldest = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(oldest.getCreatedAt(), oldest.getId()).encode();
+        }
+        Collections.reverse(items);
+        return new CursorPageResponse<>(items, nextCursor);
+    }
+
+    private List<MessageResponse> loadHistory(UUID conversationId, KeysetCursor cursor, int limit) {
+        List<Message> messages = messageRepository.findHistoryBefore(conversationId,
+                cursor != null ? cursor.getCreatedAt() : null, cursor != null ? cursor.getId() : null,
+                PageRequest.of(0, limit));
+        return messages.stream().map(this::mapToMessageResponse).collect(Collectors.toList());
+    }
+
+    /**
+     * Current state of the given messages, oldest first; ids that no longer exist are skipped
+     */
+    @Transactional(readOnly = true)
+    public List<MessageResponse> getMessagesByIds(Collection<UUID> messageIds) {
+        if (messageIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return messageRepository.findWithParticipantsByIdIn(messageIds).stream()
+                .map(this::mapToMessageResponse)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Mark a message as read
      */
@@ -185,8 +301,11 @@ public class MessageService {
             throw new UnauthorizedException("You can only mark your own received messages as read");
         }
 
-        message.setIsRead(true);
-        messageRepository.save(message);
+        if (messageRepository.markAsReadIfUnread(messageId) > 0) {
+            adjustUnreadCount(message.getConversation().getId(), userId, -1);
+            messageTailCache.markMessageRead(message.getConversation().getId(), messageId);
+            recordForParticipants(message, SyncChangeType.MESSAGE_READ);
+        }
     }
 
     /**
@@ -201,26 +320,60 @@ public class MessageService {
             throw new UnauthorizedException("You are not a participant in this conversation");
         }
 
-        messageRepository.findUnreadMessagesByConversationAndRecipient(conversation, userId)
-                .forEach(message -> {
-                    message.setIsRead(true);
-                    messageRepository.save(message);
-                });
+        markReadForRecipient(conversation, userId, LocalDateTime.now());
+    }
+
+    /**
+     * Apply read receipts collected from the WebSocket channel, coalesced to one per conversation and reader,
+     * in a single transaction. Receipts for unknown conversations or non-participants are skipped.
+     * @return The receipts that were applied
+     */
+    public List<ReadReceiptResponse> applyReadReceipts(Collection<ReadReceiptResponse> receipts) {
+        Set<UUID> conversationIds = receipts.stream().map(ReadReceiptResponse::getConversationId).collect(Collectors.toSet());
+        Map<UUID, Conversation> conversations = conversationRepository.findAllById(conversationIds).stream()
+                .collect(Collectors.toMap(Conversation::getId, conversation -> conversation));
+
+        List<ReadReceiptResponse> applied = new ArrayList<>(receipts.size());
+        for (ReadReceiptResponse receipt : receipts) {
+            Conversation conversation = conversations.get(receipt.getConversationId());
+            if (conversation == null || !(conversation.getParticipant1().getId().equals(receipt.getReaderId())
+                    || conversation.getParticipant2().getId().equals(receipt.getReaderId()))) {
+                continue;
+            }
+            markReadForRecipient(conversation, receipt.getReaderId(), receipt.getReadAt());
+            applied.add(receipt);
+        }
+        return applied;
+    }
+
+    private void markReadForRecipient(Conversation conversation, UUID userId, LocalDateTime readAt) {
+        UUID conversationId = conversation.getId();
+        // Decrement by exactly the rows flipped here, so a message sent concurrently stays counted; a queued
+        // receipt only covers what had been sent when the reader looked, not what arrived before the flush
+        int markedRead = messageRepository.markConversationAsReadForRecipient(conversationId, userId, readAt);
+        if (markedRead > 0) {
+            adjustUnreadCount(conversationId, userId, -markedRead);
+            messageTailCache.markRead(conversationId, userId, readAt);
+            syncChangeService.record(conversation.getParticipant1().getId(), SyncChangeType.CONVERSATION_READ, conversationId, userId);
+            syncChangeService.record(conversation.getParticipant2().getId(), SyncChangeType.CONVERSATION_READ, conversationId, userId);
+        }
     }
 
     /**
      * Get count of unread messages for a user
      */
+    @Transactional(readOnly = true)
     public long getUnreadMessageCount(UUID userId) {
-        return messageRepository.countUnreadMessagesByRecipient(userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found")));
+        return conversationRepository.sumParticipant1UnreadCount(userId)
+                + conversationRepository.sumParticipant2UnreadCount(userId);
     }
 
     /**
      * Delete a message (only sender can delete)
      */
     public void deleteMessage(UUID messageId, UUID userId) {
-        Message message = messageRepository.findById(messageId)
+        // Row lock: a read receipt either commits first (isRead is then true here) or waits and flips nothing
+        Message message = messageRepository.findByIdForUpdate(messageId)
                 .orElseThrow(() -> new ResourceNotFoundException("Message not found"));
 
         // Verify user is the sender
@@ -228,7 +381,108 @@ public class MessageService {
             throw new UnauthorizedException("You can only delete your own messages");
         }
 
+        if (!Boolean.TRUE.equals(message.getIsRead())) {
+            adjustUnreadCount(message.getConversation().getId(), message.getRecipient().getId(), -1);
+        }
         messageRepository.delete(message);
+        messageTailCache.invalidate(message.getConversation().getId());
+        recordForParticipants(message, SyncChangeType.MESSAGE_DELETED);
+    }
+
+    /**
+     * Apply an unread delta to the conversation counter and the recipient's inbox row
+     */
+    private void adjustUnreadCount(UUID conversationId, UUID userId, int delta) {
+        conversationRepository.adjustUnreadCount(conversationId, userId, delta);
+        userInboxService.adjustUnreadCount(conversationId, userId, delta);
+    }
+
+    /**
+     * Record a message change in the sync log of both sender and recipient
+     */
+    private void recordForParticipants(Message message, SyncChangeType type) {
+        UUID conversationId = message.getConversation().getId();
+        syncChangeService.record(message.getSender().getId(), type, message.getId(), conversationId);
+        syncChangeService.record(message.getRecipient().getId(), type, message.getId(), conversationId);
+    }
+
+    /**
+     * Turn the request's attachments into typed rows. Structured upload metadata wins; bare links from
+     * older clients keep the link and derive the object key and type from it when it points into this
+     * conversation's upload folder.
+     */
+    private void attachFiles(Message message, UUID conversationId, MessageRequest request) {
+        String folder = "conversations/" + conversationId + "/";
+        if (request.getAttachmentFiles() != null && !request.getAttachmentFiles().isEmpty()) {
+            for (MessageAttachmentRequest file : request.getAttachmentFiles()) {
+                if (file.getObjectKey() == null || !file.getObjectKey().startsWith(folder)) {
+                    throw new IllegalArgumentException("Attachment does not belong to this conversation");
+                }
+                String fileName = file.getFileName() != null ? file.getFileName() : lastSegment(file.getObjectKey());
+                message.addAttachment(new MessageAttachment(file.getObjectKey(), file.getDownloadUrl(), fileName,
+                        file.getContentType() != null ? file.getContentType() : URLConnection.guessContentTypeFromName(fileName),
+                        file.getFileSize()));
+            }
+            return;
+        }
+        if (request.getAttachments() == null) {
+            return;
+        }
+        for (String link : request.getAttachments()) {
+            if (link == null || link.isBlank()) {
+                continue;
+            }
+            String path = link.split("\\?", 2)[0];
+            int folderAt = path.indexOf("/" + folder);
+            String objectKey = folderAt >= 0
+                    ? URLDecoder.decode(path.substring(folderAt + 1), StandardCharsets.UTF_8)
+                    : (path.startsWith(folder) ? path : null);
+            String fileName = lastSegment(objectKey != null ? objectKey : path);
+            message.addAttachment(new MessageAttachment(objectKey, link, fileName,
+                    URLConnection.guessContentTypeFromName(fileName), null));
+        }
+    }
+
+    private static String lastSegment(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Map an archived message to MessageResponse DTO; participants come from the conversation
+     */
+    private MessageResponse mapArchivedToMessageResponse(MessageArchiveService.ArchivedMessage message, Conversation conversation) {
+        User sender = conversation.getParticipant1().getId().equals(message.getSenderId())
+                ? conversation.getParticipant1() : conversation.getParticipant2();
+        User recipient = conversation.getOtherParticipant(sender);
+
+        MessageResponse response = new MessageResponse();
+        response.setId(message.getId());
+        response.setSenderId(message.getSenderId());
+        response.setSenderName(sender.getFirstName() + " " + sender.getLastName());
+        response.setRecipientId(message.getRecipientId());
+        response.setRecipientName(recipient.getFirstName() + " " + recipient.getLastName());
+        response.setConversationId(conversation.getId());
+        response.setContent(message.getContent());
+        response.setMessageType(message.getMessageType());
+        List<String> links = new ArrayList<>();
+        List<MessageResponse.AttachmentInfo> files = new ArrayList<>();
+        if (message.getAttachments() != null) {
+            for (MessageArchiveService.ArchivedAttachment attachment : message.getAttachments()) {
+                links.add(attachment.getUrl() != null ? attachment.getUrl() : attachment.getObjectKey());
+                files.add(new MessageResponse.AttachmentInfo(attachment.getObjectKey(), attachment.getFileName(),
+                        attachment.getMimeType(), attachment.getSizeBytes()));
+            }
+        }
+        response.setAttachments(links);
+        response.setAttachmentFiles(files);
+        response.setIsRead(message.getIsRead());
+        response.setCreatedAt(message.getCreatedAt());
+        response.setSentAt(message.getCreatedAt());
+        response.setSender(new MessageResponse.MessageParticipant(sender.getId(), sender.getFirstName(),
+                sender.getLastName(), sender.getEmail(), sender.getAvatarUrl()));
+        response.setRecipient(new MessageResponse.MessageParticipant(recipient.getId(), recipient.getFirstName(),
+                recipient.getLastName(), recipient.getEmail(), recipient.getAvatarUrl()));
+        return response;
     }
 
     /**
@@ -244,7 +498,15 @@ public class MessageService {
         response.setConversationId(message.getConversation().getId());
         response.setContent(message.getContent());
         response.setMessageType(message.getMessageType());
-        response.setAttachments(message.getAttachments());
+        List<String> links = new ArrayList<>(message.getAttachments().size());
+        List<MessageResponse.AttachmentInfo> files = new ArrayList<>(message.getAttachments().size());
+        for (MessageAttachment attachment : message.getAttachments()) {
+            links.add(attachment.getLink());
+            files.add(new MessageResponse.AttachmentInfo(attachment.getObjectKey(), attachment.getFileName(),
+                    attachment.getMimeType(), attachment.getSizeBytes()));
+        }
+        response.setAttachments(links);
+        response.setAttachmentFiles(files);
         response.setIsRead(message.getIsRead());
         response.setCreatedAt(message.getCreatedAt());
 
@@ -0,0 +1,311 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.dto.response.MessageResponse;
+import com.freelance.platform.util.AfterCommit;
+import com.freelance.platform.util.KeysetCursor;
+import com.freelance.platform.util.WeightedLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * In-memory tail of the most recent messages per conversation, held as ready-to-serialize
+ * {@link MessageResponse} objects. Tails are loaded on the first history read, kept current by
+ * write-through from the send and read paths after commit, and evicted LRU by estimated heap weight.
+ * <p>
+ * Each node holds its own tails. After every local write the conversation id is published on a Redis
+ * channel and the other nodes drop their copy; a tail also expires a short while after it was loaded,
+ * which bounds staleness when an invalidation is lost or Redis is unreachable.
+ */
+@Component
+public class MessageTailCache implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageTailCache.class);
+
+    private static final int STAMP_STRIPES = 1024;
+    private static final String INVALIDATION_CHANNEL = "messages:tail-cache:invalidate";
+
+    // Lets a node skip its own invalidations
+    private final String nodeId = UUID.randomUUID().toString();
+    private final int tailSize;
+    private final long ttlNanos;
+    private final WeightedLruCache<UUID, Tail> tails;
+    // Bumped on every write to a conversation; a load that raced with a write is not installed
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+    private final Counter hits;
+    private final Counter misses;
+
+    private final ObjectProvider<StringRedisTemplate> stringRedisTemplate;
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainer;
+
+    public MessageTailCache(@Value("${app.messaging.tail-cache.messages-per-conversation:50}") int tailSize,
+                            @Value("${app.messaging.tail-cache.max-weight-bytes:67108864}") long maxWeightBytes,
+                            @Value("${app.messaging.tail-cache.ttl-ms:60000}") long ttlMs,
+                            MeterRegistry meterRegistry,
+                            ObjectProvider<StringRedisTemplate> stringRedisTemplate,
+                            ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        this.tailSize = tailSize;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.tails = new WeightedLruCache<>(maxWeightBytes, Tail::weight);
+        this.hits = meterRegistry.counter("messages.tail_cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("messages.tail_cache.requests", "result", "miss");
+        Gauge.builder("messages.tail_cache.weight.bytes", tails, WeightedLruCache::weight).register(meterRegistry);
+        Gauge.builder("messages.tail_cache.conversations", tails, WeightedLruCache::size).register(meterRegistry);
+        Gauge.builder("messages.tail_cache.evictions", tails, WeightedLruCache::evictions).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.ifAvailable(container -> container.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL)));
+    }
+
+    public int getTailSize() {
+        return tailSize;
+    }
+
+    /**
+     * Up to limit messages older than the cursor, newest first, or null when the tail is not
+     * loaded or does not reach far enough back to answer.
+     */
+    public List<MessageResponse> before(UUID conversationId, KeysetCursor cursor, int limit) {
+        Tail tail = current(conversationId);
+        List<MessageResponse> result = tail != null ? tail.before(cursor, limit) : null;
+        (result != null ? hits : misses).increment();
+        return result;
+    }
+
+    public boolean isLoaded(UUID conversationId) {
+        return current(conversationId) != null;
+    }
+
+    /**
+     * Take a stamp before reading the newest messages from the database for {@link #install}.
+     */
+    public long beginLoad(UUID conversationId) {
+        return stamps.get(stripe(conversationId));
+    }
+
+    /**
+     * Install a freshly loaded tail (newest first) unless a write to the conversation happened since beginLoad.
+     */
+    public void install(UUID conversationId, long stamp, List<MessageResponse> newestFirst) {
+        Tail tail = new Tail(newestFirst, newestFirst.size() < tailSize, System.nanoTime());
+        synchronized (this) {
+            if (stamps.get(stripe(conversationId)) == stamp) {
+                tails.put(conversationId, tail);
+            }
+        }
+    }
+
+    public void append(MessageResponse message) {
+        UUID conversationId = message.getConversationId();
+        AfterCommit.run(() -> write(conversationId, tail -> tail.append(message, tailSize)));
+    }
+
+    public void markRead(UUID conversationId, UUID recipientId, LocalDateTime readAt) {
+        AfterCommit.run(() -> write(conversationId, tail -> tail.markRead(recipientId, readAt, null)));
+    }
+
+    public void markMessageRead(UUID conversationId, UUID messageId) {
+        AfterCommit.run(() -> write(conversationId, tail -> tail.markRead(null, null, messageId)));
+    }
+
+    public void invalidate(UUID conversationId) {
+        AfterCommit.run(() -> {
+            evict(conversationId);
+            publishInvalidation(conversationId);
+        });
+    }
+
+    /**
+     * Another node changed the conversation: drop the local tail so the next read reloads it.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        try {
+            evict(UUID.fromString(body.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            logger.debug("Ignoring malformed tail cache invalidation: {}", body);
+        }
+    }
+
+    private void write(UUID conversationId, Consumer<Tail> change) {
+        synchronized (this) {
+            stamps.incrementAndGet(stripe(conversationId));
+            Tail tail = tails.get(conversationId);
+            if (tail != null) {
+                change.accept(tail);
+                tails.reweigh(conversationId);
+            }
+        }
+        publishInvalidation(conversationId);
+    }
+
+    private void evict(UUID conversationId) {
+        synchronized (this) {
+            stamps.incrementAndGet(stripe(conversationId));
+            tails.remove(conversationId);
+        }
+    }
+
+    private Tail current(UUID conversationId) {
+        Tail tail = tails.get(conversationId);
+        if (tail != null && System.nanoTime() - tail.loadedAt > ttlNanos) {
+            synchronized (this) {
+                if (tails.get(conversationId) == tail) {
+                    tails.remove(conversationId);
+                }
+            }
+            return null;
+        }
+        return tail;
+    }
+
+    private void publishInvalidation(UUID conversationId) {
+        StringRedisTemplate redis = stringRedisTemplate.getIfAvailable();
+        if (redis == null) {
+            return;
+        }
+        try {
+            redis.convertAndSend(INVALIDATION_CHANNEL, nodeId + ":" + conversationId);
+        } catch (DataAccessException e) {
+            // Other nodes fall back to the TTL
+            logger.debug("Could not publish tail cache invalidation for {}: {}", conversationId, e.getMessage());
+        }
+    }
+
+    private int stripe(UUID conversationId) {
+        return Math.floorMod(conversationId.hashCode(), STAMP_STRIPES);
+    }
+
+    /**
+     * Messages in ascending (createdAt, id) order; complete means the tail starts at the conversation's first message.
+     */
+    private static final class Tail {
+        private final List<MessageResponse> messages = new ArrayList<>();
+        private final long loadedAt;
+        private boolean complete;
+
+        private Tail(List<MessageResponse> newestFirst, boolean complete, long loadedAt) {
+            for (int i = newestFirst.size() - 1; i >= 0; i--) {
+                messages.add(newestFirst.get(i));
+            }
+            this.complete = complete;
+            this.loadedAt = loadedAt;
+        }
+
+        private synchronized List<MessageResponse> before(KeysetCursor cursor, int limit) {
+            List<MessageResponse> result = new ArrayList<>(limit);
+            ListIterator<MessageResponse> newestFirst = messages.listIterator(messages.size());
+            while (newestFirst.hasPrevious() && result.size() < limit) {
+                MessageResponse message = newestFirst.previous();
+                if (cursor == null || isOlder(message, cursor)) {
+                    result.add(message);
+                }
+            }
+            if (result.size() < limit && !complete) {
+                return null;
+            }
+            return Collections.unmodifiableList(result);
+        }
+
+        // Idempotent: a message already in the tail (e.g. loaded by a read that ran after the send committed)
+        // is not added twice. Commits can land out of order, so the message is placed by (createdAt, id).
+        private synchronized void append(MessageResponse message, int tailSize) {
+            for (MessageResponse existing : messages) {
+                if (existing.getId().equals(message.getId())) {
+                    return;
+                }
+            }
+            int position = messages.size();
+            while (position > 0 && !isOlder(messages.get(position - 1), message)) {
+                position--;
+            }
+            if (position == 0 && !complete && !messages.isEmpty()) {
+                // Older than everything cached while the tail does not reach the start: its slot is unknown
+                return;
+            }
+            messages.add(position, message);
+            while (messages.size() > tailSize) {
+                messages.remove(0);
+                complete = false;
+            }
+        }
+
+        private synchronized void markRead(UUID recipientId, LocalDateTime readAt, UUID messageId) {
+            for (MessageResponse message : messages) {
+                if ((recipientId != null && recipientId.equals(message.getRecipientId())
+                        && !message.getCreatedAt().isAfter(readAt))
+                        || (messageId != null && messageId.equals(message.getId()))) {
+                    message.setIsRead(true);
+                }
+            }
+        }
+
+        private synchronized long weight() {
+            long weight = 128;
+            for (MessageResponse message : messages) {
+                weight += 512 + length(message.getContent()) * 2L
+                        + length(message.getSenderName()) * 2L + length(message.getRecipientName()) * 2L;
+                if (message.getAttachments() != null) {
+                    for (String attachment : message.getAttachments()) {
+                        weight += 48 + length(attachment) * 2L;
+                    }
+                }
+                if (message.getAttachmentFiles() != null) {
+                    for (MessageResponse.AttachmentInfo file : message.getAttachmentFiles()) {
+                        weight += 96 + (length(file.getObjectKey()) + length(file.getFileName()) + length(file.getMimeType())) * 2L;
+                    }
+                }
+            }
+            return weight;
+        }
+
+        // Same (createdAt, id) order as the SQL keyset: BINARY(16) ids compare like their hex strings
+        private static boolean isOlder(MessageResponse message, KeysetCursor cursor) {
+            return isOlder(message, cursor.getCreatedAt(), cursor.getId());
+        }
+
+        private static boolean isOlder(MessageResponse message, MessageResponse other) {
+            return isOlder(message, other.getCreatedAt(), other.getId());
+        }
+
+        private static boolean isOlder(MessageResponse message, LocalDateTime createdAt, UUID id) {
+            int byTime = message.getCreatedAt().compareTo(createdAt);
+            return byTime < 0 || (byTime == 0 && message.getId().toString().compareTo(id.toString()) < 0);
+        }
+
+        private static int length(String value) {
+            return value != null ? value.length() : 0;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.repository.NotificationRepository;
+import com.freelance.platform.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Per-user notification badge counters (total, unread, high priority, today) kept in a Redis hash.
+ * Counters are adjusted after the notification change commits and pushed to the user's
+ * /queue/notification-stats destination, so the SPA no longer has to poll the stats endpoint.
+ * A missing hash is seeded from the database on first read; a scheduled job repairs drift.
+ */
+@Service
+public class NotificationBadgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationBadgeService.class);
+
+    private static final String KEY_PREFIX = "notifications:stats:";
+    private static final String STATS_DESTINATION = "/queue/notification-stats";
+    private static final Duration COUNTER_TTL = Duration.ofDays(7);
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    // Apply deltas only to an already seeded hash; "today" resets when the stored day rolls over
+    private static final DefaultRedisScript<List> ADJUST_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 0 then return nil end " +
+            "if redis.call('hget', KEYS[1], 'day') ~= ARGV[1] then redis.call('hset', KEYS[1], 'day', ARGV[1], 'today', 0) end " +
+            "if ARGV[7] == '1' then redis.call('hset', KEYS[1], 'unread', 0) end " +
+            "local fields = {'total', 'unread', 'high', 'today'} " +
+            "for i, field in ipairs(fields) do " +
+            "  if redis.call('hincrby', KEYS[1], field, ARGV[i + 1]) < 0 then redis.call('hset', KEYS[1], field, 0) end " +
+            "end " +
+            "redis.call('expire', KEYS[1], ARGV[6]) " +
+            "return redis.call('hmget', KEYS[1], 'total', 'unread', 'high', 'today')",
+            List.class);
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private DistributedLockService distributedLockService;
+
+    /**
+     * Current counters for the user, seeding them from the database when Redis has none.
+     */
+    public NotificationService.NotificationStats getStats(UUID userId) {
+        String key = KEY_PREFIX + userId;
+        try {
+            Map<Object, Object> hash = stringRedisTemplate.opsForHash().entries(key);
+            if (!hash.isEmpty() && today().equals(hash.get("day"))) {
+                return toStats(hash.get("total"), hash.get("unread"), hash.get("high"), hash.get("today"));
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Notification counters unavailable for user {}: {}", userId, e.getMessage());
+            return loadFromDatabase(Collections.singletonList(userId)).get(userId);
+        }
+
+        NotificationService.NotificationStats stats = loadFromDatabase(Collections.singletonList(userId)).get(userId);
+        store(userId, stats);
+        return stats;
+    }
+
+    public void onCreated(UUID userId, String priority) {
+        adjust(userId, 1, 1, isHighPriority(priority) ? 1 : 0, 1, false);
+    }
+
+    public void onMarkedRead(UUID userId) {
+        adjust(userId, 0, -1, 0, 0, false);
+    }
+
+    public void onAllMarkedRead(UUID userId) {
+        adjust(userId, 0, 0, 0, 0, true);
+    }
+
+    public void onDeleted(UUID userId, boolean wasRead, String priority, LocalDateTime createdAt) {
+        boolean createdToday = createdAt != null && !createdAt.isBefore(LocalDate.now().atStartOfDay());
+        adjust(userId, -1, wasRead ? 0 : -1, isHighPriority(priority) ? -1 : 0, createdToday ? -1 : 0, false);
+    }
+
+    /**
+     * Drop the user's counters after a bulk change whose deltas are unknown; the next read reseeds them.
+     */
+    public void invalidate(UUID userId) {
+        AfterCommit.run(() -> {
+            try {
+                stringRedisTemplate.delete(KEY_PREFIX + userId);
+            } catch (DataAccessException e) {
+                logger.warn("Could not invalidate notification counters for user {}: {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Recompute every seeded counter from the database in batches and fix any that drifted.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.badge.reconcile-interval-ms:900000}",
+               initialDelayString = "${app.notifications.badge.reconcile-initial-delay-ms:120000}")
+    public void reconcileCounters() {
+        distributedLockService.runExclusively("notification-badge-reconcile", Duration.ofMinutes(30), () -> {
+            List<UUID> batch = new ArrayList<>(RECONCILE_BATCH_SIZE);
+            int repaired = 0;
+            ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+            try (Cursor<String> keys = stringRedisTemplate.scan(options)) {
+                while (keys.hasNext()) {
+                    batch.add(UUID.fromString(keys.next().substring(KEY_PREFIX.length())));
+                    if (batch.size() == RECONCILE_BATCH_SIZE) {
+                        repaired += reconcileBatch(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                repaired += reconcileBatch(batch);
+            }
+            if (repaired > 0) {
+                logger.info("Repaired notification counters for {} users", repaired);
+            }
+        });
+    }
+
+    private int reconcileBatch(List<UUID> userIds) {
+        Map<UUID, NotificationService.NotificationStats> expected = loadFromDatabase(userIds);
+        int repaired = 0;
+        for (UUID userId : userIds) {
+            NotificationService.NotificationStats stats = expected.get(userId);
+            List<Object> current = stringRedisTemplate.opsForHash()
+                    .multiGet(KEY_PREFIX + userId, Arrays.asList("day", "total", "unread", "high", "today"));
+            if (!today().equals(current.get(0))
+                    || !sameCounters(stats, toStats(current.get(1), current.get(2), current.get(3), current.get(4)))) {
+                store(userId, stats);
+                push(userId, stats);
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    private void adjust(UUID userId, long total, long unread, long high, long today, boolean resetUnread) {
+        AfterCommit.run(() -> {
+            try {
+                List<?> values = stringRedisTemplate.execute(ADJUST_SCRIPT,
+                        Collections.singletonList(KEY_PREFIX + userId),
+                        today(), String.valueOf(total), String.valueOf(unread), String.valueOf(high),
+                        String.valueOf(today), String.valueOf(COUNTER_TTL.getSeconds()), resetUnread ? "1" : "0");
+                // Not seeded yet means the user has not loaded a badge since the counters expired
+                if (values == null || values.isEmpty()) {
+                    return;
+                }
+                push(userId, toStats(values.get(0), values.get(1), values.get(2), values.get(3)));
+            } catch (DataAccessException e) {
+                logger.warn("Could not update notification counters for user {}: {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    private Map<UUID, NotificationService.NotificationStats> loadFromDatabase(List<UUID> userIds) {
+        Map<UUID, NotificationService.NotificationStats> result = new HashMap<>();
+        for (Object[] row : notificationRepository.aggregateCountersByUserIds(userIds, LocalDate.now().atStartOfDay())) {
+            result.put((UUID) row[0], new NotificationService.NotificationStats(
+                    toLong(row[1]), toLong(row[2]), toLong(row[3]), toLong(row[4])));
+        }
+        for (UUID userId : userIds) {
+            result.putIfAbsent(userId, new NotificationService.NotificationStats(0, 0, 0, 0));
+        }
+        return result;
+    }
+
+    private void store(UUID userId, NotificationService.NotificationStats stats) {
+        String key = KEY_PREFIX + userId;
+        Map<String, String> hash = new HashMap<>();
+        hash.put("day", today());
+        hash.put("total", String.valueOf(stats.getTotalNotifications()));
+        hash.put("unread", String.valueOf(stats.getUnreadNotifications()));
+        hash.put("high", String.valueOf(stats.getHighPriorityNotifications()));
+        hash.put("today", String.valueOf(stats.getTodayNotifications()));
+        try {
+            stringRedisTemplate.opsForHash().putAll(key, hash);
+            stringRedisTemplate.expire(key, COUNTER_TTL);
+        } catch (DataAccessException e) {
+            logger.warn("Could not store notification counters for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private void push(UUID userId, NotificationService.NotificationStats stats) {
+        messagingTemplate.convertAndSendToUser(userId.toString(), STATS_DESTINATION, stats);
+    }
+
+    private boolean sameCounters(NotificationService.NotificationStats a, NotificationService.NotificationStats b) {
+        return a.getTotalNotifications() == b.getTotalNotifications()
+                && a.getUnreadNotifications() == b.getUnreadNotifications()
+                && a.getHighPriorityNotifications() == b.getHighPriorityNotifications()
+                && a.getTodayNotifications() == b.getTodayNotifications();
+    }
+
+    private NotificationService.NotificationStats toStats(Object total, Object unread, Object high, Object today) {
+        return new NotificationService.NotificationStats(toLong(total), toLong(unread), toLong(high), toLong(today));
+    }
+
+    private boolean isHighPriority(String priority) {
+        return "high".equals(priority);
+    }
+
+    private String today() {
+        return LocalDate.now().toString();
+    }
+
+    private long toLong(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return Long.parseLong(value.toString());
+    }
+}
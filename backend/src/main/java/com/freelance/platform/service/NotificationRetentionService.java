@@ -0,0 +1,149 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.config.properties.NotificationRetentionProperties;
+import com.freelance.platform.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Scheduled retention purge for the notifications table.
+ * Each type is purged according to its policy in {@link NotificationRetentionProperties}.
+ * Expired rows are deleted in chunks, one short transaction per chunk, each chunk resuming after the
+ * last row of the previous one; a Redis lease makes sure only one node runs the purge at a time.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    private static final String LOCK_NAME = "notification-retention";
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+    private static final LocalDateTime MIN_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String DEFAULT_POLICY = "default";
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationRetentionProperties properties;
+
+    @Autowired
+    private DistributedLockService distributedLockService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public NotificationRetentionService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.notifications.retention.cron:0 30 3 * * *}")
+    public void purgeExpiredNotifications() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        distributedLockService.runExclusively(LOCK_NAME, Duration.ofHours(1), this::purgeAll);
+    }
+
+    /**
+     * Purge every policy once; returns the total number of deleted notifications.
+     */
+    public long purgeAll() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0L;
+
+        Map<String, Integer> typePolicies = properties.getTypes();
+        for (Map.Entry<String, Integer> policy : typePolicies.entrySet()) {
+            LocalDateTime cutoff = now.minusDays(policy.getValue());
+            String type = policy.getKey();
+            total += purge(type, (afterCreatedAt, afterId) -> notificationRepository.findExpiredIdsByType(
+                    afterCreatedAt, afterId, type, cutoff, PageRequest.of(0, properties.getBatchSize())));
+        }
+
+        LocalDateTime defaultCutoff = now.minusDays(properties.getDefaultDays());
+        if (typePolicies.isEmpty()) {
+            total += purge(DEFAULT_POLICY, (afterCreatedAt, afterId) -> notificationRepository.findExpiredIds(
+                    afterId, defaultCutoff, PageRequest.of(0, properties.getBatchSize())));
+        } else {
+            total += purge(DEFAULT_POLICY, (afterCreatedAt, afterId) -> notificationRepository.findExpiredIdsExcludingTypes(
+                    afterId, typePolicies.keySet(), defaultCutoff, PageRequest.of(0, properties.getBatchSize())));
+        }
+
+        sample.stop(meterRegistry.timer("notifications.retention.duration"));
+        logger.info("Notification retention purge deleted {} notifications", total);
+        return total;
+    }
+
+    private long purge(String policy, ChunkFinder finder) {
+        Counter deleted = meterRegistry.counter("notifications.retention.deleted", "policy", policy);
+        UUID afterId = MIN_UUID;
+        LocalDateTime afterCreatedAt = MIN_CREATED_AT;
+        long total = 0L;
+
+        while (true) {
+            UUID cursorId = afterId;
+            LocalDateTime cursorCreatedAt = afterCreatedAt;
+            List<Object[]> rows = transactionTemplate.execute(status -> {
+                List<Object[]> chunk = finder.find(cursorCreatedAt, cursorId);
+                if (!chunk.isEmpty()) {
+                    notificationRepository.deleteByIdIn(chunk.stream().map(row -> (UUID) row[0]).toList());
+                }
+                return chunk;
+            });
+            if (rows == null || rows.isEmpty()) {
+                break;
+            }
+
+            total += rows.size();
+            deleted.increment(rows.size());
+            Object[] last = rows.get(rows.size() - 1);
+            afterId = (UUID) last[0];
+            afterCreatedAt = (LocalDateTime) last[1];
+
+            if (rows.size() < properties.getBatchSize()) {
+                break;
+            }
+            pause();
+        }
+
+        if (total > 0) {
+            logger.debug("Retention policy {} deleted {} notifications", policy, total);
+        }
+        return total;
+    }
+
+    private void pause() {
+        if (properties.getBatchPauseMs() <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(properties.getBatchPauseMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Next chunk of expired (id, createdAt) rows after the given cursor
+    @FunctionalInterface
+    private interface ChunkFinder {
+        List<Object[]> find(LocalDateTime afterCreatedAt, UUID afterId);
+    }
+}
@@ -1,10 +1,14 @@
 package com.freelance.platform.service;
 
 import com.freelance.platform.dto.request.CreateNotificationRequest;
+import com.freelance.platform.dto.response.CursorPageResponse;
 import com.freelance.platform.dto.response.NotificationResponse;
 import com.freelance.platform.entity.Notification;
+import com.freelance.platform.entity.SyncChangeType;
 import com.freelance.platform.entity.User;
 import com.freelance.platform.repository.NotificationRepository;
+import com.freelance.platform.repository.UserRepository;
+import com.freelance.platform.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -26,7 +30,17 @@ public class NotificationService {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private NotificationBadgeService notificationBadgeService;
+    
+    @Autowired
+    private SyncChangeService syncChangeService;
+    
     // Get notifications for a user
+    @Transactional(readOnly = true)
     public Page<NotificationResponse> getNotifications(UUID userId, int page, int size) {
         User user = userService.findById(userId);
         Pageable pageable = PageRequest.of(page, size);
@@ -35,6 +49,7 @@ public class NotificationService {
     }
     
     // Get notifications with filters
+    @Transactional(readOnly = true)
     public Page<NotificationResponse> getNotificationsWithFilters(
             UUID userId, 
             String type, 
@@ -43,50 +58,34 @@ public class NotificationService {
             String searchTerm,
             int page, 
             int size) {
-        User user = userService.findById(userId);
         Pageable pageable = PageRequest.of(page, size);
-        Page<Notification> notifications;
-        
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            notifications = notificationRepository.findByUserAndSearchTerm(user, searchTerm, pageable);
-        } else if (type != null && !type.equals("all")) {
-            notifications = notificationRepository.findByUserAndTypeOrderByCreatedAtDesc(user, type, pageable);
-        } else if (priority != null && !priority.equals("all")) {
-            notifications = notificationRepository.findByUserAndPriorityOrderByCreatedAtDesc(user, priority, pageable);
-        } else {
-            notifications = notificationRepository.findByUserOrderByCreatedAtDesc(user, pageable);
-        }
-        
-        // Filter by read status if specified
-        if (isRead != null) {
-            notifications = notifications.map(notification -> {
-                if (notification.getIsRead().equals(isRead)) {
-                    return notification;
-                }
-                return null;
-            }).map(notification -> notification != null ? notification : null);
-        }
+        Page<Notification> notifications = notificationRepository.findByUserIdWithFilters(
+                userId,
+                normalizeFilter(type),
+                normalizeFilter(priority),
+                isRead,
+                searchTerm != null && !searchTerm.trim().isEmpty() ? searchTerm.trim() : null,
+                pageable);
         
         return notifications.map(NotificationResponse::new);
     }
     
+    private String normalizeFilter(String value) {
+        return value == null || value.isEmpty() || value.equals("all") ? null : value;
+    }
+    
     // Get unread notifications
+    @Transactional(readOnly = true)
     public List<NotificationResponse> getUnreadNotifications(UUID userId) {
         User user = userService.findById(userId);
         List<Notification> notifications = notificationRepository.findByUserAndIsReadFalseOrderByCreatedAtDesc(user);
         return notifications.stream().map(NotificationResponse::new).collect(Collectors.toList());
     }
     
-    // Get notification statistics
+    // Get notification statistics - served from the Redis badge counters
+    @Transactional(readOnly = true)
     public NotificationStats getNotificationStats(UUID userId) {
-        User user = userService.findById(userId);
-        
-        long totalNotifications = notificationRepository.countByUser(user);
-        long unreadNotifications = notificationRepository.countByUserAndIsReadFalse(user);
-        long highPriorityNotifications = notificationRepository.countByUserAndPriority(user, "high");
-        long todayNotifications = notificationRepository.findTodayNotificationsByUser(user).size();
-        
-        return new NotificationStats(totalNotifications, unreadNotifications, highPriorityNotifications, todayNotifications);
+        return notificationBadgeService.getStats(userId);
     }
     
     // Mark notification as read
@@ -99,15 +98,23 @@ public class NotificationService {
             throw new RuntimeException("Unauthorized access to notification");
         }
         
-        notification.setIsRead(true);
-        Notification savedNotification = notificationRepository.save(notification);
-        return new NotificationResponse(savedNotification);
+        // Concurrent requests for the same notification all see it unread; only the one whose update
+        // flips the row adjusts the badge
+        if (notificationRepository.markAsReadIfUnread(notificationId, userId) > 0) {
+            notificationBadgeService.onMarkedRead(userId);
+            syncChangeService.record(userId, SyncChangeType.NOTIFICATION_UPSERTED, notificationId);
+        }
+        NotificationResponse response = new NotificationResponse(notification);
+        response.setIsRead(true);
+        return response;
     }
     
     // Mark all notifications as read
     public void markAllAsRead(UUID userId) {
         User user = userService.findById(userId);
         notificationRepository.markAllAsReadByUser(user);
+        notificationBadgeService.onAllMarkedRead(userId);
+        syncChangeService.record(userId, SyncChangeType.NOTIFICATIONS_ALL_READ, null);
     }
     
     // Delete notification
@@ -121,6 +128,9 @@ public class NotificationService {
         }
         
         notificationRepository.delete(notification);
+        notificationBadgeService.onDeleted(userId, Boolean.TRUE.equals(notification.getIsRead()),
+                notification.getPriority(), notification.getCreatedAt());
+        syncChangeService.record(userId, SyncChangeType.NOTIFICATION_DELETED, notificationId);
     }
     
     // Create notification
@@ -137,6 +147,8 @@ public class NotificationService {
         notification.setIsRead(false);
         
         Notification savedNotification = notificationRepository.save(notification);
+        notificationBadgeService.onCreated(user.getId(), savedNotification.getPriority());
+        syncChangeService.record(user.getId(), SyncChangeType.NOTIFICATION_UPSERTED, savedNotification.getId());
         return new NotificationResponse(savedNotification);
     }
     
@@ -168,42 +180,95 @@ public class NotificationService {
         notification.setIsRead(false);
         
         Notification savedNotification = notificationRepository.save(notification);
+        notificationBadgeService.onCreated(user.getId(), savedNotification.getPriority());
+        syncChangeService.record(user.getId(), SyncChangeType.NOTIFICATION_UPSERTED, savedNotification.getId());
         return new NotificationResponse(savedNotification);
     }
     
-    public List<NotificationResponse> getGroupedNotifications(UUID userId, int page, int size) {
-        User user = userService.findById(userId);
-        Pageable pageable = PageRequest.of(page, size);
-        List<Notification> allNotifications = notificationRepository.findByUserOrderByCreatedAtDesc(user, pageable).getContent();
-        
-        Map<String, List<Notification>> groupedMap = new LinkedHashMap<>();
-        List<NotificationResponse> result = new ArrayList<>();
-        
-        for (Notification notification : allNotifications) {
-            String groupKey = notification.getGroupKey();
-            String groupType = notification.getGroupType();
-            
-            if (groupKey != null && !groupKey.isEmpty() && "CONVERSATION".equals(groupType)) {
-                groupedMap.computeIfAbsent(groupKey, k -> new ArrayList<>()).add(notification);
-            } else {
-                NotificationResponse response = new NotificationResponse(notification);
-                response.setGroupCount(1);
-                result.add(response);
+    // Create the same notification for many users in one batch; data is per user
+    public int createNotificationsForUsers(Map<UUID, String> dataByUserId, String type, String title, String message, String priority) {
+        if (dataByUserId.isEmpty()) {
+            return 0;
+        }
+        return createNotificationsForUsers(userRepository.findAllById(dataByUserId.keySet()), dataByUserId,
+                type, title, message, priority);
+    }
+    
+    // Create the same notification, without data, for already loaded users in one batch
+    public int createNotificationsForUsers(Collection<User> users, String type, String title, String message, String priority) {
+        return createNotificationsForUsers(users, Collections.emptyMap(), type, title, message, priority);
+    }
+    
+    private int createNotificationsForUsers(Collection<User> users, Map<UUID, String> dataByUserId,
+                                            String type, String title, String message, String priority) {
+        List<Notification> notifications = new ArrayList<>(users.size());
+        for (User user : users) {
+            Notification notification = new Notification();
+            notification.setUser(user);
+            notification.setType(type);
+            notification.setTitle(title);
+            notification.setMessage(message);
+            notification.setPriority(priority);
+            notification.setData(dataByUserId.get(user.getId()));
+            notification.setGroupType("NONE");
+            notification.setIsRead(false);
+            notifications.add(notification);
+        }
+        
+        // saveAll goes out as JDBC batches; ids are generated in memory, so nothing forces an early flush
+        for (Notification saved : notificationRepository.saveAll(notifications)) {
+            notificationBadgeService.onCreated(saved.getUser().getId(), saved.getPriority());
+            syncChangeService.record(saved.getUser().getId(), SyncChangeType.NOTIFICATION_UPSERTED, saved.getId());
+        }
+        return notifications.size();
+    }
+    
+    // Get grouped notifications - conversation groups collapse to their newest notification
+    @Transactional(readOnly = true)
+    public CursorPageResponse<NotificationResponse> getGroupedNotifications(UUID userId, String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<Notification> heads = notificationRepository.findGroupHeadsByUserId(
+                userId,
+                position != null ? position.getCreatedAt() : null,
+                position != null ? position.getId() : null,
+                PageRequest.of(0, size + 1));
+        
+        boolean hasMore = heads.size() > size;
+        if (hasMore) {
+            heads = heads.subList(0, size);
+        }
+        
+        Set<String> groupKeys = heads.stream()
+                .filter(this::isConversationGroup)
+                .map(Notification::getGroupKey)
+                .collect(Collectors.toSet());
+        Map<String, Long> groupCounts = new HashMap<>();
+        if (!groupKeys.isEmpty()) {
+            for (Object[] row : notificationRepository.countByUserIdAndConversationGroupKeys(userId, groupKeys)) {
+                groupCounts.put((String) row[0], (Long) row[1]);
             }
         }
         
-        for (Map.Entry<String, List<Notification>> entry : groupedMap.entrySet()) {
-            List<Notification> groupNotifications = entry.getValue();
-            Notification latestNotification = groupNotifications.get(0);
-            
-            NotificationResponse response = new NotificationResponse(latestNotification);
-            response.setGroupCount(groupNotifications.size());
+        List<NotificationResponse> result = new ArrayList<>(heads.size());
+        for (Notification notification : heads) {
+            NotificationResponse response = new NotificationResponse(notification);
+            response.setGroupCount(isConversationGroup(notification)
+                    ? groupCounts.getOrDefault(notification.getGroupKey(), 1L).intValue()
+                    : 1);
             result.add(response);
         }
         
-        result.sort((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()));
-        
-        return result;
+        String nextCursor = null;
+        if (hasMore) {
+            Notification last = heads.get(heads.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(result, nextCursor);
+    }
+    
+    private boolean isConversationGroup(Notification notification) {
+        return notification.getGroupKey() != null && !notification.getGroupKey().isEmpty()
+                && "CONVERSATION".equals(notification.getGroupType());
     }
     
     // Clean up old notifications (older than 30 days)
@@ -211,6 +276,7 @@ public class NotificationService {
         User user = userService.findById(userId);
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30);
         notificationRepository.deleteOldNotificationsByUser(user, cutoffDate);
+        notificationBadgeService.invalidate(userId);
     }
     
     // Inner class for notification statistics
@@ -105,20 +105,25 @@ public class OnboardingService {
         freelancerProfileRepository.save(profile);
         
         freelancerSkillRepository.deleteByFreelancerId(profile.getId());
+        // Deletes must reach the database before the re-inserted rows hit the (profile, skill) unique key
+        freelancerSkillRepository.flush();
         
+        Map<String, Skill> skills = findOrCreateSkills(request.getSkills().stream()
+                .map(SkillRequest::getSkillName)
+                .toList());
+        Map<Skill, FreelancerSkill> freelancerSkills = new LinkedHashMap<>();
         for (SkillRequest skillReq : request.getSkills()) {
-            Skill skill = skillRepository.findByName(skillReq.getSkillName())
-                    .orElseGet(() -> {
-                        Skill newSkill = new Skill(skillReq.getSkillName(), null, null);
-                        return skillRepository.save(newSkill);
-                    });
-            
+            Skill skill = skills.get(skillReq.getSkillName());
+            if (freelancerSkills.containsKey(skill)) {
+                continue;
+            }
             FreelancerSkill freelancerSkill = new FreelancerSkill(profile, skill, skillReq.getProficiencyLevel());
             if (skillReq.getDescription() != null) {
                 freelancerSkill.setDescription(skillReq.getDescription());
             }
-            freelancerSkillRepository.save(freelancerSkill);
+            freelancerSkills.put(skill, freelancerSkill);
         }
+        freelancerSkillRepository.saveAll(freelancerSkills.values());
         
         user.setProfileCompleted(true);
         user.setFreelancerProfileCompleted(true);
@@ -180,6 +185,25 @@ public class OnboardingService {
         }
     }
     
+    // Look up all requested skills in one query and create the missing ones in one batch.
+    // Keyed case-insensitively to match the column collation, as findByName did.
+    private Map<String, Skill> findOrCreateSkills(Collection<String> names) {
+        Map<String, Skill> skills = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Skill skill : skillRepository.findByNameIn(names)) {
+            skills.put(skill.getName(), skill);
+        }
+        List<Skill> created = new ArrayList<>();
+        for (String name : names) {
+            if (!skills.containsKey(name)) {
+                Skill skill = new Skill(name, null, null);
+                skills.put(name, skill);
+                created.add(skill);
+            }
+        }
+        skillRepository.saveAll(created);
+        return skills;
+    }
+    
     private UserResponse mapUserToResponse(User user) {
         UserResponse response = new UserResponse();
         response.setId(user.getId());
@@ -0,0 +1,84 @@
+package com.freelance.platform.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a state transition in its own transaction and re-runs it from a fresh read when it loses an
+ * optimistic-lock race on a versioned entity. Only meant for transitions that re-check the state they
+ * start from, so a retry either applies on top of the winning change or fails with the usual validation
+ * error. Rollback clears the persistence context, so each attempt reloads current rows.
+ */
+@Service
+public class OptimisticRetryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetryService.class);
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.transactions.optimistic-retry.max-attempts:3}")
+    private int maxAttempts;
+
+    // Upper bound of the randomised pause before the first retry, doubled for each further attempt
+    @Value("${app.transactions.optimistic-retry.backoff-ms:25}")
+    private long backoffMs;
+
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public OptimisticRetryService(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retries = Counter.builder("transactions.optimistic.retries")
+                .description("State transitions re-run after losing an optimistic-lock race")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("transactions.optimistic.exhausted")
+                .description("State transitions that still conflicted after the last attempt")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(String operation, Supplier<T> transition) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Joined to the caller's transaction: after a conflict it is rollback-only, so the caller must retry
+            return transition.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> transition.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    logger.warn("{} still conflicting after {} attempts: {}", operation, attempt, e.getMessage());
+                    throw e;
+                }
+                retries.increment();
+                logger.debug("{} lost an optimistic-lock race, retrying (attempt {})", operation, attempt + 1);
+                pause(attempt, e);
+            }
+        }
+    }
+
+    private void pause(int attempt, OptimisticLockingFailureException conflict) {
+        long bound = backoffMs << Math.min(attempt - 1, 6);
+        if (bound <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
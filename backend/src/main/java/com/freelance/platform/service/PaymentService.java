@@ -3,13 +3,17 @@ package com.freelance.platform.service;
 import com.freelance.platform.dto.request.CreatePaymentRequestDto;
 import com.freelance.platform.dto.response.PaymentResponse;
 import com.freelance.platform.entity.*;
+import com.freelance.platform.event.PlatformActivityEvent;
+import com.freelance.platform.event.PlatformActivityType;
 import com.freelance.platform.exception.ResourceNotFoundException;
 import com.freelance.platform.exception.UnauthorizedException;
 import com.freelance.platform.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -42,6 +46,12 @@ public class PaymentService {
     @Autowired
     private EmailNotificationService emailNotificationService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OptimisticRetryService optimisticRetryService;
+
     public PaymentResponse createPaymentRequest(CreatePaymentRequestDto request, UUID freelancerId) {
         User freelancer = userRepository.findById(freelancerId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -109,7 +119,13 @@ public class PaymentService {
         return mapToPaymentResponse(savedRequest);
     }
 
+    // Approve, reject and pay each run in their own transaction, retried when a concurrent change wins the version check
+    @Transactional(propagation = Propagation.SUPPORTS)
     public PaymentResponse approvePaymentRequest(UUID paymentRequestId, UUID clientId) {
+        return optimisticRetryService.execute("approvePaymentRequest", () -> doApprovePaymentRequest(paymentRequestId, clientId));
+    }
+
+    private PaymentResponse doApprovePaymentRequest(UUID paymentRequestId, UUID clientId) {
         PaymentRequest paymentRequest = paymentRequestRepository.findById(paymentRequestId)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment request not found"));
 
@@ -124,7 +140,7 @@ public class PaymentService {
         paymentRequest.setStatus(PaymentRequestStatus.APPROVED);
         paymentRequest.setApprovedAt(LocalDateTime.now());
 
-        PaymentRequest approvedRequest = paymentRequestRepository.save(paymentRequest);
+        PaymentRequest approvedRequest = paymentRequestRepository.saveAndFlush(paymentRequest);
 
         // Send notification to freelancer
         notificationService.createNotificationForUser(
@@ -144,7 +160,13 @@ public class PaymentService {
         return mapToPaymentResponse(approvedRequest);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public PaymentResponse rejectPaymentRequest(UUID paymentRequestId, String rejectionReason, UUID clientId) {
+        return optimisticRetryService.execute("rejectPaymentRequest",
+                () -> doRejectPaymentRequest(paymentRequestId, rejectionReason, clientId));
+    }
+
+    private PaymentResponse doRejectPaymentRequest(UUID paymentRequestId, String rejectionReason, UUID clientId) {
         PaymentRequest paymentRequest = paymentRequestRepository.findById(paymentRequestId)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment request not found"));
 
@@ -159,7 +181,7 @@ public class PaymentService {
         paymentRequest.setStatus(PaymentRequestStatus.REJECTED);
         paymentRequest.setRejectionReason(rejectionReason);
 
-        PaymentRequest rejectedRequest = paymentRequestRepository.save(paymentRequest);
+        PaymentRequest rejectedRequest = paymentRequestRepository.saveAndFlush(paymentRequest);
 
         // Send notification to freelancer
         notificationService.createNotificationForUser(
@@ -176,7 +198,13 @@ public class PaymentService {
         return mapToPaymentResponse(rejectedRequest);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public PaymentResponse processPayment(UUID paymentRequestId, String paymentMethod, String gatewayTransactionId) {
+        return optimisticRetryService.execute("processPayment",
+                () -> doProcessPayment(paymentRequestId, paymentMethod, gatewayTransactionId));
+    }
+
+    private PaymentResponse doProcessPayment(UUID paymentRequestId, String paymentMethod, String gatewayTransactionId) {
         PaymentRequest paymentRequest = paymentRequestRepository.findById(paymentRequestId)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment request not found"));
 
@@ -199,6 +227,7 @@ public class PaymentService {
         transaction.setCompletedAt(LocalDateTime.now());
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(new PlatformActivityEvent(PlatformActivityType.PAYMENT_PROCESSED));
 
         // Update payment request status
         paymentRequest.setStatus(PaymentRequestStatus.PAID);
@@ -210,7 +239,10 @@ public class PaymentService {
         milestone.setPaidDate(LocalDateTime.now());
         milestoneRepository.save(milestone);
 
-        PaymentRequest paidRequest = paymentRequestRepository.save(paymentRequest);
+        // Milestone changes touch the contract so they serialize with ContractService's completion checks;
+        // flushed before notifying so a lost race is retried first
+        paymentRequest.getContract().setUpdatedAt(LocalDateTime.now());
+        PaymentRequest paidRequest = paymentRequestRepository.saveAndFlush(paymentRequest);
 
         // Send notification to freelancer
         notificationService.createNotificationForUser(
@@ -230,27 +262,32 @@ public class PaymentService {
         return mapToPaymentResponse(paidRequest);
     }
 
+    @Transactional(readOnly = true)
     public PaymentResponse getPaymentRequestById(UUID paymentRequestId) {
         PaymentRequest paymentRequest = paymentRequestRepository.findById(paymentRequestId)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment request not found"));
         return mapToPaymentResponse(paymentRequest);
     }
 
+    @Transactional(readOnly = true)
     public Page<PaymentResponse> getPaymentRequestsByFreelancer(UUID freelancerId, Pageable pageable) {
         Page<PaymentRequest> requests = paymentRequestRepository.findByFreelancerIdOrderByRequestedAtDesc(freelancerId, pageable);
         return requests.map(this::mapToPaymentResponse);
     }
 
+    @Transactional(readOnly = true)
     public Page<PaymentResponse> getPaymentRequestsByClient(UUID clientId, Pageable pageable) {
         Page<PaymentRequest> requests = paymentRequestRepository.findByClientIdOrderByRequestedAtDesc(clientId, pageable);
         return requests.map(this::mapToPaymentResponse);
     }
 
+    @Transactional(readOnly = true)
     public Page<PaymentResponse> getPaymentRequestsByContract(UUID contractId, Pageable pageable) {
         Page<PaymentRequest> requests = paymentRequestRepository.findByContractIdOrderByRequestedAtDesc(contractId, pageable);
         return requests.map(this::mapToPaymentResponse);
     }
 
+    @Transactional(readOnly = true)
     public List<PaymentResponse> getTransactionsByContract(UUID contractId) {
         List<Transaction> transactions = transactionRepository.findByContractIdOrderByCreatedAtDesc(contractId);
         return transactions.stream()
@@ -110,6 +110,7 @@ public class PortfolioService {
     }
     
     // Get freelancer's portfolio
+    @Transactional(readOnly = true)
     public List<PortfolioResponse> getFreelancerPortfolio(UUID freelancerId) {
         return portfolioRepository.findByFreelancerIdOrderByCreatedAtDesc(freelancerId).stream()
                 .map(this::mapToPortfolioResponse)
@@ -124,6 +125,7 @@ public class PortfolioService {
     }
     
     // Get featured portfolio items
+    @Transactional(readOnly = true)
     public List<PortfolioResponse> getFeaturedPortfolioItems() {
         return portfolioRepository.findByIsFeaturedTrueOrderByCreatedAtDesc().stream()
                 .map(this::mapToPortfolioResponse)
@@ -131,6 +133,7 @@ public class PortfolioService {
     }
     
     // Search portfolio items
+    @Transactional(readOnly = true)
     public List<PortfolioResponse> searchPortfolioItems(String searchTerm) {
         return portfolioRepository.searchPortfolios(searchTerm).stream()
                 .map(this::mapToPortfolioResponse)
@@ -138,6 +141,7 @@ public class PortfolioService {
     }
     
     // Get portfolio item by ID
+    @Transactional(readOnly = true)
     public PortfolioResponse getPortfolioItem(UUID portfolioId) {
         Portfolio portfolio = portfolioRepository.findById(portfolioId)
                 .orElseThrow(() -> new RuntimeException("Portfolio item not found"));
@@ -4,12 +4,16 @@ import com.freelance.platform.dto.request.CreateProjectRequest;
 import com.freelance.platform.dto.request.UpdateProjectRequest;
 import com.freelance.platform.dto.response.ProjectResponse;
 import com.freelance.platform.entity.*;
+import com.freelance.platform.event.PlatformActivityEvent;
+import com.freelance.platform.event.PlatformActivityType;
 import com.freelance.platform.exception.ResourceNotFoundException;
 import com.freelance.platform.exception.UnauthorizedException;
 import com.freelance.platform.repository.ProjectAttachmentRepository;
 import com.freelance.platform.repository.ProjectRepository;
 import com.freelance.platform.repository.UserRepository;
+import com.freelance.platform.repository.projection.ProjectCardView;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -20,9 +24,12 @@ import org.springframework.web.multipart.MultipartFile;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -49,6 +56,12 @@ public class ProjectService {
 
     @Autowired
     private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserInboxService userInboxService;
     
     private static final Set<String> VALID_SORT_FIELDS = new HashSet<>(
         Arrays.asList("createdAt", "title", "budgetMin")
@@ -112,7 +125,10 @@ public class ProjectService {
         }
 
         // Update fields
-        if (request.getTitle() != null) project.setTitle(request.getTitle());
+        if (request.getTitle() != null) {
+            project.setTitle(request.getTitle());
+            userInboxService.updateProjectTitle(project.getId(), request.getTitle());
+        }
         if (request.getDescription() != null) project.setDescription(request.getDescription());
         if (request.getCategory() != null) project.setCategory(request.getCategory());
         if (request.getSkillsRequired() != null) project.setSkillsRequired(request.getSkillsRequired());
@@ -149,6 +165,7 @@ public class ProjectService {
         project.setUpdatedAt(LocalDateTime.now());
 
         Project publishedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(new PlatformActivityEvent(PlatformActivityType.PROJECT_POSTED));
         return mapToProjectResponse(publishedProject);
     }
 
@@ -190,17 +207,20 @@ public class ProjectService {
         projectRepository.delete(project);
     }
 
+    @Transactional(readOnly = true)
     public ProjectResponse getProjectById(UUID projectId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
         return mapToProjectResponse(project);
     }
 
+    @Transactional(readOnly = true)
     public Page<ProjectResponse> getProjectsByClient(UUID clientId, Pageable pageable) {
         Page<Project> projects = projectRepository.findByClientIdOrderByCreatedAtDesc(clientId, pageable);
         return projects.map(this::mapToProjectResponse);
     }
     
+    @Transactional(readOnly = true)
     public List<ProjectResponse> getAllProjects() {
         List<Project> projects = projectRepository.findAll();
         return projects.stream()
@@ -208,18 +228,17 @@ public class ProjectService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Page<ProjectResponse> getPublishedProjects(Pageable pageable) {
-        Page<Project> projects = projectRepository.findByStatusOrderByCreatedAtDesc(
-                ProjectStatus.PUBLISHED, pageable);
-        return projects.map(this::mapToProjectResponse);
+        return mapCardPage(projectRepository.findCardsByStatus(ProjectStatus.PUBLISHED, pageable));
     }
 
+    @Transactional(readOnly = true)
     public Page<ProjectResponse> getFeaturedProjects(Pageable pageable) {
-        Page<Project> projects = projectRepository.findByIsFeaturedTrueAndStatusOrderByCreatedAtDesc(
-                ProjectStatus.PUBLISHED, pageable);
-        return projects.map(this::mapToProjectResponse);
+        return mapCardPage(projectRepository.findFeaturedCardsByStatus(ProjectStatus.PUBLISHED, pageable));
     }
 
+    @Transactional(readOnly = true)
     public Page<ProjectResponse> searchProjects(String query, String category, List<String> skills, 
                                               BigDecimal minBudget, BigDecimal maxBudget, 
                                               ProjectType projectType,
@@ -235,9 +254,8 @@ public class ProjectService {
             sort
         );
         
-        Page<Project> projects = projectRepository.findPublishedProjectsWithFilters(
-                query, category, skills, minBudget, maxBudget, projectType, pageableWithSort);
-        return projects.map(this::mapToProjectResponse);
+        return mapCardPage(projectRepository.findPublishedCardsWithFilters(
+                query, category, skills, minBudget, maxBudget, projectType, pageableWithSort));
     }
     
     private String validateAndMapSortField(String sortField) {
@@ -331,6 +349,43 @@ public class ProjectService {
         return mapToProjectResponse(updatedProject);
     }
 
+    /**
+     * List cards: the page query plus one skills query for the whole page. Description holds the
+     * stored snippet and attachments are only counted; the detail endpoint returns both in full.
+     */
+    private Page<ProjectResponse> mapCardPage(Page<ProjectCardView> cards) {
+        Map<UUID, List<String>> skillsByProject = new HashMap<>();
+        if (!cards.isEmpty()) {
+            List<UUID> projectIds = cards.getContent().stream().map(ProjectCardView::getId).collect(Collectors.toList());
+            for (Object[] row : projectRepository.findSkillsByProjectIds(projectIds)) {
+                skillsByProject.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+        }
+        return cards.map(card -> {
+            ProjectResponse response = new ProjectResponse();
+            response.setId(card.getId());
+            response.setClientId(card.getClientId());
+            response.setClientName(card.getClientFirstName() + " " + card.getClientLastName());
+            response.setClientAvatarUrl(card.getClientAvatarUrl());
+            response.setTitle(card.getTitle());
+            response.setDescription(card.getDescriptionSnippet());
+            response.setCategory(card.getCategory());
+            response.setSkillsRequired(skillsByProject.getOrDefault(card.getId(), List.of()));
+            response.setBudgetMin(card.getBudgetMin());
+            response.setBudgetMax(card.getBudgetMax());
+            response.setCurrency(card.getCurrency());
+            response.setProjectType(card.getProjectType());
+            response.setDuration(card.getDuration());
+            response.setStatus(card.getStatus());
+            response.setIsFeatured(card.getIsFeatured());
+            response.setDeadline(card.getDeadline());
+            response.setCreatedAt(card.getCreatedAt());
+            response.setUpdatedAt(card.getUpdatedAt());
+            response.setAttachmentCount(card.getAttachmentCount() != null ? card.getAttachmentCount().intValue() : 0);
+            return response;
+        });
+    }
+
     private ProjectResponse mapToProjectResponse(Project project) {
         ProjectResponse response = new ProjectResponse();
         response.setId(project.getId());
@@ -380,6 +435,7 @@ public class ProjectService {
                         return attachmentInfo;
                     })
                     .collect(Collectors.toList()));
+            response.setAttachmentCount(project.getAttachments().size());
         }
         
         return response;
@@ -0,0 +1,104 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.entity.User;
+import com.freelance.platform.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Delivers the notifications and emails of a proposal acceptance off the request thread, after the
+ * acceptance has committed. Rejections are written in batches so a project with many proposals does
+ * not hold the accepting transaction open while every freelancer is notified.
+ */
+@Service
+public class ProposalNotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProposalNotificationService.class);
+
+    private static final int BATCH_SIZE = 200;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private EmailNotificationService emailNotificationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Runs on the async executor after the acceptance has committed, so always in a fresh transaction
+    private final TransactionTemplate transactionTemplate;
+
+    public ProposalNotificationService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Notify the accepted freelancer and every freelancer whose proposal was rejected by the acceptance
+     *
+     * @param rejectedFreelancerIds freelancer id per rejected proposal id
+     */
+    @Async
+    public void deliverAcceptance(UUID projectId, String projectTitle, UUID acceptedProposalId, UUID freelancerId,
+                                  UUID clientId, String clientName, Map<UUID, UUID> rejectedFreelancerIds) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                notificationService.createNotificationForUser(
+                        freelancerId,
+                        "PROPOSAL_ACCEPTED",
+                        "Proposal Accepted!",
+                        String.format("Congratulations! Your proposal for project '%s' has been accepted", projectTitle),
+                        "high",
+                        String.format("{\"proposalId\":\"%s\",\"projectId\":\"%s\",\"clientId\":\"%s\"}",
+                                acceptedProposalId, projectId, clientId)
+                );
+                userRepository.findById(freelancerId).ifPresent(freelancer ->
+                        emailNotificationService.sendProposalAcceptedEmail(freelancer, clientName, projectTitle));
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Failed to notify accepted freelancer {} for project {}: {}", freelancerId, projectId, e.getMessage());
+        }
+
+        List<Map.Entry<UUID, UUID>> rejected = new ArrayList<>(rejectedFreelancerIds.entrySet());
+        for (int from = 0; from < rejected.size(); from += BATCH_SIZE) {
+            List<Map.Entry<UUID, UUID>> batch = rejected.subList(from, Math.min(from + BATCH_SIZE, rejected.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> deliverRejections(projectId, projectTitle, batch));
+            } catch (RuntimeException e) {
+                logger.warn("Failed to notify {} rejected freelancers for project {}: {}", batch.size(), projectId, e.getMessage());
+            }
+        }
+    }
+
+    private void deliverRejections(UUID projectId, String projectTitle, List<Map.Entry<UUID, UUID>> batch) {
+        Map<UUID, String> dataByFreelancer = new LinkedHashMap<>();
+        for (Map.Entry<UUID, UUID> entry : batch) {
+            dataByFreelancer.put(entry.getValue(),
+                    String.format("{\"proposalId\":\"%s\",\"projectId\":\"%s\"}", entry.getKey(), projectId));
+        }
+
+        notificationService.createNotificationsForUsers(
+                dataByFreelancer,
+                "PROPOSAL_REJECTED",
+                "Proposal Rejected",
+                String.format("Your proposal for project '%s' was not selected", projectTitle),
+                "medium"
+        );
+
+        List<User> freelancers = userRepository.findAllById(dataByFreelancer.keySet());
+        emailNotificationService.sendProposalRejectedEmails(freelancers, projectTitle);
+    }
+}
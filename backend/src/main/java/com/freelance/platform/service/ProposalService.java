@@ -4,21 +4,28 @@ import com.freelance.platform.dto.request.SubmitProposalRequest;
 import com.freelance.platform.dto.request.UpdateProposalRequest;
 import com.freelance.platform.dto.response.ProposalResponse;
 import com.freelance.platform.entity.*;
+import com.freelance.platform.event.PlatformActivityEvent;
+import com.freelance.platform.event.PlatformActivityType;
 import com.freelance.platform.exception.ResourceNotFoundException;
 import com.freelance.platform.exception.UnauthorizedException;
-import com.freelance.platform.repository.ConversationRepository;
 import com.freelance.platform.repository.ProposalRepository;
 import com.freelance.platform.repository.ProjectRepository;
 import com.freelance.platform.repository.UserRepository;
+import com.freelance.platform.util.AfterCommit;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -40,11 +47,20 @@ public class ProposalService {
     @Autowired
     private EmailNotificationService emailNotificationService;
 
+    @Autowired
+    private ProposalNotificationService proposalNotificationService;
+
     @Autowired
     private AutoContractService autoContractService;
 
     @Autowired
-    private ConversationRepository conversationRepository;
+    private ConversationService conversationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OptimisticRetryService optimisticRetryService;
 
     public ProposalResponse submitProposal(SubmitProposalRequest request, UUID freelancerId) {
         System.out.println("DEBUG: ProposalService.submitProposal called");
@@ -94,6 +110,7 @@ public class ProposalService {
         System.out.println("DEBUG: Proposal created, saving...");
 
         Proposal savedProposal = proposalRepository.save(proposal);
+        eventPublisher.publishEvent(new PlatformActivityEvent(PlatformActivityType.PROPOSAL_SUBMITTED));
         System.out.println("DEBUG: Proposal saved with ID: " + savedProposal.getId());
 
         // Send notification to client
@@ -160,7 +177,13 @@ public class ProposalService {
         return mapToProposalResponse(updatedProposal);
     }
 
+    // Accept, reject and withdraw each run in their own transaction, retried when a concurrent change wins the version check
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ProposalResponse acceptProposal(UUID proposalId, UUID clientId) {
+        return optimisticRetryService.execute("acceptProposal", () -> doAcceptProposal(proposalId, clientId));
+    }
+
+    private ProposalResponse doAcceptProposal(UUID proposalId, UUID clientId) {
         Proposal proposal = proposalRepository.findById(proposalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Proposal not found"));
 
@@ -177,88 +200,51 @@ public class ProposalService {
             throw new UnauthorizedException("Project is no longer available for proposals");
         }
 
+        // Truncated to the column precision so the rejected rows can be found again by their timestamp
+        LocalDateTime respondedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         proposal.setStatus(ProposalStatus.ACCEPTED);
-        proposal.setRespondedAt(LocalDateTime.now());
-
-        // Reject all other proposals for this project
-        List<Proposal> otherProposals = proposalRepository.findByProjectAndStatus(
-                proposal.getProject(), ProposalStatus.PENDING);
-        
-        for (Proposal otherProposal : otherProposals) {
-            if (!otherProposal.getId().equals(proposalId)) {
-                otherProposal.setStatus(ProposalStatus.REJECTED);
-                otherProposal.setRespondedAt(LocalDateTime.now());
-                proposalRepository.save(otherProposal);
-
-                // Send notification to rejected freelancers
-                notificationService.createNotificationForUser(
-                        otherProposal.getFreelancer().getId(),
-                        "PROPOSAL_REJECTED",
-                        "Proposal Rejected",
-                        String.format("Your proposal for project '%s' was not selected", proposal.getProject().getTitle()),
-                        "medium",
-                        String.format("{\"proposalId\":\"%s\",\"projectId\":\"%s\"}", 
-                                     otherProposal.getId(), proposal.getProject().getId())
-                );
-
-                // Send email notification to rejected freelancers if enabled
-                emailNotificationService.sendProposalRejectedEmail(
-                        otherProposal.getFreelancer(),
-                        proposal.getProject().getTitle()
-                );
-            }
+        proposal.setRespondedAt(respondedAt);
+
+        // Update project status to in progress. Flushed first: two acceptances on one project conflict on
+        // the project and proposal versions here, before anything else is written
+        Project project = proposal.getProject();
+        project.setStatus(ProjectStatus.IN_PROGRESS);
+        projectRepository.save(project);
+        Proposal acceptedProposal = proposalRepository.saveAndFlush(proposal);
+
+        // Reject all other pending proposals for this project in one statement
+        proposalRepository.rejectOtherPending(project.getId(), proposalId, respondedAt);
+        Map<UUID, UUID> rejectedFreelancerIds = new LinkedHashMap<>();
+        for (Object[] row : proposalRepository.findRejectedAt(project.getId(), proposalId, respondedAt)) {
+            rejectedFreelancerIds.put((UUID) row[0], (UUID) row[1]);
         }
 
-        // Update project status to in progress
-        proposal.getProject().setStatus(ProjectStatus.IN_PROGRESS);
-        projectRepository.save(proposal.getProject());
-
-        Proposal acceptedProposal = proposalRepository.save(proposal);
-
         // Auto-create contract from accepted proposal
         Contract createdContract = autoContractService.createContractFromProposal(acceptedProposal);
 
         // Create project conversation for the accepted proposal
-        conversationRepository.findProjectConversation(proposal.getProject(), proposal.getClient(), proposal.getFreelancer())
-            .orElseGet(() -> {
-                Conversation newConversation = new Conversation(
-                    proposal.getClient(),
-                    proposal.getFreelancer(),
-                    proposal.getProject(),
-                    ConversationType.PROJECT_CHAT
-                );
-                newConversation.setLastMessageAt(LocalDateTime.now());
-                return conversationRepository.save(newConversation);
-            });
-
-        // Send notification to accepted freelancer
-        notificationService.createNotificationForUser(
-                proposal.getFreelancer().getId(),
-                "PROPOSAL_ACCEPTED",
-                "Proposal Accepted!",
-                String.format("Congratulations! Your proposal for project '%s' has been accepted", proposal.getProject().getTitle()),
-                "high",
-                String.format("{\"proposalId\":\"%s\",\"projectId\":\"%s\",\"clientId\":\"%s\"}", 
-                             proposal.getId(), proposal.getProject().getId(), proposal.getClient().getId())
-        );
+        conversationService.getOrCreateConversation(
+            proposal.getClient(), proposal.getFreelancer(), project, ConversationType.PROJECT_CHAT);
 
-        // Send email notification to accepted freelancer if enabled
-        emailNotificationService.sendProposalAcceptedEmail(
-                proposal.getFreelancer(),
-                proposal.getClient().getFirstName() + " " + proposal.getClient().getLastName(),
-                proposal.getProject().getTitle()
-        );
+        // Notifications and emails for the accepted and rejected freelancers go out after commit, off this thread
+        UUID projectId = project.getId();
+        String projectTitle = project.getTitle();
+        UUID freelancerId = proposal.getFreelancer().getId();
+        String clientName = proposal.getClient().getFirstName() + " " + proposal.getClient().getLastName();
+        AfterCommit.run(() -> proposalNotificationService.deliverAcceptance(
+                projectId, projectTitle, proposalId, freelancerId, clientId, clientName, rejectedFreelancerIds));
 
         ProposalResponse response = mapToProposalResponse(acceptedProposal);
         response.setContractId(createdContract.getId());
-        
-        System.out.println("DEBUG: Contract created with ID: " + createdContract.getId());
-        System.out.println("DEBUG: Setting contractId in response: " + response.getContractId());
-        
         return response;
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ProposalResponse rejectProposal(UUID proposalId, UUID clientId) {
+        return optimisticRetryService.execute("rejectProposal", () -> doRejectProposal(proposalId, clientId));
+    }
+
+    private ProposalResponse doRejectProposal(UUID proposalId, UUID clientId) {
         Proposal proposal = proposalRepository.findById(proposalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Proposal not found"));
 
@@ -273,7 +259,7 @@ public class ProposalService {
         proposal.setStatus(ProposalStatus.REJECTED);
         proposal.setRespondedAt(LocalDateTime.now());
 
-        Proposal rejectedProposal = proposalRepository.save(proposal);
+        Proposal rejectedProposal = proposalRepository.saveAndFlush(proposal);
 
         // Send notification to freelancer
         notificationService.createNotificationForUser(
@@ -295,7 +281,12 @@ public class ProposalService {
         return mapToProposalResponse(rejectedProposal);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ProposalResponse withdrawProposal(UUID proposalId, UUID freelancerId) {
+        return optimisticRetryService.execute("withdrawProposal", () -> doWithdrawProposal(proposalId, freelancerId));
+    }
+
+    private ProposalResponse doWithdrawProposal(UUID proposalId, UUID freelancerId) {
         Proposal proposal = proposalRepository.findById(proposalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Proposal not found"));
 
@@ -310,7 +301,7 @@ public class ProposalService {
         proposal.setStatus(ProposalStatus.WITHDRAWN);
         proposal.setRespondedAt(LocalDateTime.now());
 
-        Proposal withdrawnProposal = proposalRepository.save(proposal);
+        Proposal withdrawnProposal = proposalRepository.saveAndFlush(proposal);
 
         // Send notification to client
         notificationService.createNotificationForUser(
@@ -326,22 +317,26 @@ public class ProposalService {
         return mapToProposalResponse(withdrawnProposal);
     }
 
+    @Transactional(readOnly = true)
     public ProposalResponse getProposalById(UUID proposalId) {
         Proposal proposal = proposalRepository.findById(proposalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Proposal not found"));
         return mapToProposalResponse(proposal);
     }
 
+    @Transactional(readOnly = true)
     public Page<ProposalResponse> getProposalsByFreelancer(UUID freelancerId, Pageable pageable) {
         Page<Proposal> proposals = proposalRepository.findByFreelancerIdOrderBySubmittedAtDesc(freelancerId, pageable);
         return proposals.map(this::mapToProposalResponse);
     }
 
+    @Transactional(readOnly = true)
     public Page<ProposalResponse> getProposalsByClient(UUID clientId, Pageable pageable) {
         Page<Proposal> proposals = proposalRepository.findByClientIdOrderBySubmittedAtDesc(clientId, pageable);
         return proposals.map(this::mapToProposalResponse);
     }
 
+    @Transactional(readOnly = true)
     public Page<ProposalResponse> getProposalsByProject(UUID projectId, Pageable pageable) {
         Page<Proposal> proposals = proposalRepository.findByProjectIdOrderBySubmittedAtDesc(projectId, pageable);
         return proposals.map(this::mapToProposalResponse);
@@ -362,6 +357,7 @@ public class ProposalService {
         proposalRepository.delete(proposal);
     }
 
+    @Transactional(readOnly = true)
     public boolean hasFreelancerProposedToProject(UUID projectId, UUID freelancerId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
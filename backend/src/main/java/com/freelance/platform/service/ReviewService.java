@@ -48,6 +48,7 @@ public class ReviewService {
     @Autowired
     private NotificationService notificationService;
 
+    @Transactional(readOnly = true)
     public Page<ReviewResponse> getReviews(UUID userId, UUID contractId, Integer minRating, Integer maxRating, Pageable pageable) {
         System.out.println("ReviewService.getReviews called with userId: " + userId + ", contractId: " + contractId);
         
@@ -58,6 +59,7 @@ public class ReviewService {
         return reviews.map(this::convertToResponse);
     }
 
+    @Transactional(readOnly = true)
     public Page<ReviewResponse> getReviewsForCurrentUser(UUID currentUserId, Pageable pageable) {
         System.out.println("ReviewService.getReviewsForCurrentUser called with currentUserId: " + currentUserId);
         
@@ -138,6 +140,7 @@ public class ReviewService {
         return convertToResponse(savedReview);
     }
 
+    @Transactional(readOnly = true)
     public ReviewResponse getReview(UUID id) {
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found"));
@@ -174,18 +177,21 @@ public class ReviewService {
         reviewRepository.delete(review);
     }
 
+    @Transactional(readOnly = true)
     public Page<ReviewResponse> getUserReviews(UUID userId, String type, Pageable pageable) {
         Page<Review> reviews = reviewRepository.findByRevieweeIdOrderByCreatedAtDesc(userId, pageable);
         
         return reviews.map(this::convertToResponse);
     }
 
+    @Transactional(readOnly = true)
     public Page<ReviewResponse> getContractReviews(UUID contractId, Pageable pageable) {
         Page<Review> reviews = reviewRepository.findByContractIdOrderByCreatedAtDesc(contractId, pageable);
         
         return reviews.map(this::convertToResponse);
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Object> getUserReviewStatistics(UUID userId) {
         System.out.println("ReviewService.getUserReviewStatistics called with userId: " + userId);
         
@@ -216,6 +222,7 @@ public class ReviewService {
         return response;
     }
 
+    @Transactional(readOnly = true)
     public Page<ReviewOpportunity> getPendingReviewsForUser(UUID userId, Pageable pageable) {
         return reviewOpportunityRepository.findPendingReviewsForUser(userId, pageable);
     }
@@ -237,10 +244,12 @@ public class ReviewService {
         reviewOpportunityRepository.save(freelancerReviewsClient);
     }
 
+    @Transactional(readOnly = true)
     public List<ReviewOpportunity> getContractReviewStatuses(UUID contractId) {
         return reviewOpportunityRepository.findByContractId(contractId);
     }
 
+    @Transactional(readOnly = true)
     public Page<ReviewResponse> searchReviews(String query, Pageable pageable) {
         Page<Review> reviews = reviewRepository.searchByCommentContainingIgnoreCase(query, pageable);
         
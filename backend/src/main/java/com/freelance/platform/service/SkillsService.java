@@ -36,6 +36,7 @@ public class SkillsService {
     private AuthService authService;
     
     // Get all available skills
+    @Transactional(readOnly = true)
     public List<SkillResponse> getAllSkills() {
         return skillRepository.findAllOrderByName().stream()
                 .map(this::mapToSkillResponse)
@@ -43,6 +44,7 @@ public class SkillsService {
     }
     
     // Get skills by category
+    @Transactional(readOnly = true)
     public List<SkillResponse> getSkillsByCategory(String category) {
         return skillRepository.findByCategory(category).stream()
                 .map(this::mapToSkillResponse)
@@ -50,6 +52,7 @@ public class SkillsService {
     }
     
     // Search skills
+    @Transactional(readOnly = true)
     public List<SkillResponse> searchSkills(String searchTerm) {
         return skillRepository.findByNameContainingIgnoreCase(searchTerm).stream()
                 .map(this::mapToSkillResponse)
@@ -57,6 +60,7 @@ public class SkillsService {
     }
     
     // Get all skill categories
+    @Transactional(readOnly = true)
     public List<String> getAllCategories() {
         return skillRepository.findAllCategories();
     }
@@ -131,6 +135,7 @@ public class SkillsService {
     }
     
     // Get freelancer's skills
+    @Transactional(readOnly = true)
     public List<FreelancerSkillResponse> getFreelancerSkills(UUID freelancerId) {
         System.out.println("Querying skills for freelancer ID: " + freelancerId);
         List<FreelancerSkill> freelancerSkills = freelancerSkillRepository.findByFreelancerIdWithSkill(freelancerId);
@@ -1,5 +1,6 @@
 package com.freelance.platform.service;
 
+import io.minio.GetObjectArgs;
 import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
@@ -12,6 +13,7 @@ import com.freelance.platform.config.MinIOConfig;
 import com.freelance.platform.exception.FileUploadException;
 import com.freelance.platform.util.FileUploadUtil;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.UUID;
 
@@ -113,6 +115,33 @@ public class StorageService {
         }
     }
 
+    public void putObject(String objectName, byte[] data, String contentType) {
+        try {
+            minioClient.putObject(
+                    PutObjectArgs.builder()
+                            .bucket(minioProperties.getBucketName())
+                            .object(objectName)
+                            .stream(new ByteArrayInputStream(data), data.length, -1)
+                            .contentType(contentType)
+                            .build()
+            );
+        } catch (Exception e) {
+            throw new FileUploadException("Failed to store object: " + e.getMessage());
+        }
+    }
+
+    public byte[] getObject(String objectName) {
+        try (InputStream inputStream = minioClient.getObject(
+                GetObjectArgs.builder()
+                        .bucket(minioProperties.getBucketName())
+                        .object(objectName)
+                        .build())) {
+            return inputStream.readAllBytes();
+        } catch (Exception e) {
+            throw new FileUploadException("Failed to read object: " + e.getMessage());
+        }
+    }
+
     private String generateUniqueFileName(String originalFileName) {
         String extension = FileUploadUtil.getFileExtension(originalFileName);
         String baseName = FileUploadUtil.getBaseName(originalFileName);
@@ -0,0 +1,59 @@
+package com.freelance.platform.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Short-lived, single-use tickets for opening Server-Sent Events streams.
+ * EventSource cannot send an Authorization header, so the browser trades its bearer token for a ticket in
+ * an authenticated POST and puts only the ticket in the stream URL. A ticket that reaches a log is already
+ * spent or expires within seconds; it never grants more than opening one stream. Kept in Redis so the
+ * stream may land on any node.
+ */
+@Service
+public class StreamTicketService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamTicketService.class);
+
+    private static final String KEY_PREFIX = "sse-ticket:";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Value("${app.sse.ticket-ttl-seconds:30}")
+    private long ticketTtlSeconds;
+
+    private final SecureRandom random = new SecureRandom();
+
+    public String issue(UUID userId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        stringRedisTemplate.opsForValue().set(KEY_PREFIX + ticket, userId.toString(), Duration.ofSeconds(ticketTtlSeconds));
+        return ticket;
+    }
+
+    /**
+     * The user the ticket was issued to; empty when it is unknown, expired or already redeemed.
+     */
+    public Optional<UUID> redeem(String ticket) {
+        try {
+            String userId = stringRedisTemplate.opsForValue().getAndDelete(KEY_PREFIX + ticket);
+            return userId != null ? Optional.of(UUID.fromString(userId)) : Optional.empty();
+        } catch (DataAccessException e) {
+            logger.warn("Could not redeem stream ticket: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
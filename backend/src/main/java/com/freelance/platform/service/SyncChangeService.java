@@ -0,0 +1,137 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.entity.SyncChange;
+import com.freelance.platform.entity.SyncChangeType;
+import com.freelance.platform.repository.SyncChangeRepository;
+import com.freelance.platform.repository.SyncSequenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Writes the per-user change log behind /api/sync.
+ * Changes are buffered for the current transaction and written just before it commits: one sequence
+ * upsert per affected user (taken in a fixed order so two writers never deadlock on them) plus one
+ * row per change. Holding the sequence row lock until commit means a user's changes become visible
+ * in seq order, so a client reading "after seq N" can never skip a change that commits late.
+ */
+@Service
+public class SyncChangeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncChangeService.class);
+
+    private static final String LOCK_NAME = "sync-change-retention";
+
+    @Autowired
+    private SyncChangeRepository syncChangeRepository;
+
+    @Autowired
+    private SyncSequenceRepository syncSequenceRepository;
+
+    @Autowired
+    private DistributedLockService distributedLockService;
+
+    @Value("${app.sync.retention-days:14}")
+    private int retentionDays;
+
+    @Value("${app.sync.retention-batch-size:1000}")
+    private int retentionBatchSize;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public SyncChangeService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void record(UUID userId, SyncChangeType type, UUID entityId) {
+        record(userId, type, entityId, null);
+    }
+
+    /**
+     * Record a change for one user as part of the current transaction.
+     */
+    public void record(UUID userId, SyncChangeType type, UUID entityId, UUID relatedId) {
+        if (userId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionTemplate.executeWithoutResult(status -> record(userId, type, entityId, relatedId));
+            return;
+        }
+        PendingChanges pending = null;
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges) {
+                pending = (PendingChanges) synchronization;
+                break;
+            }
+        }
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(userId, type, entityId, relatedId);
+    }
+
+    @Scheduled(cron = "${app.sync.retention-cron:0 45 3 * * *}")
+    public void purgeExpiredChanges() {
+        distributedLockService.runExclusively(LOCK_NAME, Duration.ofHours(1), () -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            long total = 0L;
+            int deleted;
+            do {
+                Integer chunk = transactionTemplate.execute(status ->
+                        syncChangeRepository.deleteOlderThan(cutoff, retentionBatchSize));
+                deleted = chunk != null ? chunk : 0;
+                total += deleted;
+            } while (deleted >= retentionBatchSize);
+            logger.info("Sync change retention purge deleted {} changes", total);
+        });
+    }
+
+    private void write(Map<UUID, List<SyncChange>> changesByUser) {
+        List<SyncChange> rows = new ArrayList<>();
+        for (Map.Entry<UUID, List<SyncChange>> entry : changesByUser.entrySet()) {
+            List<SyncChange> changes = entry.getValue();
+            syncSequenceRepository.reserve(entry.getKey(), changes.size());
+            long seq = syncSequenceRepository.lastReservedSeq().longValue() - changes.size();
+            for (SyncChange change : changes) {
+                change.setSeq(++seq);
+                rows.add(change);
+            }
+        }
+        syncChangeRepository.saveAll(rows);
+    }
+
+    /**
+     * Changes recorded in one transaction, keyed by user in the same order the database compares the ids.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+        private final Map<UUID, List<SyncChange>> changesByUser = new TreeMap<>(Comparator.comparing(UUID::toString));
+
+        private void add(UUID userId, SyncChangeType type, UUID entityId, UUID relatedId) {
+            changesByUser.computeIfAbsent(userId, id -> new ArrayList<>())
+                    .add(new SyncChange(userId, 0L, type, entityId, relatedId));
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(changesByUser);
+        }
+    }
+}
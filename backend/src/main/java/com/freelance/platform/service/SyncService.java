@@ -0,0 +1,173 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.dto.response.ConversationResponse;
+import com.freelance.platform.dto.response.MessageResponse;
+import com.freelance.platform.dto.response.NotificationResponse;
+import com.freelance.platform.dto.response.SyncResponse;
+import com.freelance.platform.entity.Notification;
+import com.freelance.platform.entity.SyncChange;
+import com.freelance.platform.entity.UserInbox;
+import com.freelance.platform.repository.NotificationRepository;
+import com.freelance.platform.repository.SyncChangeRepository;
+import com.freelance.platform.repository.SyncSequenceRepository;
+import com.freelance.platform.repository.UserInboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Delta sync for reconnecting clients: reads the user's change log after the client's cursor and
+ * returns the current state of every message, conversation and notification it touches, so a
+ * reconnect costs a handful of indexed reads instead of reloading every list.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SyncService {
+
+    @Autowired
+    private SyncChangeRepository syncChangeRepository;
+
+    @Autowired
+    private SyncSequenceRepository syncSequenceRepository;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private UserInboxRepository userInboxRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    /**
+     * Changes after since, at most limit log entries per call. A missing cursor, or one that points
+     * before the retained log, returns resetRequired with the cursor to continue from after a full reload.
+     */
+    public SyncResponse getChanges(UUID userId, String since, int limit) {
+        Long storedSeq = syncSequenceRepository.findCurrentSeq(userId);
+        long currentSeq = storedSeq != null ? storedSeq : 0L;
+        if (since == null || since.isBlank()) {
+            return new SyncResponse(String.valueOf(currentSeq), true);
+        }
+
+        long sinceSeq = parseCursor(since);
+        if (sinceSeq > currentSeq) {
+            return new SyncResponse(String.valueOf(currentSeq), true);
+        }
+        if (sinceSeq == currentSeq) {
+            return new SyncResponse(since, false);
+        }
+
+        List<SyncChange> changes = syncChangeRepository.findChangesSince(userId, sinceSeq, PageRequest.of(0, limit + 1));
+        // Sequences have no gaps, so anything but sinceSeq + 1 first means the retention purge got there
+        if (changes.isEmpty() || changes.get(0).getSeq() != sinceSeq + 1) {
+            return new SyncResponse(String.valueOf(currentSeq), true);
+        }
+
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+
+        SyncResponse response = new SyncResponse(String.valueOf(changes.get(changes.size() - 1).getSeq()), false);
+        response.setHasMore(hasMore);
+        collect(userId, changes, response);
+        return response;
+    }
+
+    private void collect(UUID userId, List<SyncChange> changes, SyncResponse response) {
+        Set<UUID> messageIds = new LinkedHashSet<>();
+        Set<UUID> deletedMessageIds = new LinkedHashSet<>();
+        Set<UUID> readMessageIds = new LinkedHashSet<>();
+        Map<String, SyncResponse.ConversationRead> readConversations = new LinkedHashMap<>();
+        Set<UUID> conversationIds = new LinkedHashSet<>();
+        Set<UUID> notificationIds = new LinkedHashSet<>();
+        Set<UUID> deletedNotificationIds = new LinkedHashSet<>();
+
+        // Collapse the log to the set of entities touched; their current state is loaded below
+        for (SyncChange change : changes) {
+            switch (change.getType()) {
+                case MESSAGE_CREATED -> {
+                    messageIds.add(change.getEntityId());
+                    conversationIds.add(change.getRelatedId());
+                }
+                case MESSAGE_READ -> {
+                    readMessageIds.add(change.getEntityId());
+                    conversationIds.add(change.getRelatedId());
+                }
+                case MESSAGE_DELETED -> {
+                    messageIds.remove(change.getEntityId());
+                    readMessageIds.remove(change.getEntityId());
+                    deletedMessageIds.add(change.getEntityId());
+                    conversationIds.add(change.getRelatedId());
+                }
+                case CONVERSATION_READ -> {
+                    readConversations.put(change.getEntityId() + ":" + change.getRelatedId(),
+                            new SyncResponse.ConversationRead(change.getEntityId(), change.getRelatedId()));
+                    conversationIds.add(change.getEntityId());
+                }
+                case CONVERSATION_UPDATED -> conversationIds.add(change.getEntityId());
+                case NOTIFICATION_UPSERTED -> notificationIds.add(change.getEntityId());
+                case NOTIFICATION_DELETED -> {
+                    notificationIds.remove(change.getEntityId());
+                    deletedNotificationIds.add(change.getEntityId());
+                }
+                case NOTIFICATIONS_ALL_READ -> response.setAllNotificationsRead(true);
+            }
+        }
+        conversationIds.remove(null);
+
+        List<MessageResponse> messages = messageService.getMessagesByIds(messageIds);
+        for (MessageResponse message : messages) {
+            messageIds.remove(message.getId());
+        }
+        // Whatever could not be loaded was deleted by a change past this page
+        deletedMessageIds.addAll(messageIds);
+        response.setMessages(messages);
+        response.setDeletedMessageIds(new ArrayList<>(deletedMessageIds));
+        response.setReadMessageIds(new ArrayList<>(readMessageIds));
+        response.setReadConversations(new ArrayList<>(readConversations.values()));
+
+        if (!conversationIds.isEmpty()) {
+            for (UserInbox inbox : userInboxRepository.findByUserIdAndConversationIdIn(userId, conversationIds)) {
+                if (Boolean.TRUE.equals(inbox.getBlocked())) {
+                    response.getHiddenConversationIds().add(inbox.getConversationId());
+                } else {
+                    response.getConversations().add(new ConversationResponse(inbox));
+                }
+            }
+        }
+
+        if (!notificationIds.isEmpty()) {
+            for (Notification notification : notificationRepository.findAllById(notificationIds)) {
+                if (notification.getUser().getId().equals(userId)) {
+                    response.getNotifications().add(new NotificationResponse(notification));
+                    notificationIds.remove(notification.getId());
+                }
+            }
+            deletedNotificationIds.addAll(notificationIds);
+        }
+        response.setDeletedNotificationIds(new ArrayList<>(deletedNotificationIds));
+    }
+
+    private long parseCursor(String cursor) {
+        try {
+            long seq = Long.parseLong(cursor);
+            if (seq < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return seq;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.entity.User;
+import com.freelance.platform.util.AfterCommit;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * JPA listener on {@link User} that copies name, email and avatar changes into the user_inbox rows
+ * showing that user, after the user change commits.
+ */
+@Component
+public class UserInboxListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserInboxListener.class);
+
+    // Resolved lazily: the listener is instantiated while the EntityManagerFactory is still being built
+    private final ObjectProvider<UserInboxService> userInboxService;
+
+    public UserInboxListener(ObjectProvider<UserInboxService> userInboxService) {
+        this.userInboxService = userInboxService;
+    }
+
+    @PostLoad
+    public void onLoad(User user) {
+        user.setLoadedDisplayKey(displayKey(user));
+    }
+
+    @PostUpdate
+    public void onUpdate(User user) {
+        String displayKey = displayKey(user);
+        if (Objects.equals(user.getLoadedDisplayKey(), displayKey)) {
+            return;
+        }
+        user.setLoadedDisplayKey(displayKey);
+
+        Runnable refresh = () -> {
+            UserInboxService service = userInboxService.getIfAvailable();
+            if (service == null) {
+                return;
+            }
+            try {
+                service.updateParticipantDisplay(user.getId(), UserInboxService.displayName(user),
+                        user.getEmail(), user.getAvatarUrl());
+            } catch (DataAccessException e) {
+                logger.warn("Failed to refresh inbox display data for user {}: {}", user.getId(), e.getMessage());
+            }
+        };
+
+        AfterCommit.run(refresh);
+    }
+
+    private String displayKey(User user) {
+        return user.getFirstName() + "|" + user.getLastName() + "|" + user.getEmail() + "|" + user.getAvatarUrl();
+    }
+}
@@ -0,0 +1,188 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.entity.Conversation;
+import com.freelance.platform.entity.ConversationType;
+import com.freelance.platform.entity.User;
+import com.freelance.platform.entity.UserInbox;
+import com.freelance.platform.repository.ConversationRepository;
+import com.freelance.platform.repository.UserInboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintains the user_inbox read model: two rows per conversation, written whenever the conversation,
+ * its participants' display data or its project title change, so the conversation list needs no joins.
+ */
+@Service
+public class UserInboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserInboxService.class);
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    @Autowired
+    private UserInboxRepository userInboxRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private DistributedLockService distributedLockService;
+
+    @Value("${app.messaging.inbox.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public UserInboxService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UserInbox> getInbox(UUID userId, Pageable pageable) {
+        return userInboxRepository.findInbox(userId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UserInbox> getInboxByType(UUID userId, ConversationType type, Pageable pageable) {
+        return userInboxRepository.findInboxByType(userId, type, pageable);
+    }
+
+    /**
+     * Create both participants' rows for a newly saved conversation
+     */
+    @Transactional
+    public void addConversation(Conversation conversation) {
+        if (userInboxRepository.existsByConversationId(conversation.getId())) {
+            return;
+        }
+        userInboxRepository.saveAll(buildRows(conversation));
+    }
+
+    @Transactional
+    public void updateLastMessage(UUID conversationId, LocalDateTime lastMessageAt, String preview) {
+        userInboxRepository.updateLastMessage(conversationId, lastMessageAt, preview);
+    }
+
+    @Transactional
+    public void adjustUnreadCount(UUID conversationId, UUID userId, int delta) {
+        userInboxRepository.adjustUnreadCount(conversationId, userId, delta);
+    }
+
+    @Transactional
+    public void updateBlocked(UUID conversationId, UUID userId, boolean blocked) {
+        userInboxRepository.updateBlocked(conversationId, userId, blocked);
+    }
+
+    @Transactional
+    public void updateProjectTitle(UUID projectId, String title) {
+        userInboxRepository.updateProjectTitle(projectId, title);
+    }
+
+    /**
+     * Copy a user's new name, email or avatar into every inbox row that shows them.
+     * Called after the user change commits, hence its own transaction.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void updateParticipantDisplay(UUID userId, String name, String email, String avatar) {
+        userInboxRepository.updateParticipantDisplay(userId, name, email, avatar);
+    }
+
+    /**
+     * Create inbox rows for conversations that predate the table, in id-ordered batches
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        distributedLockService.runExclusively("user-inbox-backfill", Duration.ofHours(1), this::backfillMissing);
+    }
+
+    public long backfillMissing() {
+        UUID afterId = new UUID(0L, 0L);
+        long created = 0L;
+
+        while (true) {
+            UUID cursor = afterId;
+            List<Conversation> batch = transactionTemplate.execute(status -> {
+                List<Conversation> conversations = conversationRepository.findWithoutInboxRows(
+                        cursor, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+                List<UserInbox> rows = new ArrayList<>(conversations.size() * 2);
+                for (Conversation conversation : conversations) {
+                    rows.addAll(buildRows(conversation));
+                }
+                userInboxRepository.saveAll(rows);
+                return conversations;
+            });
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            created += batch.size();
+            afterId = batch.get(batch.size() - 1).getId();
+            if (batch.size() < BACKFILL_BATCH_SIZE) {
+                break;
+            }
+        }
+
+        if (created > 0) {
+            logger.info("Backfilled inbox rows for {} conversations", created);
+        }
+        return created;
+    }
+
+    public static String displayName(User user) {
+        String firstName = user.getFirstName() != null ? user.getFirstName() : "";
+        String lastName = user.getLastName() != null ? user.getLastName() : "";
+        String fullName = (firstName + " " + lastName).trim();
+        return fullName.isEmpty() ? user.getEmail() : fullName;
+    }
+
+    private List<UserInbox> buildRows(Conversation conversation) {
+        List<UserInbox> rows = new ArrayList<>(2);
+        rows.add(buildRow(conversation, conversation.getParticipant1(), conversation.getParticipant2(),
+                conversation.getParticipant1Blocked(), conversation.getParticipant1UnreadCount()));
+        rows.add(buildRow(conversation, conversation.getParticipant2(), conversation.getParticipant1(),
+                conversation.getParticipant2Blocked(), conversation.getParticipant2UnreadCount()));
+        return rows;
+    }
+
+    private UserInbox buildRow(Conversation conversation, User owner, User other, Boolean blocked, int unreadCount) {
+        UserInbox row = new UserInbox();
+        row.setUserId(owner.getId());
+        row.setConversationId(conversation.getId());
+        row.setType(conversation.getType());
+        row.setOtherParticipantId(other.getId());
+        row.setOtherParticipantName(displayName(other));
+        row.setOtherParticipantEmail(other.getEmail());
+        row.setOtherParticipantAvatar(other.getAvatarUrl());
+        if (conversation.getType() == ConversationType.PROJECT_CHAT && conversation.getProject() != null) {
+            row.setProjectId(conversation.getProject().getId());
+            row.setProjectTitle(conversation.getProject().getTitle());
+        }
+        row.setLastMessageAt(conversation.getLastMessageAt());
+        row.setLastMessagePreview(conversation.getLastMessagePreview());
+        row.setUnreadCount(unreadCount);
+        row.setBlocked(Boolean.TRUE.equals(blocked));
+        row.setConversationCreatedAt(conversation.getCreatedAt());
+        return row;
+    }
+}
@@ -50,6 +50,12 @@ public class AdminAnalyticsService {
     @Autowired
     private ReportRepository reportRepository;
 
+    @Autowired
+    private GeographicAnalyticsService geographicAnalyticsService;
+
+    @Autowired
+    private RealTimeMetricsService realTimeMetricsService;
+
     @Cacheable(value = "adminDashboard", unless = "#result == null")
     public Map<String, Object> getDashboard() {
         AdminDashboardResponse dashboardResponse = getDashboardData();
@@ -167,7 +173,7 @@ public class AdminAnalyticsService {
 
         try {
             // Get monthly user counts from DB (UTC, last 12 months)
-            List<Object[]> monthlyData = userRepository.findMonthlyUserCountsLast12MonthsUtc();
+            List<Object[]> monthlyData = userRepository.findMonthlyUserCountsSince(firstOfLast12Months());
             
             // Convert to map
             Map<String, Long> dbCounts = new HashMap<>();
@@ -219,7 +225,7 @@ public class AdminAnalyticsService {
 
         try {
             // Get monthly project counts from DB (UTC, last 12 months)
-            List<Object[]> monthlyData = projectRepository.findMonthlyProjectCountsLast12MonthsUtc();
+            List<Object[]> monthlyData = projectRepository.findMonthlyProjectCountsSince(firstOfLast12Months());
             
             // Convert to map
             Map<String, Long> dbCounts = new HashMap<>();
@@ -254,7 +260,7 @@ public class AdminAnalyticsService {
 
         try {
             // Get monthly revenue from DB (UTC, last 12 months, COMPLETED only)
-            List<Object[]> monthlyData = transactionRepository.findMonthlyRevenueLast12MonthsUtc();
+            List<Object[]> monthlyData = transactionRepository.findMonthlyRevenueSince(firstOfLast12Months());
             
             // Convert to map
             Map<String, BigDecimal> dbRevenue = new HashMap<>();
@@ -285,17 +291,19 @@ public class AdminAnalyticsService {
     }
 
     public AnalyticsResponse getGeographicAnalytics() {
-        AnalyticsResponse response = new AnalyticsResponse();
+        return geographicAnalyticsService.getUsersByCountry();
+    }
 
-        // User distribution by country
-        Map<String, Long> userCountries = new HashMap<>();
-        userRepository.findAllCountries().forEach(country -> {
-            long count = userRepository.countByCountry(country);
-            userCountries.put(country, count);
-        });
-        response.setData(new HashMap<>(userCountries));
+    public AnalyticsResponse getGeographicRoleBreakdown(String country) {
+        return geographicAnalyticsService.getUsersByRole(country);
+    }
 
-        return response;
+    public AnalyticsResponse getGeographicCityBreakdown(String country) {
+        return geographicAnalyticsService.getCityBreakdown(country);
+    }
+
+    public AnalyticsResponse getGeographicSignupsByMonth(String country) {
+        return geographicAnalyticsService.getSignupsByMonth(country);
     }
 
     @Cacheable(value = "performanceMetrics", unless = "#result == null")
@@ -333,6 +341,13 @@ public class AdminAnalyticsService {
      * Zero-fill last 12 months (UTC) to ensure consistent time-series data.
      * Missing months will have count = 0.
      */
+    /**
+     * Oldest month of the 12-month window, as the "yyyy-MM" bucket the series queries filter on.
+     */
+    private String firstOfLast12Months() {
+        return YearMonth.now(ZoneOffset.UTC).minusMonths(11).format(MONTH_FORMATTER);
+    }
+
     private Map<String, Long> zeroFillLast12Months(Map<String, Long> dbCounts) {
         Map<String, Long> result = new LinkedHashMap<>();
         YearMonth now = YearMonth.now(ZoneOffset.UTC);
@@ -392,7 +407,7 @@ public class AdminAnalyticsService {
     }
     
     public Map<String, Object> getRealTimeMetrics() {
-        return new HashMap<>();
+        return realTimeMetricsService.getSnapshot();
     }
     
     public Map<String, Object> getComparisonAnalytics(String period1, String period2) {
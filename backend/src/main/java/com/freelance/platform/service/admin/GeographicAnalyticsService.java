@@ -0,0 +1,161 @@
+package com.freelance.platform.service.admin;
+
+import com.freelance.platform.dto.response.AnalyticsResponse;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.UserGeoRollup;
+import com.freelance.platform.repository.UserGeoRollupRepository;
+import com.freelance.platform.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Geographic user analytics.
+ * Country totals come from a single grouped query; role and city breakdowns are served
+ * from the user_geo_rollup table, which {@link UserGeoRollupListener} keeps current.
+ */
+@Service
+public class GeographicAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeographicAnalyticsService.class);
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserGeoRollupRepository userGeoRollupRepository;
+
+    /**
+     * User distribution by country (country -> users), one query regardless of country count.
+     */
+    public AnalyticsResponse getUsersByCountry() {
+        AnalyticsResponse response = new AnalyticsResponse();
+
+        Map<String, Object> userCountries = new LinkedHashMap<>();
+        long total = 0L;
+        for (Object[] row : userRepository.countUsersGroupedByCountry()) {
+            long count = ((Number) row[1]).longValue();
+            userCountries.put((String) row[0], count);
+            total += count;
+        }
+        response.setData(userCountries);
+        response.setTotal(total);
+
+        return response;
+    }
+
+    /**
+     * Users per role, either platform-wide or for a single country.
+     */
+    public AnalyticsResponse getUsersByRole(String country) {
+        AnalyticsResponse response = new AnalyticsResponse();
+
+        List<Object[]> rows = country != null && !country.isBlank()
+                ? userGeoRollupRepository.sumByRoleForCountry(country)
+                : userGeoRollupRepository.sumByRole();
+
+        Map<String, Object> roleCounts = new LinkedHashMap<>();
+        for (Role role : Role.values()) {
+            roleCounts.put(role.name(), 0L);
+        }
+        for (Object[] row : rows) {
+            roleCounts.put(((Role) row[0]).name(), ((Number) row[1]).longValue());
+        }
+        response.setData(roleCounts);
+
+        return response;
+    }
+
+    /**
+     * City and role breakdown for a single country (city -> role -> users).
+     */
+    public AnalyticsResponse getCityBreakdown(String country) {
+        AnalyticsResponse response = new AnalyticsResponse();
+
+        Map<String, Object> cities = new LinkedHashMap<>();
+        for (UserGeoRollup rollup : userGeoRollupRepository.findByCountryOrderByCityAscRoleAsc(country)) {
+            @SuppressWarnings("unchecked")
+            Map<String, Long> roles = (Map<String, Long>) cities.computeIfAbsent(rollup.getCity(), k -> new LinkedHashMap<String, Long>());
+            roles.put(rollup.getRole().name(), rollup.getUserCount());
+        }
+        response.setData(cities);
+
+        return response;
+    }
+
+    /**
+     * Monthly signups for a single country (UTC, last 12 months, zero-filled).
+     */
+    public AnalyticsResponse getSignupsByMonth(String country) {
+        AnalyticsResponse response = new AnalyticsResponse();
+
+        YearMonth now = YearMonth.now(ZoneOffset.UTC);
+        Map<String, Long> dbCounts = new HashMap<>();
+        for (Object[] row : userRepository.findMonthlySignupCountsByCountrySince(country, now.minusMonths(11).format(MONTH_FORMATTER))) {
+            dbCounts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+
+        Map<String, Object> signups = new LinkedHashMap<>();
+        long total = 0L;
+        for (int i = 11; i >= 0; i--) {
+            String monthKey = now.minusMonths(i).format(MONTH_FORMATTER);
+            long count = dbCounts.getOrDefault(monthKey, 0L);
+            signups.put(monthKey, count);
+            total += count;
+        }
+        response.setData(signups);
+        response.setTotal(total);
+        response.setPeriod("last12months");
+
+        return response;
+    }
+
+    /**
+     * Recompute the rollup rows of one country from the users table.
+     * Runs in its own transaction because it is triggered after the user change has committed.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refreshCountry(String country) {
+        userGeoRollupRepository.deleteByCountry(country);
+        userGeoRollupRepository.flush();
+        userGeoRollupRepository.saveAll(buildRows(country));
+    }
+
+    /**
+     * Rebuild the whole rollup table, e.g. after a bulk import that bypassed JPA.
+     */
+    @Transactional
+    public void rebuildRollup() {
+        userGeoRollupRepository.deleteAllRows();
+        for (String country : userRepository.findAllCountries()) {
+            userGeoRollupRepository.saveAll(buildRows(country));
+        }
+        logger.info("Rebuilt user geo rollup");
+    }
+
+    private List<UserGeoRollup> buildRows(String country) {
+        // Null and empty cities share the "" bucket, so merge them before inserting
+        Map<String, UserGeoRollup> rows = new LinkedHashMap<>();
+        for (Object[] row : userRepository.countByCityAndRoleForCountry(country)) {
+            String city = row[0] != null ? (String) row[0] : "";
+            Role role = (Role) row[1];
+            long count = ((Number) row[2]).longValue();
+            UserGeoRollup rollup = rows.computeIfAbsent(city + "|" + role, k -> new UserGeoRollup(country, city, role, 0L));
+            rollup.setUserCount(rollup.getUserCount() + count);
+        }
+        return new ArrayList<>(rows.values());
+    }
+}
@@ -0,0 +1,195 @@
+package com.freelance.platform.service.admin;
+
+import com.freelance.platform.event.PlatformActivityEvent;
+import com.freelance.platform.event.PlatformActivityType;
+import com.freelance.platform.util.SlidingWindowCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Real-time platform metrics.
+ * Services publish {@link PlatformActivityEvent}s; each activity type feeds a one-hour
+ * {@link SlidingWindowCounter}, and windowed totals (1m/5m/1h) are pushed to admin
+ * dashboards over Server-Sent Events instead of being polled from the database.
+ * <p>
+ * Counters only see the events of their own node, so every push interval each node also writes its
+ * windowed totals to a short-lived Redis hash, and snapshots sum the hashes of all live nodes. The
+ * cluster view therefore lags by at most one push interval; if Redis is unreachable the snapshot falls
+ * back to this node's counters and says so in its {@code scope} field.
+ */
+@Service
+public class RealTimeMetricsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RealTimeMetricsService.class);
+
+    private static final int WINDOW_1M = 60;
+    private static final int WINDOW_5M = 300;
+    private static final int WINDOW_1H = 3600;
+
+    private static final String NODES_KEY = "metrics:realtime:nodes";
+    private static final String NODE_KEY_PREFIX = "metrics:realtime:node:";
+
+    private final Map<PlatformActivityType, SlidingWindowCounter> counters = new EnumMap<>(PlatformActivityType.class);
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Value("${app.metrics.realtime.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${app.metrics.realtime.push-interval-ms:2000}")
+    private long pushIntervalMs;
+
+    public RealTimeMetricsService() {
+        for (PlatformActivityType type : PlatformActivityType.values()) {
+            counters.put(type, new SlidingWindowCounter(WINDOW_1H));
+        }
+    }
+
+    // Events published outside a transaction are counted immediately
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(PlatformActivityEvent event) {
+        record(event.getType(), event.getOccurredAt());
+    }
+
+    public void record(PlatformActivityType type, Instant occurredAt) {
+        counters.get(type).increment(occurredAt.getEpochSecond());
+    }
+
+    /**
+     * Cluster-wide windowed totals per activity, e.g. {"signups": {"1m": 3, "5m": 12, "1h": 140}, ...}.
+     */
+    public Map<String, Object> getSnapshot() {
+        long now = Instant.now().getEpochSecond();
+        Map<String, Long> totals = localTotals(now);
+        String scope = "cluster";
+        int nodes = 1;
+
+        try {
+            long cutoff = System.currentTimeMillis() - nodeTtl().toMillis();
+            Set<String> liveNodes = stringRedisTemplate.opsForZSet().rangeByScore(NODES_KEY, cutoff, Double.MAX_VALUE);
+            if (liveNodes != null) {
+                for (String node : liveNodes) {
+                    if (node.equals(nodeId)) {
+                        continue;
+                    }
+                    Map<Object, Object> published = stringRedisTemplate.opsForHash().entries(NODE_KEY_PREFIX + node);
+                    if (published.isEmpty()) {
+                        continue;
+                    }
+                    nodes++;
+                    for (Map.Entry<Object, Object> field : published.entrySet()) {
+                        totals.merge(field.getKey().toString(), Long.parseLong(field.getValue().toString()), Long::sum);
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.debug("Real-time metrics of other nodes unavailable: {}", e.getMessage());
+            scope = "node";
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        for (PlatformActivityType type : counters.keySet()) {
+            String metric = type.getMetricName();
+            Map<String, Long> windows = new LinkedHashMap<>();
+            windows.put("1m", totals.getOrDefault(metric + ":1m", 0L));
+            windows.put("5m", totals.getOrDefault(metric + ":5m", 0L));
+            windows.put("1h", totals.getOrDefault(metric + ":1h", 0L));
+            snapshot.put(metric, windows);
+        }
+        snapshot.put("scope", scope);
+        snapshot.put("nodes", nodes);
+        snapshot.put("timestamp", Instant.ofEpochSecond(now).toString());
+        return snapshot;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+
+        // Send the current state right away so the dashboard does not wait for the next tick
+        send(emitter, getSnapshot());
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${app.metrics.realtime.push-interval-ms:2000}")
+    public void pushSnapshot() {
+        // Publish even without local subscribers: dashboards connected to other nodes read these totals
+        publishLocalTotals();
+        if (emitters.isEmpty()) {
+            return;
+        }
+        Map<String, Object> snapshot = getSnapshot();
+        for (SseEmitter emitter : emitters) {
+            send(emitter, snapshot);
+        }
+    }
+
+    private void publishLocalTotals() {
+        Map<String, String> fields = new HashMap<>();
+        localTotals(Instant.now().getEpochSecond()).forEach((field, value) -> fields.put(field, Long.toString(value)));
+        String key = NODE_KEY_PREFIX + nodeId;
+        long nowMillis = System.currentTimeMillis();
+        try {
+            stringRedisTemplate.opsForHash().putAll(key, fields);
+            stringRedisTemplate.expire(key, nodeTtl());
+            stringRedisTemplate.opsForZSet().add(NODES_KEY, nodeId, nowMillis);
+            stringRedisTemplate.opsForZSet().removeRangeByScore(NODES_KEY, 0, nowMillis - nodeTtl().toMillis());
+        } catch (DataAccessException e) {
+            logger.debug("Could not publish real-time metrics for node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    // This node's windowed totals keyed "<metric>:<window>", e.g. "signups:5m"
+    private Map<String, Long> localTotals(long now) {
+        Map<String, Long> totals = new HashMap<>();
+        for (Map.Entry<PlatformActivityType, SlidingWindowCounter> entry : counters.entrySet()) {
+            SlidingWindowCounter counter = entry.getValue();
+            String metric = entry.getKey().getMetricName();
+            totals.put(metric + ":1m", counter.sum(now, WINDOW_1M));
+            totals.put(metric + ":5m", counter.sum(now, WINDOW_5M));
+            totals.put(metric + ":1h", counter.sum(now, WINDOW_1H));
+        }
+        return totals;
+    }
+
+    // A node that missed a few pushes is treated as gone
+    private Duration nodeTtl() {
+        return Duration.ofMillis(Math.max(pushIntervalMs, 1000L) * 3);
+    }
+
+    private void send(SseEmitter emitter, Map<String, Object> snapshot) {
+        try {
+            emitter.send(SseEmitter.event().name("metrics").data(snapshot));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping real-time metrics subscriber: {}", e.getMessage());
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.freelance.platform.service.admin;
+
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.User;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * JPA listener on {@link User} that keeps the user_geo_rollup table in step with user writes.
+ * Affected countries (old and new location) are collected per transaction and refreshed once
+ * after commit, so every user save path is covered without touching the services.
+ */
+@Component
+public class UserGeoRollupListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserGeoRollupListener.class);
+
+    // Resolved lazily: the listener is instantiated while the EntityManagerFactory is still being built
+    private final ObjectProvider<GeographicAnalyticsService> geographicAnalyticsService;
+
+    public UserGeoRollupListener(ObjectProvider<GeographicAnalyticsService> geographicAnalyticsService) {
+        this.geographicAnalyticsService = geographicAnalyticsService;
+    }
+
+    @PostLoad
+    public void onLoad(User user) {
+        snapshot(user);
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onChange(User user) {
+        // Logins and profile edits update users constantly; only location, role or deletion changes move counts
+        if (user.getLoadedGeoKey() != null && user.getLoadedGeoKey().equals(geoKey(user))) {
+            return;
+        }
+
+        Set<String> countries = new LinkedHashSet<>();
+        if (user.getLoadedCountry() != null) {
+            countries.add(user.getLoadedCountry());
+        }
+        if (user.getCountry() != null) {
+            countries.add(user.getCountry());
+        }
+        snapshot(user);
+        schedule(countries);
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        Set<String> countries = new LinkedHashSet<>();
+        if (user.getCountry() != null) {
+            countries.add(user.getCountry());
+        }
+        schedule(countries);
+    }
+
+    private void schedule(Set<String> countries) {
+        if (countries.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(countries);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> bound = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(UserGeoRollupListener.this);
+                }
+            });
+            pending = bound;
+        }
+        pending.addAll(countries);
+    }
+
+    private void snapshot(User user) {
+        user.setLoadedCountry(user.getCountry());
+        user.setLoadedGeoKey(geoKey(user));
+    }
+
+    private String geoKey(User user) {
+        TreeSet<Role> roles = user.getRoles() != null ? new TreeSet<>(user.getRoles()) : new TreeSet<>();
+        return user.getCountry() + "|" + user.getCity() + "|" + roles + "|" + (user.getDeletedAt() != null);
+    }
+
+    private void refresh(Set<String> countries) {
+        GeographicAnalyticsService service = geographicAnalyticsService.getIfAvailable();
+        if (service == null) {
+            return;
+        }
+        for (String country : countries) {
+            try {
+                service.refreshCountry(country);
+            } catch (DataAccessException e) {
+                // A concurrent refresh of the same country already wrote the current counts
+                logger.warn("Failed to refresh geo rollup for country {}: {}", country, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.freelance.platform.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free event counter over a sliding window of per-second buckets.
+ * Each slot of the ring holds the epoch second it counts for; a slot that still belongs to an
+ * older lap is swapped for a fresh bucket with a single CAS, so increments never block and a
+ * bucket is never reset underneath a concurrent writer.
+ */
+public class SlidingWindowCounter {
+
+    private final int windowSeconds;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public SlidingWindowCounter(int windowSeconds) {
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("windowSeconds must be positive");
+        }
+        this.windowSeconds = windowSeconds;
+        this.buckets = new AtomicReferenceArray<>(windowSeconds);
+    }
+
+    public void increment(long epochSecond) {
+        add(epochSecond, 1L);
+    }
+
+    public void add(long epochSecond, long delta) {
+        int index = (int) Math.floorMod(epochSecond, (long) windowSeconds);
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.second == epochSecond) {
+                bucket.count.add(delta);
+                return;
+            }
+            if (bucket != null && bucket.second > epochSecond) {
+                // Event older than the ring; it has already fallen out of every window
+                return;
+            }
+            Bucket fresh = new Bucket(epochSecond);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                fresh.count.add(delta);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sum of the last {@code seconds} buckets ending at {@code nowEpochSecond} (inclusive).
+     */
+    public long sum(long nowEpochSecond, int seconds) {
+        int span = Math.min(seconds, windowSeconds);
+        long oldest = nowEpochSecond - span + 1;
+        long total = 0L;
+        for (long second = oldest; second <= nowEpochSecond; second++) {
+            Bucket bucket = buckets.get((int) Math.floorMod(second, (long) windowSeconds));
+            if (bucket != null && bucket.second == second) {
+                total += bucket.count.sum();
+            }
+        }
+        return total;
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    private static final class Bucket {
+        private final long second;
+        private final LongAdder count = new LongAdder();
+
+        private Bucket(long second) {
+            this.second = second;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.freelance.platform.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Access-ordered LRU map bounded by the summed weight of its values rather than by entry count.
+ * Values may change weight after insertion; callers report that through {@link #reweigh(Object)}
+ * so the total stays accurate and eviction kicks in as soon as the bound is exceeded.
+ */
+public class WeightedLruCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalWeight;
+    private long evictions;
+
+    public WeightedLruCache(long maxWeight, ToLongFunction<V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive");
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    public synchronized void put(K key, V value) {
+        Entry<V> previous = entries.put(key, new Entry<>(value, weigher.applyAsLong(value)));
+        if (previous != null) {
+            totalWeight -= previous.weight;
+        }
+        totalWeight += entries.get(key).weight;
+        evictIfNeeded();
+    }
+
+    /**
+     * Recompute the weight of a value that was modified in place.
+     */
+    public synchronized void reweigh(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        long weight = weigher.applyAsLong(entry.value);
+        totalWeight += weight - entry.weight;
+        entry.weight = weight;
+        evictIfNeeded();
+    }
+
+    public synchronized void remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            totalWeight -= entry.weight;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return totalWeight;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (totalWeight > maxWeight && eldest.hasNext()) {
+            totalWeight -= eldest.next().getValue().weight;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private long weight;
+
+        private Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.freelance.platform.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.freelance.platform.dto.response.MessageResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Negotiated CBOR encoding for STOMP payloads. A client on the native endpoint opts in by sending
+ * content-type:application/cbor on CONNECT; from then on its outbound JSON payloads are re-encoded
+ * as CBOR, with chat messages reduced to {@link CompactMessage}. SockJS and JSON clients are untouched.
+ * Outbound frames are labelled application/octet-stream;format=cbor because STOMP only uses binary
+ * WebSocket frames for octet-stream content.
+ */
+@Component
+public class CborPayloadEncoder implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CborPayloadEncoder.class);
+
+    public static final MimeType APPLICATION_CBOR = new MimeType("application", "cbor");
+    public static final MimeType CBOR_FRAME = new MimeType("application", "octet-stream", Map.of("format", "cbor"));
+
+    private static final List<String> CHAT_DESTINATIONS = List.of("/user/queue/messages", "/topic/conversations/");
+
+    private final ObjectMapper jsonMapper;
+    private final CBORMapper cborMapper;
+    private final Set<String> cborSessions = ConcurrentHashMap.newKeySet();
+    // A broadcast shares one payload array across subscribers; encode it once (arrays hash by identity)
+    private final Map<byte[], byte[]> encoded = Collections.synchronizedMap(new WeakHashMap<>());
+    private final DistributionSummary jsonBytes;
+    private final DistributionSummary cborBytes;
+    private final Timer encodeTimer;
+
+    public CborPayloadEncoder(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.jsonMapper = objectMapper;
+        this.cborMapper = CBORMapper.builder().addModule(new JavaTimeModule()).build();
+        this.jsonBytes = DistributionSummary.builder("websocket.outbound.payload.bytes")
+                .tag("encoding", "json").baseUnit("bytes").register(meterRegistry);
+        this.cborBytes = DistributionSummary.builder("websocket.outbound.payload.bytes")
+                .tag("encoding", "cbor").baseUnit("bytes").register(meterRegistry);
+        this.encodeTimer = meterRegistry.timer("websocket.outbound.payload.encode");
+    }
+
+    /**
+     * Mapper for the inbound CBOR message converter; deliberately not a bean so Boot's JSON mapper stays primary.
+     */
+    public ObjectMapper getCborMapper() {
+        return cborMapper;
+    }
+
+    /**
+     * Called for CONNECT frames: opt the session in when it asked for CBOR over a native WebSocket.
+     */
+    public void onConnect(StompHeaderAccessor accessor) {
+        String contentType = accessor.getFirstNativeHeader("content-type");
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (contentType == null || attributes == null
+                || !Boolean.TRUE.equals(attributes.get(NativeTransportHandshakeInterceptor.NATIVE_TRANSPORT_ATTRIBUTE))) {
+            return;
+        }
+        try {
+            if (APPLICATION_CBOR.equalsTypeAndSubtype(MimeTypeUtils.parseMimeType(contentType))) {
+                cborSessions.add(accessor.getSessionId());
+            }
+        } catch (IllegalArgumentException e) {
+            // Unparseable content-type: stay on JSON
+        }
+    }
+
+    @EventListener
+    public void handleSessionDisconnect(SessionDisconnectEvent event) {
+        cborSessions.remove(event.getSessionId());
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null || !cborSessions.contains(sessionId)
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+        MessageHeaderAccessor accessor = MessageHeaderAccessor.getMutableAccessor(message);
+        MimeType contentType = accessor.getContentType();
+        if (contentType == null || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return message;
+        }
+
+        byte[] cbor = encoded.get(json);
+        if (cbor == null) {
+            try {
+                cbor = encode(json, chatDestination(message));
+            } catch (IOException e) {
+                logger.warn("Could not CBOR-encode payload for session {}, sending JSON", sessionId, e);
+                return message;
+            }
+            encoded.put(json, cbor);
+        }
+        accessor.setContentType(CBOR_FRAME);
+        return MessageBuilder.createMessage(cbor, accessor.getMessageHeaders());
+    }
+
+    private byte[] encode(byte[] json, boolean chatMessage) throws IOException {
+        Timer.Sample sample = Timer.start();
+        byte[] cbor;
+        if (chatMessage) {
+            MessageResponse response = jsonMapper.readValue(json, MessageResponse.class);
+            cbor = cborMapper.writeValueAsBytes(CompactMessage.from(response));
+        } else {
+            JsonNode tree = jsonMapper.readTree(json);
+            cbor = cborMapper.writeValueAsBytes(tree);
+        }
+        sample.stop(encodeTimer);
+        jsonBytes.record(json.length);
+        cborBytes.record(cbor.length);
+        return cbor;
+    }
+
+    private boolean chatDestination(Message<?> message) {
+        Object original = message.getHeaders().get(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION);
+        String destination = original instanceof String ? (String) original
+                : SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null) {
+            return false;
+        }
+        for (String prefix : CHAT_DESTINATIONS) {
+            if (destination.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,172 @@
+package com.freelance.platform.websocket;
+
+import com.freelance.platform.dto.response.ReadReceiptResponse;
+import com.freelance.platform.dto.response.TypingIndicatorResponse;
+import com.freelance.platform.repository.ConversationRepository;
+import com.freelance.platform.service.MessageService;
+import com.freelance.platform.util.WeightedLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ephemeral chat signals. Typing events are relayed to the other participant, throttled per user and
+ * conversation, and never touch the database. Read receipts are coalesced in memory to the latest one
+ * per conversation and reader, then applied in one transaction per flush and pushed to both participants.
+ */
+@Component
+public class ChatSignalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatSignalService.class);
+
+    private static final String TYPING_DESTINATION = "/queue/typing";
+    private static final String READ_RECEIPT_DESTINATION = "/queue/read-receipts";
+    private static final long PARTICIPANT_CACHE_ENTRIES = 100_000;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ConversationRepository conversationRepository;
+    private final MessageService messageService;
+    private final long typingIntervalMs;
+
+    // Participants of a conversation never change, so the lookup is cached for good
+    private final WeightedLruCache<UUID, UUID[]> participants = new WeightedLruCache<>(PARTICIPANT_CACHE_ENTRIES, ids -> 1L);
+    private final Map<String, Long> lastTypingSent = new ConcurrentHashMap<>();
+    private final Map<String, ReadReceiptResponse> pendingReceipts = new ConcurrentHashMap<>();
+    private final Counter typingForwarded;
+    private final Counter typingThrottled;
+    private final Counter receiptsCoalesced;
+    private final Counter receiptsApplied;
+
+    public ChatSignalService(SimpMessagingTemplate messagingTemplate, ConversationRepository conversationRepository,
+                             MessageService messageService,
+                             @Value("${app.messaging.typing.min-interval-ms:3000}") long typingIntervalMs,
+                             MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.conversationRepository = conversationRepository;
+        this.messageService = messageService;
+        this.typingIntervalMs = typingIntervalMs;
+        this.typingForwarded = meterRegistry.counter("websocket.typing.events", "result", "forwarded");
+        this.typingThrottled = meterRegistry.counter("websocket.typing.events", "result", "throttled");
+        this.receiptsCoalesced = meterRegistry.counter("websocket.read_receipts", "result", "coalesced");
+        this.receiptsApplied = meterRegistry.counter("websocket.read_receipts", "result", "applied");
+    }
+
+    /**
+     * Relay a typing start/stop to the other participant: at most one start per interval, and a stop
+     * only when a start went out.
+     */
+    public void typing(UUID userId, UUID conversationId, boolean typing) {
+        UUID[] ids = participantIds(conversationId);
+        UUID other = otherParticipant(ids, userId);
+        if (other == null) {
+            return;
+        }
+        String key = userId + ":" + conversationId;
+        if (typing) {
+            long now = System.currentTimeMillis();
+            Long last = lastTypingSent.get(key);
+            if (last != null && now - last < typingIntervalMs) {
+                typingThrottled.increment();
+                return;
+            }
+            lastTypingSent.put(key, now);
+        } else if (lastTypingSent.remove(key) == null) {
+            return;
+        }
+        messagingTemplate.convertAndSendToUser(other.toString(), TYPING_DESTINATION,
+                new TypingIndicatorResponse(conversationId, userId, typing));
+        typingForwarded.increment();
+    }
+
+    /**
+     * Queue a read receipt; repeated receipts for the same conversation before the next flush collapse into one.
+     */
+    public void read(UUID userId, UUID conversationId) {
+        if (otherParticipant(participantIds(conversationId), userId) == null) {
+            return;
+        }
+        ReadReceiptResponse receipt = new ReadReceiptResponse(conversationId, userId, LocalDateTime.now());
+        if (pendingReceipts.put(userId + ":" + conversationId, receipt) != null) {
+            receiptsCoalesced.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.messaging.read-receipts.flush-interval-ms:1000}")
+    public void flush() {
+        pruneTyping();
+        if (pendingReceipts.isEmpty()) {
+            return;
+        }
+        List<ReadReceiptResponse> receipts = new ArrayList<>(pendingReceipts.size());
+        for (String key : new ArrayList<>(pendingReceipts.keySet())) {
+            ReadReceiptResponse receipt = pendingReceipts.remove(key);
+            if (receipt != null) {
+                receipts.add(receipt);
+            }
+        }
+
+        List<ReadReceiptResponse> applied;
+        try {
+            applied = messageService.applyReadReceipts(receipts);
+        } catch (RuntimeException e) {
+            // Clients re-send on the next view and /api/conversations/{id}/read remains authoritative
+            logger.warn("Failed to apply {} read receipts", receipts.size(), e);
+            return;
+        }
+        receiptsApplied.increment(applied.size());
+
+        for (ReadReceiptResponse receipt : applied) {
+            UUID[] ids = participantIds(receipt.getConversationId());
+            if (ids == null) {
+                continue;
+            }
+            for (UUID participant : ids) {
+                messagingTemplate.convertAndSendToUser(participant.toString(), READ_RECEIPT_DESTINATION, receipt);
+            }
+        }
+    }
+
+    private void pruneTyping() {
+        // A start older than this has long expired on the receiving side
+        long cutoff = System.currentTimeMillis() - typingIntervalMs * 10;
+        lastTypingSent.values().removeIf(sentAt -> sentAt < cutoff);
+    }
+
+    private UUID[] participantIds(UUID conversationId) {
+        if (conversationId == null) {
+            return null;
+        }
+        UUID[] ids = participants.get(conversationId);
+        if (ids == null) {
+            List<Object[]> rows = conversationRepository.findParticipantIds(conversationId);
+            if (rows.isEmpty()) {
+                return null;
+            }
+            ids = new UUID[] {(UUID) rows.get(0)[0], (UUID) rows.get(0)[1]};
+            participants.put(conversationId, ids);
+        }
+        return ids;
+    }
+
+    private static UUID otherParticipant(UUID[] ids, UUID userId) {
+        if (ids == null) {
+            return null;
+        }
+        if (ids[0].equals(userId)) {
+            return ids[1];
+        }
+        return ids[1].equals(userId) ? ids[0] : null;
+    }
+}
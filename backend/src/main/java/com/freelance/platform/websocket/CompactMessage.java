@@ -0,0 +1,100 @@
+package com.freelance.platform.websocket;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.freelance.platform.dto.response.MessageResponse;
+import com.freelance.platform.entity.MessageType;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Wire form of a chat message for CBOR sessions: short keys, participant ids instead of
+ * participant objects (clients already hold names and avatars from the conversation list),
+ * and the timestamp as epoch milliseconds.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class CompactMessage {
+    @JsonProperty("i")
+    private UUID id;
+
+    @JsonProperty("c")
+    private UUID conversationId;
+
+    @JsonProperty("s")
+    private UUID senderId;
+
+    @JsonProperty("r")
+    private UUID recipientId;
+
+    @JsonProperty("b")
+    private String content;
+
+    @JsonProperty("k")
+    private MessageType messageType;
+
+    @JsonProperty("a")
+    private List<String> attachments;
+
+    @JsonProperty("rd")
+    private boolean read;
+
+    @JsonProperty("t")
+    private Long createdAt;
+
+    public CompactMessage() {}
+
+    public static CompactMessage from(MessageResponse message) {
+        CompactMessage compact = new CompactMessage();
+        compact.id = message.getId();
+        compact.conversationId = message.getConversationId();
+        compact.senderId = message.getSenderId();
+        compact.recipientId = message.getRecipientId();
+        compact.content = message.getContent();
+        compact.messageType = message.getMessageType();
+        compact.attachments = message.getAttachments();
+        compact.read = Boolean.TRUE.equals(message.getIsRead());
+        // Message timestamps are taken with LocalDateTime.now(), i.e. in the server's zone
+        compact.createdAt = message.getCreatedAt() != null
+                ? message.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : null;
+        return compact;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getConversationId() {
+        return conversationId;
+    }
+
+    public UUID getSenderId() {
+        return senderId;
+    }
+
+    public UUID getRecipientId() {
+        return recipientId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public MessageType getMessageType() {
+        return messageType;
+    }
+
+    public List<String> getAttachments() {
+        return attachments;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+
+    public Long getCreatedAt() {
+        return createdAt;
+    }
+}
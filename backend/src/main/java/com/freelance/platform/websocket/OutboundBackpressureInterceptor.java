@@ -0,0 +1,78 @@
+package com.freelance.platform.websocket;
+
+import com.freelance.platform.config.properties.WebSocketTransportProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-session overflow policy on the client outbound channel. Messages for droppable destinations
+ * (presence and the like) are discarded while the session is backlogged, so a slow client's buffer
+ * is spent on chat messages; everything else is left to the transport's send time and buffer limits.
+ */
+@Component
+public class OutboundBackpressureInterceptor implements ExecutorChannelInterceptor {
+
+    private final SessionSendTracker tracker;
+    private final WebSocketTransportProperties properties;
+    private final Counter dropped;
+
+    public OutboundBackpressureInterceptor(SessionSendTracker tracker, WebSocketTransportProperties properties,
+                                           MeterRegistry meterRegistry) {
+        this.tracker = tracker;
+        this.properties = properties;
+        this.dropped = meterRegistry.counter("websocket.outbound.dropped", "reason", "backlog");
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return message;
+        }
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE
+                && isDroppable(message) && tracker.isBacklogged(sessionId)) {
+            dropped.increment();
+            return null;
+        }
+        tracker.enqueued(sessionId);
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        // Rejected by the executor: it will never reach afterMessageHandled
+        if (!sent || ex != null) {
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            if (sessionId != null) {
+                tracker.dequeued(sessionId);
+            }
+        }
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId != null) {
+            tracker.dequeued(sessionId);
+        }
+    }
+
+    private boolean isDroppable(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        Object original = message.getHeaders().get(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION);
+        for (String prefix : properties.getDroppableDestinations()) {
+            if ((destination != null && destination.startsWith(prefix))
+                    || (original instanceof String && ((String) original).startsWith(prefix))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,163 @@
+package com.freelance.platform.websocket;
+
+import com.freelance.platform.repository.UserInboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Contact-scoped presence. Connects and disconnects only update local state; a periodic flush
+ * publishes the net changes as one {@link PresenceUpdate} per interested subscriber, where
+ * "interested" means online and sharing a conversation with the user (from user_inbox).
+ * A user whose last session closes is only reported offline after a grace period, so a flapping
+ * mobile connection produces no presence traffic at all.
+ */
+@Component
+public class PresenceTracker {
+
+    private static final String PRESENCE_DESTINATION = "/queue/presence";
+    private static final int QUERY_CHUNK = 500;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UserInboxRepository userInboxRepository;
+    private final long offlineGraceMs;
+    private final Counter updatesSent;
+    private final Counter flapsSuppressed;
+
+    // Guarded by this
+    private final Map<UUID, Integer> sessionCounts = new HashMap<>();
+    private final Map<UUID, Long> pendingOffline = new HashMap<>();
+    private final Map<UUID, Boolean> pendingChanges = new LinkedHashMap<>();
+    private final Set<UUID> pendingSnapshots = new LinkedHashSet<>();
+    private final Set<UUID> publishedOnline = new HashSet<>();
+
+    public PresenceTracker(SimpMessagingTemplate messagingTemplate, UserInboxRepository userInboxRepository,
+                           @Value("${app.presence.offline-grace-ms:15000}") long offlineGraceMs,
+                           MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.userInboxRepository = userInboxRepository;
+        this.offlineGraceMs = offlineGraceMs;
+        this.updatesSent = meterRegistry.counter("websocket.presence.updates");
+        this.flapsSuppressed = meterRegistry.counter("websocket.presence.flaps_suppressed");
+        Gauge.builder("websocket.presence.online_users", this, PresenceTracker::onlineUserCount).register(meterRegistry);
+    }
+
+    public synchronized void sessionOpened(UUID userId) {
+        int sessions = sessionCounts.merge(userId, 1, Integer::sum);
+        if (sessions == 1) {
+            if (pendingOffline.remove(userId) != null) {
+                flapsSuppressed.increment();
+            } else {
+                pendingChanges.put(userId, Boolean.TRUE);
+            }
+        }
+        // Every new session needs the current state of the user's contacts
+        pendingSnapshots.add(userId);
+    }
+
+    public synchronized void sessionClosed(UUID userId) {
+        Integer sessions = sessionCounts.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+        if (sessions == null) {
+            pendingOffline.put(userId, System.currentTimeMillis() + offlineGraceMs);
+        }
+    }
+
+    public synchronized boolean isOnline(UUID userId) {
+        return sessionCounts.containsKey(userId) || pendingOffline.containsKey(userId);
+    }
+
+    public synchronized int onlineUserCount() {
+        return sessionCounts.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.presence.flush-interval-ms:2000}")
+    public void flush() {
+        Map<UUID, Boolean> changes = new LinkedHashMap<>();
+        Set<UUID> snapshots;
+        Set<UUID> online;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            Iterator<Map.Entry<UUID, Long>> expired = pendingOffline.entrySet().iterator();
+            while (expired.hasNext()) {
+                Map.Entry<UUID, Long> entry = expired.next();
+                if (entry.getValue() <= now) {
+                    expired.remove();
+                    pendingChanges.put(entry.getKey(), Boolean.FALSE);
+                }
+            }
+            // Net changes only: an online-then-offline pair within one interval cancels out
+            for (Map.Entry<UUID, Boolean> change : pendingChanges.entrySet()) {
+                boolean nowOnline = change.getValue();
+                if (nowOnline ? publishedOnline.add(change.getKey()) : publishedOnline.remove(change.getKey())) {
+                    changes.put(change.getKey(), nowOnline);
+                }
+            }
+            pendingChanges.clear();
+            snapshots = new LinkedHashSet<>(pendingSnapshots);
+            pendingSnapshots.clear();
+            online = new HashSet<>(publishedOnline);
+        }
+        if (changes.isEmpty() && snapshots.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, PresenceUpdate> updates = new LinkedHashMap<>();
+        // Changed users -> every online contact that has a conversation with them
+        for (List<UUID> chunk : chunks(changes.keySet())) {
+            for (Object[] row : userInboxRepository.findWatchersByOtherParticipantIds(chunk)) {
+                UUID watcher = (UUID) row[0];
+                UUID subject = (UUID) row[1];
+                if (online.contains(watcher)) {
+                    PresenceUpdate update = updates.computeIfAbsent(watcher, id -> new PresenceUpdate());
+                    (changes.get(subject) ? update.getOnline() : update.getOffline()).add(subject);
+                }
+            }
+        }
+        // New sessions -> the contacts of theirs that are online right now
+        for (List<UUID> chunk : chunks(snapshots)) {
+            for (Object[] row : userInboxRepository.findContactsByUserIds(chunk)) {
+                UUID subscriber = (UUID) row[0];
+                UUID contact = (UUID) row[1];
+                if (online.contains(contact) && !Boolean.TRUE.equals(changes.get(contact))) {
+                    updates.computeIfAbsent(subscriber, id -> new PresenceUpdate()).getOnline().add(contact);
+                }
+            }
+        }
+
+        for (Map.Entry<UUID, PresenceUpdate> update : updates.entrySet()) {
+            messagingTemplate.convertAndSendToUser(update.getKey().toString(), PRESENCE_DESTINATION, update.getValue());
+        }
+        updatesSent.increment(updates.size());
+    }
+
+    private static List<List<UUID>> chunks(Set<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        List<UUID> chunk = new ArrayList<>(QUERY_CHUNK);
+        for (UUID id : ids) {
+            chunk.add(id);
+            if (chunk.size() == QUERY_CHUNK) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(QUERY_CHUNK);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,31 @@
+package com.freelance.platform.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Presence diff for one subscriber: contacts that came online or went offline since the last flush.
+ */
+public class PresenceUpdate {
+    private List<UUID> online = new ArrayList<>();
+    private List<UUID> offline = new ArrayList<>();
+
+    public PresenceUpdate() {}
+
+    public List<UUID> getOnline() {
+        return online;
+    }
+
+    public void setOnline(List<UUID> online) {
+        this.online = online;
+    }
+
+    public List<UUID> getOffline() {
+        return offline;
+    }
+
+    public void setOffline(List<UUID> offline) {
+        this.offline = offline;
+    }
+}
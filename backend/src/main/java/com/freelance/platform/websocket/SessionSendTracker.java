@@ -0,0 +1,104 @@
+package com.freelance.platform.websocket;
+
+import com.freelance.platform.config.properties.WebSocketTransportProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-session view of outbound pressure: messages waiting on the outbound executor and how long
+ * the session has been stuck in its current socket write. Fed by {@link OutboundBackpressureInterceptor}
+ * and {@link SessionSendTrackingHandler}.
+ */
+@Component
+public class SessionSendTracker {
+
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    private final WebSocketTransportProperties properties;
+    private final Counter slowConsumerClosed;
+
+    public SessionSendTracker(WebSocketTransportProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.slowConsumerClosed = meterRegistry.counter("websocket.sessions.closed", "reason", "slow_consumer");
+        Gauge.builder("websocket.sessions.active", sessions, Map::size).register(meterRegistry);
+        Gauge.builder("websocket.outbound.queued", this, SessionSendTracker::totalQueued).register(meterRegistry);
+        Gauge.builder("websocket.sessions.backlogged", this, SessionSendTracker::backloggedCount).register(meterRegistry);
+    }
+
+    void opened(String sessionId) {
+        sessions.putIfAbsent(sessionId, new SessionState());
+    }
+
+    void closed(String sessionId, boolean slowConsumer) {
+        sessions.remove(sessionId);
+        if (slowConsumer) {
+            slowConsumerClosed.increment();
+        }
+    }
+
+    void sendStarted(String sessionId) {
+        SessionState state = sessions.get(sessionId);
+        if (state != null) {
+            state.sendingSince.set(System.currentTimeMillis());
+        }
+    }
+
+    void sendFinished(String sessionId) {
+        SessionState state = sessions.get(sessionId);
+        if (state != null) {
+            state.sendingSince.set(0L);
+        }
+    }
+
+    void enqueued(String sessionId) {
+        SessionState state = sessions.get(sessionId);
+        if (state != null) {
+            state.queued.incrementAndGet();
+        }
+    }
+
+    void dequeued(String sessionId) {
+        SessionState state = sessions.get(sessionId);
+        if (state != null) {
+            state.queued.updateAndGet(queued -> Math.max(0, queued - 1));
+        }
+    }
+
+    /**
+     * True when the session is behind: too many messages waiting, or one write blocked for too long.
+     */
+    public boolean isBacklogged(String sessionId) {
+        SessionState state = sessions.get(sessionId);
+        return state != null && isBacklogged(state, System.currentTimeMillis());
+    }
+
+    private boolean isBacklogged(SessionState state, long now) {
+        long sendingSince = state.sendingSince.get();
+        return state.queued.get() >= properties.getBacklogMessages()
+                || (sendingSince > 0 && now - sendingSince >= properties.getBacklogSendMs());
+    }
+
+    private double totalQueued() {
+        long total = 0;
+        for (SessionState state : sessions.values()) {
+            total += state.queued.get();
+        }
+        return total;
+    }
+
+    private double backloggedCount() {
+        long now = System.currentTimeMillis();
+        return sessions.values().stream().filter(state -> isBacklogged(state, now)).count();
+    }
+
+    private static final class SessionState {
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicLong sendingSince = new AtomicLong();
+    }
+}
@@ -0,0 +1,56 @@
+package com.freelance.platform.websocket;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+
+/**
+ * Wraps each raw session so {@link SessionSendTracker} can see how long the current socket write has
+ * been blocked. Spring's own buffering decorator sits on top of this one and enforces the
+ * send time and buffer limits; a session it closes for exceeding them is counted as a slow consumer.
+ */
+public class SessionSendTrackingHandler extends WebSocketHandlerDecorator {
+
+    private final SessionSendTracker tracker;
+
+    public SessionSendTrackingHandler(WebSocketHandler delegate, SessionSendTracker tracker) {
+        super(delegate);
+        this.tracker = tracker;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        tracker.opened(session.getId());
+        super.afterConnectionEstablished(new TimedSession(session, tracker));
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        tracker.closed(session.getId(), CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus));
+        super.afterConnectionClosed(session, closeStatus);
+    }
+
+    private static final class TimedSession extends WebSocketSessionDecorator {
+        private final SessionSendTracker tracker;
+
+        private TimedSession(WebSocketSession session, SessionSendTracker tracker) {
+            super(session);
+            this.tracker = tracker;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            tracker.sendStarted(getId());
+            try {
+                super.sendMessage(message);
+            } finally {
+                tracker.sendFinished(getId());
+            }
+        }
+    }
+}
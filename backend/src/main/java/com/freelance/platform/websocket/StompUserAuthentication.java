@@ -0,0 +1,25 @@
+package com.freelance.platform.websocket;
+
+import com.freelance.platform.security.UserPrincipal;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+/**
+ * Authentication set on a STOMP session at CONNECT. Its name is the user id rather than the email, so
+ * user destinations ({@code convertAndSendToUser(userId.toString(), ...)}) resolve to the user's sessions.
+ */
+public class StompUserAuthentication extends UsernamePasswordAuthenticationToken {
+
+    public StompUserAuthentication(UserPrincipal principal) {
+        super(principal, null, principal.getAuthorities());
+    }
+
+    @Override
+    public UserPrincipal getPrincipal() {
+        return (UserPrincipal) super.getPrincipal();
+    }
+
+    @Override
+    public String getName() {
+        return getPrincipal().getId().toString();
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 
 import java.util.UUID;
@@ -22,6 +23,9 @@ public class WebSocketController {
     @Autowired
     private com.freelance.platform.service.MessageService messageService;
 
+    @Autowired
+    private ChatSignalService chatSignalService;
+
     /**
      * Send a message in a conversation via WebSocket
      * Route: /app/chat.sendMessage
@@ -36,7 +40,7 @@ public class WebSocketController {
     public MessageResponse sendMessage(@Payload WebSocketMessageRequest messageRequest,
                                        SimpMessageHeaderAccessor headerAccessor) {
         // Get user from authentication
-        UserPrincipal user = (UserPrincipal) headerAccessor.getUser();
+        UserPrincipal user = currentUser(headerAccessor);
 
         if (user == null) {
             throw new RuntimeException("User not authenticated");
@@ -63,6 +67,42 @@ public class WebSocketController {
         return messageService.sendMessage(messageRequest.getConversationId(), serviceRequest, user.getId());
     }
 
+    /**
+     * Typing indicator, relayed to the other participant and never stored
+     * Route: /app/chat.typing
+     * Message format: { "conversationId": "uuid", "typing": true }
+     */
+    @MessageMapping("/chat.typing")
+    public void typing(@Payload ChatSignalRequest request, SimpMessageHeaderAccessor headerAccessor) {
+        UserPrincipal user = currentUser(headerAccessor);
+        if (user == null || request.getConversationId() == null) {
+            return;
+        }
+        chatSignalService.typing(user.getId(), request.getConversationId(), !Boolean.FALSE.equals(request.getTyping()));
+    }
+
+    /**
+     * Read receipt for everything received in a conversation; written to the database in coalesced batches
+     * Route: /app/chat.read
+     * Message format: { "conversationId": "uuid" }
+     */
+    @MessageMapping("/chat.read")
+    public void read(@Payload ChatSignalRequest request, SimpMessageHeaderAccessor headerAccessor) {
+        UserPrincipal user = currentUser(headerAccessor);
+        if (user == null || request.getConversationId() == null) {
+            return;
+        }
+        chatSignalService.read(user.getId(), request.getConversationId());
+    }
+
+    private UserPrincipal currentUser(SimpMessageHeaderAccessor headerAccessor) {
+        if (headerAccessor.getUser() instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return userPrincipal;
+        }
+        return null;
+    }
+
     /**
      * Add user to WebSocket session
      * Route: /app/chat.addUser
@@ -73,6 +113,34 @@ public class WebSocketController {
         headerAccessor.getSessionAttributes().put("username", username);
     }
 
+    /**
+     * DTO for typing and read-receipt signals
+     */
+    public static class ChatSignalRequest {
+        private UUID conversationId;
+        private Boolean typing;
+
+        // Constructors
+        public ChatSignalRequest() {}
+
+        // Getters and Setters
+        public UUID getConversationId() {
+            return conversationId;
+        }
+
+        public void setConversationId(UUID conversationId) {
+            this.conversationId = conversationId;
+        }
+
+        public Boolean getTyping() {
+            return typing;
+        }
+
+        public void setTyping(Boolean typing) {
+            this.typing = typing;
+        }
+    }
+
     /**
      * DTO for WebSocket message requests
      */
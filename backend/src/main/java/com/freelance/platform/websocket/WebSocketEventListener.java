@@ -1,46 +1,39 @@
 package com.freelance.platform.websocket;
 
-import com.freelance.platform.entity.User;
-import com.freelance.platform.repository.UserRepository;
+import com.freelance.platform.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectedEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 import java.security.Principal;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class WebSocketEventListener {
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
-
-    @Autowired
-    private UserRepository userRepository;
+    private PresenceTracker presenceTracker;
 
     // Store active sessions
-    private final Map<String, String> activeSessions = new ConcurrentHashMap<>();
+    private final Map<String, UUID> activeSessions = new ConcurrentHashMap<>();
 
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectedEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
-        Principal user = headerAccessor.getUser();
+        UUID userId = resolveUserId(headerAccessor.getUser());
         
-        if (user != null) {
+        if (userId != null) {
             String sessionId = headerAccessor.getSessionId();
-            String userId = user.getName();
-            
             activeSessions.put(sessionId, userId);
             
-            // Notify that user is online
-            messagingTemplate.convertAndSend("/topic/user.online", userId);
-            
-            System.out.println("User Connected: " + userId + " with session: " + sessionId);
+            // Contacts are told in the next presence flush
+            presenceTracker.sessionOpened(userId);
         }
     }
 
@@ -49,26 +42,31 @@ public class WebSocketEventListener {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = headerAccessor.getSessionId();
         
-        String userId = activeSessions.remove(sessionId);
+        UUID userId = activeSessions.remove(sessionId);
         
         if (userId != null) {
-            // Check if user has other active sessions
-            boolean hasOtherSessions = activeSessions.containsValue(userId);
-            
-            if (!hasOtherSessions) {
-                // Notify that user is offline
-                messagingTemplate.convertAndSend("/topic/user.offline", userId);
-            }
-            
-            System.out.println("User Disconnected: " + userId + " with session: " + sessionId);
+            // Reported offline only if no session comes back within the grace period
+            presenceTracker.sessionClosed(userId);
         }
     }
 
     public boolean isUserOnline(String userId) {
-        return activeSessions.containsValue(userId);
+        try {
+            return presenceTracker.isOnline(UUID.fromString(userId));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
     }
 
     public int getOnlineUserCount() {
-        return activeSessions.size();
+        return presenceTracker.onlineUserCount();
+    }
+
+    private UUID resolveUserId(Principal user) {
+        if (user instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getId();
+        }
+        return null;
     }
 }
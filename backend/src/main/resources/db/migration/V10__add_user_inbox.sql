@@ -0,0 +1,60 @@
+-- Per-user inbox read model for the conversation list
+-- Two rows per conversation (one per participant) carrying the other participant's display data,
+-- the project title and the last-message preview, so the list is one range scan with no joins.
+-- Kept in step by UserInboxService on every conversation, user display and project title change.
+
+CREATE TABLE user_inbox (
+    id BINARY(16) NOT NULL,
+    user_id BINARY(16) NOT NULL,
+    conversation_id BINARY(16) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    other_participant_id BINARY(16) NOT NULL,
+    other_participant_name VARCHAR(255),
+    other_participant_email VARCHAR(255),
+    other_participant_avatar VARCHAR(255),
+    project_id BINARY(16),
+    project_title VARCHAR(255),
+    last_message_at DATETIME(6) NOT NULL,
+    last_message_preview VARCHAR(255),
+    unread_count INT NOT NULL DEFAULT 0,
+    blocked BIT NOT NULL DEFAULT 0,
+    conversation_created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_inbox_user_conversation UNIQUE (user_id, conversation_id)
+);
+
+CREATE INDEX idx_user_inbox_recent ON user_inbox(user_id, blocked, last_message_at DESC, conversation_id DESC);
+CREATE INDEX idx_user_inbox_type_recent ON user_inbox(user_id, type, last_message_at DESC, conversation_id DESC);
+CREATE INDEX idx_user_inbox_conversation ON user_inbox(conversation_id);
+CREATE INDEX idx_user_inbox_other_participant ON user_inbox(other_participant_id);
+CREATE INDEX idx_user_inbox_project ON user_inbox(project_id);
+
+-- Backfill: participant1's view of every conversation
+INSERT INTO user_inbox (id, user_id, conversation_id, type, other_participant_id, other_participant_name,
+                        other_participant_email, other_participant_avatar, project_id, project_title,
+                        last_message_at, last_message_preview, unread_count, blocked, conversation_created_at)
+SELECT UUID_TO_BIN(UUID()), c.participant1_id, c.id, c.type, o.id,
+       COALESCE(NULLIF(TRIM(CONCAT(COALESCE(o.first_name, ''), ' ', COALESCE(o.last_name, ''))), ''), o.email),
+       o.email, o.avatar_url,
+       CASE WHEN c.type = 'PROJECT_CHAT' THEN p.id END,
+       CASE WHEN c.type = 'PROJECT_CHAT' THEN p.title END,
+       c.last_message_at, c.last_message_preview, c.participant1_unread_count,
+       COALESCE(c.participant1blocked, 0), c.created_at
+FROM conversations c
+JOIN users o ON o.id = c.participant2_id
+LEFT JOIN projects p ON p.id = c.project_id;
+
+-- Backfill: participant2's view of every conversation
+INSERT INTO user_inbox (id, user_id, conversation_id, type, other_participant_id, other_participant_name,
+                        other_participant_email, other_participant_avatar, project_id, project_title,
+                        last_message_at, last_message_preview, unread_count, blocked, conversation_created_at)
+SELECT UUID_TO_BIN(UUID()), c.participant2_id, c.id, c.type, o.id,
+       COALESCE(NULLIF(TRIM(CONCAT(COALESCE(o.first_name, ''), ' ', COALESCE(o.last_name, ''))), ''), o.email),
+       o.email, o.avatar_url,
+       CASE WHEN c.type = 'PROJECT_CHAT' THEN p.id END,
+       CASE WHEN c.type = 'PROJECT_CHAT' THEN p.title END,
+       c.last_message_at, c.last_message_preview, c.participant2_unread_count,
+       COALESCE(c.participant2blocked, 0), c.created_at
+FROM conversations c
+JOIN users o ON o.id = c.participant1_id
+LEFT JOIN projects p ON p.id = c.project_id;
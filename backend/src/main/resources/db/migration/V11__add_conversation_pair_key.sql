@@ -0,0 +1,76 @@
+-- Canonical participant-pair key for conversations
+-- pair_key = TYPE:<lower uuid>:<higher uuid>:<project uuid or '-'>, matching Conversation.pairKey().
+-- The unique index turns concurrent "get or create" calls into insert-or-select instead of duplicates.
+-- Existing duplicates are merged into the oldest conversation of each key before the index is added.
+
+ALTER TABLE conversations
+ADD COLUMN pair_key VARCHAR(160) NULL COMMENT 'Canonical participants + type (+ project) key';
+
+UPDATE conversations
+SET pair_key = CONCAT(
+    type, ':',
+    LEAST(BIN_TO_UUID(participant1_id), BIN_TO_UUID(participant2_id)), ':',
+    GREATEST(BIN_TO_UUID(participant1_id), BIN_TO_UUID(participant2_id)), ':',
+    CASE WHEN type = 'PROJECT_CHAT' AND project_id IS NOT NULL THEN BIN_TO_UUID(project_id) ELSE '-' END);
+
+-- Duplicate -> keeper (oldest conversation per key)
+CREATE TEMPORARY TABLE conversation_merge AS
+SELECT c.id AS duplicate_id, k.keeper_id
+FROM conversations c
+JOIN (
+    SELECT g.pair_key,
+           (SELECT c2.id FROM conversations c2 WHERE c2.pair_key = g.pair_key ORDER BY c2.created_at, c2.id LIMIT 1) AS keeper_id
+    FROM conversations g
+    GROUP BY g.pair_key
+    HAVING COUNT(*) > 1
+) k ON k.pair_key = c.pair_key
+WHERE c.id <> k.keeper_id;
+
+CREATE TEMPORARY TABLE conversation_keepers AS
+SELECT DISTINCT keeper_id FROM conversation_merge;
+
+-- Move messages and notification groups onto the keeper
+UPDATE messages m
+JOIN conversation_merge cm ON cm.duplicate_id = m.conversation_id
+SET m.conversation_id = cm.keeper_id;
+
+UPDATE notifications n
+JOIN conversation_merge cm ON n.group_key = CONCAT('conversation:', BIN_TO_UUID(cm.duplicate_id))
+SET n.group_key = CONCAT('conversation:', BIN_TO_UUID(cm.keeper_id));
+
+-- Recompute the keeper's last message and unread counters from the merged messages
+UPDATE conversations k
+JOIN conversation_keepers ck ON ck.keeper_id = k.id
+SET k.last_message_at = COALESCE(
+        (SELECT MAX(m.created_at) FROM messages m WHERE m.conversation_id = k.id), k.last_message_at),
+    k.last_message_preview = COALESCE(
+        (SELECT CASE WHEN CHAR_LENGTH(m.content) > 100 THEN CONCAT(LEFT(m.content, 100), '...') ELSE m.content END
+         FROM messages m WHERE m.conversation_id = k.id ORDER BY m.created_at DESC LIMIT 1), k.last_message_preview),
+    k.participant1_unread_count = (
+        SELECT COUNT(*) FROM messages m
+        WHERE m.conversation_id = k.id AND m.recipient_id = k.participant1_id AND m.is_read = false),
+    k.participant2_unread_count = (
+        SELECT COUNT(*) FROM messages m
+        WHERE m.conversation_id = k.id AND m.recipient_id = k.participant2_id AND m.is_read = false);
+
+-- Inbox rows: drop the duplicates' rows and refresh the keepers'
+DELETE i FROM user_inbox i
+JOIN conversation_merge cm ON cm.duplicate_id = i.conversation_id;
+
+UPDATE user_inbox i
+JOIN conversation_keepers ck ON ck.keeper_id = i.conversation_id
+JOIN conversations c ON c.id = i.conversation_id
+SET i.last_message_at = c.last_message_at,
+    i.last_message_preview = c.last_message_preview,
+    i.unread_count = CASE WHEN i.user_id = c.participant1_id THEN c.participant1_unread_count
+                          ELSE c.participant2_unread_count END;
+
+DELETE c FROM conversations c
+JOIN conversation_merge cm ON cm.duplicate_id = c.id;
+
+DROP TEMPORARY TABLE conversation_keepers;
+DROP TEMPORARY TABLE conversation_merge;
+
+ALTER TABLE conversations MODIFY pair_key VARCHAR(160) NOT NULL COMMENT 'Canonical participants + type (+ project) key';
+
+CREATE UNIQUE INDEX uk_conversations_pair_key ON conversations(pair_key);
@@ -0,0 +1,2 @@
+-- Conversation history keyset: WHERE conversation_id = ? AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_messages_conversation_created ON messages(conversation_id, created_at, id);
@@ -0,0 +1,24 @@
+-- Per-user change log behind GET /api/sync
+-- sync_sequences holds each user's last allocated seq; SyncChangeService bumps it with an upsert just
+-- before commit and writes one sync_changes row per change, so seqs are gap-free per user and become
+-- visible in order. Rows older than app.sync.retention-days are purged; older cursors get a reset.
+
+CREATE TABLE sync_sequences (
+    user_id BINARY(16) NOT NULL,
+    seq BIGINT NOT NULL,
+    PRIMARY KEY (user_id)
+);
+
+CREATE TABLE sync_changes (
+    id BINARY(16) NOT NULL,
+    user_id BINARY(16) NOT NULL,
+    seq BIGINT NOT NULL,
+    type VARCHAR(32) NOT NULL,
+    entity_id BINARY(16),
+    related_id BINARY(16),
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_sync_changes_user_seq UNIQUE (user_id, seq)
+);
+
+CREATE INDEX idx_sync_changes_created_at ON sync_changes(created_at);
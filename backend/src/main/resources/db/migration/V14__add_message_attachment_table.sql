@@ -0,0 +1,61 @@
+-- Typed message attachments
+-- Replaces the message_attachments element collection (one LONGTEXT per row, no order, no metadata)
+-- with message_attachment rows carrying the storage object key, MIME type and size. Message pages
+-- batch-load these with one IN query. Existing links are kept in url; the object key is recovered
+-- from links into the conversations/ upload folder and the MIME type from the file extension.
+-- Sizes of existing attachments are unknown and stay NULL.
+-- The element collection stored no order, so positions follow the link text to stay deterministic.
+-- The legacy table is left in place for nodes still on the previous build; V21 drops it.
+
+CREATE TABLE IF NOT EXISTS message_attachment (
+    id BINARY(16) NOT NULL,
+    message_id BINARY(16) NOT NULL,
+    position INT NOT NULL,
+    object_key VARCHAR(512),
+    url TEXT,
+    file_name VARCHAR(255),
+    mime_type VARCHAR(255),
+    size_bytes BIGINT,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_message_attachment_message FOREIGN KEY (message_id) REFERENCES messages(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_message_attachment_message ON message_attachment(message_id, position);
+
+INSERT INTO message_attachment (id, message_id, position, object_key, url, file_name, mime_type, size_bytes, created_at)
+SELECT UUID_TO_BIN(UUID()), a.message_id, a.position, a.object_key, a.url,
+       LEFT(SUBSTRING_INDEX(COALESCE(a.object_key, a.path), '/', -1), 255),
+       CASE LOWER(SUBSTRING_INDEX(a.path, '.', -1))
+           WHEN 'jpg' THEN 'image/jpeg'
+           WHEN 'jpeg' THEN 'image/jpeg'
+           WHEN 'png' THEN 'image/png'
+           WHEN 'gif' THEN 'image/gif'
+           WHEN 'webp' THEN 'image/webp'
+           WHEN 'mp4' THEN 'video/mp4'
+           WHEN 'webm' THEN 'video/webm'
+           WHEN 'ogg' THEN 'video/ogg'
+           WHEN 'pdf' THEN 'application/pdf'
+           WHEN 'txt' THEN 'text/plain'
+           WHEN 'zip' THEN 'application/zip'
+           WHEN 'doc' THEN 'application/msword'
+           WHEN 'docx' THEN 'application/vnd.openxmlformats-officedocument.wordprocessingml.document'
+           WHEN 'xls' THEN 'application/vnd.ms-excel'
+           WHEN 'xlsx' THEN 'application/vnd.openxmlformats-officedocument.spreadsheetml.sheet'
+           ELSE NULL
+       END,
+       NULL, a.created_at
+FROM (
+    SELECT ma.message_id,
+           ROW_NUMBER() OVER (PARTITION BY ma.message_id ORDER BY ma.attachments) - 1 AS position,
+           ma.attachments AS url,
+           SUBSTRING_INDEX(ma.attachments, '?', 1) AS path,
+           CASE WHEN LOCATE('/conversations/', SUBSTRING_INDEX(ma.attachments, '?', 1)) > 0
+                THEN LEFT(SUBSTRING(SUBSTRING_INDEX(ma.attachments, '?', 1),
+                                    LOCATE('/conversations/', SUBSTRING_INDEX(ma.attachments, '?', 1)) + 1), 512)
+                ELSE NULL END AS object_key,
+           m.created_at
+    FROM message_attachments ma
+    JOIN messages m ON m.id = ma.message_id
+    WHERE ma.attachments IS NOT NULL AND ma.attachments <> ''
+) a;
@@ -0,0 +1,22 @@
+-- Index of archived message segments
+-- MessageArchiveService moves read messages older than app.messaging.archive.min-age-days into
+-- immutable gzip JSON Lines objects under archive/messages/<conversation>/ in the storage bucket,
+-- one row here per object. A conversation's segments never overlap and all precede its live
+-- messages, so history reads walk them newest first by (last_created_at, last_message_id).
+
+CREATE TABLE IF NOT EXISTS message_archive_segments (
+    id BINARY(16) NOT NULL,
+    conversation_id BINARY(16) NOT NULL,
+    object_key VARCHAR(512) NOT NULL,
+    message_count INT NOT NULL,
+    first_created_at DATETIME(6) NOT NULL,
+    first_message_id BINARY(16) NOT NULL,
+    last_created_at DATETIME(6) NOT NULL,
+    last_message_id BINARY(16) NOT NULL,
+    raw_bytes BIGINT NOT NULL,
+    compressed_bytes BIGINT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_archive_segments_conversation ON message_archive_segments(conversation_id, last_created_at);
@@ -0,0 +1,12 @@
+-- Stored description snippet for project list cards
+-- List endpoints read this instead of the TEXT description. Project.setDescription keeps it in step
+-- with the same rule: the first 280 characters, plus '...' when the description is longer.
+
+ALTER TABLE projects
+ADD COLUMN description_snippet VARCHAR(283) NULL COMMENT 'First 280 characters of description';
+
+UPDATE projects
+SET description_snippet = CASE
+    WHEN CHAR_LENGTH(description) > 280 THEN CONCAT(LEFT(description, 280), '...')
+    ELSE description
+END;
@@ -0,0 +1,30 @@
+-- Freelancer directory read model: one row per live freelancer carrying user display data, profile fields,
+-- review aggregates, portfolio count and skill names, so the card list is one range scan with no joins.
+-- Kept in step by FreelancerCardListener after user, profile, skill, portfolio and review writes, and
+-- checked nightly by FreelancerCardService. Filled on first startup while the table is empty.
+
+CREATE TABLE freelancer_card (
+    user_id BINARY(16) NOT NULL,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    email VARCHAR(255),
+    avatar_url VARCHAR(255),
+    bio TEXT,
+    hourly_rate DECIMAL(10,2),
+    rating DECIMAL(3,2),
+    total_reviews INT NOT NULL DEFAULT 0,
+    total_projects INT NOT NULL DEFAULT 0,
+    portfolio_count INT NOT NULL DEFAULT 0,
+    skills TEXT COMMENT 'Skill names in name order, newline-separated',
+    city VARCHAR(255),
+    country VARCHAR(255),
+    availability VARCHAR(255),
+    experience_level VARCHAR(255),
+    is_verified BIT,
+    is_active BIT,
+    created_at DATETIME(6),
+    rebuilt_at DATETIME(6),
+    PRIMARY KEY (user_id)
+);
+
+CREATE INDEX idx_freelancer_card_recent ON freelancer_card(created_at DESC, user_id DESC);
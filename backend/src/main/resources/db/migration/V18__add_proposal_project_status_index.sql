@@ -0,0 +1,3 @@
+-- Proposal acceptance: UPDATE proposals SET status = 'REJECTED' WHERE project_id = ? AND status = 'PENDING' AND id <> ?
+-- and the follow-up lookup of the rejected rows by (project_id, status, responded_at)
+CREATE INDEX idx_proposals_project_status ON proposals(project_id, status, responded_at);
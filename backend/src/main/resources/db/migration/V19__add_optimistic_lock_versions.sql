@@ -0,0 +1,7 @@
+-- Optimistic locking for the contract, milestone, payment request, project and proposal state machines.
+-- Existing rows start at version 0.
+ALTER TABLE contracts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE milestones ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE payment_requests ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE proposals ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- Conversation list order is (last_message_at DESC, conversation_id DESC); V10 first declared the
+-- tie-breaker ascending, and the type index without it, so ties on last_message_at needed a filesort.
+-- Rebuild both indexes in one ALTER so the table is never without them. No-op in effect where V10
+-- already declared the corrected columns.
+
+ALTER TABLE user_inbox
+    DROP INDEX idx_user_inbox_recent,
+    ADD INDEX idx_user_inbox_recent (user_id, blocked, last_message_at DESC, conversation_id DESC),
+    DROP INDEX idx_user_inbox_type_recent,
+    ADD INDEX idx_user_inbox_type_recent (user_id, type, last_message_at DESC, conversation_id DESC);
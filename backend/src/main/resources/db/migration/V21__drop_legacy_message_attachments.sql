@@ -0,0 +1,44 @@
+-- Drop the legacy message_attachments element collection
+-- Runs as its own step after every node reads and writes message_attachment (V14), so a failed or
+-- rolled-back deploy can still fall back to the old table. Attachments that nodes on the previous build
+-- wrote to the old table after the V14 backfill are copied over first, with the same mapping as V14.
+
+INSERT INTO message_attachment (id, message_id, position, object_key, url, file_name, mime_type, size_bytes, created_at)
+SELECT UUID_TO_BIN(UUID()), a.message_id, a.position, a.object_key, a.url,
+       LEFT(SUBSTRING_INDEX(COALESCE(a.object_key, a.path), '/', -1), 255),
+       CASE LOWER(SUBSTRING_INDEX(a.path, '.', -1))
+           WHEN 'jpg' THEN 'image/jpeg'
+           WHEN 'jpeg' THEN 'image/jpeg'
+           WHEN 'png' THEN 'image/png'
+           WHEN 'gif' THEN 'image/gif'
+           WHEN 'webp' THEN 'image/webp'
+           WHEN 'mp4' THEN 'video/mp4'
+           WHEN 'webm' THEN 'video/webm'
+           WHEN 'ogg' THEN 'video/ogg'
+           WHEN 'pdf' THEN 'application/pdf'
+           WHEN 'txt' THEN 'text/plain'
+           WHEN 'zip' THEN 'application/zip'
+           WHEN 'doc' THEN 'application/msword'
+           WHEN 'docx' THEN 'application/vnd.openxmlformats-officedocument.wordprocessingml.document'
+           WHEN 'xls' THEN 'application/vnd.ms-excel'
+           WHEN 'xlsx' THEN 'application/vnd.openxmlformats-officedocument.spreadsheetml.sheet'
+           ELSE NULL
+       END,
+       NULL, a.created_at
+FROM (
+    SELECT ma.message_id,
+           ROW_NUMBER() OVER (PARTITION BY ma.message_id ORDER BY ma.attachments) - 1 AS position,
+           ma.attachments AS url,
+           SUBSTRING_INDEX(ma.attachments, '?', 1) AS path,
+           CASE WHEN LOCATE('/conversations/', SUBSTRING_INDEX(ma.attachments, '?', 1)) > 0
+                THEN LEFT(SUBSTRING(SUBSTRING_INDEX(ma.attachments, '?', 1),
+                                    LOCATE('/conversations/', SUBSTRING_INDEX(ma.attachments, '?', 1)) + 1), 512)
+                ELSE NULL END AS object_key,
+           m.created_at
+    FROM message_attachments ma
+    JOIN messages m ON m.id = ma.message_id
+    WHERE ma.attachments IS NOT NULL AND ma.attachments <> ''
+      AND NOT EXISTS (SELECT 1 FROM message_attachment x WHERE x.message_id = ma.message_id)
+) a;
+
+DROP TABLE IF EXISTS message_attachments;
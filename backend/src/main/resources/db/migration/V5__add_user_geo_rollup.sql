@@ -0,0 +1,26 @@
+-- Geographic analytics rollup: users per (country, city, role)
+-- Maintained by UserGeoRollupListener after each user write; backfilled here from existing users.
+
+CREATE TABLE user_geo_rollup (
+    id BINARY(16) NOT NULL,
+    country VARCHAR(255) NOT NULL,
+    city VARCHAR(255) NOT NULL DEFAULT '' COMMENT 'Empty string when users have no city set',
+    role VARCHAR(20) NOT NULL,
+    user_count BIGINT NOT NULL DEFAULT 0,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_geo_rollup UNIQUE (country, city, role)
+);
+
+CREATE INDEX idx_user_geo_rollup_role ON user_geo_rollup(role, country);
+
+-- Supports the grouped per-country count and the per-country rollup refresh
+CREATE INDEX idx_users_country_city ON users(country, city);
+
+INSERT INTO user_geo_rollup (id, country, city, role, user_count, updated_at)
+SELECT UUID_TO_BIN(UUID()), u.country, COALESCE(u.city, ''), ur.role, COUNT(*), UTC_TIMESTAMP(6)
+FROM users u
+JOIN user_roles ur ON ur.user_id = u.id
+WHERE u.country IS NOT NULL
+AND u.deleted_at IS NULL
+GROUP BY u.country, COALESCE(u.city, ''), ur.role;
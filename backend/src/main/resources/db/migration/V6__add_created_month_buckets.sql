@@ -0,0 +1,30 @@
+-- UTC month buckets for the admin and dashboard time-series queries
+-- created_at is stored as UTC DATETIME (hibernate.jdbc.time_zone=UTC, session time_zone +00:00),
+-- so the bucket needs no CONVERT_TZ and can be a deterministic stored generated column.
+-- Series queries filter and GROUP BY created_month, which turns a full scan into an index range scan.
+-- Adding a STORED column rebuilds each table; run during a low-traffic window on large datasets.
+
+ALTER TABLE users
+ADD COLUMN created_month CHAR(7) AS (DATE_FORMAT(created_at, '%Y-%m')) STORED COMMENT 'UTC month of created_at (YYYY-MM)';
+
+CREATE INDEX idx_users_created_month ON users(created_month, deleted_at);
+
+ALTER TABLE projects
+ADD COLUMN created_month CHAR(7) AS (DATE_FORMAT(created_at, '%Y-%m')) STORED COMMENT 'UTC month of created_at (YYYY-MM)';
+
+CREATE INDEX idx_projects_created_month ON projects(created_month, status);
+CREATE INDEX idx_projects_client_month ON projects(client_id, created_month);
+
+ALTER TABLE contracts
+ADD COLUMN created_month CHAR(7) AS (DATE_FORMAT(created_at, '%Y-%m')) STORED COMMENT 'UTC month of created_at (YYYY-MM)';
+
+CREATE INDEX idx_contracts_created_month ON contracts(created_month);
+CREATE INDEX idx_contracts_client_month ON contracts(client_id, created_month);
+CREATE INDEX idx_contracts_freelancer_month ON contracts(freelancer_id, created_month);
+
+ALTER TABLE transactions
+ADD COLUMN created_month CHAR(7) AS (DATE_FORMAT(created_at, '%Y-%m')) STORED COMMENT 'UTC month of created_at (YYYY-MM)';
+
+-- Covering for the monthly count and revenue series (amount included to avoid row lookups)
+CREATE INDEX idx_transactions_month_status ON transactions(created_month, status, amount);
+CREATE INDEX idx_transactions_contract_month ON transactions(contract_id, status, created_month);
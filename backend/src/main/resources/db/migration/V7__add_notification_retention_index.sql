@@ -0,0 +1,5 @@
+-- Retention purge support
+-- The purge walks notifications in primary-key order per type and age; this index lets MySQL
+-- answer "is this type expired?" without touching the clustered rows of live notifications.
+
+CREATE INDEX idx_notifications_type_created_at ON notifications(type, created_at);
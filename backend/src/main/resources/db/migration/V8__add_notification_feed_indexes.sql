@@ -0,0 +1,11 @@
+-- Notification feed indexes
+-- Filtered listings (is_read) and the keyset-paginated feed read a user's notifications newest first;
+-- InnoDB appends the primary key to every secondary index, so (created_at, id) ordering is covered.
+
+CREATE INDEX idx_notifications_user_read_created ON notifications(user_id, is_read, created_at);
+CREATE INDEX idx_notifications_user_created ON notifications(user_id, created_at);
+
+-- The grouped feed checks "is there a newer notification in this conversation group?";
+-- lead with group_type and finish with created_at so that probe is a single index seek.
+CREATE INDEX idx_notifications_user_group_created ON notifications(user_id, group_type, group_key, created_at);
+DROP INDEX idx_notifications_user_group ON notifications;
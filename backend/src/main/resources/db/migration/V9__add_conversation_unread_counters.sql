@@ -0,0 +1,19 @@
+-- Per-participant unread counters on conversations
+-- Incremented when a message is sent and decremented by the number of rows a read receipt flips,
+-- both as single-row UPDATEs in the same transaction as the message change.
+
+ALTER TABLE conversations
+ADD COLUMN participant1_unread_count INT NOT NULL DEFAULT 0 COMMENT 'Unread messages for participant1',
+ADD COLUMN participant2_unread_count INT NOT NULL DEFAULT 0 COMMENT 'Unread messages for participant2';
+
+-- Set-based mark-as-read: UPDATE ... WHERE conversation_id = ? AND recipient_id = ? AND is_read = false
+CREATE INDEX idx_messages_conversation_recipient_read ON messages(conversation_id, recipient_id, is_read);
+
+-- Backfill from the existing messages
+UPDATE conversations c
+SET c.participant1_unread_count = (
+        SELECT COUNT(*) FROM messages m
+        WHERE m.conversation_id = c.id AND m.recipient_id = c.participant1_id AND m.is_read = false),
+    c.participant2_unread_count = (
+        SELECT COUNT(*) FROM messages m
+        WHERE m.conversation_id = c.id AND m.recipient_id = c.participant2_id AND m.is_read = false);
@@ -0,0 +1,126 @@
+package com.freelance.platform.config;
+
+import com.freelance.platform.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes over two H2 databases that each name themselves in a marker table, wired like
+ * {@link ReplicaRoutingConfig}: routing DataSource behind a lazy connection proxy.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final long STICKY_WINDOW_MS = 300;
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, replica, STICKY_WINDOW_MS, new SimpleMeterRegistry());
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimary() {
+        routingDataSource.setReplicaAvailable(true);
+
+        assertEquals("primary", readWrite.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaOnceItIsAvailable() {
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+
+        routingDataSource.setReplicaAvailable(true);
+
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void connectionsOutsideATransactionUseThePrimary() {
+        routingDataSource.setReplicaAvailable(true);
+
+        assertEquals("primary", currentDatabase());
+    }
+
+    @Test
+    void readsFollowTheUsersOwnWriteToThePrimaryForTheStickyWindow() throws InterruptedException {
+        routingDataSource.setReplicaAvailable(true);
+        UUID writer = UUID.randomUUID();
+
+        signIn(writer);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET touched = touched + 1"));
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+
+        signIn(UUID.randomUUID());
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+
+        Thread.sleep(STICKY_WINDOW_MS + 50);
+        signIn(writer);
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void rolledBackWritesDoNotMakeReadsSticky() {
+        routingDataSource.setReplicaAvailable(true);
+        signIn(UUID.randomUUID());
+
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE marker SET touched = touched + 1");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private void signIn(UUID userId) {
+        UserPrincipal principal = new UserPrincipal(userId, userId + "@example.com", "hash", List.of(), true, true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(16), touched INT)");
+        jdbc.update("INSERT INTO marker (name, touched) VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
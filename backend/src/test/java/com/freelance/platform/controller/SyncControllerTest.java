@@ -0,0 +1,247 @@
+package com.freelance.platform.controller;
+
+import com.freelance.platform.dto.request.MessageRequest;
+import com.freelance.platform.dto.response.ConversationResponse;
+import com.freelance.platform.dto.response.MessageResponse;
+import com.freelance.platform.dto.response.SyncResponse;
+import com.freelance.platform.entity.Conversation;
+import com.freelance.platform.entity.ConversationType;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.User;
+import com.freelance.platform.security.UserPrincipal;
+import com.freelance.platform.service.ConversationService;
+import com.freelance.platform.service.DistributedLockService;
+import com.freelance.platform.service.EmailNotificationService;
+import com.freelance.platform.service.MessageArchiveService;
+import com.freelance.platform.service.MessageService;
+import com.freelance.platform.service.MessageTailCache;
+import com.freelance.platform.service.NotificationService;
+import com.freelance.platform.service.SyncChangeService;
+import com.freelance.platform.service.SyncService;
+import com.freelance.platform.service.UserInboxService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * GET /api/sync for a reconnecting client: an up-to-date cursor gets an empty delta, a stale one gets
+ * the current state of everything touched since, and a cursor the log can no longer serve forces a
+ * full reload. Runs without the test transaction so each service call commits and writes its change
+ * log rows the way a request would.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({SyncController.class, SyncService.class, SyncChangeService.class, MessageService.class,
+        ConversationService.class, UserInboxService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SyncControllerTest {
+
+    @MockitoBean
+    private MessageTailCache messageTailCache;
+
+    @MockitoBean
+    private MessageArchiveService messageArchiveService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private EmailNotificationService emailNotificationService;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @MockitoBean
+    private DistributedLockService distributedLockService;
+
+    @Autowired
+    private SyncController syncController;
+
+    @Autowired
+    private SyncChangeService syncChangeService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private ConversationService conversationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User client;
+    private User freelancer;
+    private UUID conversationId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            client = newUser("client");
+            freelancer = newUser("freelancer");
+        });
+        Conversation conversation = transactionTemplate.execute(status ->
+                conversationService.getOrCreateConversation(client, freelancer, null, ConversationType.DIRECT_MESSAGE));
+        conversationId = conversation.getId();
+        when(distributedLockService.runExclusively(anyString(), any(Duration.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(2).run();
+                    return true;
+                });
+    }
+
+    @Test
+    void upToDateCursorGetsAnEmptyDelta() {
+        SyncResponse first = sync(freelancer, null);
+        assertTrue(first.isResetRequired(), "a client without a cursor reloads in full");
+
+        SyncResponse delta = sync(freelancer, first.getCursor());
+
+        assertFalse(delta.isResetRequired());
+        assertFalse(delta.isHasMore());
+        assertEquals(first.getCursor(), delta.getCursor());
+        assertTrue(delta.getMessages().isEmpty());
+        assertTrue(delta.getDeletedMessageIds().isEmpty());
+        assertTrue(delta.getConversations().isEmpty());
+        assertTrue(delta.getNotifications().isEmpty());
+    }
+
+    @Test
+    void deltaCarriesASendAReadAndADelete() {
+        String cursor = sync(freelancer, null).getCursor();
+
+        MessageResponse kept = messageService.sendMessage(conversationId, request("hello"), client.getId());
+        MessageResponse removed = messageService.sendMessage(conversationId, request("typo"), client.getId());
+        // Messages have no edit; reading one is the change to an existing message the client must pick up
+        messageService.markAsRead(kept.getId(), freelancer.getId());
+        messageService.deleteMessage(removed.getId(), client.getId());
+
+        SyncResponse delta = sync(freelancer, cursor);
+
+        assertFalse(delta.isResetRequired());
+        assertEquals(List.of(kept.getId()), delta.getMessages().stream().map(MessageResponse::getId).toList());
+        assertTrue(delta.getMessages().get(0).getIsRead(), "the message comes back in its current, read state");
+        assertEquals(List.of(kept.getId()), delta.getReadMessageIds());
+        assertEquals(List.of(removed.getId()), delta.getDeletedMessageIds());
+        assertEquals(List.of(conversationId), delta.getConversations().stream().map(ConversationResponse::getId).toList());
+        assertTrue(Long.parseLong(delta.getCursor()) > Long.parseLong(cursor));
+
+        // One gap-free sequence per user, ending at the cursor handed out
+        List<Long> seqs = transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT c.seq FROM SyncChange c WHERE c.userId = :userId ORDER BY c.seq", Long.class)
+                .setParameter("userId", freelancer.getId())
+                .getResultList());
+        assertEquals(LongStream.rangeClosed(1, seqs.size()).boxed().toList(), seqs);
+        assertEquals(String.valueOf(seqs.size()), delta.getCursor());
+
+        SyncResponse caughtUp = sync(freelancer, delta.getCursor());
+        assertFalse(caughtUp.isResetRequired());
+        assertTrue(caughtUp.getMessages().isEmpty());
+        assertTrue(caughtUp.getDeletedMessageIds().isEmpty());
+    }
+
+    @Test
+    void deltaIsPagedByLimit() {
+        String cursor = sync(freelancer, null).getCursor();
+        for (int i = 0; i < 3; i++) {
+            messageService.sendMessage(conversationId, request("page " + i), client.getId());
+        }
+
+        SyncResponse first = syncController.getChanges(cursor, 2, principal(freelancer)).getBody();
+        SyncResponse second = syncController.getChanges(first.getCursor(), 2, principal(freelancer)).getBody();
+
+        assertTrue(first.isHasMore());
+        assertEquals(2, first.getMessages().size());
+        assertFalse(second.isHasMore());
+        assertEquals(1, second.getMessages().size());
+    }
+
+    @Test
+    void cursorAheadOfTheLogForcesAFullResync() {
+        String current = sync(freelancer, null).getCursor();
+
+        SyncResponse response = sync(freelancer, String.valueOf(Long.parseLong(current) + 100));
+
+        assertTrue(response.isResetRequired());
+        assertEquals(current, response.getCursor());
+    }
+
+    @Test
+    void cursorBehindThePurgedLogForcesAFullResync() {
+        String cursor = sync(freelancer, null).getCursor();
+        messageService.sendMessage(conversationId, request("expired"), client.getId());
+        messageService.sendMessage(conversationId, request("expired too"), client.getId());
+        String current = sync(freelancer, cursor).getCursor();
+
+        // Age this user's log past retention and let the scheduled purge remove it
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE SyncChange c SET c.createdAt = :createdAt WHERE c.userId = :userId")
+                .setParameter("createdAt", LocalDateTime.now().minusDays(30))
+                .setParameter("userId", freelancer.getId())
+                .executeUpdate());
+        syncChangeService.purgeExpiredChanges();
+
+        SyncResponse response = sync(freelancer, cursor);
+
+        assertTrue(response.isResetRequired());
+        assertEquals(current, response.getCursor());
+        assertTrue(response.getMessages().isEmpty());
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> sync(freelancer, "yesterday"));
+        assertThrows(IllegalArgumentException.class, () -> sync(freelancer, "-1"));
+    }
+
+    private SyncResponse sync(User user, String since) {
+        return syncController.getChanges(since, 500, principal(user)).getBody();
+    }
+
+    private UserPrincipal principal(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), "hash", List.of(), true, true);
+    }
+
+    private MessageRequest request(String content) {
+        MessageRequest request = new MessageRequest();
+        request.setContent(content);
+        return request;
+    }
+
+    private User newUser(String name) {
+        User user = new User(name + "-" + UUID.randomUUID() + "@example.com", "hash", "Test", name, Set.of(Role.CLIENT));
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,42 @@
+package com.freelance.platform.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProjectSnippetTest {
+
+    private static final String EMOJI = "🚀";
+
+    @Test
+    void shortDescriptionIsItsOwnSnippet() {
+        String description = "x".repeat(Project.SNIPPET_LENGTH);
+
+        assertEquals(description, snippetOf(description));
+        assertNull(snippetOf(null));
+    }
+
+    @Test
+    void longDescriptionIsCutAtSnippetLength() {
+        assertEquals("x".repeat(Project.SNIPPET_LENGTH) + "...", snippetOf("x".repeat(Project.SNIPPET_LENGTH + 1)));
+    }
+
+    @Test
+    void supplementaryCharactersCountAsOneAndAreNeverSplit() {
+        // 280 code points but 560 UTF-16 chars: fits, like CHAR_LENGTH in MySQL
+        String emojis = EMOJI.repeat(Project.SNIPPET_LENGTH);
+        assertEquals(emojis, snippetOf(emojis));
+
+        // The cut lands right after a surrogate pair that a char-based substring would have split
+        String snippet = snippetOf("a" + EMOJI.repeat(Project.SNIPPET_LENGTH));
+        assertEquals("a" + EMOJI.repeat(Project.SNIPPET_LENGTH - 1) + "...", snippet);
+        assertEquals(Project.SNIPPET_LENGTH + 3, snippet.codePointCount(0, snippet.length()));
+    }
+
+    private static String snippetOf(String description) {
+        Project project = new Project();
+        project.setDescription(description);
+        return project.getDescriptionSnippet();
+    }
+}
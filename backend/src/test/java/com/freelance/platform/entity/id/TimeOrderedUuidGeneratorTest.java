@@ -0,0 +1,98 @@
+package com.freelance.platform.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedUuidGeneratorTest {
+
+    private static final int IDS = 100_000;
+    private static final int THREADS = 8;
+
+    @Test
+    void idsAreVersion7WithTheRfcVariant() {
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = TimeOrderedUuidGenerator.next();
+            assertEquals(7, id.version(), id.toString());
+            assertEquals(2, id.variant(), id.toString());
+            // The same bits as stored: version nibble 0111, variant bits 10
+            assertEquals(0x7L, (id.getMostSignificantBits() >>> 12) & 0xFL);
+            assertEquals(0x2L, id.getLeastSignificantBits() >>> 62);
+        }
+    }
+
+    @Test
+    void timestampIsTheCurrentUnixMillisecond() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuidGenerator.next();
+        long after = System.currentTimeMillis();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        // Counter overflow may push the timestamp a little ahead of the clock, never behind it
+        assertTrue(millis >= before && millis <= after + 1_000, "timestamp " + millis + " outside [" + before + ", " + after + "]");
+    }
+
+    @Test
+    void idsAreStrictlyIncreasingInStorageOrder() {
+        UUID previous = TimeOrderedUuidGenerator.next();
+        for (int i = 0; i < IDS; i++) {
+            UUID id = TimeOrderedUuidGenerator.next();
+            assertTrue(compareAsBytes(previous, id) < 0, previous + " !< " + id);
+            // BINARY(16) columns and the keyset cursors compare ids as their hex strings
+            assertTrue(previous.toString().compareTo(id.toString()) < 0, previous + " !< " + id);
+            previous = id;
+        }
+    }
+
+    @Test
+    void concurrentIdsAreUniqueAndIncreasingPerThread() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Callable<List<UUID>> task = () -> {
+                    start.await();
+                    List<UUID> ids = new ArrayList<>(IDS / THREADS);
+                    for (int i = 0; i < IDS / THREADS; i++) {
+                        ids.add(TimeOrderedUuidGenerator.next());
+                    }
+                    return ids;
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+
+            Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> future : futures) {
+                List<UUID> ids = future.get(30, TimeUnit.SECONDS);
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(compareAsBytes(ids.get(i - 1), ids.get(i)) < 0);
+                }
+                all.addAll(ids);
+            }
+            assertEquals(IDS, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Unsigned big-endian order of the 16 bytes; UUID.compareTo compares signed longs and is not used for storage
+    private static int compareAsBytes(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
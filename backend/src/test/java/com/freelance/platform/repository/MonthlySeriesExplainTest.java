@@ -0,0 +1,110 @@
+package com.freelance.platform.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EXPLAINs every monthly-series query against a real MySQL schema created from the entity mappings, so a
+ * missing created_month column or a predicate that cannot use the V6 month indexes fails here rather than
+ * in production. Only runs when EXPLAIN_TEST_MYSQL_URL points at a scratch database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_TEST_MYSQL_URL", matches = ".+")
+@TestPropertySource(properties = {
+        "spring.datasource.url=${EXPLAIN_TEST_MYSQL_URL}",
+        "spring.datasource.username=${EXPLAIN_TEST_MYSQL_USERNAME:root}",
+        "spring.datasource.password=${EXPLAIN_TEST_MYSQL_PASSWORD:}",
+        "spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class MonthlySeriesExplainTest {
+
+    private static final Pattern PARAMETER = Pattern.compile(":(\\w+)");
+
+    // EXPLAIN columns: id, select_type, table, partitions, type, possible_keys, key, ...
+    private static final int TABLE = 2;
+    private static final int POSSIBLE_KEYS = 5;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void monthlySeriesQueriesCanUseMonthIndexes() {
+        List<String> queries = new ArrayList<>();
+        for (Class<?> repository : List.of(UserRepository.class, ProjectRepository.class,
+                ContractRepository.class, TransactionRepository.class)) {
+            for (Method method : repository.getDeclaredMethods()) {
+                Query query = method.getAnnotation(Query.class);
+                if (query != null && query.nativeQuery() && query.value().contains("created_month")) {
+                    queries.add(query.value());
+                }
+            }
+        }
+        assertFalse(queries.isEmpty(), "no created_month queries found");
+
+        for (String sql : queries) {
+            String alias = monthAlias(sql);
+            boolean checked = false;
+            for (Object row : entityManager.createNativeQuery("EXPLAIN " + bind(sql)).getResultList()) {
+                Object[] plan = (Object[]) row;
+                if (!alias.equals(plan[TABLE])) {
+                    continue;
+                }
+                checked = true;
+                Object possibleKeys = plan[POSSIBLE_KEYS];
+                assertNotNull(possibleKeys, "no usable index for: " + sql);
+                assertTrue(possibleKeys.toString().contains("_month"),
+                        "created_month predicate cannot use a month index (" + possibleKeys + "): " + sql);
+            }
+            assertTrue(checked, "no plan row for alias " + alias + ": " + sql);
+        }
+    }
+
+    // The table whose created_month is grouped on, e.g. "t" for "GROUP BY t.created_month"
+    private static String monthAlias(String sql) {
+        Matcher matcher = Pattern.compile("GROUP BY (\\w+)\\.created_month").matcher(sql);
+        assertTrue(matcher.find(), "query does not group by created_month: " + sql);
+        return matcher.group(1);
+    }
+
+    private static String bind(String sql) {
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder bound = new StringBuilder();
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            String literal;
+            if (name.endsWith("Id")) {
+                literal = "UNHEX('0190A1B2C3D47E5F8A9B0C1D2E3F4A5B')";
+            } else if (name.endsWith("Month")) {
+                literal = "'2025-01'";
+            } else if (name.equals("limit")) {
+                literal = "12";
+            } else {
+                literal = "'NL'";
+            }
+            matcher.appendReplacement(bound, Matcher.quoteReplacement(literal));
+        }
+        matcher.appendTail(bound);
+        return bound.toString();
+    }
+}
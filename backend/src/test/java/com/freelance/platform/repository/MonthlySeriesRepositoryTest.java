@@ -0,0 +1,239 @@
+package com.freelance.platform.repository;
+
+import com.freelance.platform.entity.Contract;
+import com.freelance.platform.entity.Milestone;
+import com.freelance.platform.entity.PaymentRequest;
+import com.freelance.platform.entity.Project;
+import com.freelance.platform.entity.ProjectType;
+import com.freelance.platform.entity.Proposal;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.Transaction;
+import com.freelance.platform.entity.TransactionStatus;
+import com.freelance.platform.entity.TransactionType;
+import com.freelance.platform.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The monthly series read the created_month bucket instead of formatting created_at per row. Runs on the
+ * H2 profile on every build: the generated column and its index must exist, and each rewritten query must
+ * bucket rows into the right UTC month. Whether MySQL range-scans the index is {@link MonthlySeriesExplainTest}'s job.
+ * Other tests share the database, so the global series are compared as before/after deltas.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class MonthlySeriesRepositoryTest {
+
+    private static final YearMonth THIS_MONTH = YearMonth.now(ZoneOffset.UTC);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User client;
+    private User freelancer;
+
+    @BeforeEach
+    void setUp() {
+        client = newUser("client", Role.CLIENT);
+        freelancer = newUser("freelancer", Role.FREELANCER);
+    }
+
+    @Test
+    void createdMonthIsAnIndexedGeneratedColumn() {
+        for (String table : List.of("users", "projects", "contracts", "transactions")) {
+            Object generated = entityManager.createNativeQuery(
+                            "SELECT is_generated FROM information_schema.columns " +
+                            "WHERE table_name = :table AND column_name = 'created_month'")
+                    .setParameter("table", table)
+                    .getSingleResult();
+            assertEquals("ALWAYS", generated, table);
+
+            Number leadingIndexes = (Number) entityManager.createNativeQuery(
+                            "SELECT COUNT(*) FROM information_schema.index_columns " +
+                            "WHERE table_name = :table AND column_name = 'created_month' AND ordinal_position = 1")
+                    .setParameter("table", table)
+                    .getSingleResult();
+            assertTrue(leadingIndexes.intValue() > 0, "no index leads with created_month on " + table);
+        }
+    }
+
+    @Test
+    void generatedMonthFollowsCreatedAt() {
+        User user = newUser("bucketed", Role.FREELANCER);
+        backdate("users", user.getId(), LocalDateTime.of(2024, 2, 29, 23, 59, 59));
+
+        assertEquals("2024-02", entityManager.find(User.class, user.getId()).getCreatedMonth());
+    }
+
+    @Test
+    void userSeriesCoversTheLastTwelveMonths() {
+        String country = "Z" + (char) ('A' + (int) (Math.random() * 26));
+        Map<String, Long> before = series(userRepository.findMonthlyUserCountsSince(month(11)));
+        Map<String, Long> countryBefore = series(userRepository.findMonthlySignupCountsByCountrySince(country, month(11)));
+
+        signUp(country, 0);
+        signUp(country, 0);
+        signUp(country, 11);
+        signUp(country, 12);
+        User deleted = signUp(country, 3);
+        entityManager.createNativeQuery("UPDATE users SET deleted_at = CURRENT_TIMESTAMP WHERE id = :id")
+                .setParameter("id", deleted.getId())
+                .executeUpdate();
+
+        Map<String, Long> expected = Map.of(month(0), 2L, month(11), 1L);
+        assertEquals(expected, delta(before, series(userRepository.findMonthlyUserCountsSince(month(11)))));
+        assertEquals(expected, delta(countryBefore, series(userRepository.findMonthlySignupCountsByCountrySince(country, month(11)))));
+    }
+
+    @Test
+    void projectAndContractSeriesBucketByMonth() {
+        Map<String, Long> projectsBefore = series(projectRepository.findMonthlyProjectCountsSince(month(11)));
+        Map<String, Long> contractsBefore = series(contractRepository.findMonthlyContractCountsSince(month(11)));
+
+        newContract(1);
+        newContract(1);
+        newContract(5);
+        newContract(14);
+
+        Map<String, Long> expected = Map.of(month(1), 2L, month(5), 1L);
+        assertEquals(expected, delta(projectsBefore, series(projectRepository.findMonthlyProjectCountsSince(month(11)))));
+        assertEquals(expected, delta(contractsBefore, series(contractRepository.findMonthlyContractCountsSince(month(11)))));
+
+        assertEquals(expected, series(projectRepository.getProjectTrendByClientId(client.getId(), month(5))));
+        assertEquals(expected, series(contractRepository.getProjectTrendByFreelancerId(freelancer.getId(), month(5))));
+        assertEquals(expected, series(contractRepository.getFreelancerTrendByClientId(client.getId(), month(5))));
+    }
+
+    @Test
+    void revenueSeriesSumsCompletedTransactions() {
+        Map<String, Long> countsBefore = series(transactionRepository.findMonthlyTransactionCountsSince(month(11)));
+        Map<String, Long> revenueBefore = series(transactionRepository.findMonthlyRevenueSince(month(11)));
+
+        Contract contract = newContract(0);
+        newTransaction(contract, "100.00", TransactionStatus.COMPLETED, 2);
+        newTransaction(contract, "50.00", TransactionStatus.COMPLETED, 2);
+        newTransaction(contract, "75.00", TransactionStatus.PENDING, 2);
+        newTransaction(contract, "20.00", TransactionStatus.COMPLETED, 4);
+        newTransaction(contract, "999.00", TransactionStatus.COMPLETED, 13);
+
+        assertEquals(Map.of(month(2), 3L, month(4), 1L),
+                delta(countsBefore, series(transactionRepository.findMonthlyTransactionCountsSince(month(11)))));
+        Map<String, Long> completed = Map.of(month(2), 150L, month(4), 20L);
+        assertEquals(completed, delta(revenueBefore, series(transactionRepository.findMonthlyRevenueSince(month(11)))));
+
+        assertEquals(completed, series(transactionRepository.getEarningsTrendByFreelancerId(freelancer.getId(), month(11))));
+        assertEquals(completed, series(transactionRepository.getSpendingTrendByClientId(client.getId(), month(11))));
+
+        // Latest earning months first, including ones older than the 12-month window
+        List<Object[]> latest = transactionRepository.getTopEarningMonthsByFreelancerId(freelancer.getId(), 3);
+        assertEquals(List.of(month(2), month(4), month(13)), latest.stream().map(row -> row[0].toString()).toList());
+    }
+
+    private User signUp(String country, int monthsAgo) {
+        User user = newUser("signup", Role.FREELANCER);
+        user.setCountry(country);
+        entityManager.flush();
+        backdate("users", user.getId(), monthsAgo);
+        return user;
+    }
+
+    private Contract newContract(int monthsAgo) {
+        Project project = new Project(client, "Project", "Description", ProjectType.FIXED);
+        entityManager.persist(project);
+        Proposal proposal = new Proposal(project, freelancer, client, "Proposal", "Proposal description", new BigDecimal("100.00"));
+        entityManager.persist(proposal);
+        Contract contract = new Contract(project, client, freelancer, proposal, "Contract", "Contract description",
+                new BigDecimal("100.00"), LocalDate.now(), LocalDate.now().plusWeeks(2));
+        entityManager.persist(contract);
+        entityManager.flush();
+        backdate("projects", project.getId(), monthsAgo);
+        backdate("contracts", contract.getId(), monthsAgo);
+        return contract;
+    }
+
+    private void newTransaction(Contract contract, String amount, TransactionStatus status, int monthsAgo) {
+        Milestone milestone = new Milestone(contract, "Milestone", "Milestone description", new BigDecimal(amount), 0);
+        entityManager.persist(milestone);
+        PaymentRequest request = new PaymentRequest(contract, milestone, freelancer, client, new BigDecimal(amount), "Payment");
+        entityManager.persist(request);
+        Transaction transaction = new Transaction(contract, request, new BigDecimal(amount), TransactionType.PAYMENT);
+        transaction.setStatus(status);
+        entityManager.persist(transaction);
+        entityManager.flush();
+        backdate("transactions", transaction.getId(), monthsAgo);
+    }
+
+    // Mid-month so the bucket does not depend on the time of day the test runs
+    private void backdate(String table, UUID id, int monthsAgo) {
+        backdate(table, id, THIS_MONTH.minusMonths(monthsAgo).atDay(15).atTime(12, 0));
+    }
+
+    private void backdate(String table, UUID id, LocalDateTime createdAt) {
+        entityManager.createNativeQuery("UPDATE " + table + " SET created_at = :createdAt WHERE id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    private static String month(int monthsAgo) {
+        return THIS_MONTH.minusMonths(monthsAgo).toString();
+    }
+
+    private static Map<String, Long> series(List<Object[]> rows) {
+        Map<String, Long> series = new HashMap<>();
+        for (Object[] row : rows) {
+            series.put(row[0].toString(), ((Number) row[1]).longValue());
+        }
+        return series;
+    }
+
+    private static Map<String, Long> delta(Map<String, Long> before, Map<String, Long> after) {
+        Map<String, Long> delta = new HashMap<>();
+        after.forEach((month, value) -> {
+            long change = value - before.getOrDefault(month, 0L);
+            if (change != 0) {
+                delta.put(month, change);
+            }
+        });
+        return delta;
+    }
+
+    private User newUser(String name, Role role) {
+        User user = new User(name + "-" + UUID.randomUUID() + "@example.com", "hash", "Test", name, Set.of(role));
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,187 @@
+package com.freelance.platform.repository;
+
+import com.freelance.platform.entity.Notification;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The grouped feed pages over group heads with a (createdAt, id) keyset, so a conversation group shows up
+ * exactly once however the pages fall, and the listing filters run in SQL before paging.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class NotificationRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private String groupA;
+    private String groupB;
+    private String groupC;
+    private final Map<String, Notification> byName = new HashMap<>();
+    private final Map<String, LocalDateTime> createdAt = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        user = newUser("reader");
+        User other = newUser("other");
+        groupA = "conversation:" + UUID.randomUUID();
+        groupB = "conversation:" + UUID.randomUUID();
+        groupC = "conversation:" + UUID.randomUUID();
+
+        // Minutes ago; u2 ties with b2 and u3 with a2, so the id decides their order
+        conversation("a1", user, groupA, 10);
+        conversation("a2", user, groupA, 8);
+        conversation("a3", user, groupA, 2);
+        conversation("b1", user, groupB, 9);
+        conversation("b2", user, groupB, 5);
+        conversation("c1", user, groupC, 7);
+        ungrouped("u1", user, 1, "SYSTEM");
+        ungrouped("u2", user, 5, "PROPOSAL_RECEIVED");
+        ungrouped("u3", user, 8, "SYSTEM");
+        // Another user's newer notification in the same group must not hide this user's head
+        conversation("other-a", other, groupA, 0);
+        entityManager.flush();
+
+        byName.forEach((name, notification) -> entityManager
+                .createNativeQuery("UPDATE notifications SET created_at = :createdAt WHERE id = :id")
+                .setParameter("createdAt", createdAt.get(name))
+                .setParameter("id", notification.getId())
+                .executeUpdate());
+        entityManager.clear();
+    }
+
+    @Test
+    void groupsAreNotSplitAcrossPages() {
+        Set<UUID> heads = new HashSet<>();
+        for (String name : List.of("u1", "a3", "b2", "u2", "c1", "u3")) {
+            heads.add(byName.get(name).getId());
+        }
+        List<Notification> onePage = readWholeFeed(100);
+        List<UUID> reference = onePage.stream().map(Notification::getId).toList();
+
+        assertEquals(heads, new HashSet<>(reference));
+        assertEquals(heads.size(), reference.size());
+        assertEquals(createdAt.get("u1"), onePage.get(0).getCreatedAt());
+        for (int i = 1; i < onePage.size(); i++) {
+            assertFalse(onePage.get(i).getCreatedAt().isAfter(onePage.get(i - 1).getCreatedAt()));
+        }
+        // Every page size, including ones that cut between the tied rows, walks the same feed
+        for (int size = 1; size <= heads.size(); size++) {
+            assertEquals(reference, readWholeFeed(size).stream().map(Notification::getId).toList(), "page size " + size);
+        }
+    }
+
+    @Test
+    void groupCountsCoverTheWholeGroupOfThisUserOnly() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : notificationRepository.countByUserIdAndConversationGroupKeys(
+                user.getId(), Set.of(groupA, groupB, groupC))) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+
+        assertEquals(Map.of(groupA, 3L, groupB, 2L, groupC, 1L), counts);
+    }
+
+    @Test
+    void isReadFilterAppliesBeforePaging() {
+        entityManager.createQuery("UPDATE Notification n SET n.isRead = true WHERE n.id IN :ids")
+                .setParameter("ids", List.of(byName.get("a3").getId(), byName.get("u1").getId(), byName.get("u3").getId()))
+                .executeUpdate();
+
+        Page<Notification> unread = notificationRepository.findByUserIdWithFilters(
+                user.getId(), null, null, false, null, PageRequest.of(0, 2));
+        Page<Notification> read = notificationRepository.findByUserIdWithFilters(
+                user.getId(), null, null, true, null, PageRequest.of(0, 10));
+        Page<Notification> unreadSystem = notificationRepository.findByUserIdWithFilters(
+                user.getId(), "SYSTEM", null, false, null, PageRequest.of(0, 10));
+
+        assertEquals(6, unread.getTotalElements());
+        assertEquals(2, unread.getContent().size());
+        assertTrue(unread.getContent().stream().noneMatch(Notification::getIsRead));
+        assertEquals(Set.of("a3", "u1", "u3"), names(read.getContent()));
+        assertEquals(0, unreadSystem.getTotalElements());
+    }
+
+    private List<Notification> readWholeFeed(int size) {
+        List<Notification> feed = new ArrayList<>();
+        LocalDateTime cursorAt = null;
+        UUID cursorId = null;
+        while (true) {
+            List<Notification> page = notificationRepository.findGroupHeadsByUserId(
+                    user.getId(), cursorAt, cursorId, PageRequest.of(0, size));
+            feed.addAll(page);
+            if (page.size() < size) {
+                return feed;
+            }
+            Notification last = page.get(page.size() - 1);
+            cursorAt = last.getCreatedAt();
+            cursorId = last.getId();
+        }
+    }
+
+    private Set<String> names(List<Notification> notifications) {
+        Set<String> names = new HashSet<>();
+        for (Notification notification : notifications) {
+            byName.forEach((name, seeded) -> {
+                if (seeded.getId().equals(notification.getId())) {
+                    names.add(name);
+                }
+            });
+        }
+        return names;
+    }
+
+    private void conversation(String name, User owner, String groupKey, int minutesAgo) {
+        Notification notification = new Notification(owner, "NEW_MESSAGE", name, "Message");
+        notification.setGroupType("CONVERSATION");
+        notification.setGroupKey(groupKey);
+        save(name, notification, minutesAgo);
+    }
+
+    private void ungrouped(String name, User owner, int minutesAgo, String type) {
+        save(name, new Notification(owner, type, name, "Message"), minutesAgo);
+    }
+
+    // createdAt is set on insert, so the seeded time is written back with a native update in setUp
+    private void save(String name, Notification notification, int minutesAgo) {
+        entityManager.persist(notification);
+        byName.put(name, notification);
+        createdAt.put(name, NOW.minusMinutes(minutesAgo));
+    }
+
+    private User newUser(String name) {
+        User user = new User(name + "-" + UUID.randomUUID() + "@example.com", "hash", "Test", name, Set.of(Role.CLIENT));
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,181 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.entity.Announcement;
+import com.freelance.platform.entity.AnnouncementPriority;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.TargetAudience;
+import com.freelance.platform.entity.User;
+import com.freelance.platform.service.admin.AdminActionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Announcement notifications go out in JDBC batches, one committed transaction per chunk of recipients.
+ * Runs without the test transaction so each chunk really commits; recipients are admins created by the
+ * test and soft-deleted afterwards, so every test sees only its own audience.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({AnnouncementService.class, NotificationService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnnouncementServiceTest {
+
+    private static final int RECIPIENTS = 1200;
+    private static final int CHUNKS = 3;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private NotificationBadgeService notificationBadgeService;
+
+    @MockitoBean
+    private SyncChangeService syncChangeService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @MockitoBean
+    private AdminActionService adminActionService;
+
+    @Autowired
+    private AnnouncementService announcementService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private List<UUID> recipientIds;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        recipientIds = transactionTemplate.execute(status -> {
+            List<UUID> ids = new ArrayList<>(RECIPIENTS);
+            for (int i = 0; i < RECIPIENTS; i++) {
+                User user = new User("admin-" + UUID.randomUUID() + "@example.com", "hash", "Test", "Admin", Set.of(Role.ADMIN));
+                entityManager.persist(user);
+                ids.add(user.getId());
+            }
+            return ids;
+        });
+        admin = transactionTemplate.execute(status -> entityManager.find(User.class, recipientIds.get(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE User u SET u.deletedAt = :now WHERE u.id IN :ids")
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("ids", recipientIds)
+                .executeUpdate());
+    }
+
+    @Test
+    void notificationsAreBatchedAndCommittedPerChunk() {
+        Announcement announcement = createAnnouncement();
+
+        statistics.clear();
+        Announcement sent = announcementService.sendAnnouncement(announcement.getId(), admin);
+        // Read before the checks below, which run transactions of their own
+        long statements = statistics.getPrepareStatementCount();
+        long transactions = statistics.getSuccessfulTransactionCount();
+
+        assertNotNull(sent.getSentAt());
+        assertEquals(RECIPIENTS, sent.getRecipientCount().intValue());
+        assertEquals(RECIPIENTS, notificationsFor(announcement));
+        // 1200 inserts at batch_size 50 are 24 statements; a round trip per row would be over a thousand
+        assertTrue(statements < RECIPIENTS / 20, "prepared statements: " + statements);
+        // Claim, recipient load, one per chunk, and the final recipient count
+        assertEquals(CHUNKS + 3, transactions);
+    }
+
+    @Test
+    void failedChunkDoesNotUndoTheOthers() {
+        Announcement announcement = createAnnouncement();
+        UUID failing = recipientIds.get(RECIPIENTS / 2);
+        doThrow(new IllegalStateException("sync log unavailable"))
+                .when(syncChangeService).record(eq(failing), any(), any());
+
+        Announcement sent = announcementService.sendAnnouncement(announcement.getId(), admin);
+
+        long written = notificationsFor(announcement);
+        // Only the chunk holding the failing recipient rolled back: a full chunk of 500 or the last one of 200
+        long lost = RECIPIENTS - written;
+        assertTrue(lost == 500 || lost == 200, "notifications lost: " + lost);
+        assertEquals(written, sent.getRecipientCount().longValue());
+        assertEquals(0L, transactionTemplate.execute(status -> entityManager.createQuery(
+                        "SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.title = :title", Long.class)
+                .setParameter("userId", failing)
+                .setParameter("title", announcement.getTitle())
+                .getSingleResult()).longValue());
+    }
+
+    @Test
+    void announcementIsSentOnlyOnce() {
+        Announcement announcement = createAnnouncement();
+        announcementService.sendAnnouncement(announcement.getId(), admin);
+
+        RuntimeException again = assertThrows(RuntimeException.class,
+                () -> announcementService.sendAnnouncement(announcement.getId(), admin));
+
+        assertEquals("Announcement has already been sent", again.getMessage());
+        assertEquals(RECIPIENTS, notificationsFor(announcement));
+    }
+
+    private Announcement createAnnouncement() {
+        return transactionTemplate.execute(status -> {
+            Announcement announcement = new Announcement("Maintenance " + UUID.randomUUID(), "Back soon",
+                    AnnouncementPriority.NORMAL, false, TargetAudience.ADMINS, entityManager.find(User.class, admin.getId()));
+            entityManager.persist(announcement);
+            return announcement;
+        });
+    }
+
+    private long notificationsFor(Announcement announcement) {
+        return transactionTemplate.execute(status -> entityManager.createQuery(
+                        "SELECT COUNT(n) FROM Notification n WHERE n.title = :title", Long.class)
+                .setParameter("title", announcement.getTitle())
+                .getSingleResult());
+    }
+}
@@ -0,0 +1,148 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.dto.response.ContractResponse;
+import com.freelance.platform.entity.Contract;
+import com.freelance.platform.entity.Milestone;
+import com.freelance.platform.entity.Project;
+import com.freelance.platform.entity.ProjectType;
+import com.freelance.platform.entity.Proposal;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A contract listing page costs the same handful of statements however many contracts it holds:
+ * count, page, the parties' roles and the page's milestones.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ContractService.class)
+class ContractListingQueryCountTest {
+
+    private static final long STATEMENTS_PER_PAGE = 4;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @MockitoBean
+    private ReviewService reviewService;
+
+    @MockitoBean
+    private EmailNotificationService emailNotificationService;
+
+    @MockitoBean
+    private OptimisticRetryService optimisticRetryService;
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User client;
+    private User freelancer;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        client = newUser("client", Role.CLIENT);
+        freelancer = newUser("freelancer", Role.FREELANCER);
+        for (int i = 0; i < 12; i++) {
+            // Odd contracts get a freelancer of their own, so a page holds many distinct users whose roles must load
+            createContract(client, i % 2 == 0 ? freelancer : newUser("other-" + i, Role.FREELANCER), i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void clientListingStatementsDoNotGrowWithPageSize() {
+        long small = statementsFor(() -> contractService.getContractsByClient(client.getId(), PageRequest.of(0, 3)));
+        long large = statementsFor(() -> contractService.getContractsByClient(client.getId(), PageRequest.of(0, 10)));
+
+        assertEquals(STATEMENTS_PER_PAGE, small);
+        assertEquals(STATEMENTS_PER_PAGE, large);
+    }
+
+    @Test
+    void freelancerListingStatementsDoNotGrowWithPageSize() {
+        long small = statementsFor(() -> contractService.getContractsByFreelancer(freelancer.getId(), PageRequest.of(0, 2)));
+        long large = statementsFor(() -> contractService.getContractsByFreelancer(freelancer.getId(), PageRequest.of(0, 5)));
+
+        assertEquals(STATEMENTS_PER_PAGE, small);
+        assertEquals(STATEMENTS_PER_PAGE, large);
+    }
+
+    @Test
+    void listingCarriesPartiesAndMilestones() {
+        Page<ContractResponse> page = contractService.getContractsByClient(client.getId(), PageRequest.of(0, 12));
+
+        assertEquals(12L, page.getTotalElements());
+        for (ContractResponse contract : page.getContent()) {
+            assertEquals(client.getId(), contract.getClientId());
+            assertTrue(contract.getFreelancerName().startsWith("Test "));
+            assertEquals(2, contract.getMilestones().size());
+            assertEquals(0, contract.getMilestones().get(0).getOrderIndex().intValue());
+            assertEquals(1, contract.getMilestones().get(1).getOrderIndex().intValue());
+        }
+    }
+
+    private long statementsFor(Supplier<Page<ContractResponse>> listing) {
+        entityManager.clear();
+        statistics.clear();
+        Page<ContractResponse> page = listing.get();
+        assertTrue(page.hasNext(), "a full first page, so the count query runs as well");
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createContract(User client, User freelancer, int index) {
+        Project project = new Project(client, "Project " + index, "Description " + index, ProjectType.FIXED);
+        entityManager.persist(project);
+        Proposal proposal = new Proposal(project, freelancer, client, "Proposal " + index, "Proposal description", new BigDecimal("500.00"));
+        entityManager.persist(proposal);
+        Contract contract = new Contract(project, client, freelancer, proposal, "Contract " + index, "Contract description",
+                new BigDecimal("500.00"), LocalDate.now(), LocalDate.now().plusMonths(1));
+        entityManager.persist(contract);
+        for (int order = 0; order < 2; order++) {
+            entityManager.persist(new Milestone(contract, "Milestone " + order, "Milestone description",
+                    new BigDecimal("250.00"), order));
+        }
+    }
+
+    private User newUser(String name, Role role) {
+        User user = new User(name + "-" + UUID.randomUUID() + "@example.com", "hash", "Test", name, Set.of(role));
+        entityManager.persist(user);
+        return user;
+    }
+}
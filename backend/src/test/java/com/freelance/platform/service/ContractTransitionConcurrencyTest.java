@@ -0,0 +1,230 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.entity.Contract;
+import com.freelance.platform.entity.ContractStatus;
+import com.freelance.platform.entity.Milestone;
+import com.freelance.platform.entity.MilestoneStatus;
+import com.freelance.platform.entity.Project;
+import com.freelance.platform.entity.ProjectStatus;
+import com.freelance.platform.entity.ProjectType;
+import com.freelance.platform.entity.Proposal;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.User;
+import com.freelance.platform.exception.UnauthorizedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Contract and milestone transitions racing on one contract: the optimistic version checks plus retry
+ * must leave exactly one winner where the transition can only happen once, and must never lose the
+ * "all milestones paid" completion when two milestones finish together. Runs without the test
+ * transaction so each call commits on its own connection, like two requests would.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ContractService.class, OptimisticRetryService.class, ContractTransitionConcurrencyTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContractTransitionConcurrencyTest {
+
+    private static final int ROUNDS = 20;
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @MockitoBean
+    private ReviewService reviewService;
+
+    @MockitoBean
+    private EmailNotificationService emailNotificationService;
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private UUID clientId;
+    private UUID freelancerId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            clientId = newUser("client", Role.CLIENT).getId();
+            freelancerId = newUser("freelancer", Role.FREELANCER).getId();
+        });
+    }
+
+    @Test
+    void concurrentCompletionsHaveExactlyOneWinner() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            UUID contractId = createContract(List.of(MilestoneStatus.PAID)).get(0);
+
+            List<Boolean> completed = race(
+                    () -> contractService.completeContract(contractId, clientId),
+                    () -> contractService.completeContract(contractId, clientId));
+
+            assertEquals(1L, completed.stream().filter(Boolean::booleanValue).count(), "round " + round);
+            assertEquals(ContractStatus.COMPLETED, contractStatus(contractId), "round " + round);
+        }
+    }
+
+    @Test
+    void milestonesPaidTogetherStillCompleteTheContract() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            List<UUID> ids = createContract(List.of(MilestoneStatus.COMPLETED, MilestoneStatus.COMPLETED));
+            UUID contractId = ids.get(0);
+
+            List<Boolean> paid = race(
+                    () -> contractService.updateMilestoneStatus(contractId, ids.get(1), MilestoneStatus.PAID, freelancerId),
+                    () -> contractService.updateMilestoneStatus(contractId, ids.get(2), MilestoneStatus.PAID, freelancerId));
+
+            assertEquals(List.of(true, true), paid, "round " + round);
+            assertEquals(MilestoneStatus.PAID, milestoneStatus(ids.get(1)), "round " + round);
+            assertEquals(MilestoneStatus.PAID, milestoneStatus(ids.get(2)), "round " + round);
+            // Whichever payment committed second saw both milestones paid
+            assertEquals(ContractStatus.COMPLETED, contractStatus(contractId), "round " + round);
+        }
+    }
+
+    @Test
+    void completionRacingTheLastPaymentCompletesOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            List<UUID> ids = createContract(List.of(MilestoneStatus.PAID, MilestoneStatus.COMPLETED));
+            UUID contractId = ids.get(0);
+
+            List<Boolean> outcomes = race(
+                    () -> contractService.completeContract(contractId, clientId),
+                    () -> contractService.updateMilestoneStatus(contractId, ids.get(2), MilestoneStatus.PAID, freelancerId));
+
+            // The payment always applies; the explicit completion only wins if it ran before the payment completed the contract
+            assertTrue(outcomes.get(1), "round " + round);
+            assertEquals(MilestoneStatus.PAID, milestoneStatus(ids.get(2)), "round " + round);
+            assertEquals(ContractStatus.COMPLETED, contractStatus(contractId), "round " + round);
+        }
+    }
+
+    /**
+     * Run both calls at once; true when a call succeeded, false when it was refused by the state check
+     */
+    private List<Boolean> race(Callable<?> first, Callable<?> second) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (Callable<?> task : List.of(first, second)) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<Boolean> outcomes = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                    outcomes.add(true);
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof UnauthorizedException)) {
+                        throw e;
+                    }
+                    outcomes.add(false);
+                }
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * An active contract with milestones in the given states; returns the contract id followed by the milestone ids
+     */
+    private List<UUID> createContract(List<MilestoneStatus> milestoneStatuses) {
+        return transactionTemplate.execute(status -> {
+            User client = entityManager.find(User.class, clientId);
+            User freelancer = entityManager.find(User.class, freelancerId);
+            Project project = new Project(client, "Project", "Description", ProjectType.FIXED);
+            project.setStatus(ProjectStatus.IN_PROGRESS);
+            entityManager.persist(project);
+            Proposal proposal = new Proposal(project, freelancer, client, "Proposal", "Proposal description", new BigDecimal("200.00"));
+            entityManager.persist(proposal);
+            Contract contract = new Contract(project, client, freelancer, proposal, "Contract", "Contract description",
+                    new BigDecimal("200.00"), LocalDate.now(), LocalDate.now().plusWeeks(2));
+            contract.setStatus(ContractStatus.ACTIVE);
+            entityManager.persist(contract);
+
+            List<UUID> ids = new ArrayList<>();
+            ids.add(contract.getId());
+            for (int i = 0; i < milestoneStatuses.size(); i++) {
+                Milestone milestone = new Milestone(contract, "Milestone " + i, "Milestone description", new BigDecimal("100.00"), i);
+                milestone.setStatus(milestoneStatuses.get(i));
+                entityManager.persist(milestone);
+                ids.add(milestone.getId());
+            }
+            return ids;
+        });
+    }
+
+    private ContractStatus contractStatus(UUID contractId) {
+        return transactionTemplate.execute(status -> entityManager.find(Contract.class, contractId).getStatus());
+    }
+
+    private MilestoneStatus milestoneStatus(UUID milestoneId) {
+        return transactionTemplate.execute(status -> entityManager.find(Milestone.class, milestoneId).getStatus());
+    }
+
+    private User newUser(String name, Role role) {
+        User user = new User(name + "-" + UUID.randomUUID() + "@example.com", "hash", "Test", name, Set.of(role));
+        entityManager.persist(user);
+        return user;
+    }
+}
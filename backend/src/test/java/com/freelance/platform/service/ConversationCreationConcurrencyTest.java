@@ -0,0 +1,150 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.entity.Conversation;
+import com.freelance.platform.entity.ConversationType;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.SyncChangeType;
+import com.freelance.platform.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 100 requests opening the same conversation at once must all get the one row that wins the pair_key
+ * index, with its two inbox rows written exactly once. A duplicate key is the only error the insert may
+ * absorb. Runs without the test transaction so every call commits on its own connection.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ConversationService.class, UserInboxService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConversationCreationConcurrencyTest {
+
+    private static final int THREADS = 100;
+
+    @MockitoBean
+    private SyncChangeService syncChangeService;
+
+    @MockitoBean
+    private DistributedLockService distributedLockService;
+
+    @Autowired
+    private ConversationService conversationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User client;
+    private User freelancer;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            client = newUser("client");
+            freelancer = newUser("freelancer");
+        });
+    }
+
+    @Test
+    void concurrentCreatorsShareOneConversation() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UUID>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                // Half the callers name the participants the other way round; the pair key is order-independent
+                boolean swapped = i % 2 == 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    Conversation conversation = swapped
+                            ? conversationService.getOrCreateConversation(freelancer, client, null, ConversationType.DIRECT_MESSAGE)
+                            : conversationService.getOrCreateConversation(client, freelancer, null, ConversationType.DIRECT_MESSAGE);
+                    return conversation.getId();
+                }));
+            }
+            start.countDown();
+
+            Set<UUID> ids = new HashSet<>();
+            for (Future<UUID> future : futures) {
+                ids.add(future.get(60, TimeUnit.SECONDS));
+            }
+            assertEquals(1, ids.size(), "every caller must get the same conversation");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String pairKey = Conversation.pairKey(client.getId(), freelancer.getId(), ConversationType.DIRECT_MESSAGE, null);
+        assertEquals(1L, count("SELECT COUNT(c) FROM Conversation c WHERE c.pairKey = :key", pairKey));
+        assertEquals(2L, count("SELECT COUNT(i) FROM UserInbox i, Conversation c " +
+                "WHERE i.conversationId = c.id AND c.pairKey = :key", pairKey));
+        // Only the caller whose id won reports the new conversation
+        verify(syncChangeService, times(1)).record(eq(client.getId()), eq(SyncChangeType.CONVERSATION_UPDATED), any(UUID.class));
+        verify(syncChangeService, times(1)).record(eq(freelancer.getId()), eq(SyncChangeType.CONVERSATION_UPDATED), any(UUID.class));
+    }
+
+    @Test
+    void insertErrorsOtherThanTheDuplicateKeySurface() {
+        User missing = new User("missing-" + System.nanoTime() + "@example.com", "hash", "Test", "User", Set.of(Role.CLIENT));
+        missing.setId(UUID.randomUUID());
+
+        assertThrows(DataIntegrityViolationException.class, () -> transactionTemplate.execute(status ->
+                conversationService.getOrCreateConversation(client, missing, null, ConversationType.DIRECT_MESSAGE)));
+    }
+
+    @Test
+    void existingConversationIsReturnedWithoutInsert() {
+        Conversation first = transactionTemplate.execute(status ->
+                conversationService.getOrCreateConversation(client, freelancer, null, ConversationType.DIRECT_MESSAGE));
+        Conversation second = transactionTemplate.execute(status ->
+                conversationService.getOrCreateConversation(freelancer, client, null, ConversationType.DIRECT_MESSAGE));
+
+        assertEquals(first.getId(), second.getId());
+    }
+
+    private long count(String jpql, String pairKey) {
+        return transactionTemplate.execute(status -> entityManager.createQuery(jpql, Long.class)
+                .setParameter("key", pairKey)
+                .getSingleResult());
+    }
+
+    private User newUser(String name) {
+        User user = new User(name + "-" + System.nanoTime() + "@example.com", "hash", "Test", "User", Set.of(Role.CLIENT));
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,195 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.entity.Contract;
+import com.freelance.platform.entity.FreelancerCard;
+import com.freelance.platform.entity.FreelancerProfile;
+import com.freelance.platform.entity.FreelancerSkill;
+import com.freelance.platform.entity.Portfolio;
+import com.freelance.platform.entity.Project;
+import com.freelance.platform.entity.ProjectType;
+import com.freelance.platform.entity.Proposal;
+import com.freelance.platform.entity.Review;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.Skill;
+import com.freelance.platform.entity.User;
+import com.freelance.platform.repository.FreelancerCardRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cards maintained by the listeners after each commit must equal what a full rebuild computes from the
+ * source rows, so the nightly pass finds no drift. Runs without the test transaction so the after-commit
+ * rebuilds fire as they do in production.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({FreelancerCardService.class, FreelancerCardConsistencyTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FreelancerCardConsistencyTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private DistributedLockService distributedLockService;
+
+    @Autowired
+    private FreelancerCardService freelancerCardService;
+
+    @Autowired
+    private FreelancerCardRepository freelancerCardRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private UUID freelancerId;
+    private UUID profileId;
+    private UUID clientId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Cards of earlier tests are left as they are; each test only looks at its own freelancer
+        transactionTemplate.executeWithoutResult(status -> {
+            User freelancer = newUser("freelancer", Role.FREELANCER);
+            FreelancerProfile profile = new FreelancerProfile(freelancer);
+            profile.setHourlyRate(new BigDecimal("40.00"));
+            entityManager.persist(profile);
+            entityManager.persist(new FreelancerSkill(profile, newSkill("Java"), 4));
+            entityManager.persist(portfolio(profile, "Shop"));
+            freelancerId = freelancer.getId();
+            profileId = profile.getId();
+            clientId = newUser("client", Role.CLIENT).getId();
+        });
+    }
+
+    @Test
+    void listenerMaintainedCardsMatchAFullRebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User freelancer = entityManager.find(User.class, freelancerId);
+            freelancer.setFirstName("Renamed");
+            FreelancerProfile profile = entityManager.find(FreelancerProfile.class, profileId);
+            profile.setHourlyRate(new BigDecimal("55.00"));
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            FreelancerProfile profile = entityManager.find(FreelancerProfile.class, profileId);
+            entityManager.persist(new FreelancerSkill(profile, newSkill("Kotlin"), 3));
+            entityManager.persist(portfolio(profile, "Blog"));
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            User client = entityManager.find(User.class, clientId);
+            User freelancer = entityManager.find(User.class, freelancerId);
+            entityManager.persist(new Review(newContract(client, freelancer), client, freelancer, 5, "Great"));
+            entityManager.persist(new Review(newContract(client, freelancer), client, freelancer, 4, "Good"));
+        });
+
+        FreelancerCard card = card();
+        assertEquals("Renamed", card.getFirstName());
+        assertEquals(0, new BigDecimal("55.00").compareTo(card.getHourlyRate()));
+        assertEquals(2, card.getSkillNames().size());
+        assertTrue(card.getSkillNames().stream().anyMatch(name -> name.startsWith("Kotlin")));
+        assertEquals(2, card.getPortfolioCount());
+        assertEquals(2, card.getTotalReviews());
+        assertEquals(0, new BigDecimal("4.50").compareTo(card.getRating()));
+
+        assertEquals(0L, freelancerCardService.rebuild(List.of(freelancerId)).getDrifted());
+    }
+
+    @Test
+    void rebuildRepairsWritesThatBypassTheListeners() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE User u SET u.lastName = 'Bulk' WHERE u.id = :id")
+                .setParameter("id", freelancerId)
+                .executeUpdate());
+        assertNotEquals("Bulk", card().getLastName());
+
+        FreelancerCardService.RebuildResult repaired = freelancerCardService.rebuild(List.of(freelancerId));
+
+        assertEquals(1L, repaired.getUpdated());
+        assertEquals("Bulk", card().getLastName());
+        assertEquals(0L, freelancerCardService.rebuild(List.of(freelancerId)).getDrifted());
+    }
+
+    @Test
+    void deletedFreelancerLosesItsCard() {
+        assertTrue(freelancerCardRepository.existsById(freelancerId));
+
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.find(User.class, freelancerId).setDeletedAt(LocalDateTime.now()));
+
+        assertFalse(freelancerCardRepository.existsById(freelancerId));
+        assertEquals(0L, freelancerCardService.rebuild(List.of(freelancerId)).getDrifted());
+    }
+
+    private FreelancerCard card() {
+        return transactionTemplate.execute(status -> freelancerCardRepository.findById(freelancerId).orElseThrow());
+    }
+
+    private Contract newContract(User client, User freelancer) {
+        Project project = new Project(client, "Project", "Description", ProjectType.FIXED);
+        entityManager.persist(project);
+        Proposal proposal = new Proposal(project, freelancer, client, "Proposal", "Proposal description", new BigDecimal("100.00"));
+        entityManager.persist(proposal);
+        Contract contract = new Contract(project, client, freelancer, proposal, "Contract", "Contract description",
+                new BigDecimal("100.00"), LocalDate.now(), LocalDate.now().plusWeeks(2));
+        entityManager.persist(contract);
+        return contract;
+    }
+
+    private Portfolio portfolio(FreelancerProfile profile, String title) {
+        Portfolio portfolio = new Portfolio();
+        portfolio.setFreelancer(profile);
+        portfolio.setTitle(title);
+        return portfolio;
+    }
+
+    private Skill newSkill(String name) {
+        // Skill names are unique, and earlier tests already committed theirs
+        Skill skill = new Skill(name + "-" + UUID.randomUUID(), null, "Programming");
+        entityManager.persist(skill);
+        return skill;
+    }
+
+    private User newUser(String name, Role role) {
+        User user = new User(name + "-" + UUID.randomUUID() + "@example.com", "hash", "Test", name, Set.of(role));
+        entityManager.persist(user);
+        return user;
+    }
+}
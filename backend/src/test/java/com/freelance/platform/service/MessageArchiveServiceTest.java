@@ -0,0 +1,204 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.config.properties.MessageArchiveProperties;
+import com.freelance.platform.entity.Conversation;
+import com.freelance.platform.entity.ConversationType;
+import com.freelance.platform.entity.Message;
+import com.freelance.platform.entity.MessageAttachment;
+import com.freelance.platform.entity.MessageType;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.User;
+import com.freelance.platform.util.KeysetCursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Archived messages must read back exactly as they were stored: same ids, senders, content, flags,
+ * timestamps and attachments, in the same (createdAt, id) order as the live history.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({MessageArchiveService.class, MessageArchiveProperties.class, JacksonAutoConfiguration.class,
+        MessageArchiveServiceTest.Metrics.class})
+class MessageArchiveServiceTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private StorageService storageService;
+
+    @MockitoBean
+    private MessageTailCache messageTailCache;
+
+    @MockitoBean
+    private DistributedLockService distributedLockService;
+
+    @Autowired
+    private MessageArchiveService messageArchiveService;
+
+    @Autowired
+    private MessageArchiveProperties properties;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Conversation conversation;
+    private User client;
+    private User freelancer;
+    private LocalDateTime base;
+    private final Map<Message, LocalDateTime> createdAt = new IdentityHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchPauseMs(0);
+        base = LocalDateTime.now().minusDays(properties.getMinAgeDays() + 30L).withNano(0);
+        client = newUser("client");
+        freelancer = newUser("freelancer");
+        conversation = new Conversation(client, freelancer, ConversationType.DIRECT_MESSAGE);
+        conversation.setLastMessageAt(base.plusMinutes(10));
+        entityManager.persist(conversation);
+    }
+
+    @Test
+    void archivedMessagesReadBackUnchanged() {
+        Message first = oldMessage(client, "Kick-off notes", 0);
+        Message second = oldMessage(freelancer, "Drafts attached 📎 — ünïcödé", 1);
+        second.addAttachment(new MessageAttachment("conversations/a/draft.pdf", "https://files.example.com/conversations/a/draft.pdf",
+                "draft.pdf", "application/pdf", 12_345L));
+        second.addAttachment(new MessageAttachment(null, "https://elsewhere.example.com/mock.png", "mock.png", "image/png", null));
+        Message third = oldMessage(client, "Looks good", 2);
+        third.setMessageType(MessageType.FILE);
+        List<Message> originals = List.of(first, second, third);
+        entityManager.flush();
+        backdate(originals);
+        entityManager.clear();
+
+        long archived = messageArchiveService.archiveAll();
+
+        assertEquals(3L, archived);
+        assertEquals(0L, liveMessages());
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<byte[]> data = ArgumentCaptor.forClass(byte[].class);
+        verify(storageService, times(1)).putObject(key.capture(), data.capture(), anyString());
+        when(storageService.getObject(eq(key.getValue()))).thenReturn(data.getValue());
+
+        List<MessageArchiveService.ArchivedMessage> newestFirst =
+                messageArchiveService.readBefore(conversation.getId(), null, 10);
+
+        assertEquals(3, newestFirst.size());
+        for (int i = 0; i < originals.size(); i++) {
+            assertSameMessage(originals.get(originals.size() - 1 - i), newestFirst.get(i));
+        }
+    }
+
+    @Test
+    void cursorContinuesInsideAnArchivedSegment() {
+        List<Message> originals = List.of(
+                oldMessage(client, "one", 0),
+                oldMessage(freelancer, "two", 1),
+                oldMessage(client, "three", 2));
+        entityManager.flush();
+        backdate(originals);
+        entityManager.clear();
+
+        messageArchiveService.archiveAll();
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<byte[]> data = ArgumentCaptor.forClass(byte[].class);
+        verify(storageService).putObject(key.capture(), data.capture(), anyString());
+        when(storageService.getObject(eq(key.getValue()))).thenReturn(data.getValue());
+
+        Message middle = originals.get(1);
+        List<MessageArchiveService.ArchivedMessage> older = messageArchiveService.readBefore(
+                conversation.getId(), new KeysetCursor(middle.getCreatedAt(), middle.getId()), 10);
+
+        assertEquals(1, older.size());
+        assertSameMessage(originals.get(0), older.get(0));
+    }
+
+    private void assertSameMessage(Message expected, MessageArchiveService.ArchivedMessage actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getSender().getId(), actual.getSenderId());
+        assertEquals(expected.getRecipient().getId(), actual.getRecipientId());
+        assertNull(actual.getProjectId());
+        assertEquals(expected.getContent(), actual.getContent());
+        assertEquals(expected.getMessageType(), actual.getMessageType());
+        assertTrue(actual.getIsRead());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getAttachments().size(), actual.getAttachments().size());
+        for (int i = 0; i < expected.getAttachments().size(); i++) {
+            MessageAttachment attachment = expected.getAttachments().get(i);
+            MessageArchiveService.ArchivedAttachment archived = actual.getAttachments().get(i);
+            assertEquals(attachment.getObjectKey(), archived.getObjectKey());
+            assertEquals(attachment.getUrl(), archived.getUrl());
+            assertEquals(attachment.getFileName(), archived.getFileName());
+            assertEquals(attachment.getMimeType(), archived.getMimeType());
+            assertEquals(attachment.getSizeBytes(), archived.getSizeBytes());
+        }
+    }
+
+    private Message oldMessage(User sender, String content, int minute) {
+        Message message = new Message(conversation, sender, content, MessageType.TEXT);
+        message.setIsRead(true);
+        entityManager.persist(message);
+        createdAt.put(message, base.plusMinutes(minute));
+        return message;
+    }
+
+    // createdAt is overwritten by @CreationTimestamp at flush, so the seeded times are written afterwards
+    private void backdate(List<Message> messages) {
+        for (Message message : messages) {
+            message.setCreatedAt(createdAt.get(message));
+            entityManager.createQuery("UPDATE Message m SET m.createdAt = :createdAt WHERE m.id = :id")
+                    .setParameter("createdAt", message.getCreatedAt())
+                    .setParameter("id", message.getId())
+                    .executeUpdate();
+        }
+    }
+
+    private long liveMessages() {
+        return entityManager.createQuery("SELECT COUNT(m) FROM Message m WHERE m.conversation.id = :conversationId", Long.class)
+                .setParameter("conversationId", conversation.getId())
+                .getSingleResult();
+    }
+
+    private User newUser(String name) {
+        User user = new User(name + "-" + System.nanoTime() + "@example.com", "hash", "Test", "User", Set.of(Role.CLIENT));
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,172 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.dto.response.CursorPageResponse;
+import com.freelance.platform.dto.response.MessageResponse;
+import com.freelance.platform.entity.Conversation;
+import com.freelance.platform.entity.ConversationType;
+import com.freelance.platform.entity.Message;
+import com.freelance.platform.entity.MessageAttachment;
+import com.freelance.platform.entity.MessageType;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * A conversation history page costs the same handful of statements however many messages and
+ * attachments it holds: the conversation, the page with both participants, their roles and the page's
+ * attachments. The in-memory tail and the archive are mocked out so every page comes from the database.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(MessageService.class)
+class MessageHistoryQueryCountTest {
+
+    private static final long STATEMENTS_PER_PAGE = 4;
+    private static final int MESSAGES = 60;
+
+    @MockitoBean
+    private ConversationService conversationService;
+
+    @MockitoBean
+    private UserInboxService userInboxService;
+
+    @MockitoBean
+    private MessageTailCache messageTailCache;
+
+    @MockitoBean
+    private SyncChangeService syncChangeService;
+
+    @MockitoBean
+    private MessageArchiveService messageArchiveService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private EmailNotificationService emailNotificationService;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User client;
+    private UUID conversationId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        client = newUser("client");
+        User freelancer = newUser("freelancer");
+        Conversation conversation = new Conversation(client, freelancer, ConversationType.DIRECT_MESSAGE);
+        entityManager.persist(conversation);
+        conversationId = conversation.getId();
+        for (int i = 0; i < MESSAGES; i++) {
+            // Messages go both ways; two of every three carry two attachments
+            Message message = new Message(conversation, i % 2 == 0 ? client : freelancer, "Message " + i, MessageType.TEXT);
+            if (i % 3 != 0) {
+                for (int file = 0; file < 2; file++) {
+                    message.addAttachment(new MessageAttachment("conversations/" + conversationId + "/file-" + i + "-" + file,
+                            "https://files.example.com/" + i + "-" + file, "file-" + file + ".pdf", "application/pdf", 1024L));
+                }
+            }
+            entityManager.persist(message);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // A tail cache miss on every page
+        when(messageTailCache.before(any(), any(), anyInt())).thenReturn(null);
+        when(messageTailCache.isLoaded(any())).thenReturn(true);
+    }
+
+    @Test
+    void historyStatementsDoNotGrowWithPageSize() {
+        assertEquals(STATEMENTS_PER_PAGE, statementsFor(null, 5));
+        assertEquals(STATEMENTS_PER_PAGE, statementsFor(null, 50));
+    }
+
+    @Test
+    void olderPagesCostTheSameAsTheFirst() {
+        String cursor = null;
+        int pages = 0;
+        Set<UUID> seen = new HashSet<>();
+        do {
+            entityManager.clear();
+            statistics.clear();
+            CursorPageResponse<MessageResponse> page = messageService.getConversationHistory(conversationId, client.getId(), cursor, 25);
+            assertEquals(STATEMENTS_PER_PAGE, statistics.getPrepareStatementCount(), "page " + pages);
+            page.getItems().forEach(message -> seen.add(message.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(MESSAGES, seen.size());
+    }
+
+    @Test
+    void pageCarriesParticipantsAndAttachments() {
+        CursorPageResponse<MessageResponse> page = messageService.getConversationHistory(conversationId, client.getId(), null, MESSAGES);
+
+        assertNull(page.getNextCursor());
+        assertEquals(MESSAGES, page.getItems().size());
+        List<Integer> attachmentCounts = new ArrayList<>();
+        for (MessageResponse message : page.getItems()) {
+            assertNotNull(message.getSender().getEmail());
+            assertNotNull(message.getRecipient().getEmail());
+            int index = Integer.parseInt(message.getContent().substring("Message ".length()));
+            assertEquals(index % 3 != 0 ? 2 : 0, message.getAttachmentFiles().size());
+            attachmentCounts.add(message.getAttachments().size());
+        }
+        assertEquals(2 * (MESSAGES - MESSAGES / 3), attachmentCounts.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    private long statementsFor(String cursor, int size) {
+        entityManager.clear();
+        statistics.clear();
+        CursorPageResponse<MessageResponse> page = messageService.getConversationHistory(conversationId, client.getId(), cursor, size);
+        assertEquals(size, page.getItems().size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User newUser(String name) {
+        User user = new User(name + "-" + UUID.randomUUID() + "@example.com", "hash", "Test", name, Set.of(Role.CLIENT));
+        entityManager.persist(user);
+        return user;
+    }
+}
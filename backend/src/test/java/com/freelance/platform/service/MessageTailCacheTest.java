@@ -0,0 +1,134 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.dto.response.MessageResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageTailCacheTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private final UUID conversationId = UUID.randomUUID();
+    private MessageTailCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = newCache(60_000);
+    }
+
+    @Test
+    void appendAfterInstallDoesNotDuplicate() {
+        MessageResponse first = message(0);
+        MessageResponse second = message(1);
+        // The read that installed the tail already saw the message whose after-commit append runs next
+        cache.install(conversationId, cache.beginLoad(conversationId), List.of(second, first));
+
+        cache.append(second);
+
+        assertEquals(List.of(second.getId(), first.getId()), ids(cache.before(conversationId, null, 10)));
+    }
+
+    @Test
+    void appendPlacesLateCommitsInOrder() {
+        MessageResponse first = message(0);
+        MessageResponse second = message(1);
+        MessageResponse third = message(2);
+        cache.install(conversationId, cache.beginLoad(conversationId), List.of(third, first));
+
+        cache.append(second);
+
+        assertEquals(List.of(third.getId(), second.getId(), first.getId()), ids(cache.before(conversationId, null, 10)));
+    }
+
+    @Test
+    void conversationReadOnlyMarksMessagesUpToReadAt() {
+        UUID recipientId = UUID.randomUUID();
+        MessageResponse seen = message(0);
+        MessageResponse later = message(5);
+        seen.setRecipientId(recipientId);
+        later.setRecipientId(recipientId);
+        cache.install(conversationId, cache.beginLoad(conversationId), List.of(later, seen));
+
+        cache.markRead(conversationId, recipientId, T0.plusSeconds(1));
+
+        assertTrue(Boolean.TRUE.equals(seen.getIsRead()));
+        assertFalse(Boolean.TRUE.equals(later.getIsRead()));
+    }
+
+    @Test
+    void invalidationFromAnotherNodeEvictsTheTail() {
+        cache.install(conversationId, cache.beginLoad(conversationId), List.of(message(0)));
+
+        cache.onMessage(invalidation("other-node:" + conversationId), null);
+
+        assertFalse(cache.isLoaded(conversationId));
+    }
+
+    @Test
+    void malformedInvalidationIsIgnored() {
+        cache.install(conversationId, cache.beginLoad(conversationId), List.of(message(0)));
+
+        cache.onMessage(invalidation("other-node:not-a-uuid"), null);
+        cache.onMessage(invalidation("no-separator"), null);
+
+        assertTrue(cache.isLoaded(conversationId));
+    }
+
+    @Test
+    void tailExpiresAfterTtl() throws InterruptedException {
+        MessageTailCache shortLived = newCache(1);
+        shortLived.install(conversationId, shortLived.beginLoad(conversationId), List.of(message(0)));
+
+        Thread.sleep(10);
+
+        assertFalse(shortLived.isLoaded(conversationId));
+    }
+
+    @Test
+    void loadRacingAWriteIsNotInstalled() {
+        long stamp = cache.beginLoad(conversationId);
+        cache.invalidate(conversationId);
+
+        cache.install(conversationId, stamp, List.of(message(0)));
+
+        assertFalse(cache.isLoaded(conversationId));
+    }
+
+    private MessageTailCache newCache(long ttlMs) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        return new MessageTailCache(50, 1 << 20, ttlMs, new SimpleMeterRegistry(),
+                beans.getBeanProvider(StringRedisTemplate.class), beans.getBeanProvider(RedisMessageListenerContainer.class));
+    }
+
+    private MessageResponse message(int secondsAfterStart) {
+        MessageResponse message = new MessageResponse();
+        message.setId(UUID.randomUUID());
+        message.setConversationId(conversationId);
+        message.setCreatedAt(T0.plusSeconds(secondsAfterStart));
+        message.setContent("message " + secondsAfterStart);
+        return message;
+    }
+
+    private static DefaultMessage invalidation(String body) {
+        return new DefaultMessage("messages:tail-cache:invalidate".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<UUID> ids(List<MessageResponse> messages) {
+        return messages.stream().map(MessageResponse::getId).toList();
+    }
+}
@@ -0,0 +1,217 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.dto.request.MessageRequest;
+import com.freelance.platform.dto.response.ReadReceiptResponse;
+import com.freelance.platform.entity.Conversation;
+import com.freelance.platform.entity.ConversationType;
+import com.freelance.platform.entity.Message;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The per-conversation unread counter must always equal the number of unread rows, whatever order
+ * concurrent sends, reads and deletes commit in. Runs without the test transaction so each service call
+ * commits on its own connection, like two requests would.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(MessageService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MessageUnreadCounterRaceTest {
+
+    private static final int ROUNDS = 20;
+
+    @MockitoBean
+    private ConversationService conversationService;
+
+    @MockitoBean
+    private UserInboxService userInboxService;
+
+    @MockitoBean
+    private MessageTailCache messageTailCache;
+
+    @MockitoBean
+    private SyncChangeService syncChangeService;
+
+    @MockitoBean
+    private MessageArchiveService messageArchiveService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private EmailNotificationService emailNotificationService;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private UUID senderId;
+    private UUID recipientId;
+    private UUID conversationId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            User sender = newUser("sender");
+            User recipient = newUser("recipient");
+            Conversation conversation = new Conversation(sender, recipient, ConversationType.DIRECT_MESSAGE);
+            entityManager.persist(conversation);
+            senderId = sender.getId();
+            recipientId = recipient.getId();
+            conversationId = conversation.getId();
+        });
+    }
+
+    @Test
+    void deleteRacingReadDecrementsOnce() throws Exception {
+        // A second unread message keeps the counter above zero, so a double decrement cannot hide behind the clamp
+        UUID keeper = createUnreadMessage();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            UUID raced = createUnreadMessage();
+            race(() -> {
+                messageService.deleteMessage(raced, senderId);
+                return null;
+            }, () -> {
+                try {
+                    messageService.markAsRead(raced, recipientId);
+                } catch (RuntimeException alreadyDeleted) {
+                    // Lost the race to the delete; nothing to mark
+                }
+                return null;
+            });
+
+            assertEquals(unreadRows(), unreadCounter(), "round " + round);
+            assertEquals(1L, unreadCounter(), "round " + round);
+        }
+        assertEquals(1L, unreadRowsFor(keeper));
+    }
+
+    @Test
+    void sendRacingConversationReadKeepsCounterInStep() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            race(() -> messageService.sendMessage(conversationId, request("racing"), senderId),
+                    () -> {
+                        messageService.markConversationAsRead(conversationId, recipientId);
+                        return null;
+                    });
+
+            assertEquals(unreadRows(), unreadCounter(), "round " + round);
+        }
+    }
+
+    @Test
+    void queuedReceiptOnlyCoversMessagesSentBeforeItWasTaken() throws Exception {
+        UUID seen = createUnreadMessage();
+        LocalDateTime readAt = LocalDateTime.now();
+        Thread.sleep(5);
+        UUID arrivedBeforeFlush = createUnreadMessage();
+
+        messageService.applyReadReceipts(List.of(new ReadReceiptResponse(conversationId, recipientId, readAt)));
+
+        assertEquals(0L, unreadRowsFor(seen));
+        assertEquals(1L, unreadRowsFor(arrivedBeforeFlush));
+        assertEquals(1L, unreadCounter());
+    }
+
+    private void race(Callable<?> first, Callable<?> second) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (Callable<?> task : List.of(first, second)) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private UUID createUnreadMessage() {
+        return messageService.sendMessage(conversationId, request("hello"), senderId).getId();
+    }
+
+    private MessageRequest request(String content) {
+        MessageRequest request = new MessageRequest();
+        request.setContent(content);
+        return request;
+    }
+
+    private long unreadCounter() {
+        return transactionTemplate.execute(status -> {
+            Conversation conversation = entityManager.find(Conversation.class, conversationId);
+            return (long) (conversation.getParticipant1().getId().equals(recipientId)
+                    ? conversation.getParticipant1UnreadCount()
+                    : conversation.getParticipant2UnreadCount());
+        });
+    }
+
+    private long unreadRows() {
+        return transactionTemplate.execute(status -> entityManager.createQuery(
+                        "SELECT COUNT(m) FROM Message m WHERE m.conversation.id = :conversationId " +
+                        "AND m.recipient.id = :recipientId AND m.isRead = false", Long.class)
+                .setParameter("conversationId", conversationId)
+                .setParameter("recipientId", recipientId)
+                .getSingleResult());
+    }
+
+    private long unreadRowsFor(UUID messageId) {
+        return transactionTemplate.execute(status -> {
+            Message message = entityManager.find(Message.class, messageId);
+            return message != null && !Boolean.TRUE.equals(message.getIsRead()) ? 1L : 0L;
+        });
+    }
+
+    private User newUser(String name) {
+        User user = new User(name + "-" + System.nanoTime() + "@example.com", "hash", "Test", "User", Set.of(Role.CLIENT));
+        entityManager.persist(user);
+        return user;
+    }
+}
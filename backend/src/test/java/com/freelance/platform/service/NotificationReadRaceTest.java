@@ -0,0 +1,139 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.dto.response.NotificationResponse;
+import com.freelance.platform.entity.Notification;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.SyncChangeType;
+import com.freelance.platform.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Several requests marking the same notification read at once: only the one whose conditional update
+ * flips the row may decrement the badge. Runs without the test transaction so each call commits on its
+ * own connection, like concurrent requests would.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(NotificationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationReadRaceTest {
+
+    private static final int ROUNDS = 20;
+    private static final int READERS = 4;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private NotificationBadgeService notificationBadgeService;
+
+    @MockitoBean
+    private SyncChangeService syncChangeService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        userId = transactionTemplate.execute(status -> {
+            User user = new User("reader-" + UUID.randomUUID() + "@example.com", "hash", "Test", "Reader", Set.of(Role.CLIENT));
+            entityManager.persist(user);
+            return user.getId();
+        });
+    }
+
+    @Test
+    void concurrentReadsDecrementTheBadgeOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(READERS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                UUID notificationId = createNotification();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<NotificationResponse>> futures = new ArrayList<>();
+                for (int i = 0; i < READERS; i++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return notificationService.markAsRead(userId, notificationId);
+                    }));
+                }
+                start.countDown();
+                for (Future<NotificationResponse> future : futures) {
+                    assertTrue(future.get(30, TimeUnit.SECONDS).getIsRead());
+                }
+                assertTrue(isRead(notificationId));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(notificationBadgeService, times(ROUNDS)).onMarkedRead(userId);
+        verify(syncChangeService, times(ROUNDS)).record(eq(userId), eq(SyncChangeType.NOTIFICATION_UPSERTED), any(UUID.class));
+    }
+
+    @Test
+    void readingAReadNotificationLeavesTheBadgeAlone() {
+        UUID notificationId = createNotification();
+        notificationService.markAsRead(userId, notificationId);
+
+        NotificationResponse again = notificationService.markAsRead(userId, notificationId);
+
+        assertTrue(again.getIsRead());
+        verify(notificationBadgeService, times(1)).onMarkedRead(userId);
+        verify(syncChangeService, times(1)).record(userId, SyncChangeType.NOTIFICATION_UPSERTED, notificationId);
+        verify(notificationBadgeService, never()).onAllMarkedRead(userId);
+        assertEquals(Boolean.TRUE, isRead(notificationId));
+    }
+
+    private UUID createNotification() {
+        return transactionTemplate.execute(status -> {
+            Notification notification = new Notification(entityManager.find(User.class, userId), "SYSTEM", "Title", "Message");
+            entityManager.persist(notification);
+            return notification.getId();
+        });
+    }
+
+    private boolean isRead(UUID notificationId) {
+        return transactionTemplate.execute(status -> entityManager.find(Notification.class, notificationId).getIsRead());
+    }
+}
@@ -0,0 +1,223 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.config.properties.NotificationRetentionProperties;
+import com.freelance.platform.entity.Notification;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.User;
+import com.freelance.platform.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Purges a generated backlog large enough to need many chunks while another thread keeps reading the same
+ * user's notifications. Runs without the test transaction so every chunk commits on its own, as it does
+ * in production; the reader must never fail and must always see exactly the retained rows.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({NotificationRetentionService.class, NotificationRetentionProperties.class,
+        NotificationRetentionServiceTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationRetentionServiceTest {
+
+    private static final int BATCH_SIZE = 200;
+    private static final int EXPIRED_MESSAGES = 3000;
+    private static final int EXPIRED_SYSTEM = 1500;
+    private static final int RETAINED_MESSAGES = 500;
+    private static final int RETAINED_SYSTEM = 500;
+    private static final int RETAINED = RETAINED_MESSAGES + RETAINED_SYSTEM;
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private DistributedLockService distributedLockService;
+
+    @MockitoSpyBean
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationRetentionService retentionService;
+
+    @Autowired
+    private NotificationRetentionProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        properties.setTypes(Map.of("NEW_MESSAGE", 30));
+        properties.setDefaultDays(90);
+        properties.setBatchSize(BATCH_SIZE);
+        properties.setBatchPauseMs(0);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        userId = transactionTemplate.execute(status -> {
+            User user = new User("retention-" + UUID.randomUUID() + "@example.com", "hash", "Test", "User", Set.of(Role.CLIENT));
+            entityManager.persist(user);
+            return user.getId();
+        });
+        // Expired rows share one timestamp per policy, so every chunk boundary resumes on the id alone
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        createNotifications("NEW_MESSAGE", "expired", EXPIRED_MESSAGES, now.minusDays(40));
+        createNotifications("NEW_MESSAGE", "retained", RETAINED_MESSAGES, now.minusDays(1));
+        createNotifications("SYSTEM", "expired", EXPIRED_SYSTEM, now.minusDays(100));
+        createNotifications("SYSTEM", "retained", RETAINED_SYSTEM, now.minusDays(40));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("DELETE FROM Notification n WHERE n.user.id = :userId")
+                .setParameter("userId", userId)
+                .executeUpdate());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void purgesInBoundedChunksWhileReadsContinue() throws Exception {
+        double deletedBefore = deletedCount();
+        AtomicBoolean purging = new AtomicBoolean(true);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        Future<Integer> reads = reader.submit(() -> {
+            int completed = 0;
+            while (purging.get() || completed == 0) {
+                TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+                readOnly.setReadOnly(true);
+                readOnly.executeWithoutResult(status -> {
+                    assertEquals(RETAINED, countByTitle("retained"));
+                    // The feed query the UI runs against the same rows the purge is deleting
+                    assertEquals(20, notificationRepository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, 20))
+                            .getNumberOfElements());
+                });
+                completed++;
+            }
+            return completed;
+        });
+
+        long deleted;
+        try {
+            deleted = retentionService.purgeAll();
+        } finally {
+            purging.set(false);
+        }
+        int completedReads = reads.get(60, TimeUnit.SECONDS);
+        reader.shutdown();
+
+        assertTrue(completedReads > 0);
+        assertTrue(deleted >= EXPIRED_MESSAGES + EXPIRED_SYSTEM, "deleted " + deleted);
+        assertEquals(0, transactionTemplate.execute(status -> countByTitle("expired")).intValue());
+        assertEquals(RETAINED, transactionTemplate.execute(status -> countByTitle("retained")).intValue());
+
+        ArgumentCaptor<Collection<UUID>> chunks = ArgumentCaptor.forClass(Collection.class);
+        verify(notificationRepository, atLeastOnce()).deleteByIdIn(chunks.capture());
+        int ours = EXPIRED_MESSAGES + EXPIRED_SYSTEM;
+        assertTrue(chunks.getAllValues().size() >= ours / BATCH_SIZE, "chunks: " + chunks.getAllValues().size());
+        for (Collection<UUID> chunk : chunks.getAllValues()) {
+            assertTrue(chunk.size() <= BATCH_SIZE, "chunk of " + chunk.size());
+        }
+        assertEquals((double) deleted, deletedCount() - deletedBefore);
+    }
+
+    @Test
+    void rerunAfterAPurgeDeletesNothingOfTheUsers() {
+        retentionService.purgeAll();
+
+        retentionService.purgeAll();
+
+        assertEquals(RETAINED, transactionTemplate.execute(status -> countByTitle("retained")).intValue());
+        assertEquals(RETAINED_SYSTEM, transactionTemplate.execute(status -> entityManager.createQuery(
+                        "SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.type = 'SYSTEM'", Long.class)
+                .setParameter("userId", userId)
+                .getSingleResult()).intValue());
+    }
+
+    private void createNotifications(String type, String title, int count, LocalDateTime createdAt) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = entityManager.find(User.class, userId);
+            for (int i = 0; i < count; i++) {
+                Notification notification = new Notification(user, type, title, "Message " + i);
+                entityManager.persist(notification);
+                if (i % 500 == 499) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    user = entityManager.find(User.class, userId);
+                }
+            }
+            entityManager.flush();
+            // createdAt is set by @CreationTimestamp on insert, so backdate the whole set with one update
+            entityManager.createQuery("UPDATE Notification n SET n.createdAt = :createdAt " +
+                            "WHERE n.user.id = :userId AND n.type = :type AND n.title = :title")
+                    .setParameter("createdAt", createdAt)
+                    .setParameter("userId", userId)
+                    .setParameter("type", type)
+                    .setParameter("title", title)
+                    .executeUpdate();
+        });
+    }
+
+    private double deletedCount() {
+        return meterRegistry.find("notifications.retention.deleted").counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private int countByTitle(String title) {
+        return entityManager.createQuery(
+                        "SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.title = :title", Long.class)
+                .setParameter("userId", userId)
+                .setParameter("title", title)
+                .getSingleResult()
+                .intValue();
+    }
+}
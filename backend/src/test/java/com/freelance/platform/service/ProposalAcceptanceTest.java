@@ -0,0 +1,192 @@
+package com.freelance.platform.service;
+
+import com.freelance.platform.entity.Contract;
+import com.freelance.platform.entity.Project;
+import com.freelance.platform.entity.ProjectStatus;
+import com.freelance.platform.entity.ProjectType;
+import com.freelance.platform.entity.Proposal;
+import com.freelance.platform.entity.ProposalStatus;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Accepting a proposal rejects the project's other pending proposals in one UPDATE and reads the rejected
+ * set back by its shared timestamp; that read-back must name exactly the rows the UPDATE changed. Runs
+ * without the test transaction so the after-commit notification hand-off fires.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ProposalService.class, OptimisticRetryService.class, ProposalAcceptanceTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProposalAcceptanceTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private EmailNotificationService emailNotificationService;
+
+    @MockitoBean
+    private ProposalNotificationService proposalNotificationService;
+
+    @MockitoBean
+    private AutoContractService autoContractService;
+
+    @MockitoBean
+    private ConversationService conversationService;
+
+    @Autowired
+    private ProposalService proposalService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private UUID clientId;
+    private UUID projectId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Contract contract = new Contract();
+        contract.setId(UUID.randomUUID());
+        when(autoContractService.createContractFromProposal(any())).thenReturn(contract);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectedSetReadBackMatchesTheRejectedRows() {
+        Map<UUID, UUID> pending = new HashMap<>();
+        UUID[] ids = transactionTemplate.execute(status -> {
+            User client = newUser("client", Role.CLIENT);
+            Project project = newProject(client);
+            Project otherProject = newProject(client);
+            clientId = client.getId();
+            projectId = project.getId();
+
+            Proposal accepted = newProposal(project, newUser("accepted", Role.FREELANCER), ProposalStatus.PENDING);
+            for (int i = 0; i < 5; i++) {
+                User freelancer = newUser("pending-" + i, Role.FREELANCER);
+                pending.put(newProposal(project, freelancer, ProposalStatus.PENDING).getId(), freelancer.getId());
+            }
+            Proposal withdrawn = newProposal(project, newUser("withdrawn", Role.FREELANCER), ProposalStatus.WITHDRAWN);
+            Proposal elsewhere = newProposal(otherProject, newUser("elsewhere", Role.FREELANCER), ProposalStatus.PENDING);
+            return new UUID[] {accepted.getId(), withdrawn.getId(), elsewhere.getId()};
+        });
+        UUID acceptedId = ids[0];
+
+        proposalService.acceptProposal(acceptedId, clientId);
+
+        ArgumentCaptor<Map> rejected = ArgumentCaptor.forClass(Map.class);
+        verify(proposalNotificationService).deliverAcceptance(eq(projectId), anyString(), eq(acceptedId), any(),
+                eq(clientId), anyString(), rejected.capture());
+        assertEquals(pending, rejected.getValue());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Proposal accepted = entityManager.find(Proposal.class, acceptedId);
+            assertEquals(ProposalStatus.ACCEPTED, accepted.getStatus());
+            List<Proposal> rejectedRows = entityManager.createQuery(
+                            "SELECT p FROM Proposal p WHERE p.project.id = :projectId AND p.status = :status", Proposal.class)
+                    .setParameter("projectId", projectId)
+                    .setParameter("status", ProposalStatus.REJECTED)
+                    .getResultList();
+            assertEquals(pending.size(), rejectedRows.size());
+            for (Proposal proposal : rejectedRows) {
+                assertEquals(pending.get(proposal.getId()), proposal.getFreelancer().getId());
+                assertEquals(accepted.getRespondedAt(), proposal.getRespondedAt());
+                assertEquals(1L, proposal.getVersion().longValue());
+            }
+
+            Proposal withdrawn = entityManager.find(Proposal.class, ids[1]);
+            assertEquals(ProposalStatus.WITHDRAWN, withdrawn.getStatus());
+            assertNull(withdrawn.getRespondedAt());
+            assertEquals(ProposalStatus.PENDING, entityManager.find(Proposal.class, ids[2]).getStatus());
+            assertEquals(ProjectStatus.IN_PROGRESS, entityManager.find(Project.class, projectId).getStatus());
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void acceptingTheOnlyProposalRejectsNothing() {
+        UUID acceptedId = transactionTemplate.execute(status -> {
+            User client = newUser("client", Role.CLIENT);
+            Project project = newProject(client);
+            clientId = client.getId();
+            projectId = project.getId();
+            return newProposal(project, newUser("only", Role.FREELANCER), ProposalStatus.PENDING).getId();
+        });
+
+        proposalService.acceptProposal(acceptedId, clientId);
+
+        ArgumentCaptor<Map> rejected = ArgumentCaptor.forClass(Map.class);
+        verify(proposalNotificationService).deliverAcceptance(eq(projectId), anyString(), eq(acceptedId), any(),
+                eq(clientId), anyString(), rejected.capture());
+        assertEquals(Map.of(), rejected.getValue());
+    }
+
+    private Proposal newProposal(Project project, User freelancer, ProposalStatus status) {
+        Proposal proposal = new Proposal(project, freelancer, project.getClient(), "Proposal", "Proposal description",
+                new BigDecimal("300.00"));
+        proposal.setStatus(status);
+        entityManager.persist(proposal);
+        return proposal;
+    }
+
+    private Project newProject(User client) {
+        Project project = new Project(client, "Project", "Description", ProjectType.FIXED);
+        project.setStatus(ProjectStatus.PUBLISHED);
+        entityManager.persist(project);
+        return project;
+    }
+
+    private User newUser(String name, Role role) {
+        User user = new User(name + "-" + UUID.randomUUID() + "@example.com", "hash", "Test", name, Set.of(role));
+        entityManager.persist(user);
+        return user;
+    }
+}
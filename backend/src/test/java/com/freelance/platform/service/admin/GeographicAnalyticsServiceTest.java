@@ -0,0 +1,93 @@
+package com.freelance.platform.service.admin;
+
+import com.freelance.platform.dto.response.AnalyticsResponse;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(GeographicAnalyticsService.class)
+class GeographicAnalyticsServiceTest {
+
+    @Autowired
+    private GeographicAnalyticsService geographicAnalyticsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void countryTotalsUseOneQueryRegardlessOfCountryCount() {
+        createUsers(3, "A");
+        long fewCountries = statementsFor();
+
+        createUsers(60, "B");
+        long manyCountries = statementsFor();
+
+        assertEquals(1, fewCountries);
+        assertEquals(fewCountries, manyCountries, "query count must not grow with the number of countries");
+    }
+
+    @Test
+    void countryTotalsCountEveryUser() {
+        createUsers(4, "C");
+        createUser("C-0", 2);
+
+        AnalyticsResponse response = geographicAnalyticsService.getUsersByCountry();
+        Map<String, Object> data = response.getData();
+
+        assertEquals(3L, data.get("C-0"));
+        assertEquals(1L, data.get("C-3"));
+        assertEquals(6L, response.getTotal().longValue());
+    }
+
+    private long statementsFor() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        geographicAnalyticsService.getUsersByCountry();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createUsers(int countries, String prefix) {
+        for (int i = 0; i < countries; i++) {
+            createUser(prefix + "-" + i, 1);
+        }
+    }
+
+    private void createUser(String country, int count) {
+        for (int i = 0; i < count; i++) {
+            User user = new User(country + "-" + i + "-" + System.nanoTime() + "@example.com", "hash",
+                    "Test", "User", Set.of(Role.CLIENT));
+            user.setCountry(country);
+            entityManager.persist(user);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.freelance.platform.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetCursorTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000);
+        UUID id = UUID.randomUUID();
+
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(createdAt, id).encode());
+
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(id, decoded.getId());
+    }
+
+    @Test
+    void roundTripsWholeSecondsWithoutLosingPrecision() {
+        // LocalDateTime.toString drops zero seconds and nanos; parse must still give back the same instant
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        assertEquals(createdAt, KeysetCursor.decode(new KeysetCursor(createdAt, UUID.randomUUID()).encode()).getCreatedAt());
+    }
+
+    @Test
+    void encodingIsSafeInQueryStringsAndHeaders() {
+        for (int i = 0; i < 1_000; i++) {
+            String cursor = new KeysetCursor(LocalDateTime.now().minusSeconds(i), UUID.randomUUID()).encode();
+            assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+        }
+    }
+
+    @Test
+    void missingCursorStartsFromTheTop() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("eWVzdGVyZGF5fDEyMw"));
+    }
+}
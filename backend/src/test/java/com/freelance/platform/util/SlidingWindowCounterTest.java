@@ -0,0 +1,116 @@
+package com.freelance.platform.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowCounterTest {
+
+    private static final long START = 1_700_000_000L;
+
+    @Test
+    void sumsOnlyTheRequestedWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(3600);
+        for (int second = 0; second < 600; second++) {
+            counter.add(START + second, second % 7);
+        }
+        long now = START + 599;
+
+        assertEquals(expected(540, 600), counter.sum(now, 60));
+        assertEquals(expected(300, 600), counter.sum(now, 300));
+        assertEquals(expected(0, 600), counter.sum(now, 3600));
+    }
+
+    @Test
+    void bucketsFromAnEarlierLapAreNotCounted() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60);
+        counter.add(START, 5);
+        counter.add(START + 30, 7);
+
+        // START + 60 reuses START's slot; the old bucket must be replaced, not added to
+        counter.add(START + 60, 1);
+
+        assertEquals(8, counter.sum(START + 60, 60));
+        assertEquals(1, counter.sum(START + 60, 1));
+        assertEquals(0, counter.sum(START + 200, 60));
+    }
+
+    @Test
+    void eventsOlderThanTheRingAreDropped() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60);
+        counter.add(START + 100, 2);
+        counter.add(START + 40, 3);
+
+        assertEquals(2, counter.sum(START + 100, 60));
+    }
+
+    @Test
+    void windowLongerThanTheRingIsClamped() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60);
+        counter.add(START, 4);
+        counter.add(START + 59, 6);
+
+        assertEquals(10, counter.sum(START + 59, 3600));
+    }
+
+    @Test
+    void rejectsNonPositiveWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowCounter(0));
+    }
+
+    @Test
+    void concurrentIncrementsAcrossSecondBoundariesAreNotLost() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(3600);
+        int threads = 8;
+        int seconds = 50;
+        int perSecond = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                // Every thread rolls into each new second together, so bucket swaps race with increments
+                for (int second = 0; second < seconds; second++) {
+                    for (int i = 0; i < perSecond; i++) {
+                        counter.increment(START + second);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+        executor.shutdown();
+
+        long total = (long) threads * seconds * perSecond;
+        assertEquals(total, counter.sum(START + seconds - 1, 3600));
+        assertEquals((long) threads * perSecond, counter.sum(START + seconds - 1, 1));
+        // 8M increments; a lock-free counter does this in well under the bound even on a slow CI box
+        assertTrue(elapsedMs < 20_000, "8M concurrent increments took " + elapsedMs + " ms");
+    }
+
+    private static long expected(int fromSecond, int toSecondExclusive) {
+        long total = 0;
+        for (int second = fromSecond; second < toSecondExclusive; second++) {
+            total += second % 7;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,222 @@
+package com.freelance.platform.websocket;
+
+import com.freelance.platform.config.properties.WebSocketTransportProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A client that stops reading, wired through the same outbound pipeline the broker uses: the
+ * backpressure interceptor on an executor channel, the STOMP handler with the configured send limits,
+ * and the send tracking decorator. Presence to the stuck session is dropped, chat piles up only to the
+ * buffer limit before the session is closed, and another session keeps receiving throughout.
+ */
+class OutboundBackpressureTest {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    private final WebSocketTransportProperties properties = new WebSocketTransportProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ThreadPoolTaskExecutor executor;
+    private ExecutorSubscribableChannel outbound;
+    private SessionSendTracker tracker;
+    private SessionSendTrackingHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        properties.setSendTimeLimitMs(5_000);
+        properties.setSendBufferSizeLimitBytes(8 * 1024);
+        properties.setBacklogMessages(5);
+        properties.setBacklogSendMs(100);
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.initialize();
+
+        tracker = new SessionSendTracker(properties, meterRegistry);
+        outbound = new ExecutorSubscribableChannel(executor);
+        outbound.addInterceptor(new OutboundBackpressureInterceptor(tracker, properties, meterRegistry));
+
+        SubProtocolWebSocketHandler subProtocolHandler =
+                new SubProtocolWebSocketHandler(new ExecutorSubscribableChannel(), outbound);
+        subProtocolHandler.addProtocolHandler(new StompSubProtocolHandler());
+        subProtocolHandler.setSendTimeLimit(properties.getSendTimeLimitMs());
+        subProtocolHandler.setSendBufferSizeLimit(properties.getSendBufferSizeLimitBytes());
+        subProtocolHandler.start();
+        handler = new SessionSendTrackingHandler(subProtocolHandler, tracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void slowConsumerIsShedThenClosedWithoutHoldingUpOthers() throws Exception {
+        FakeSession fast = open("fast", false);
+        FakeSession slow = open("slow", true);
+
+        // The first chat frame gets stuck in the socket write
+        send("slow", "/user/queue/messages", "stuck");
+        await(() -> tracker.isBacklogged("slow"), "the stuck write marks the session backlogged");
+
+        for (int i = 0; i < 50; i++) {
+            send("fast", "/user/queue/messages", "fast " + i);
+        }
+        await(() -> fast.frames.size() == 50, "the other session gets everything while one is stuck");
+        assertTrue(slow.open.get());
+
+        // Presence is shed at the channel instead of taking buffer space
+        for (int i = 0; i < 20; i++) {
+            send("slow", "/user/queue/presence", "presence " + i);
+        }
+        await(() -> dropped() == 20, "presence to the backlogged session is dropped");
+
+        // Chat is buffered, never dropped, until the buffer limit closes the session
+        String chat = "x".repeat(2 * 1024);
+        for (int i = 0; i < 10; i++) {
+            send("slow", "/user/queue/messages", chat);
+        }
+        await(() -> slow.closeStatus.get() != null, "the slow session is closed at its limits");
+
+        assertEquals(CloseStatus.SESSION_NOT_RELIABLE.getCode(), slow.closeStatus.get().getCode());
+        assertEquals(1.0, meterRegistry.counter("websocket.sessions.closed", "reason", "slow_consumer").count());
+        assertEquals(20.0, dropped(), "chat frames are not dropped");
+        assertEquals(1.0, meterRegistry.get("websocket.sessions.active").gauge().value());
+        assertTrue(slow.frames.stream().noneMatch(frame -> frame.contains("presence")));
+        assertTrue(slow.frames.size() <= 1, "nothing is written past the stuck frame");
+
+        send("fast", "/user/queue/messages", "after");
+        await(() -> fast.frames.size() == 51, "the other session keeps receiving after the close");
+        await(() -> meterRegistry.get("websocket.outbound.queued").gauge().value() == 0.0, "the queue drains");
+        assertTrue(fast.frames.stream().allMatch(frame -> frame.startsWith("MESSAGE")));
+    }
+
+    @Test
+    void sessionWithinItsLimitsIsNeitherShedNorClosed() throws Exception {
+        FakeSession session = open("steady", false);
+
+        // Never more than backlogMessages in flight, as with a client that reads as fast as it is sent to
+        for (int i = 0; i < 20; i++) {
+            send("steady", "/user/queue/presence", "presence " + i);
+            send("steady", "/user/queue/messages", "chat " + i);
+            int expected = 2 * (i + 1);
+            await(() -> session.frames.size() == expected, "a session that keeps up gets every frame");
+        }
+
+        assertEquals(0.0, dropped());
+        assertTrue(session.open.get());
+        assertEquals(0.0, meterRegistry.counter("websocket.sessions.closed", "reason", "slow_consumer").count());
+    }
+
+    private void send(String sessionId, String destination, String body) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        Message<byte[]> message = MessageBuilder.createMessage(body.getBytes(StandardCharsets.UTF_8),
+                accessor.getMessageHeaders());
+        outbound.send(message);
+    }
+
+    private double dropped() {
+        return meterRegistry.counter("websocket.outbound.dropped", "reason", "backlog").count();
+    }
+
+    private FakeSession open(String id, boolean stuck) throws Exception {
+        FakeSession session = new FakeSession(id, stuck);
+        handler.afterConnectionEstablished(session.mock);
+        return session;
+    }
+
+    private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail(message);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * A raw container session; a stuck one blocks its first write until closed, like a full TCP window.
+     */
+    private final class FakeSession {
+        private final WebSocketSession mock = mock(WebSocketSession.class);
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean open = new AtomicBoolean(true);
+        private final AtomicReference<CloseStatus> closeStatus = new AtomicReference<>();
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        private FakeSession(String id, boolean stuck) throws IOException {
+            Map<String, Object> attributes = new ConcurrentHashMap<>();
+            when(mock.getId()).thenReturn(id);
+            when(mock.isOpen()).thenAnswer(invocation -> open.get());
+            when(mock.getAttributes()).thenReturn(attributes);
+            doAnswer(invocation -> {
+                if (stuck && !released.await(TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    throw new IOException("write never completed");
+                }
+                if (!open.get()) {
+                    throw new IOException("closed");
+                }
+                WebSocketMessage<?> message = invocation.getArgument(0);
+                frames.add(payload(message));
+                return null;
+            }).when(mock).sendMessage(any());
+            doAnswer(invocation -> {
+                CloseStatus status = invocation.getArgument(0);
+                if (open.compareAndSet(true, false)) {
+                    released.countDown();
+                    // The container reports the close back through the handler chain
+                    handler.afterConnectionClosed(mock, status);
+                    closeStatus.set(status);
+                }
+                return null;
+            }).when(mock).close(any(CloseStatus.class));
+        }
+
+        private String payload(WebSocketMessage<?> message) {
+            if (message instanceof TextMessage text) {
+                return text.getPayload();
+            }
+            return Arrays.toString((byte[]) message.getPayload());
+        }
+    }
+}
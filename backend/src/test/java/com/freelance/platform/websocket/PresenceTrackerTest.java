@@ -0,0 +1,149 @@
+package com.freelance.platform.websocket;
+
+import com.freelance.platform.repository.UserInboxRepository;
+import com.freelance.platform.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A user with several open sessions (tabs, phone) stays online until the last one closes, driven
+ * through the same STOMP connect and disconnect events the broker publishes.
+ */
+class PresenceTrackerTest {
+
+    private static final int SESSIONS = 3;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID contactId = UUID.randomUUID();
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final UserInboxRepository userInboxRepository = mock(UserInboxRepository.class);
+    private WebSocketEventListener listener;
+    private PresenceTracker presenceTracker;
+
+    @BeforeEach
+    void setUp() {
+        // No grace period, so the flush reports offline as soon as the last session is gone
+        presenceTracker = new PresenceTracker(messagingTemplate, userInboxRepository, 0, new SimpleMeterRegistry());
+        listener = new WebSocketEventListener();
+        ReflectionTestUtils.setField(listener, "presenceTracker", presenceTracker);
+
+        // The two share a conversation; like the query, only rows for the users asked about come back
+        when(userInboxRepository.findWatchersByOtherParticipantIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> subjects = invocation.getArgument(0);
+            List<Object[]> rows = new ArrayList<>();
+            if (subjects.contains(userId)) {
+                rows.add(new Object[]{contactId, userId});
+            }
+            if (subjects.contains(contactId)) {
+                rows.add(new Object[]{userId, contactId});
+            }
+            return rows;
+        });
+        when(userInboxRepository.findContactsByUserIds(anyCollection())).thenReturn(List.of());
+
+        connect(contactId, "contact-session");
+    }
+
+    @Test
+    void userGoesOfflineOnlyAfterTheLastSessionCloses() {
+        for (int i = 0; i < SESSIONS; i++) {
+            connect(userId, "session-" + i);
+        }
+        presenceTracker.flush();
+        assertEquals(List.of(userId), updateFor(contactId).getOnline());
+        assertTrue(listener.isUserOnline(userId.toString()));
+        assertEquals(2, listener.getOnlineUserCount());
+
+        for (int i = 0; i < SESSIONS - 1; i++) {
+            clearInvocations(messagingTemplate);
+            disconnect(userId, "session-" + i);
+            presenceTracker.flush();
+
+            assertTrue(listener.isUserOnline(userId.toString()), "still online with a session left");
+            verify(messagingTemplate, never()).convertAndSendToUser(eq(contactId.toString()), anyString(), any());
+        }
+
+        clearInvocations(messagingTemplate);
+        disconnect(userId, "session-" + (SESSIONS - 1));
+        presenceTracker.flush();
+
+        assertFalse(listener.isUserOnline(userId.toString()));
+        assertEquals(1, listener.getOnlineUserCount());
+        PresenceUpdate update = updateFor(contactId);
+        assertEquals(List.of(userId), update.getOffline());
+        assertTrue(update.getOnline().isEmpty());
+    }
+
+    @Test
+    void repeatedDisconnectOfOneSessionDoesNotCloseTheOthers() {
+        connect(userId, "session-0");
+        connect(userId, "session-1");
+
+        disconnect(userId, "session-0");
+        // The broker can publish a disconnect twice for one session (client DISCONNECT, then socket close)
+        disconnect(userId, "session-0");
+
+        assertTrue(listener.isUserOnline(userId.toString()));
+        disconnect(userId, "session-1");
+        presenceTracker.flush();
+        assertFalse(listener.isUserOnline(userId.toString()));
+    }
+
+    private PresenceUpdate updateFor(UUID subscriber) {
+        ArgumentCaptor<PresenceUpdate> update = ArgumentCaptor.forClass(PresenceUpdate.class);
+        verify(messagingTemplate).convertAndSendToUser(eq(subscriber.toString()), eq("/queue/presence"), update.capture());
+        return update.getValue();
+    }
+
+    private void connect(UUID user, String sessionId) {
+        StompUserAuthentication principal = principal(user);
+        listener.handleWebSocketConnectListener(
+                new SessionConnectedEvent(this, message(SimpMessageType.CONNECT_ACK, sessionId, principal), principal));
+    }
+
+    private void disconnect(UUID user, String sessionId) {
+        StompUserAuthentication principal = principal(user);
+        listener.handleWebSocketDisconnectListener(new SessionDisconnectEvent(this,
+                message(SimpMessageType.DISCONNECT, sessionId, principal), sessionId, CloseStatus.NORMAL, principal));
+    }
+
+    private Message<byte[]> message(SimpMessageType type, String sessionId, StompUserAuthentication principal) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        accessor.setUser(principal);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private StompUserAuthentication principal(UUID user) {
+        return new StompUserAuthentication(new UserPrincipal(user, user + "@example.com", "hash", List.of(), true, true));
+    }
+}
@@ -0,0 +1,81 @@
+package com.freelance.platform.websocket;
+
+import com.freelance.platform.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.DefaultUserDestinationResolver;
+import org.springframework.messaging.simp.user.UserDestinationResult;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.socket.messaging.DefaultSimpUserRegistry;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Services address user destinations by user id (badge counters, presence, chat signals, messages);
+ * these only reach a session when the STOMP principal is named by that id.
+ */
+class StompUserDestinationTest {
+
+    private static final String SESSION_ID = "session-1";
+
+    private final UUID userId = UUID.randomUUID();
+    private DefaultUserDestinationResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        UserPrincipal principal = new UserPrincipal(userId, "someone@example.com", "hash",
+                List.of(new SimpleGrantedAuthority("ROLE_CLIENT")), true, true);
+        StompUserAuthentication user = new StompUserAuthentication(principal);
+
+        SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        connect.setSessionId(SESSION_ID);
+        connect.setUser(user);
+        Message<byte[]> connected = MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders());
+
+        DefaultSimpUserRegistry registry = new DefaultSimpUserRegistry();
+        registry.onApplicationEvent(new SessionConnectedEvent(this, connected, user));
+        resolver = new DefaultUserDestinationResolver(registry);
+    }
+
+    @Test
+    void principalIsNamedByUserId() {
+        UserPrincipal principal = new UserPrincipal(userId, "someone@example.com", "hash", List.of(), true, true);
+
+        assertEquals(userId.toString(), new StompUserAuthentication(principal).getName());
+    }
+
+    @Test
+    void badgeCountersSentByUserIdReachTheSession() {
+        // Same call NotificationBadgeService.push makes
+        List<Message<?>> sent = new ArrayList<>();
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+        template.convertAndSendToUser(userId.toString(), "/queue/notification-stats", "stats");
+
+        UserDestinationResult result = resolver.resolveDestination(sent.get(0));
+
+        assertEquals(Set.of("/queue/notification-stats-user" + SESSION_ID), result.getTargetDestinations());
+    }
+
+    @Test
+    void emailNoLongerAddressesTheSession() {
+        SimpMessageHeaderAccessor send = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        send.setDestination("/user/someone@example.com/queue/notification-stats");
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], send.getMessageHeaders());
+
+        UserDestinationResult result = resolver.resolveDestination(message);
+
+        assertTrue(result.getTargetDestinations().isEmpty());
+    }
+}
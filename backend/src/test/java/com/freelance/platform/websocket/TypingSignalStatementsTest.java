@@ -0,0 +1,162 @@
+package com.freelance.platform.websocket;
+
+import com.freelance.platform.dto.response.TypingIndicatorResponse;
+import com.freelance.platform.entity.Conversation;
+import com.freelance.platform.entity.ConversationType;
+import com.freelance.platform.entity.Role;
+import com.freelance.platform.entity.User;
+import com.freelance.platform.security.UserPrincipal;
+import com.freelance.platform.service.MessageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Typing frames are relayed without touching the database: once a conversation's participants are
+ * cached, a stream of start and stop frames executes no statements and writes no entities. Runs without
+ * the test transaction so nothing is hidden in a pending flush.
+ */
+@DataJpaTest(properties = "app.messaging.typing.min-interval-ms=0")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({WebSocketController.class, ChatSignalService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TypingSignalStatementsTest {
+
+    private static final int FRAMES = 50;
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private MessageService messageService;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private WebSocketController webSocketController;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private User client;
+    private User freelancer;
+    private UUID conversationId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            client = newUser("client");
+            freelancer = newUser("freelancer");
+            Conversation conversation = new Conversation(client, freelancer, ConversationType.DIRECT_MESSAGE);
+            entityManager.persist(conversation);
+            conversationId = conversation.getId();
+        });
+    }
+
+    @Test
+    void typingFramesExecuteNoStatementsOnceParticipantsAreCached() {
+        statistics.clear();
+        typing(client, true);
+        // The first frame of a conversation reads its participant ids and nothing else
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertWritesNothing();
+
+        statistics.clear();
+        for (int i = 0; i < FRAMES; i++) {
+            typing(i % 2 == 0 ? freelancer : client, i % 4 < 2);
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(0, statistics.getTransactionCount());
+        assertWritesNothing();
+        verify(messagingTemplate, times(FRAMES + 1)).convertAndSendToUser(any(String.class), eq("/queue/typing"),
+                any(TypingIndicatorResponse.class));
+        verifyNoInteractions(messageService);
+    }
+
+    @Test
+    void typingFramesFromANonParticipantAreIgnoredWithoutWrites() {
+        User stranger = new TransactionTemplate(transactionManager).execute(status -> newUser("stranger"));
+        typing(client, true);
+
+        statistics.clear();
+        for (int i = 0; i < FRAMES; i++) {
+            typing(stranger, true);
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertWritesNothing();
+        verify(messagingTemplate, times(1)).convertAndSendToUser(any(String.class), eq("/queue/typing"),
+                any(TypingIndicatorResponse.class));
+    }
+
+    private void assertWritesNothing() {
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+        assertEquals(0, statistics.getFlushCount());
+    }
+
+    private void typing(User user, boolean typing) {
+        WebSocketController.ChatSignalRequest request = new WebSocketController.ChatSignalRequest();
+        request.setConversationId(conversationId);
+        request.setTyping(typing);
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setUser(new StompUserAuthentication(
+                new UserPrincipal(user.getId(), user.getEmail(), "hash", List.of(), true, true)));
+        webSocketController.typing(request, headers);
+    }
+
+    private User newUser(String name) {
+        User user = new User(name + "-" + UUID.randomUUID() + "@example.com", "hash", "Test", name, Set.of(Role.CLIENT));
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,73 @@
+import React from 'react';
+import { Activity, Briefcase, CreditCard, FileText, MessageSquare, UserPlus } from 'lucide-react';
+import { Badge } from '@/components/ui/badge';
+import { Card, CardContent, CardHeader, CardTitle } from '@/components/ui/card';
+import { Skeleton } from '@/components/ui/skeleton';
+import { useAdminRealTimeMetrics } from '@/hooks/useAdmin';
+import { RealTimeWindows } from '@/types/api';
+
+type ActivityKey = 'signups' | 'projectsPosted' | 'proposals' | 'messages' | 'payments';
+
+const ACTIVITIES: { key: ActivityKey; label: string; icon: React.ElementType }[] = [
+  { key: 'signups', label: 'Signups', icon: UserPlus },
+  { key: 'projectsPosted', label: 'Projects Posted', icon: Briefcase },
+  { key: 'proposals', label: 'Proposals', icon: FileText },
+  { key: 'messages', label: 'Messages', icon: MessageSquare },
+  { key: 'payments', label: 'Payments', icon: CreditCard },
+];
+
+const ActivityTile = ({
+  label,
+  windows,
+  icon: Icon,
+}: {
+  label: string;
+  windows: RealTimeWindows;
+  icon: React.ElementType;
+}) => (
+  <div className="p-4 border border-border rounded-lg bg-card">
+    <div className="flex items-center justify-between mb-3">
+      <span className="text-sm font-medium text-muted-foreground">{label}</span>
+      <Icon className="h-4 w-4 text-primary" />
+    </div>
+    <div className="text-2xl font-bold">{windows['1m']}</div>
+    <div className="text-xs text-muted-foreground">
+      last minute · {windows['5m']} in 5m · {windows['1h']} in 1h
+    </div>
+  </div>
+);
+
+export const RealTimeActivityWidget: React.FC = () => {
+  const { metrics, isConnected } = useAdminRealTimeMetrics();
+
+  return (
+    <Card>
+      <CardHeader>
+        <CardTitle className="flex items-center justify-between gap-2">
+          <span className="flex items-center gap-2">
+            <Activity className="h-5 w-5" />
+            Live Activity
+          </span>
+          <Badge variant={isConnected ? 'default' : 'secondary'}>
+            {!isConnected
+              ? 'Reconnecting'
+              : metrics?.scope === 'node'
+                ? 'This node only'
+                : `${metrics?.nodes ?? 1} node${metrics?.nodes === 1 ? '' : 's'}`}
+          </Badge>
+        </CardTitle>
+      </CardHeader>
+      <CardContent>
+        <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-5 gap-3">
+          {ACTIVITIES.map(({ key, label, icon }) =>
+            metrics ? (
+              <ActivityTile key={key} label={label} windows={metrics[key]} icon={icon} />
+            ) : (
+              <Skeleton key={key} className="h-28 w-full rounded-lg" />
+            )
+          )}
+        </div>
+      </CardContent>
+    </Card>
+  );
+};
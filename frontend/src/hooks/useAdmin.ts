@@ -1,6 +1,7 @@
+import { useEffect, useState } from 'react';
 import { useQuery, UseQueryOptions } from '@tanstack/react-query';
 import { adminService } from '@/services/admin.service';
-import { AdminDashboardResponse, AnalyticsSeries, PerformanceMetrics, PageResponse, UserResponse } from '@/types/api';
+import { AdminDashboardResponse, AnalyticsSeries, PerformanceMetrics, PageResponse, RealTimeMetrics, UserResponse } from '@/types/api';
 
 const adminQueryKeys = {
   dashboard: ['admin', 'dashboard'] as const,
@@ -52,6 +53,59 @@ export const useAdminAnalyticsPerformance = (options?: UseQueryOptions<Performan
   });
 };
 
+const REAL_TIME_RECONNECT_MS = 5000;
+
+// Live 1m/5m/1h activity totals pushed by the server. Each stream ticket opens one connection only, so after
+// an error the stream is closed and reopened with a fresh ticket instead of letting EventSource retry the spent URL.
+export const useAdminRealTimeMetrics = () => {
+  const [metrics, setMetrics] = useState<RealTimeMetrics | null>(null);
+  const [isConnected, setIsConnected] = useState(false);
+
+  useEffect(() => {
+    let source: EventSource | null = null;
+    let retry: ReturnType<typeof setTimeout> | null = null;
+    let closed = false;
+
+    const reconnectLater = () => {
+      setIsConnected(false);
+      if (!closed) {
+        retry = setTimeout(connect, REAL_TIME_RECONNECT_MS);
+      }
+    };
+
+    const connect = () => {
+      adminService
+        .openRealTimeMetricsStream((next) => {
+          setMetrics(next);
+          setIsConnected(true);
+        })
+        .then((opened) => {
+          if (closed) {
+            opened.close();
+            return;
+          }
+          source = opened;
+          opened.onerror = () => {
+            opened.close();
+            reconnectLater();
+          };
+        })
+        .catch(reconnectLater);
+    };
+
+    connect();
+    return () => {
+      closed = true;
+      if (retry) {
+        clearTimeout(retry);
+      }
+      source?.close();
+    };
+  }, []);
+
+  return { metrics, isConnected };
+};
+
 interface UseAdminUsersParams {
   page?: number;
   size?: number;
@@ -1,6 +1,7 @@
 import { useState, useEffect } from 'react';
 import { notificationService } from '@/services/notification.service';
-import { NotificationResponse } from '@/types/api';
+import { NotificationResponse, NotificationStats } from '@/types/api';
+import { websocketService } from '@/services/websocket.service';
 import { useAuth } from '@/contexts/AuthContext';
 
 export function useHeaderNotifications() {
@@ -21,7 +22,6 @@ export function useHeaderNotifications() {
       setLoading(true);
       const unreadNotifications = await notificationService.getUnreadNotifications();
       setNotifications(unreadNotifications);
-      setUnreadCount(unreadNotifications.length);
     } catch (error) {
       console.error('Error loading unread notifications:', error);
       // Don't show error toast for header notifications to avoid spam
@@ -30,6 +30,16 @@ export function useHeaderNotifications() {
     }
   };
 
+  // Read the badge once; this also seeds the server-side counters that are pushed from then on
+  const loadUnreadCount = async () => {
+    try {
+      const stats = await notificationService.getNotificationStats();
+      setUnreadCount(stats.unreadNotifications);
+    } catch (error) {
+      console.error('Error loading notification stats:', error);
+    }
+  };
+
   // Mark notification as read
   const markAsRead = async (notificationId: string) => {
     try {
@@ -88,10 +98,27 @@ export function useHeaderNotifications() {
   useEffect(() => {
     if (isAuthenticated) {
       loadUnreadNotifications();
-      
-      // Refresh notifications every 30 seconds
-      const interval = setInterval(loadUnreadNotifications, 30000);
-      return () => clearInterval(interval);
+      loadUnreadCount();
+
+      // The badge follows counter pushes instead of polling; a new notification also refreshes the list
+      const handleStats = (event: CustomEvent<NotificationStats>) => {
+        setUnreadCount(event.detail.unreadNotifications);
+      };
+      const handleNotification = () => {
+        loadUnreadNotifications();
+      };
+
+      websocketService.connect().catch((error) => {
+        console.error('Failed to connect to WebSocket:', error);
+      });
+      window.addEventListener('websocket:notification-stats', handleStats as EventListener);
+      window.addEventListener('websocket:notification', handleNotification);
+
+      return () => {
+        window.removeEventListener('websocket:notification-stats', handleStats as EventListener);
+        window.removeEventListener('websocket:notification', handleNotification);
+        websocketService.disconnect();
+      };
     } else {
       setNotifications([]);
       setUnreadCount(0);
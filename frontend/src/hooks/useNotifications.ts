@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { notificationService } from '@/services/notification.service';
 import { NotificationResponse, NotificationStats } from '@/types/api';
 import { useToast } from '@/hooks/use-toast';
@@ -10,6 +10,8 @@ export function useNotifications() {
   const [saving, setSaving] = useState(false);
   const [totalPages, setTotalPages] = useState(0);
   const [currentPage, setCurrentPage] = useState(0);
+  // The grouped feed pages by cursor; groupedCursors.current[n] is the cursor that loads page n
+  const groupedCursors = useRef<(string | undefined)[]>([undefined]);
   const { toast } = useToast();
 
   const loadNotifications = async (
@@ -24,10 +26,18 @@ export function useNotifications() {
     try {
       setLoading(true);
       if (useGrouping && !type && !priority && !isRead && !search) {
-        const response = await notificationService.getGroupedNotifications(page, size);
-        setNotifications(response);
-        setTotalPages(Math.ceil(response.length / size));
-        setCurrentPage(page);
+        if (page === 0) {
+          groupedCursors.current = [undefined];
+        }
+        const targetPage = Math.min(page, groupedCursors.current.length - 1);
+        const response = await notificationService.getGroupedNotifications(groupedCursors.current[targetPage], size);
+        groupedCursors.current = groupedCursors.current.slice(0, targetPage + 1);
+        if (response.nextCursor) {
+          groupedCursors.current.push(response.nextCursor);
+        }
+        setNotifications(response.items);
+        setTotalPages(groupedCursors.current.length);
+        setCurrentPage(targetPage);
       } else {
         const response = await notificationService.getNotifications(page, size, type, priority, isRead, search);
         setNotifications(response.content);
@@ -162,6 +172,18 @@ export function useNotifications() {
     loadStats();
   }, []);
 
+  // Counters pushed by the server replace the locally adjusted ones
+  useEffect(() => {
+    const handleStats = (event: CustomEvent<NotificationStats>) => {
+      setStats(event.detail);
+    };
+
+    window.addEventListener('websocket:notification-stats', handleStats as EventListener);
+    return () => {
+      window.removeEventListener('websocket:notification-stats', handleStats as EventListener);
+    };
+  }, []);
+
   return {
     notifications,
     stats,
@@ -23,6 +23,7 @@ import {
 import { DashboardShell } from '@/components/layout/dashboard-shell';
 import { UserAnalyticsWidget } from '@/components/admin/widgets/UserAnalyticsWidget';
 import { ProjectAnalyticsWidget } from '@/components/admin/widgets/ProjectAnalyticsWidget';
+import { RealTimeActivityWidget } from '@/components/admin/widgets/RealTimeActivityWidget';
 import { UsersTable } from '@/components/admin/UsersTable';
 import { AnnouncementsTable } from '@/components/admin/AnnouncementsTable';
 import { ContractsTable } from '@/components/admin/ContractsTable';
@@ -193,6 +194,7 @@ const AdminDashboardContent = () => {
          </p>
        </div>
         <div className="grid gap-6">
+          <RealTimeActivityWidget />
           <UserAnalyticsWidget />
           <ProjectAnalyticsWidget />
         </div>
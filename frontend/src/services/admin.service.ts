@@ -1,5 +1,6 @@
 import { apiService } from './api';
-import { AdminDashboardResponse, AnalyticsSeries, PerformanceMetrics, PageResponse, UserResponse } from '@/types/api';
+import { config } from '@/config/env';
+import { AdminDashboardResponse, AnalyticsSeries, PerformanceMetrics, PageResponse, RealTimeMetrics, UserResponse } from '@/types/api';
 
 interface PaginatedParams {
   page?: number;
@@ -33,6 +34,17 @@ export const adminService = {
     return apiService.get<PerformanceMetrics>('/admin/analytics/performance');
   },
 
+  // EventSource cannot send an Authorization header, so it opens with a single-use ticket bought with the bearer token
+  openRealTimeMetricsStream: async (onMetrics: (metrics: RealTimeMetrics) => void): Promise<EventSource> => {
+    const { ticket } = await apiService.post<{ ticket: string }>('/admin/analytics/real-time/stream-ticket');
+    const url = `${config.apiBaseUrl}/admin/analytics/real-time/stream?ticket=${encodeURIComponent(ticket)}`;
+    const source = new EventSource(url);
+    source.addEventListener('metrics', (event) => {
+      onMetrics(JSON.parse((event as MessageEvent<string>).data) as RealTimeMetrics);
+    });
+    return source;
+  },
+
   getUsers: async (params: PaginatedParams = {}): Promise<PageResponse<UserResponse>> => {
     const mergedParams = { ...defaultPagination, ...params };
     return apiService.get<PageResponse<UserResponse>>('/admin/users', { params: mergedParams });
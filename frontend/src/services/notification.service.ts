@@ -1,5 +1,5 @@
 import { apiService } from './api';
-import { NotificationResponse, NotificationStats, CreateNotificationRequest } from '@/types/api';
+import { NotificationResponse, NotificationStats, CreateNotificationRequest, CursorPageResponse } from '@/types/api';
 
 export const notificationService = {
   // Get notifications with filters
@@ -29,16 +29,17 @@ export const notificationService = {
     return apiService.get('/notifications/unread');
   },
 
-  // Get grouped notifications
+  // Get grouped notifications - pass nextCursor back as cursor to load the next page
   getGroupedNotifications: async (
-    page: number = 0,
+    cursor?: string,
     size: number = 20
-  ): Promise<NotificationResponse[]> => {
+  ): Promise<CursorPageResponse<NotificationResponse>> => {
     const params = new URLSearchParams({
-      page: page.toString(),
       size: size.toString(),
     });
 
+    if (cursor) params.append('cursor', cursor);
+
     return apiService.get(`/notifications/grouped?${params.toString()}`);
   },
 
@@ -1,6 +1,6 @@
 import { Client, IMessage } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
-import { WebSocketMessage, WebSocketNotification } from '@/types/api';
+import { NotificationStats, WebSocketMessage, WebSocketNotification } from '@/types/api';
 
 class WebSocketService {
   private client: Client | null = null;
@@ -8,6 +8,9 @@ class WebSocketService {
   private reconnectAttempts = 0;
   private maxReconnectAttempts = 5;
   private reconnectInterval = 5000;
+  // Pages and the header share one socket; it closes when the last of them disconnects
+  private consumers = 0;
+  private connecting: Promise<void> | null = null;
 
   private getWebSocketUrl(): string {
     const wsUrl = import.meta.env.VITE_WS_URL || 'ws://localhost:8081/ws';
@@ -24,7 +27,15 @@ class WebSocketService {
   }
 
   connect(): Promise<void> {
-    return new Promise((resolve, reject) => {
+    this.consumers++;
+    return this.open();
+  }
+
+  private open(): Promise<void> {
+    if (this.connecting) {
+      return this.connecting;
+    }
+    this.connecting = new Promise<void>((resolve, reject) => {
       if (this.isConnected) {
         resolve();
         return;
@@ -69,7 +80,10 @@ class WebSocketService {
       });
 
       this.client.activate();
+    }).finally(() => {
+      this.connecting = null;
     });
+    return this.connecting;
   }
 
   private subscribeToTopics(): void {
@@ -87,6 +101,12 @@ class WebSocketService {
       this.handleNotification(notification);
     });
 
+    // Subscribe to notification badge counters, pushed whenever they change
+    this.client.subscribe('/user/queue/notification-stats', (message: IMessage) => {
+      const stats: NotificationStats = JSON.parse(message.body);
+      this.handleNotificationStats(stats);
+    });
+
     // Subscribe to project updates
     this.client.subscribe('/topic/projects', (message: IMessage) => {
       const data = JSON.parse(message.body);
@@ -107,6 +127,9 @@ class WebSocketService {
   }
 
   private handleReconnect(): void {
+    if (this.consumers === 0) {
+      return;
+    }
     if (this.reconnectAttempts >= this.maxReconnectAttempts) {
       console.error('Max reconnection attempts reached');
       return;
@@ -116,7 +139,7 @@ class WebSocketService {
     console.log(`Attempting to reconnect... (${this.reconnectAttempts}/${this.maxReconnectAttempts})`);
 
     setTimeout(() => {
-      this.connect().catch((error) => {
+      this.open().catch((error) => {
         console.error('Reconnection failed:', error);
       });
     }, this.reconnectInterval);
@@ -132,6 +155,11 @@ class WebSocketService {
     window.dispatchEvent(new CustomEvent('websocket:notification', { detail: notification }));
   }
 
+  private handleNotificationStats(stats: NotificationStats): void {
+    // Emit custom event for notification badge updates
+    window.dispatchEvent(new CustomEvent('websocket:notification-stats', { detail: stats }));
+  }
+
   private handleProjectUpdate(data: any): void {
     // Emit custom event for project updates
     window.dispatchEvent(new CustomEvent('websocket:project', { detail: data }));
@@ -159,6 +187,10 @@ class WebSocketService {
   }
 
   disconnect(): void {
+    this.consumers = Math.max(0, this.consumers - 1);
+    if (this.consumers > 0) {
+      return;
+    }
     if (this.client) {
       this.client.deactivate();
       this.client = null;
@@ -24,6 +24,12 @@ export interface PageResponse<T> {
   empty: boolean;
 }
 
+export interface CursorPageResponse<T> {
+  items: T[];
+  nextCursor?: string;
+  hasMore: boolean;
+}
+
 // Enums
 export enum UserType {
   CLIENT = 'CLIENT',
@@ -215,6 +221,24 @@ export interface PerformanceMetrics {
   transactionSuccessRate: number;
 }
 
+export interface RealTimeWindows {
+  '1m': number;
+  '5m': number;
+  '1h': number;
+}
+
+export interface RealTimeMetrics {
+  signups: RealTimeWindows;
+  projectsPosted: RealTimeWindows;
+  proposals: RealTimeWindows;
+  messages: RealTimeWindows;
+  payments: RealTimeWindows;
+  // "cluster" when totals from every node were summed, "node" when only this node's counters were available
+  scope: 'cluster' | 'node';
+  nodes: number;
+  timestamp: string;
+}
+
 // Skills Types
 export interface Skill {
   id: string;